@@ -0,0 +1,143 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.io.CSVDataLoader;
+import sc2002.fcsi.grp3.io.ConfigLoader;
+import sc2002.fcsi.grp3.model.ChangeTracker;
+import sc2002.fcsi.grp3.model.User;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * The DataSetState class generates a synthetic data set once per benchmark trial and loads it into the DataStore.
+ * Benchmarks that take this state as a parameter run against the same data at the chosen scale.
+ */
+@State(Scope.Benchmark)
+public class DataSetState {
+
+    /**
+     * The number of users in the generated data set.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int users;
+
+    private Path directory;
+    private ConfigLoader config;
+    private SyntheticDataGenerator generator;
+
+    /**
+     * Generates the data files and loads them into the DataStore.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("bto-bench");
+        generator = new SyntheticDataGenerator(users, 42L);
+        Properties props = generator.generate(directory);
+        config = new ConfigLoader(props);
+
+        CSVDataLoader loader = newLoader();
+        DataStore db = DataStore.getInstance();
+        db.setUsers(loader.loadUsers());
+        db.setProjects(loader.loadProjects());
+        db.setApplications(loader.loadApplications());
+        db.setEnquiries(loader.loadEnquiries());
+        db.setBookings(loader.loadBookings());
+        db.setRegistrations(loader.loadRegistrations());
+        ChangeTracker.clearAll();
+    }
+
+    /**
+     * Deletes the generated data files.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Creates a loader that reads the generated data files.
+     *
+     * @return a new CSVDataLoader
+     */
+    public CSVDataLoader newLoader() {
+        return new CSVDataLoader(
+                config.get("usersFile"),
+                config.get("projectsFile"),
+                config.get("applicationsFile"),
+                config.get("enquiriesFile"),
+                config.get("bookingsFile"),
+                config.get("registrationsFile"));
+    }
+
+    /**
+     * Retrieves the configuration that points at the generated data files.
+     *
+     * @return the configuration
+     */
+    public ConfigLoader getConfig() {
+        return config;
+    }
+
+    /**
+     * Retrieves the DataStore holding the generated data.
+     *
+     * @return the data store
+     */
+    public DataStore getDataStore() {
+        return DataStore.getInstance();
+    }
+
+    /**
+     * Retrieves a generated applicant.
+     *
+     * @param index the index of the applicant, wrapped around the number of applicants
+     * @return the applicant
+     */
+    public User applicant(int index) {
+        return user(generator.getApplicants(), index);
+    }
+
+    /**
+     * Retrieves a generated officer.
+     *
+     * @param index the index of the officer, wrapped around the number of officers
+     * @return the officer
+     */
+    public User officer(int index) {
+        return user(generator.getOfficers(), index);
+    }
+
+    /**
+     * Retrieves a generated manager.
+     *
+     * @param index the index of the manager, wrapped around the number of managers
+     * @return the manager
+     */
+    public User manager(int index) {
+        return user(generator.getManagers(), index);
+    }
+
+    private User user(List<String> nrics, int index) {
+        return getDataStore().findUserByNric(nrics.get(Math.floorMod(index, nrics.size())));
+    }
+}
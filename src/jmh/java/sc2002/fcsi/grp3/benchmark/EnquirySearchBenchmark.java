@@ -0,0 +1,175 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.model.ChangeTracker;
+import sc2002.fcsi.grp3.model.Enquiry;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.EnquiryStatus;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.role.RoleFactory;
+import sc2002.fcsi.grp3.service.EnquiryService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The EnquirySearchBenchmark class measures the latency of full-text enquiry search, and of keeping the index
+ * up to date when an enquiry is edited. The enquiries are built in memory from a vocabulary in which a few
+ * words are common and most are rare, as in real text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnquirySearchBenchmark {
+
+    private static final String[] COMMON_WORDS = {
+            "the", "is", "flat", "when", "room", "booking", "price", "project", "available", "apply"
+    };
+    private static final int VOCABULARY_SIZE = 20_000;
+
+    /**
+     * The number of enquiries to index.
+     */
+    @Param({"1000000"})
+    public int enquiries;
+
+    private EnquiryService enquiryService;
+    private List<Enquiry> stored;
+    private Project project;
+    private User officer;
+    private Random random;
+
+    /**
+     * Builds and stores the enquiries, which indexes them.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42L);
+        int projectCount = Math.max(enquiries / 1000, 1);
+        int userCount = Math.max(enquiries / 10, 1);
+
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new User("User " + i, "S" + String.format("%07d", i) + "A", 35, "password",
+                    MaritalStatus.MARRIED, RoleFactory.fromString(i == 0 ? "Officer" : "Applicant")));
+        }
+        officer = users.get(0);
+
+        LocalDate today = LocalDate.now();
+        List<Project> projects = new ArrayList<>(projectCount);
+        for (int i = 0; i < projectCount; i++) {
+            // the officer handles one project in a hundred
+            List<String> officers = new ArrayList<>(i % 100 == 0 ? List.of(officer.getNric()) : List.of());
+            projects.add(new Project("Project " + i, "Yishun", true, today, today.plusDays(30), "S0000000A", 3,
+                    new ArrayList<>(), officers));
+        }
+        project = projects.get(0);
+
+        stored = new ArrayList<>(enquiries);
+        for (int i = 0; i < enquiries; i++) {
+            boolean replied = i % 2 == 0;
+            stored.add(new Enquiry(i, text(4), text(20), replied ? text(12) : null,
+                    users.get(random.nextInt(userCount)), projects.get(random.nextInt(projectCount)),
+                    replied ? officer : null, replied ? EnquiryStatus.REPLIED : EnquiryStatus.SUBMITTED, today, today));
+        }
+
+        DataStore db = DataStore.getInstance();
+        db.setUsers(users);
+        db.setProjects(projects);
+        db.setEnquiries(stored);
+        ChangeTracker.clearAll();
+        enquiryService = new EnquiryService(db);
+    }
+
+    /**
+     * Builds a sentence of random words, picking common words half of the time and otherwise
+     * favouring words near the start of the vocabulary.
+     */
+    private String text(int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(' ');
+            if (random.nextBoolean()) {
+                text.append(COMMON_WORDS[random.nextInt(COMMON_WORDS.length)]);
+            } else {
+                double skew = random.nextDouble();
+                text.append("w").append((int) (skew * skew * skew * VOCABULARY_SIZE));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Measures a search for two common words, which match many enquiries.
+     *
+     * @return the best matches
+     */
+    @Benchmark
+    public List<Enquiry> searchCommonWords() {
+        return enquiryService.searchEnquiries("flat booking", 20);
+    }
+
+    /**
+     * Measures a search for a common and a rare word.
+     *
+     * @return the best matches
+     */
+    @Benchmark
+    public List<Enquiry> searchRareWord() {
+        return enquiryService.searchEnquiries("price w15000", 20);
+    }
+
+    /**
+     * Measures a phrase search.
+     *
+     * @return the best matches
+     */
+    @Benchmark
+    public List<Enquiry> searchPhrase() {
+        return enquiryService.searchEnquiries("\"when is the flat\"", 20);
+    }
+
+    /**
+     * Measures a search limited to one project.
+     *
+     * @return the best matches
+     */
+    @Benchmark
+    public List<Enquiry> searchProject() {
+        return enquiryService.searchEnquiriesForProject(project, "flat booking", 20);
+    }
+
+    /**
+     * Measures a search limited to the projects an officer handles.
+     *
+     * @return the best matches
+     */
+    @Benchmark
+    public List<Enquiry> searchHandledByOfficer() {
+        return enquiryService.searchEnquiriesHandledByOfficer(officer, "flat booking", 20);
+    }
+
+    /**
+     * Measures editing an unreplied enquiry, which reindexes it.
+     *
+     * @return whether the edit succeeded
+     */
+    @Benchmark
+    public boolean editEnquiry() {
+        Enquiry enquiry = stored.get(1 + 2 * random.nextInt(enquiries / 2));
+        return enquiryService.editEnquiry(enquiry, text(4), text(20));
+    }
+}
@@ -0,0 +1,74 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sc2002.fcsi.grp3.model.Enquiry;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.service.EnquiryService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The EnquiryServiceBenchmark class measures the enquiry lists shown to applicants, officers and managers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnquiryServiceBenchmark {
+
+    private EnquiryService enquiryService;
+    private User applicant;
+    private User officer;
+    private User manager;
+
+    /**
+     * Creates the service and picks the users to query for.
+     *
+     * @param data the generated data set
+     */
+    @Setup(Level.Trial)
+    public void setUp(DataSetState data) {
+        enquiryService = new EnquiryService(data.getDataStore());
+        applicant = data.applicant(1);
+        // the generator staffs project 1 with officers 3 to 5
+        officer = data.officer(3);
+        manager = data.manager(1);
+    }
+
+    /**
+     * Measures retrieving the enquiries created by an applicant.
+     *
+     * @return the applicant's enquiries
+     */
+    @Benchmark
+    public List<Enquiry> getOwnEnquiries() {
+        return enquiryService.getOwnEnquiries(applicant);
+    }
+
+    /**
+     * Measures retrieving the unreplied enquiries of the projects an officer handles.
+     *
+     * @return the unreplied enquiries
+     */
+    @Benchmark
+    public List<Enquiry> getUnrepliedEnquiriesHandledByOfficer() {
+        return enquiryService.getUnrepliedEnquiriesHandledByOfficer(officer);
+    }
+
+    /**
+     * Measures retrieving the unreplied enquiries of the projects a manager handles.
+     *
+     * @return the unreplied enquiries
+     */
+    @Benchmark
+    public List<Enquiry> getUnrepliedEnquiriesHandledByManager() {
+        return enquiryService.getUnrepliedEnquiriesHandledByManager(manager);
+    }
+}
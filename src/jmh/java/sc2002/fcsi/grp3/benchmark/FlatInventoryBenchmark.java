@@ -0,0 +1,64 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import sc2002.fcsi.grp3.model.Flat;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The FlatInventoryBenchmark class measures the flat inventory under contention: 32 threads approve,
+ * withdraw and book units of one flat at once, as a burst of manager approvals and officer bookings on a
+ * popular project would. Every operation puts its unit back, so the inventory never runs out.
+ * <p>
+ * Run it with {@code ./gradlew jmh -PjmhIncludes=FlatInventoryBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(32)
+public class FlatInventoryBenchmark {
+
+    private static final int UNITS = 1_000;
+
+    private Flat flat;
+
+    /**
+     * Creates the flat every thread competes for.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        flat = new Flat(FlatType.THREE_ROOM, UNITS, 350_000f);
+    }
+
+    /**
+     * Measures an approval that is then withdrawn before booking.
+     *
+     * @return whether the reservation was released
+     */
+    @Benchmark
+    public boolean reserveAndRelease() {
+        return flat.reserveUnit() && flat.releaseReservation();
+    }
+
+    /**
+     * Measures an approval that is booked and then withdrawn, returning the unit.
+     *
+     * @return whether the reservation was committed
+     */
+    @Benchmark
+    public boolean reserveCommitAndReturn() {
+        if (!flat.reserveUnit()) return false;
+        if (!flat.commitReservation()) return false;
+        flat.returnUnit();
+        return true;
+    }
+}
@@ -0,0 +1,104 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sc2002.fcsi.grp3.io.CSVDataLoader;
+import sc2002.fcsi.grp3.model.Application;
+import sc2002.fcsi.grp3.model.Booking;
+import sc2002.fcsi.grp3.model.Enquiry;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.Registration;
+import sc2002.fcsi.grp3.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LoaderBenchmark class measures how long each CSV file takes to load.
+ * Users and projects are loaded once per trial, since every other file refers to them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoaderBenchmark {
+
+    private CSVDataLoader loader;
+
+    /**
+     * Creates a loader whose user and project maps are already built.
+     *
+     * @param data the generated data set
+     */
+    @Setup(Level.Trial)
+    public void setUp(DataSetState data) {
+        loader = data.newLoader();
+        loader.loadUsers();
+        loader.loadProjects();
+    }
+
+    /**
+     * Measures loading the users file.
+     *
+     * @return the loaded users
+     */
+    @Benchmark
+    public List<User> loadUsers() {
+        return loader.loadUsers();
+    }
+
+    /**
+     * Measures loading the projects file.
+     *
+     * @return the loaded projects
+     */
+    @Benchmark
+    public List<Project> loadProjects() {
+        return loader.loadProjects();
+    }
+
+    /**
+     * Measures loading the applications file.
+     *
+     * @return the loaded applications
+     */
+    @Benchmark
+    public List<Application> loadApplications() {
+        return loader.loadApplications();
+    }
+
+    /**
+     * Measures loading the enquiries file.
+     *
+     * @return the loaded enquiries
+     */
+    @Benchmark
+    public List<Enquiry> loadEnquiries() {
+        return loader.loadEnquiries();
+    }
+
+    /**
+     * Measures loading the bookings file.
+     *
+     * @return the loaded bookings
+     */
+    @Benchmark
+    public List<Booking> loadBookings() {
+        return loader.loadBookings();
+    }
+
+    /**
+     * Measures loading the registrations file.
+     *
+     * @return the loaded registrations
+     */
+    @Benchmark
+    public List<Registration> loadRegistrations() {
+        return loader.loadRegistrations();
+    }
+}
@@ -0,0 +1,172 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.model.ChangeTracker;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.role.IRole;
+import sc2002.fcsi.grp3.model.role.RoleFactory;
+import sc2002.fcsi.grp3.service.AuthService;
+import sc2002.fcsi.grp3.service.PasswordHasher;
+import sc2002.fcsi.grp3.service.UserService;
+import sc2002.fcsi.grp3.service.result.ActionResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LoginBenchmark class measures login throughput against a large user directory, and the officer's
+ * name lookup. The users are built in memory, sharing a small pool of names and one password hash, so that
+ * ten million of them fit in a few gigabytes of heap. Passwords are hashed with a single PBKDF2 iteration,
+ * so the scores show the cost of finding the user and handing the check to the verification threads.
+ * <p>
+ * Run it with {@code ./gradlew jmh -PjmhIncludes=LoginBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "password";
+    private static final String[] GIVEN_NAMES = {
+            "Wei Ming", "Siew Ling", "Arjun", "Nur Aisyah", "John", "Mei Hua", "Rajesh", "Farah", "Kelvin", "Priya"
+    };
+    private static final String[] SURNAMES = {
+            "Tan", "Lim", "Lee", "Ng", "Ong", "Wong", "Goh", "Chua", "Koh", "Teo",
+            "Kumar", "Rahman", "Pillai", "Ismail", "Smith", "Chen", "Yeo", "Low", "Sim", "Ho"
+    };
+    // a single iteration keeps the key derivation out of the way; PasswordHashBenchmark measures its cost
+    private static final int HASH_ITERATIONS = 1;
+    // the number of NRICs drawn up front, so that the benchmarks do not format strings
+    private static final int SAMPLE_SIZE = 1 << 16;
+
+    /**
+     * The number of users in the directory.
+     */
+    @Param({"10000000"})
+    public int users;
+
+    private PasswordHasher passwordHasher;
+    private AuthService authService;
+    private UserService userService;
+    private String[] knownNrics;
+    private String[] unknownNrics;
+
+    /**
+     * The Cursor class walks through the sampled NRICs separately in every benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int next() {
+            return next++ & (SAMPLE_SIZE - 1);
+        }
+    }
+
+    /**
+     * Builds and stores the users, and samples the NRICs to log in with.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> names = new ArrayList<>();
+        for (String surname : SURNAMES) {
+            for (String givenName : GIVEN_NAMES) {
+                names.add(surname + " " + givenName);
+            }
+        }
+        IRole applicant = RoleFactory.fromString("Applicant");
+        passwordHasher = new PasswordHasher(HASH_ITERATIONS, Runtime.getRuntime().availableProcessors(), 1024);
+        String hash = passwordHasher.hash(PASSWORD);
+        List<User> directory = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            directory.add(new User(names.get(i % names.size()), nric('S', i), 21 + i % 50, hash,
+                    i % 2 == 0 ? MaritalStatus.MARRIED : MaritalStatus.SINGLE, applicant));
+        }
+
+        DataStore db = DataStore.getInstance();
+        db.setUsers(directory);
+        ChangeTracker.clearAll();
+        userService = new UserService(db);
+        authService = new AuthService(userService, passwordHasher);
+
+        Random random = new Random(42L);
+        knownNrics = new String[SAMPLE_SIZE];
+        unknownNrics = new String[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            // half of the users type their NRIC in lower case
+            String known = nric('S', random.nextInt(users));
+            knownNrics[i] = i % 2 == 0 ? known : known.toLowerCase(Locale.ROOT);
+            unknownNrics[i] = nric('T', random.nextInt(users));
+        }
+    }
+
+    /**
+     * Stops the password verification threads.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordHasher.close();
+    }
+
+    private static String nric(char prefix, int number) {
+        return prefix + String.format("%07d", number) + "A";
+    }
+
+    /**
+     * Measures a login with the right password.
+     *
+     * @param cursor the thread's position in the sample
+     * @return the result holding the logged in user
+     */
+    @Benchmark
+    public ActionResult<User> loginSuccess(Cursor cursor) {
+        return authService.authenticate(knownNrics[cursor.next()], PASSWORD);
+    }
+
+    /**
+     * Measures a login with the wrong password.
+     *
+     * @param cursor the thread's position in the sample
+     * @return the failed result
+     */
+    @Benchmark
+    public ActionResult<User> loginWrongPassword(Cursor cursor) {
+        return authService.authenticate(knownNrics[cursor.next()], "wrong password");
+    }
+
+    /**
+     * Measures a login with an NRIC that is not registered.
+     *
+     * @param cursor the thread's position in the sample
+     * @return the failed result
+     */
+    @Benchmark
+    public ActionResult<User> loginUnknownUser(Cursor cursor) {
+        return authService.authenticate(unknownNrics[cursor.next()], PASSWORD);
+    }
+
+    /**
+     * Measures the officer's lookup of an applicant by the start of their surname.
+     *
+     * @param cursor the thread's position in the sample
+     * @return the first matching users
+     */
+    @Benchmark
+    public List<User> findByNamePrefix(Cursor cursor) {
+        return userService.findByNamePrefix(SURNAMES[cursor.next() % SURNAMES.length].substring(0, 2), 10);
+    }
+}
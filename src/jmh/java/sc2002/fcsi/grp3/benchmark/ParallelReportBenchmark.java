@@ -0,0 +1,144 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.dto.FlatBookingAggregation;
+import sc2002.fcsi.grp3.model.Application;
+import sc2002.fcsi.grp3.model.ChangeTracker;
+import sc2002.fcsi.grp3.model.Flat;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.ReportFilter;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.role.RoleFactory;
+import sc2002.fcsi.grp3.service.ReportService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ParallelReportBenchmark class measures how the parallel booking statistics scale with the number of
+ * worker threads. It scans millions of applications built in memory, so that loading files does not dominate
+ * the setup, on a fork-join pool of each chosen size.
+ * <p>
+ * Scaling is read by comparing the scores of the parallelism values, e.g. with
+ * {@code ./gradlew jmh -PjmhIncludes=ParallelReportBenchmark} on a machine with at least 16 cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelReportBenchmark {
+
+    private static final String[] NEIGHBOURHOODS = {
+            "Yishun", "Woodlands", "Tampines", "Punggol", "Sengkang",
+            "Bedok", "Jurong West", "Bukit Panjang", "Queenstown", "Toa Payoh"
+    };
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+
+    /**
+     * The number of applications to scan.
+     */
+    @Param({"2000000"})
+    public int applications;
+
+    /**
+     * The number of worker threads in the fork-join pool.
+     */
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private ReportService reportService;
+    private ReportFilter filter;
+
+    /**
+     * Builds the applications, stores them and creates a pool of the chosen size.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        int userCount = applications;
+        int projectCount = Math.max(applications / 1000, 1);
+
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new User("User " + i, "S" + String.format("%07d", i) + "A", 21 + random.nextInt(50), "password",
+                    random.nextBoolean() ? MaritalStatus.MARRIED : MaritalStatus.SINGLE,
+                    RoleFactory.fromString("Applicant")));
+        }
+
+        List<Project> projects = new ArrayList<>(projectCount);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < projectCount; i++) {
+            float twoRoomPrice = 250_000 + random.nextInt(100_000);
+            projects.add(new Project("Project " + i, NEIGHBOURHOODS[i % NEIGHBOURHOODS.length], true,
+                    today.minusDays(30), today.plusDays(30), "S0000000A", 3,
+                    new ArrayList<>(List.of(
+                            new Flat(FlatType.TWO_ROOM, 100, twoRoomPrice),
+                            new Flat(FlatType.THREE_ROOM, 100, twoRoomPrice + 100_000))),
+                    new ArrayList<>()));
+        }
+
+        List<Application> items = new ArrayList<>(applications);
+        for (int i = 0; i < applications; i++) {
+            items.add(new Application(i, projects.get(random.nextInt(projectCount)), users.get(i),
+                    random.nextBoolean() ? FlatType.TWO_ROOM : FlatType.THREE_ROOM,
+                    STATUSES[random.nextInt(STATUSES.length)], today));
+        }
+
+        DataStore db = DataStore.getInstance();
+        db.setUsers(users);
+        db.setProjects(projects);
+        db.setApplications(items);
+        ChangeTracker.clearAll();
+
+        pool = new ForkJoinPool(parallelism);
+        reportService = new ReportService(db, pool);
+        filter = new ReportFilter();
+        filter.setMinAge(30);
+        filter.setMaxAge(60);
+    }
+
+    /**
+     * Shuts down the pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Measures the statistics over every booked flat.
+     *
+     * @return the booking statistics
+     */
+    @Benchmark
+    public FlatBookingAggregation aggregateAll() {
+        return reportService.getFlatBookingAggregation(null);
+    }
+
+    /**
+     * Measures the statistics over booked flats of applicants aged 30 to 60.
+     *
+     * @return the booking statistics
+     */
+    @Benchmark
+    public FlatBookingAggregation aggregateFiltered() {
+        return reportService.getFlatBookingAggregation(filter);
+    }
+}
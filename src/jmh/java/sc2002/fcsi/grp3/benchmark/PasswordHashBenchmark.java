@@ -0,0 +1,87 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import sc2002.fcsi.grp3.service.PasswordHasher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The PasswordHashBenchmark class measures what a login costs at each PBKDF2 iteration count, to help
+ * choose {@code passwordHashIterations}. A single verification should take well under a second on the
+ * production machine, and the verification pool can then sustain roughly its thread count divided by
+ * that time in logins per second.
+ * <p>
+ * Run it with {@code ./gradlew jmh -PjmhIncludes=PasswordHashBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "Correct-Horse-42";
+
+    /**
+     * The number of PBKDF2 iterations.
+     */
+    @Param({"100000", "210000", "310000", "600000"})
+    public int iterations;
+
+    private PasswordHasher passwordHasher;
+    private String stored;
+
+    /**
+     * Creates the hasher and a stored hash to verify against.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        passwordHasher = new PasswordHasher(iterations, 1, PasswordHasher.DEFAULT_QUEUE_CAPACITY);
+        stored = passwordHasher.hash(PASSWORD);
+    }
+
+    /**
+     * Stops the verification thread.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordHasher.close();
+    }
+
+    /**
+     * Measures hashing a new password, as when a password is changed or a plaintext one is migrated.
+     *
+     * @return the hash
+     */
+    @Benchmark
+    public String hash() {
+        return passwordHasher.hash(PASSWORD);
+    }
+
+    /**
+     * Measures checking a password on the calling thread.
+     *
+     * @return whether the password matched
+     */
+    @Benchmark
+    public boolean verify() {
+        return passwordHasher.verify(PASSWORD, stored);
+    }
+
+    /**
+     * Measures checking a password as a login does, through the verification thread.
+     *
+     * @return the value to keep storing
+     */
+    @Benchmark
+    public String verifyOnExecutor() {
+        return passwordHasher.verifyAndUpgrade(PASSWORD, stored).join();
+    }
+}
@@ -0,0 +1,81 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.ProjectFilter;
+import sc2002.fcsi.grp3.model.ProjectSortOption;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.ProjectSortKey;
+import sc2002.fcsi.grp3.model.enums.SortDirection;
+import sc2002.fcsi.grp3.service.ProjectService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ProjectServiceBenchmark class measures the project queries behind the applicant's project list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectServiceBenchmark {
+
+    private ProjectService projectService;
+    private User applicant;
+    private List<Project> allProjects;
+    private ProjectFilter filter;
+    private ProjectSortOption sortOption;
+    private int next;
+
+    /**
+     * Creates the service and the filter used by the benchmarks.
+     *
+     * @param data the generated data set
+     */
+    @Setup(Level.Trial)
+    public void setUp(DataSetState data) {
+        projectService = new ProjectService(data.getDataStore());
+        allProjects = projectService.getAllProjects();
+        filter = new ProjectFilter("Tampines", null, null, List.of(FlatType.THREE_ROOM), 300_000f, 500_000f);
+        sortOption = new ProjectSortOption(ProjectSortKey.PRICE, SortDirection.ASCENDING);
+        applicant = data.applicant(0);
+    }
+
+    /**
+     * Moves to a different applicant before each iteration so that results are not tied to one user.
+     *
+     * @param data the generated data set
+     */
+    @Setup(Level.Iteration)
+    public void nextApplicant(DataSetState data) {
+        applicant = data.applicant(next++);
+    }
+
+    /**
+     * Measures retrieving the projects visible to an applicant.
+     *
+     * @return the visible projects
+     */
+    @Benchmark
+    public List<Project> getVisibleProjects() {
+        return projectService.getVisibleProjects(applicant);
+    }
+
+    /**
+     * Measures filtering and sorting every project.
+     *
+     * @return the filtered projects
+     */
+    @Benchmark
+    public List<Project> filterProjects() {
+        return projectService.filterProjects(applicant, allProjects, filter, sortOption);
+    }
+}
@@ -0,0 +1,74 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sc2002.fcsi.grp3.dto.FlatBookingReportRow;
+import sc2002.fcsi.grp3.dto.FlatBookingTotals;
+import sc2002.fcsi.grp3.model.ReportFilter;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.service.ReportService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ReportServiceBenchmark class measures the flat booking report and its totals, with and without a filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportServiceBenchmark {
+
+    private ReportService reportService;
+    private ReportFilter filter;
+
+    /**
+     * Creates the service and the filter used by the benchmarks.
+     *
+     * @param data the generated data set
+     */
+    @Setup(Level.Trial)
+    public void setUp(DataSetState data) {
+        reportService = new ReportService(data.getDataStore());
+        filter = new ReportFilter();
+        filter.setMaritalStatus(MaritalStatus.MARRIED);
+        filter.setMinAge(30);
+        filter.setMaxAge(50);
+    }
+
+    /**
+     * Measures the report of every booked flat.
+     *
+     * @return the report rows
+     */
+    @Benchmark
+    public List<FlatBookingReportRow> getFlatBookingReport() {
+        return reportService.getFlatBookingReport(null);
+    }
+
+    /**
+     * Measures the report of booked flats for married applicants aged 30 to 50.
+     *
+     * @return the report rows
+     */
+    @Benchmark
+    public List<FlatBookingReportRow> getFilteredFlatBookingReport() {
+        return reportService.getFlatBookingReport(filter);
+    }
+
+    /**
+     * Measures the totals of booked flats for married applicants aged 30 to 50.
+     *
+     * @return the booking totals
+     */
+    @Benchmark
+    public FlatBookingTotals getFilteredFlatBookingTotals() {
+        return reportService.getFlatBookingTotals(filter);
+    }
+}
@@ -0,0 +1,248 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * The SyntheticDataGenerator class writes a complete, consistent set of CSV data files at a chosen scale.
+ * The files use the same layout as the files in the data folder, so they can be read by the normal loader.
+ * <p>
+ * For a scale of N users the generator writes:
+ * <ul>
+ *     <li>N users, of which roughly 1% are managers, 4% are officers and the rest are applicants</li>
+ *     <li>one project per 100 users, each managed by a manager and staffed by up to three officers</li>
+ *     <li>one application for every second applicant, spread over all application statuses</li>
+ *     <li>one booking per booked application</li>
+ *     <li>one enquiry per applicant, half of which are replied</li>
+ *     <li>one registration per officer</li>
+ * </ul>
+ * The same scale and seed always produce the same files.
+ */
+public final class SyntheticDataGenerator {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final String[] NEIGHBOURHOODS = {
+            "Yishun", "Woodlands", "Tampines", "Punggol", "Sengkang",
+            "Bedok", "Jurong West", "Bukit Panjang", "Queenstown", "Toa Payoh"
+    };
+    private static final String[] APPLICATION_STATUSES = {
+            "PENDING", "SUCCESSFUL", "UNSUCCESSFUL", "BOOKED", "WITHDRAWAL_REQUESTED", "WITHDRAWN"
+    };
+
+    private final int userCount;
+    private final Random random;
+    private final LocalDate today = LocalDate.now();
+
+    private final List<String> managers = new ArrayList<>();
+    private final List<String> officers = new ArrayList<>();
+    private final List<String> applicants = new ArrayList<>();
+    private final List<String> bookedApplications = new ArrayList<>();
+
+    /**
+     * Constructs a SyntheticDataGenerator.
+     *
+     * @param userCount the number of users to generate
+     * @param seed      the random seed
+     */
+    public SyntheticDataGenerator(int userCount, long seed) {
+        this.userCount = Math.max(userCount, 100);
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Writes all six data files into the given directory and returns the configuration that points at them.
+     *
+     * @param directory the directory to write into; it is created if it does not exist
+     * @return the configuration properties naming each data file
+     * @throws IOException if a file cannot be written
+     */
+    public Properties generate(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Properties config = new Properties();
+        config.setProperty("usersFile", writeUsers(directory.resolve("users.csv")));
+        config.setProperty("projectsFile", writeProjects(directory.resolve("projects.csv")));
+        config.setProperty("applicationsFile", writeApplications(directory.resolve("applications.csv")));
+        config.setProperty("bookingsFile", writeBookings(directory.resolve("bookings.csv")));
+        config.setProperty("enquiriesFile", writeEnquiries(directory.resolve("enquiry.csv")));
+        config.setProperty("registrationsFile", writeRegistrations(directory.resolve("registration.csv")));
+        return config;
+    }
+
+    /**
+     * Retrieves the number of projects generated for the configured scale.
+     *
+     * @return the project count
+     */
+    public int getProjectCount() {
+        return userCount / 100;
+    }
+
+    /**
+     * Retrieves the NRICs of the generated managers.
+     *
+     * @return the manager NRICs
+     */
+    public List<String> getManagers() {
+        return managers;
+    }
+
+    /**
+     * Retrieves the NRICs of the generated officers.
+     *
+     * @return the officer NRICs
+     */
+    public List<String> getOfficers() {
+        return officers;
+    }
+
+    /**
+     * Retrieves the NRICs of the generated applicants.
+     *
+     * @return the applicant NRICs
+     */
+    public List<String> getApplicants() {
+        return applicants;
+    }
+
+    private String writeUsers(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("Name,NRIC,Age,Marital Status,Password,Role");
+            writer.newLine();
+            for (int i = 0; i < userCount; i++) {
+                String nric = nric(i);
+                String role;
+                if (i % 100 == 0) {
+                    role = "Manager";
+                    managers.add(nric);
+                } else if (i % 25 == 1) {
+                    role = "Officer";
+                    officers.add(nric);
+                } else {
+                    role = "Applicant";
+                    applicants.add(nric);
+                }
+                int age = 21 + random.nextInt(50);
+                String maritalStatus = random.nextBoolean() ? "MARRIED" : "SINGLE";
+                writer.write("User " + i + "," + nric + "," + age + "," + maritalStatus + ",password," + role);
+                writer.newLine();
+            }
+        }
+        return path.toString();
+    }
+
+    private String writeProjects(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("id,Project Name,Neighborhood,Visible,Flat Types,Available Units,Selling Price,"
+                    + "Application opening date,Application closing date,Manager,Officer Slot,Officer NRICs");
+            writer.newLine();
+            for (int id = 1; id <= getProjectCount(); id++) {
+                // most projects are open today so that visibility queries have work to do
+                LocalDate opening = today.minusDays(random.nextInt(60));
+                LocalDate closing = id % 5 == 0 ? today.minusDays(1) : today.plusDays(30 + random.nextInt(90));
+                int twoRoomPrice = 250_000 + random.nextInt(100_000);
+                int threeRoomPrice = twoRoomPrice + 100_000;
+
+                List<String> projectOfficers = new ArrayList<>();
+                for (int k = 0; k < 3 && !officers.isEmpty(); k++) {
+                    projectOfficers.add(officers.get((id * 3 + k) % officers.size()));
+                }
+
+                writer.write(id + ",Project " + id + "," + NEIGHBOURHOODS[id % NEIGHBOURHOODS.length] + ","
+                        + (id % 7 != 0) + ",2R;3R,"
+                        + (50 + random.nextInt(200)) + ";" + (50 + random.nextInt(200)) + ","
+                        + twoRoomPrice + ".00;" + threeRoomPrice + ".00,"
+                        + DATE_FORMAT.format(opening) + "," + DATE_FORMAT.format(closing) + ","
+                        + managers.get(id % managers.size()) + ",3," + String.join(";", projectOfficers));
+                writer.newLine();
+            }
+        }
+        return path.toString();
+    }
+
+    private String writeApplications(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("id,projectId,userNric,flatType,applicationStatus,submittedAt");
+            writer.newLine();
+            int id = 1;
+            for (int i = 0; i < applicants.size(); i += 2) {
+                String applicant = applicants.get(i);
+                int projectId = 1 + random.nextInt(getProjectCount());
+                String flatType = random.nextBoolean() ? "2R" : "3R";
+                String status = APPLICATION_STATUSES[random.nextInt(APPLICATION_STATUSES.length)];
+                writer.write(id + "," + projectId + "," + applicant + "," + flatType + "," + status + ","
+                        + DATE_FORMAT.format(today.minusDays(random.nextInt(30))));
+                writer.newLine();
+                if (status.equals("BOOKED")) {
+                    bookedApplications.add(flatType + "," + projectId + "," + applicant);
+                }
+                id++;
+            }
+        }
+        return path.toString();
+    }
+
+    private String writeBookings(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("id,flatType,projectId,applicantNric,officerNric,bookingDate");
+            writer.newLine();
+            int id = 1;
+            for (String booking : bookedApplications) {
+                writer.write(id + "," + booking + "," + officers.get(id % officers.size()) + ","
+                        + DATE_FORMAT.format(today));
+                writer.newLine();
+                id++;
+            }
+        }
+        return path.toString();
+    }
+
+    private String writeEnquiries(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("id,title,content,reply,createdBy,relatedProject,repliedBy,status,createdAt,lastUpdatedAt");
+            writer.newLine();
+            int id = 1;
+            for (String applicant : applicants) {
+                int projectId = 1 + random.nextInt(getProjectCount());
+                boolean replied = random.nextBoolean();
+                String reply = replied ? "Yes it is" : "";
+                String repliedBy = replied ? officers.get(id % officers.size()) : "";
+                String status = replied ? "REPLIED" : "SUBMITTED";
+                String date = DATE_FORMAT.format(today.minusDays(random.nextInt(30)));
+                writer.write(id + ",Enquiry " + id + ",Is the 3-Room flat in project " + projectId + " still available?,"
+                        + reply + "," + applicant + "," + projectId + "," + repliedBy + "," + status + ","
+                        + date + "," + date);
+                writer.newLine();
+                id++;
+            }
+        }
+        return path.toString();
+    }
+
+    private String writeRegistrations(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("id,project,applicant,status,submittedAt");
+            writer.newLine();
+            int id = 1;
+            for (String officer : officers) {
+                writer.write(id + "," + (1 + random.nextInt(getProjectCount())) + "," + officer + ","
+                        + (id % 2 == 0 ? "APPROVED" : "PENDING") + "," + DATE_FORMAT.format(today));
+                writer.newLine();
+                id++;
+            }
+        }
+        return path.toString();
+    }
+
+    private static String nric(int index) {
+        return (index % 2 == 0 ? "S" : "T") + String.format("%07d", index) + (char) ('A' + index % 26);
+    }
+}
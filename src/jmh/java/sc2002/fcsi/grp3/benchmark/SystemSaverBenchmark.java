@@ -0,0 +1,57 @@
+package sc2002.fcsi.grp3.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sc2002.fcsi.grp3.model.ChangeTracker;
+import sc2002.fcsi.grp3.model.enums.EntityType;
+import sc2002.fcsi.grp3.service.SystemSaver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SystemSaverBenchmark class measures a full save of every data file.
+ * Every entity is marked as changed before each call, so no file is skipped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SystemSaverBenchmark {
+
+    private SystemSaver saver;
+
+    /**
+     * Creates a saver that writes over the generated data files.
+     *
+     * @param data the generated data set
+     */
+    @Setup(Level.Trial)
+    public void setUp(DataSetState data) {
+        saver = new SystemSaver(data.getDataStore(), data.getConfig());
+    }
+
+    /**
+     * Marks every entity as changed.
+     */
+    @Setup(Level.Invocation)
+    public void markAllDirty() {
+        for (EntityType type : EntityType.values()) {
+            ChangeTracker.markDirty(type);
+        }
+    }
+
+    /**
+     * Measures saving every data file.
+     *
+     * @return true if every file was saved
+     */
+    @Benchmark
+    public boolean saveAll() {
+        return saver.saveAll();
+    }
+}
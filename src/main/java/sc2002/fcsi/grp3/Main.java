@@ -8,14 +8,67 @@ import sc2002.fcsi.grp3.init.SystemInitializer;
  */
 public class Main {
 
+    private static final String USAGE = "Usage: [--server [port]] [--record[=file]], where port is 1-65535";
+
     /**
      * The main method which serves as the entry point of the application.
+     * With {@code --server [port]} the application serves terminal sessions over TCP instead of the console.
+     * With {@code --record[=file]} it also keeps a continuous flight recording, written to the file on exit.
      *
-     * @param args Command-line arguments passed to the program (not used here)
+     * @param args Command-line arguments passed to the program
      */
     public static void main(String[] args) {
         System.out.println("Working dir: " + System.getProperty("user.dir"));
+        boolean server = false;
+        Integer port = null;
+        boolean record = false;
+        String recordingFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--record")) {
+                record = true;
+            } else if (args[i].startsWith("--record=")) {
+                record = true;
+                recordingFile = args[i].substring("--record=".length());
+            } else if (args[i].equals("--server")) {
+                server = true;
+                if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                    port = parsePort(args[++i]);
+                    if (port == null) {
+                        System.out.println("Invalid port: " + args[i]);
+                        System.out.println(USAGE);
+                        return;
+                    }
+                }
+            }
+        }
+
         SystemInitializer systemInitializer = new SystemInitializer();
-        systemInitializer.startSystem();
+        if (record) {
+            systemInitializer.startRecording(recordingFile);
+        }
+        if (server) {
+            if (port != null) {
+                systemInitializer.startServer(port);
+            } else {
+                systemInitializer.startServer();
+            }
+        } else {
+            systemInitializer.startSystem();
+        }
+    }
+
+    /**
+     * Parses a TCP port number.
+     *
+     * @param value the port as given on the command line
+     * @return the port, or null if the value is not a number from 1 to 65535
+     */
+    private static Integer parsePort(String value) {
+        try {
+            int port = Integer.parseInt(value.trim());
+            return port >= 1 && port <= 65535 ? port : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
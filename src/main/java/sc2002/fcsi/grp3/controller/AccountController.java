@@ -7,6 +7,7 @@ import sc2002.fcsi.grp3.model.role.OfficerRole;
 import sc2002.fcsi.grp3.service.AuthService;
 import sc2002.fcsi.grp3.service.BookingService;
 import sc2002.fcsi.grp3.service.ProjectService;
+import sc2002.fcsi.grp3.service.result.ActionResult;
 import sc2002.fcsi.grp3.session.Session;
 import sc2002.fcsi.grp3.view.AccountView;
 import sc2002.fcsi.grp3.view.SharedView;
@@ -25,6 +26,7 @@ public class AccountController implements IBaseController {
     private final BookingService bookingService;
     private final SharedView sharedView;
     private final AccountView accountView;
+    private final Session session;
 
     /**
      * Constructs an AccountController with the necessary service and view dependencies.
@@ -34,13 +36,15 @@ public class AccountController implements IBaseController {
      * @param bookingService  the booking service
      * @param sharedView      the shared view for common UI elements
      * @param accountView     the account-specific view
+     * @param session         the session of the user this controller serves
      */
-    public AccountController(AuthService authService, ProjectService projectService, BookingService bookingService, SharedView sharedView, AccountView accountView) {
+    public AccountController(AuthService authService, ProjectService projectService, BookingService bookingService, SharedView sharedView, AccountView accountView, Session session) {
         this.authService = authService;
         this.projectService = projectService;
         this.bookingService = bookingService;
         this.sharedView = sharedView;
         this.accountView = accountView;
+        this.session = session;
     }
 
      /**
@@ -51,7 +55,7 @@ public class AccountController implements IBaseController {
     public void start() {
         int choice;
         String[] options = {"My Info", "Change Password", "Back to main menu"};
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
 
         do {
             choice = sharedView.showMenuAndGetChoice("Account Settings", options);
@@ -119,8 +123,9 @@ public class AccountController implements IBaseController {
             return;
         }
 
-        if (!currentPassword.equals(user.getPassword())) {
-            accountView.showError("Incorrect current password. Password not changed.");
+        ActionResult<Void> checked = authService.checkPassword(user, currentPassword);
+        if (!checked.isSuccess()) {
+            accountView.showError(checked.getMessage() + " Password not changed.");
             return;
         }
 
@@ -17,6 +17,7 @@ public class ApplicantController implements IBaseController {
     private final ApplicationService applicationService;
     private final EnquiryService enquiryService;
     private final BookingService bookingService;
+    private final Session session;
 
     /**
      * Constructs an ApplicantController with the necessary dependencies.
@@ -27,6 +28,7 @@ public class ApplicantController implements IBaseController {
      * @param applicationService The ApplicationService for managing applications.
      * @param enquiryService     The EnquiryService for managing enquiries.
      * @param bookingService     The BookingService for managing bookings.
+     * @param session            The Session of the user this controller serves.
      */
     public ApplicantController(
             ApplicantViews views,
@@ -34,7 +36,8 @@ public class ApplicantController implements IBaseController {
             ProjectService projectService,
             ApplicationService applicationService,
             EnquiryService enquiryService,
-            BookingService bookingService
+            BookingService bookingService,
+            Session session
     ) {
         this.views = views;
         this.authService = authService;
@@ -42,6 +45,7 @@ public class ApplicantController implements IBaseController {
         this.applicationService = applicationService;
         this.enquiryService = enquiryService;
         this.bookingService = bookingService;
+        this.session = session;
     }
 
     /**
@@ -74,7 +78,7 @@ public class ApplicantController implements IBaseController {
      * Logs the applicant out of the system and displays a logout message.
      */
     private void logout() {
-        Session.logout();
+        session.logout();
         views.sharedView().showMessage("Logging out...");
     }
 
@@ -85,7 +89,8 @@ public class ApplicantController implements IBaseController {
         ProjectViewerController projectViewerController = new ProjectViewerController(
                 views.sharedView(),
                 views.projectView(),
-                projectService
+                projectService,
+                session
         );
         projectViewerController.start();
     }
@@ -99,7 +104,8 @@ public class ApplicantController implements IBaseController {
                 views.applicationView(),
                 views.projectView(),
                 projectService,
-                applicationService
+                applicationService,
+                session
         );
         applicationController.start();
     }
@@ -113,7 +119,8 @@ public class ApplicantController implements IBaseController {
                 projectService,
                 bookingService,
                 views.sharedView(),
-                views.accountView()
+                views.accountView(),
+                session
         );
         accountController.start();
     }
@@ -125,7 +132,8 @@ public class ApplicantController implements IBaseController {
         ApplicantEnquiryController enquiryController = new ApplicantEnquiryController(
                 views.sharedView(),
                 views.enquiryView(),
-                enquiryService
+                enquiryService,
+                session
         );
         enquiryController.start();
     }
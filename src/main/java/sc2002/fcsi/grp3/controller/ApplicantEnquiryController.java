@@ -22,6 +22,7 @@ public class ApplicantEnquiryController {
     private final SharedView sharedView;
     private final EnquiryView view;
     private final EnquiryService service;
+    private final Session session;
 
     /**
      * Constructs an ApplicantEnquiryController with the necessary dependencies.
@@ -29,11 +30,13 @@ public class ApplicantEnquiryController {
      * @param sharedView The SharedView for displaying shared UI elements.
      * @param view       The EnquiryView for displaying enquiry-specific UI.
      * @param service    The EnquiryService for managing enquiries.
+     * @param session    The Session of the user this controller serves.
      */
-    public ApplicantEnquiryController(SharedView sharedView, EnquiryView view, EnquiryService service) {
+    public ApplicantEnquiryController(SharedView sharedView, EnquiryView view, EnquiryService service, Session session) {
         this.sharedView = sharedView;
         this.view = view;
         this.service = service;
+        this.session = session;
     }
 
     /**
@@ -48,7 +51,7 @@ public class ApplicantEnquiryController {
                 "Delete Enquiry",
                 "Back to Main Menu"
         };
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
         do {
             choice = sharedView.showMenuAndGetChoice("Enquiry Menu", options);
             switch (choice) {
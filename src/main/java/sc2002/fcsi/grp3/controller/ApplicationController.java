@@ -30,6 +30,7 @@ public class ApplicationController implements IBaseController {
     private final ProjectView projectView;
     private final ProjectService projectService;
     private final ApplicationService applicationService;
+    private final Session session;
 
     /**
      * Constructs an ApplicationController with the required dependencies.
@@ -39,19 +40,22 @@ public class ApplicationController implements IBaseController {
      * @param projectView        the view for displaying project-related UI elements
      * @param projectService     the service for managing project-related operations
      * @param applicationService the service for managing application-related operations
+     * @param session            the session of the user this controller serves
      */
     public ApplicationController(
             SharedView sharedView,
             ApplicationView applicationView,
             ProjectView projectView,
             ProjectService projectService,
-            ApplicationService applicationService
+            ApplicationService applicationService,
+            Session session
     ) {
         this.sharedView = sharedView;
         this.applicationView = applicationView;
         this.projectView = projectView;
         this.projectService = projectService;
         this.applicationService = applicationService;
+        this.session = session;
     }
 
     /**
@@ -65,7 +69,7 @@ public class ApplicationController implements IBaseController {
                 "View Applications",
                 "Withdraw Application",
                 "Back"};
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
 
         do {
             choice = sharedView.showMenuAndGetChoice("Account Settings", options);
@@ -88,11 +92,11 @@ public class ApplicationController implements IBaseController {
      * @return a list of visible projects
      */
     private List<Project> getVisibleProjects(User user) {
-        List<Project> projects = Session.getList("visibleProjects", Project.class);
+        List<Project> projects = session.getList("visibleProjects", Project.class);
 
         if (projects == null) {
             projects = projectService.getVisibleProjects(user);
-            Session.put("visibleProjects", projects);
+            session.put("visibleProjects", projects);
         }
 
         if (projects.isEmpty()) {
@@ -204,11 +208,11 @@ public class ApplicationController implements IBaseController {
      * @return the active application, or null if none exists
      */
     private Application getActiveApplication(User user) {
-        Application application = Session.get("activeApplication", Application.class);
+        Application application = session.get("activeApplication", Application.class);
         if (application == null) {
             Optional<Application> activeApplication = applicationService.getActiveApplicationFor(user);
             if (activeApplication.isPresent()) {
-                Session.put("activeApplication", activeApplication);
+                session.put("activeApplication", activeApplication);
                 return activeApplication.get();
             } else {
                 return null;
@@ -237,7 +241,7 @@ public class ApplicationController implements IBaseController {
             ActionResult<Application> result = applicationService.withdraw(user, activeApplication);
             if (result.isSuccess()) {
                 sharedView.showMessage(result.getMessage());
-                Session.remove("activeApplication");
+                session.remove("activeApplication");
                 return;
             }
             sharedView.showError(result.getMessage());
@@ -1,30 +1,48 @@
 package sc2002.fcsi.grp3.controller;
 
 import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
 import sc2002.fcsi.grp3.model.User;
 import sc2002.fcsi.grp3.model.permission.ApplicantApplicationPermission;
 import sc2002.fcsi.grp3.model.permission.OfficerApplicationPermission;
 import sc2002.fcsi.grp3.service.*;
 import sc2002.fcsi.grp3.init.ViewInitializer;
+import sc2002.fcsi.grp3.session.Session;
+
+import java.nio.file.Path;
 
 /**
  * Factory class for creating controllers based on the user's role or specific requirements.
- * It initializes controllers with the necessary services and views.
+ * It initializes controllers with the necessary services and views, and with the session they all share.
+ * A factory serves a single session, so every console run or network connection has a factory of its own.
  */
 public class ControllerFactory {
 
     private final DataStore store;
     private final ViewInitializer viewInit;
+    private final PasswordHasher passwordHasher;
+    private final ServiceExecutor serviceExecutor;
+    private final Path exportDirectory;
+    private final Session session;
 
     /**
      * Constructs a ControllerFactory with the required dependencies.
      *
-     * @param store    the data store containing application data
-     * @param viewInit the initializer for setting up views
+     * @param store           the data store containing application data
+     * @param viewInit        the initializer for setting up views
+     * @param passwordHasher  the password hasher shared by every session
+     * @param serviceExecutor the executor for long service calls, shared by every session
+     * @param exportDirectory the directory reports are exported into
+     * @param session         the session of the user these controllers serve
      */
-    public ControllerFactory(DataStore store, ViewInitializer viewInit) {
+    public ControllerFactory(DataStore store, ViewInitializer viewInit, PasswordHasher passwordHasher,
+                             ServiceExecutor serviceExecutor, Path exportDirectory, Session session) {
         this.store = store;
         this.viewInit = viewInit;
+        this.passwordHasher = passwordHasher;
+        this.serviceExecutor = serviceExecutor;
+        this.exportDirectory = exportDirectory;
+        this.session = session;
     }
 
     /**
@@ -37,7 +55,8 @@ public class ControllerFactory {
                 viewInit.getSharedView(),
                 viewInit.getMainMenuView(),
                 createLoginController(),
-                this
+                this,
+                session
         );
     }
 
@@ -47,9 +66,9 @@ public class ControllerFactory {
      * @return the LoginController instance
      */
     public LoginController createLoginController() {
-        UserService userService = new UserService(store.getUsers());
-        AuthService authService = new AuthService(userService);
-        return new LoginController(authService, viewInit.getAuthView());
+        UserService userService = new UserService(store);
+        AuthService authService = new AuthService(userService, passwordHasher);
+        return new LoginController(authService, viewInit.getAuthView(), session);
     }
 
     /**
@@ -62,7 +81,7 @@ public class ControllerFactory {
      */
     public IBaseController createControllerForUser(User user) {
         String roleName = user.getRoleName();
-        UserService userService = new UserService(store.getUsers());
+        UserService userService = new UserService(store);
 
 
         return switch (roleName) {
@@ -70,24 +89,26 @@ public class ControllerFactory {
                 ApplicantApplicationPermission appPermission = new ApplicantApplicationPermission();
                 yield new ApplicantController(
                     viewInit.getApplicantViews(),
-                    new AuthService(userService),
-                    new ProjectService(store),
-                    new ApplicationService(appPermission, store),
-                    new EnquiryService(store),
-                    new BookingService(store)
+                    new AuthService(userService, passwordHasher),
+                    new TimedProjectService(store),
+                    new TimedApplicationService(appPermission, store),
+                    new TimedEnquiryService(store),
+                    new TimedBookingService(store),
+                    session
                 );
             }
             case "Officer" ->{
                 OfficerApplicationPermission appPermission = new OfficerApplicationPermission();
                 yield new OfficerController(
                     viewInit.getOfficerViews(),
-                    new AuthService(userService),
-                    new ProjectService(store),
-                    new ApplicationService(appPermission, store),
-                    new RegistrationService(store),
-                    new EnquiryService(store),
-                    new BookingService(store),
-                    userService
+                    new AuthService(userService, passwordHasher),
+                    new TimedProjectService(store),
+                    new TimedApplicationService(appPermission, store),
+                    new TimedRegistrationService(store),
+                    new TimedEnquiryService(store),
+                    new TimedBookingService(store),
+                    userService,
+                    session
                 );
             }
             case "Manager" -> new ManagerController(
@@ -96,11 +117,14 @@ public class ControllerFactory {
                     viewInit.getAccountView(),
                     viewInit.getEnquiryView(),
                     viewInit.getReportView(),
-                    new AuthService(userService),
-                    new BookingService(store),
-                    new ProjectService(store),
-                    new EnquiryService(store),
-                    new ReportService(store)
+                    new AuthService(userService, passwordHasher),
+                    new TimedBookingService(store),
+                    new TimedProjectService(store),
+                    new TimedEnquiryService(store),
+                    new TimedReportService(store, exportDirectory),
+                    serviceExecutor,
+                    MetricsRegistry.getInstance(),
+                    session
             );
             default -> throw new IllegalStateException("Unknown role: " + roleName);
         };
@@ -2,11 +2,10 @@ package sc2002.fcsi.grp3.controller;
 
 import sc2002.fcsi.grp3.model.User;
 import sc2002.fcsi.grp3.service.AuthService;
+import sc2002.fcsi.grp3.service.result.ActionResult;
 import sc2002.fcsi.grp3.session.Session;
 import sc2002.fcsi.grp3.view.AuthView;
 
-import java.util.Optional;
-
 /**
  * Controller class for handling user login functionality.
  * Manages the authentication process and user session initialization.
@@ -15,21 +14,25 @@ public class LoginController {
 
     private final AuthService authService;
     private final AuthView view;
+    private final Session session;
 
     /**
      * Constructs a LoginController with the required dependencies.
      *
      * @param authService the authentication service for validating user credentials
      * @param view        the view for displaying login-related UI elements
+     * @param session     the session of the user this controller serves
      */
-    public LoginController(AuthService authService, AuthView view) {
+    public LoginController(AuthService authService, AuthView view, Session session) {
         this.authService = authService;
         this.view = view;
+        this.session = session;
     }
 
     /**
      * Handles the login process by prompting the user for credentials,
      * authenticating them, and initializing the user session if successful.
+     * A failed login shows why it failed, including when the system is too busy to verify the password.
      *
      * @return true if login is successful, false otherwise
      */
@@ -38,15 +41,15 @@ public class LoginController {
         String nric = view.promptNRIC();
         String password = view.promptPassword();
 
-        Optional<User> result = Optional.ofNullable(authService.authenticate(nric, password));
+        ActionResult<User> result = authService.authenticate(nric, password);
 
-        if (result.isPresent()) {
-            User user = result.get();
-            Session.setCurrentUser(user);
+        if (result.isSuccess()) {
+            User user = result.getData();
+            session.setCurrentUser(user);
             view.showLoginSuccess(user);
             return true;
         } else {
-            view.showLoginFailure();
+            view.showLoginFailure(result.getMessage());
             return false;
         }
 
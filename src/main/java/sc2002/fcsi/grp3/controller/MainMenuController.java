@@ -5,6 +5,8 @@ import sc2002.fcsi.grp3.session.Session;
 import sc2002.fcsi.grp3.view.MainMenuView;
 import sc2002.fcsi.grp3.view.SharedView;
 
+import java.io.UncheckedIOException;
+
 /**
  * Controller class for managing the main menu of the application.
  * Handles user login and navigation to role-specific controllers.
@@ -15,6 +17,7 @@ public class MainMenuController implements IBaseController {
     private final MainMenuView view;
     private final LoginController loginController;
     private final ControllerFactory controllerFactory;
+    private final Session session;
 
     /**
      * Constructs a MainMenuController with the required dependencies.
@@ -23,16 +26,19 @@ public class MainMenuController implements IBaseController {
      * @param view              the view for displaying main menu UI elements
      * @param loginController   the controller for handling user login
      * @param controllerFactory the factory for creating role-specific controllers
+     * @param session           the session of the user this controller serves
      */
     public MainMenuController(
             SharedView sharedView,
             MainMenuView view,
             LoginController loginController,
-            ControllerFactory controllerFactory) {
+            ControllerFactory controllerFactory,
+            Session session) {
         this.sharedView = sharedView;
         this.view = view;
         this.loginController = loginController;
         this.controllerFactory = controllerFactory;
+        this.session = session;
     }
 
     /**
@@ -55,16 +61,27 @@ public class MainMenuController implements IBaseController {
     /**
      * Handles the login process. If login is successful, navigates to the
      * appropriate controller based on the user's role.
+     * <p>
+     * If a change cannot be written to the journal, the user is told and returned to their menu rather than
+     * losing the session. A change that was made stays applied in memory and is saved by the next checkpoint.
      */
     private void handleLogin() {
         boolean success = loginController.login();
         if (!success) return;
-        User loggedIn = Session.getCurrentUser();
+        User loggedIn = session.getCurrentUser();
         IBaseController userController = controllerFactory.createControllerForUser(loggedIn);
 
         if (userController != null) {
-            userController.start();
-            if (!Session.isLoggedIn()) {
+            while (true) {
+                try {
+                    userController.start();
+                    break;
+                } catch (UncheckedIOException e) {
+                    view.showMessage(e.getMessage() + ".");
+                    if (!session.isLoggedIn()) break;
+                }
+            }
+            if (!session.isLoggedIn()) {
                 view.showMessage("You have been logged out. Returning to Main Menu...");
             }
         } else {
@@ -1,13 +1,16 @@
 package sc2002.fcsi.grp3.controller;
 
 import sc2002.fcsi.grp3.dto.FlatBookingReportRow;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
 import sc2002.fcsi.grp3.model.*;
 import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
 import sc2002.fcsi.grp3.model.enums.RegistrationStatus;
 import sc2002.fcsi.grp3.service.*;
+import sc2002.fcsi.grp3.service.result.ActionResult;
 import sc2002.fcsi.grp3.session.Session;
 import sc2002.fcsi.grp3.view.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -27,20 +30,26 @@ public class ManagerController implements IBaseController {
     private final ProjectService projectService;
     private final EnquiryService enquiryService;
     private final ReportService reportService;
+    private final ServiceExecutor serviceExecutor;
+    private final MetricsRegistry metrics;
+    private final Session session;
 
     /**
      * Constructs a ManagerController with the necessary dependencies.
      *
-     * @param view           The ManagerView for displaying manager-specific UI.
-     * @param sharedView     The SharedView for displaying shared UI elements.
-     * @param accountView    The AccountView for managing account-related UI.
-     * @param enquiryView    The EnquiryView for managing enquiries.
-     * @param reportView     The ReportView for generating reports.
-     * @param authService    The AuthService for authentication-related operations.
-     * @param bookingService The BookingService for managing bookings.
-     * @param projectService The ProjectService for managing projects.
-     * @param enquiryService The EnquiryService for managing enquiries.
-     * @param reportService  The ReportService for generating reports.
+     * @param view            The ManagerView for displaying manager-specific UI.
+     * @param sharedView      The SharedView for displaying shared UI elements.
+     * @param accountView     The AccountView for managing account-related UI.
+     * @param enquiryView     The EnquiryView for managing enquiries.
+     * @param reportView      The ReportView for generating reports.
+     * @param authService     The AuthService for authentication-related operations.
+     * @param bookingService  The BookingService for managing bookings.
+     * @param projectService  The ProjectService for managing projects.
+     * @param enquiryService  The EnquiryService for managing enquiries.
+     * @param reportService   The ReportService for generating reports.
+     * @param serviceExecutor The ServiceExecutor that reports and approvals run on.
+     * @param metrics         The MetricsRegistry holding the service method timings.
+     * @param session         The Session of the user this controller serves.
      */
     public ManagerController(
             ManagerView view,
@@ -52,7 +61,10 @@ public class ManagerController implements IBaseController {
             BookingService bookingService,
             ProjectService projectService,
             EnquiryService enquiryService,
-            ReportService reportService
+            ReportService reportService,
+            ServiceExecutor serviceExecutor,
+            MetricsRegistry metrics,
+            Session session
     ) {
         this.view = view;
         this.sharedView = sharedView;
@@ -64,6 +76,9 @@ public class ManagerController implements IBaseController {
         this.projectService = projectService;
         this.enquiryService = enquiryService;
         this.reportService = reportService;
+        this.serviceExecutor = serviceExecutor;
+        this.metrics = metrics;
+        this.session = session;
     }
 
     /**
@@ -78,6 +93,7 @@ public class ManagerController implements IBaseController {
                 "Manage Registrations",
                 "Manage Enquiries",
                 "My Account",
+                "Performance Metrics",
                 "Logout"
         };
 
@@ -89,7 +105,8 @@ public class ManagerController implements IBaseController {
                 case 3 -> manageRegistrations();
                 case 4 -> manageEnquiries();
                 case 5 -> accountSettings();
-                case 6 -> logout();
+                case 6 -> viewMetrics();
+                case 7 -> logout();
                 default -> view.showMessage("Invalid choice.");
             }
         } while (choice != options.length); // Loop until the user chooses to logout
@@ -119,7 +136,7 @@ public class ManagerController implements IBaseController {
             }
             case 2 -> {
                 // View projects created by the manager
-                User user = Session.getCurrentUser();
+                User user = session.getCurrentUser();
                 List<Project> managedProjects = projectService.getProjectsManagedBy(user.getNric());
                 if (managedProjects.isEmpty()) {
                     view.showMessage("No projects found under your management.");
@@ -136,18 +153,14 @@ public class ManagerController implements IBaseController {
      * with existing projects managed by the same manager.
      */
     public void createProject() {
-        User user = Session.getCurrentUser(); // Get the current manager
+        User user = session.getCurrentUser(); // Get the current manager
         String managerNric = user.getNric(); // Get the manager's NRIC
 
         // Get new project details from the view
         Project newProject = view.getNewProjectDetails(managerNric);
 
         // Check for overlapping application periods
-        boolean hasOverlap = projectService.getProjectsManagedBy(managerNric).stream()
-                .anyMatch(project ->
-                        !newProject.getApplicationClosingDate().isBefore(project.getApplicationOpeningDate()) &&
-                                !newProject.getApplicationOpeningDate().isAfter(project.getApplicationClosingDate())
-                );
+        boolean hasOverlap = projectService.hasOverlappingApplicationPeriod(newProject, managerNric);
 
         if (hasOverlap) {
             view.showMessage("Cannot create project. Overlapping application periods detected.");
@@ -177,9 +190,12 @@ public class ManagerController implements IBaseController {
      * Allows the manager to edit a project they manage. Provides options to modify project details such as name,
      * neighborhood, application dates, flats, officer slots, and visibility.
      * Ensures that there are no overlapping application periods after editing.
+     * <p>
+     * The details and flats are edited on a copy of the project, which is saved through the project service
+     * when the manager finishes, so the stored project is never changed outside the service.
      */
     public void editProject() {
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
         List<Project> projects = projectService.getProjectsManagedBy(user.getNric());
 
         if (projects.isEmpty()) {
@@ -193,6 +209,12 @@ public class ManagerController implements IBaseController {
             return;
         }
 
+        String name = project.getName();
+        String neighbourhood = project.getNeighbourhood();
+        LocalDate openingDate = project.getApplicationOpeningDate();
+        LocalDate closingDate = project.getApplicationClosingDate();
+        List<Flat> flats = project.getFlats();
+        boolean edited = false;
         boolean editing = true;
         while (editing) {
             String[] options = {
@@ -208,11 +230,26 @@ public class ManagerController implements IBaseController {
 
             int choice = view.showMenuAndGetChoice("Edit Project", options);
             switch (choice) {
-                case 1 -> project.setName(view.promptString("Enter new project name: "));
-                case 2 -> project.setNeighbourhood(view.promptString("Enter new neighbourhood: "));
-                case 3 -> project.setApplicationOpeningDate(view.promptDate("Enter new application opening date (YYYY-MM-DD): "));
-                case 4 -> project.setApplicationClosingDate(view.promptDate("Enter new application closing date (YYYY-MM-DD): "));
-                case 5 -> project.setFlats(view.getFlatDetails());
+                case 1 -> {
+                    name = view.promptString("Enter new project name: ");
+                    edited = true;
+                }
+                case 2 -> {
+                    neighbourhood = view.promptString("Enter new neighbourhood: ");
+                    edited = true;
+                }
+                case 3 -> {
+                    openingDate = view.promptDate("Enter new application opening date (YYYY-MM-DD): ");
+                    edited = true;
+                }
+                case 4 -> {
+                    closingDate = view.promptDate("Enter new application closing date (YYYY-MM-DD): ");
+                    edited = true;
+                }
+                case 5 -> {
+                    flats = view.getFlatDetails();
+                    edited = true;
+                }
                 case 6 -> {
                     int newSlots = view.promptInt("Enter new total officer slots (max 10): ");
                     int currentOfficers = project.getOfficerNrics().size();
@@ -240,25 +277,28 @@ public class ManagerController implements IBaseController {
             }
         }
 
+        if (!edited) {
+            return; // Officer slots and visibility are saved as soon as they are changed
+        }
+
+        Project draft = new Project(project.getId(), name, neighbourhood, project.isVisible(), openingDate, closingDate,
+                project.getManagerNric(), project.getTotalOfficerSlots(), flats, project.getOfficerNrics());
+
         // Check for overlapping application periods if dates were modified
-        boolean hasOverlap = projectService.getProjectsManagedBy(user.getNric()).stream()
-                .filter(p -> p.getId() != project.getId()) // Exclude the current project being edited
-                .anyMatch(p ->
-                        !project.getApplicationClosingDate().isBefore(p.getApplicationOpeningDate()) &&
-                                !project.getApplicationOpeningDate().isAfter(p.getApplicationClosingDate())
-                );
+        boolean hasOverlap = projectService.hasOverlappingApplicationPeriod(draft, user.getNric());
 
         if (hasOverlap) {
             view.showMessage("Cannot update project. Overlapping application periods detected.");
             return;
         }
 
-        boolean success = projectService.updateProject(project.getId(), project);
+        boolean success = projectService.updateProject(project.getId(), draft);
 
         if (success) {
             view.showMessage("Project updated successfully.");
         } else {
-            view.showMessage("Failed to update project. Invalid data detected.");
+            view.showMessage("Failed to update project. Overlapping application periods detected, "
+                    + "or a removed flat type still has units reserved for successful applications.");
         }
     }
 
@@ -266,7 +306,7 @@ public class ManagerController implements IBaseController {
      * Allows the manager to delete a project they manage. Confirms the deletion before proceeding.
      */
     public void deleteProject() {
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
 
         List<Project> projects = projectService.getProjectsManagedBy(user.getNric());
         if (projects.isEmpty()) {
@@ -303,16 +343,27 @@ public class ManagerController implements IBaseController {
                 projectService,
                 bookingService,
                 sharedView,
-                accountView
+                accountView,
+                session
         );
         accountController.start();
     }
 
+    /**
+     * Displays how often each service method has been called and how long it took, slowest in total first,
+     * followed by the counters and gauges, so that a slow menu action can be traced to the call behind it.
+     */
+    private void viewMetrics() {
+        view.showMethodLatencies(metrics.getMethodLatencies());
+        view.showMetricValues(metrics.getValues());
+        sharedView.pressEnterToContinue();
+    }
+
     /**
      * Logs the manager out of the system and displays a logout message.
      */
     public void logout() {
-        Session.logout();
+        session.logout();
         view.showMessage("Logging out...");
 
     }
@@ -322,7 +373,7 @@ public class ManagerController implements IBaseController {
      * Allows the manager to approve or reject pending registrations.
      */
     public void viewHDBOfficerRegistrations() {
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
         List<Project> projects = projectService.getProjectsManagedBy(user.getNric());
 
         for (Project project : projects) {
@@ -347,7 +398,7 @@ public class ManagerController implements IBaseController {
      * Allows the manager to approve or reject applications.
      */
     public void approveBTOApplication() {
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
         List<Project> projects = projectService.getProjectsManagedBy(user.getNric());
 
         if (projects.isEmpty()) {
@@ -384,7 +435,20 @@ public class ManagerController implements IBaseController {
                             continue;
                         }
 
-                        boolean success = projectService.updateBTOApplicationStatus(application, ApplicationStatus.SUCCESSFUL);
+                        ActionResult<Boolean> result = serviceExecutor.call(OperationClass.APPROVAL,
+                                () -> projectService.updateBTOApplicationStatus(application, ApplicationStatus.SUCCESSFUL));
+                        if (!result.isSuccess()) {
+                            view.showMessage(result.getMessage());
+                            continue;
+                        }
+
+                        boolean success = result.getData();
+                        if (!success && application.getStatus() != ApplicationStatus.PENDING) {
+                            // Approvals run concurrently, so another manager may have decided it first
+                            view.showMessage("Application was already " + application.getStatus() + ".");
+                            applications.remove(application);
+                            continue;
+                        }
                         view.showApprovalMessage(success, "Application approved.", "Approval failed. No available units for the selected flat type.");
                         if (success) {
                             applications.remove(application); // Remove the application from the list if approved
@@ -398,8 +462,16 @@ public class ManagerController implements IBaseController {
                             continue;
                         }
 
-                        projectService.updateBTOApplicationStatus(application, ApplicationStatus.UNSUCCESSFUL);
-                        view.showMessage("Application rejected.");
+                        ActionResult<Boolean> result = serviceExecutor.call(OperationClass.APPROVAL,
+                                () -> projectService.updateBTOApplicationStatus(application, ApplicationStatus.UNSUCCESSFUL));
+                        if (!result.isSuccess()) {
+                            view.showMessage(result.getMessage());
+                            continue;
+                        }
+
+                        view.showMessage(result.getData()
+                                ? "Application rejected."
+                                : "Application was already " + application.getStatus() + ".");
                         applications.remove(application); // Remove the application from the list if rejected
                     }
                     case 3 -> managingApplications = false; // Exit the loop
@@ -414,7 +486,7 @@ public class ManagerController implements IBaseController {
      * Allows the manager to approve or reject withdrawal requests.
      */
     public void approveWithdrawalRequests() {
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
         List<Project> projects = projectService.getProjectsManagedBy(user.getNric());
         if (projects.isEmpty()) {
             view.showMessage("No projects found under your management.");
@@ -440,7 +512,9 @@ public class ManagerController implements IBaseController {
         ReportViewerController reportViewerController = new ReportViewerController(
                 sharedView,
                 reportView,
-                reportService
+                reportService,
+                serviceExecutor,
+                session
         );
         reportViewerController.start();
     }
@@ -526,7 +600,7 @@ public class ManagerController implements IBaseController {
      * Approves or rejects pending officer registrations for the manager's projects.
      */
     private void approveOrRejectRegistration() {
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
         List<Project> projects = projectService.getProjectsManagedBy(user.getNric());
 
         if (projects.isEmpty()) {
@@ -569,7 +643,7 @@ public class ManagerController implements IBaseController {
      * Displays all registrations (pending and approved) for the manager's projects.
      */
     private void viewAllRegistrationsForProjects() {
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
         List<Project> projects = projectService.getProjectsManagedBy(user.getNric());
 
         if (projects.isEmpty()) {
@@ -605,7 +679,8 @@ public class ManagerController implements IBaseController {
         ManagerEnquiryController enquiryController = new ManagerEnquiryController(
                 sharedView,
                 enquiryView,
-                enquiryService
+                enquiryService,
+                session
         );
         enquiryController.start();
     }
@@ -1,6 +1,7 @@
 package sc2002.fcsi.grp3.controller;
 
 import sc2002.fcsi.grp3.model.Enquiry;
+import sc2002.fcsi.grp3.model.Project;
 import sc2002.fcsi.grp3.model.User;
 import sc2002.fcsi.grp3.service.EnquiryService;
 import sc2002.fcsi.grp3.service.result.ActionResult;
@@ -22,6 +23,9 @@ public class ManagerEnquiryController implements IBaseController {
     private final SharedView sharedView;
     private final EnquiryView view;
     private final EnquiryService service;
+    private final Session session;
+
+    private static final int SEARCH_LIMIT = 20;
 
     /**
      * Constructs a ManagerEnquiryController with the required dependencies.
@@ -29,11 +33,13 @@ public class ManagerEnquiryController implements IBaseController {
      * @param sharedView the shared view for displaying common UI elements
      * @param view       the view for displaying enquiry-related UI elements
      * @param service    the service for managing enquiry-related operations
+     * @param session    the session of the user this controller serves
      */
-    public ManagerEnquiryController(SharedView sharedView, EnquiryView view, EnquiryService service) {
+    public ManagerEnquiryController(SharedView sharedView, EnquiryView view, EnquiryService service, Session session) {
         this.sharedView = sharedView;
         this.view = view;
         this.service = service;
+        this.session = session;
     }
 
     /**
@@ -44,6 +50,7 @@ public class ManagerEnquiryController implements IBaseController {
         String[] options = {
                 "View All Enquiries Submitted",
                 "Reply to Enquiry for the project you are managing",
+                "Search Enquiries",
                 "Back"
         };
 
@@ -52,27 +59,52 @@ public class ManagerEnquiryController implements IBaseController {
             switch (choice) {
                 case 1 -> viewAssignedEnquiries();
                 case 2 -> replyEnquiry();
-                case 3 -> {
+                case 3 -> searchEnquiries();
+                case 4 -> {
                 }
                 default -> view.showError("Invalid choice!");
             }
-        } while (choice != 3);
+        } while (choice != 4);
     }
 
     /**
      * Displays all enquiries assigned to the manager for the projects they are managing.
      */
     private void viewAssignedEnquiries() {
-        User manager = Session.getCurrentUser();
+        User manager = session.getCurrentUser();
         view.showEnquiriesOfficerManager(service.getAllEnquiriesManager(manager));
     }
 
+    /**
+     * Searches the enquiries of every project, or of one project if the manager enters a project ID,
+     * and displays the best matches.
+     */
+    private void searchEnquiries() {
+        String query = view.promptSearchQuery();
+        if (!Validator.isNonEmpty(query)) {
+            view.showError("Search query cannot be empty.");
+            return;
+        }
+
+        Integer projectId = view.promptProjectIdOptional();
+        if (projectId == null) {
+            view.showEnquiriesOfficerManager(service.searchEnquiries(query, SEARCH_LIMIT));
+            return;
+        }
+        Optional<Project> project = service.getProjectById(projectId);
+        if (project.isEmpty()) {
+            view.showError("Project not found.");
+            return;
+        }
+        view.showEnquiriesOfficerManager(service.searchEnquiriesForProject(project.get(), query, SEARCH_LIMIT));
+    }
+
     /**
      * Allows the manager to reply to an enquiry for the projects they are managing.
      * Prompts the manager to select an enquiry and provide a reply.
      */
     private void replyEnquiry() {
-        User manager = Session.getCurrentUser();
+        User manager = session.getCurrentUser();
         List<Enquiry> notReplied = service.getUnrepliedEnquiriesHandledByManager(manager);
         if (notReplied.isEmpty()) {
             view.showError("No unreplied enquiries available for the project you are managing!");
@@ -1,10 +1,13 @@
 package sc2002.fcsi.grp3.controller;
 
+import sc2002.fcsi.grp3.metrics.FlatBookingEvent;
 import sc2002.fcsi.grp3.model.*;
 import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
 import sc2002.fcsi.grp3.service.*;
+import sc2002.fcsi.grp3.service.result.ActionResult;
 import sc2002.fcsi.grp3.service.EnquiryService;
 import sc2002.fcsi.grp3.util.ProjectViewUtils;
+import sc2002.fcsi.grp3.util.Validator;
 import sc2002.fcsi.grp3.view.OfficerViews;
 import sc2002.fcsi.grp3.model.enums.FlatType;
 import sc2002.fcsi.grp3.session.Session;
@@ -12,7 +15,6 @@ import sc2002.fcsi.grp3.model.enums.RegistrationStatus;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Scanner;
 import java.time.LocalDate;
 
 /**
@@ -21,6 +23,8 @@ import java.time.LocalDate;
  * This controller interacts with various services and views to facilitate the officer's tasks.
  */
 public class OfficerController implements IBaseController {
+    private static final int NAME_SEARCH_LIMIT = 10;
+
     private final OfficerViews views;
     private final AuthService authService;
     private final ProjectService projectService;
@@ -29,7 +33,6 @@ public class OfficerController implements IBaseController {
     private final EnquiryService enquiryService;
     private final UserService userService;
 
-    private Scanner sc = new Scanner(System.in);
     private Optional<Project> optionalProject;
     private Optional<User> optionalUser;
     private List<String> projOfficers;
@@ -44,6 +47,7 @@ public class OfficerController implements IBaseController {
     private FlatType flatType;
     private RegistrationStatus registrationStatus;
     private final OfficerEnquiryController enquiryControllerOfficer ;
+    private final Session session;
 
 
     /**
@@ -57,6 +61,7 @@ public class OfficerController implements IBaseController {
      * @param enquiryService      The EnquiryService for managing enquiries.
      * @param bookingService      The BookingService for managing bookings.
      * @param userService         The UserService for managing user-related operations.
+     * @param session             The Session of the user this controller serves.
      */
     public OfficerController(
             OfficerViews views,
@@ -66,7 +71,8 @@ public class OfficerController implements IBaseController {
             RegistrationService registrationService,
             EnquiryService enquiryService,
             BookingService bookingService,
-            UserService userService
+            UserService userService,
+            Session session
     ) {
         this.views = views;
         this.authService = authService;
@@ -76,8 +82,10 @@ public class OfficerController implements IBaseController {
         this.enquiryService = enquiryService;
         this.bookingService = bookingService;
         this.userService = userService;
+        this.session = session;
 
-        this.enquiryControllerOfficer = new OfficerEnquiryController(views.sharedView(), views.enquiryView(), enquiryService);
+        this.enquiryControllerOfficer = new OfficerEnquiryController(views.sharedView(), views.enquiryView(), enquiryService,
+                session);
     }
 
     /**
@@ -137,7 +145,8 @@ public class OfficerController implements IBaseController {
         ProjectViewerController projectViewerController = new ProjectViewerController(
                 views.sharedView(),
                 views.projectView(),
-                projectService
+                projectService,
+                session
         );
         projectViewerController.start();
     }
@@ -151,7 +160,8 @@ public class OfficerController implements IBaseController {
                 views.applicationView(),
                 views.projectView(),
                 projectService,
-                applicationService
+                applicationService,
+                session
         );
         applicationController.start();
     }
@@ -163,7 +173,8 @@ public class OfficerController implements IBaseController {
         ApplicantEnquiryController enquiryController = new ApplicantEnquiryController(
                 views.sharedView(),
                 views.enquiryView(),
-                enquiryService
+                enquiryService,
+                session
         );
         enquiryController.start();
     }
@@ -177,7 +188,8 @@ public class OfficerController implements IBaseController {
                 projectService,
                 bookingService,
                 views.sharedView(),
-                views.accountView()
+                views.accountView(),
+                session
         );
         accountController.start();
     }
@@ -210,22 +222,22 @@ public class OfficerController implements IBaseController {
 
     //Logout from User
     private void logout() {
-        Session.logout();
+        session.logout();
         views.sharedView().showMessage("Logging out...");
     }
 
     //View Registration Status
     private void registrationStatus(){
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
 //        view.showMessage("Your registration for....");
 //        registrationService.getProjectName(user);
 
-        System.out.println("Your registration: " + registrationService.getProjectName(user));
+        views.sharedView().showMessage("Your registration: " + registrationService.getProjectName(user));
 
 //        view.showMessage("Is Currently....");
 //        registrationService.getStatus(user);
 
-        System.out.println("Status: " + registrationService.getStatus(user));
+        views.sharedView().showMessage("Status: " + registrationService.getStatus(user));
 
         //registrationService.setStatus(user);
 
@@ -233,7 +245,7 @@ public class OfficerController implements IBaseController {
 
     //View Handled Project
     private void viewHandled(){
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
         Project Hproj = registrationService.getHandledProject(user.getNric());
 
         views.projectView().showProjectDetailsTable(Hproj);
@@ -245,13 +257,33 @@ public class OfficerController implements IBaseController {
 
 
 
+    /**
+     * Lists the users whose name starts with the given text, so the officer can find an applicant's NRIC.
+     *
+     * @param name the start of the applicant's name
+     */
+    private void showApplicantsNamed(String name) {
+        List<User> matches = userService.findByNamePrefix(name, NAME_SEARCH_LIMIT);
+        if (matches.isEmpty()) {
+            views.sharedView().showMessage("No applicant found with that name");
+            return;
+        }
+        for (User match : matches) {
+            views.sharedView().showMessage(match.getName() + " (" + match.getNric() + ")");
+        }
+    }
+
     //Book Flats for Applicants
     private void flatBooking(){
 
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
         do {
-            views.sharedView().showMessage("Enter NRIC of Applicant (Enter '0' to Exit) :");
-            nric = sc.next();
+            views.sharedView().showMessage("Enter NRIC or name of Applicant (Enter '0' to Exit) :");
+            nric = views.sharedView().promptString("");
+            if (!nric.equals("0") && !Validator.isValidNRIC(nric.toUpperCase())) {
+                showApplicantsNamed(nric);
+                continue;
+            }
             optionalUser = userService.findByNRIC(nric);
             found = applicationService.findApplication(nric.toUpperCase());
 
@@ -276,64 +308,23 @@ public class OfficerController implements IBaseController {
         }
 
         if(found.getStatus() == ApplicationStatus.SUCCESSFUL) {
-
-            //Search for flatType
-            proj = found.getProject();
-            List<Flat> Lftype = proj.getFlats();
-            flatType = found.getFlatType();
-
-            for (Flat flat : Lftype) {
-                if (flat.getType() == flatType) {
-//                    views.sharedView().showMessage("Room Type:");
-//                    views.sharedView().showMessage(String.valueOf(flatType.getDisplayName()));
-//                    views.sharedView().showMessage("Number of roomType: ");
-//                    views.sharedView().showMessage(String.valueOf(flat.getUnitsAvailable()));
-
-                    if(flat.getUnitsAvailable() <= 0){
-                        views.sharedView().showMessage("No Available flats left, Returning to menu.....");
-                        return;
-                    }
-                    else {
-                        flat.reduceUnitsAvailable();
-
-                        found.setStatus(ApplicationStatus.BOOKED);
-                        found.setFlatType(found.getFlatType());
-
-//                        views.sharedView().showMessage("Application Status now: ");
-//                        views.sharedView().showMessage(String.valueOf(found.getStatus()));
-
-
-                        System.out.println("Application Status now: " + String.valueOf(found.getStatus()));
-
-//                        views.sharedView().showMessage("Number of roomType left: ");
-//                        views.sharedView().showMessage(String.valueOf(flat.getUnitsAvailable()));
-
-                        //System.out.println("Number of roomType left: " + String.valueOf(flat.getUnitsAvailable()));
-
-                        flatVar = flat;
-                        break;
-                    }
-
-                }
-                else{
-                    views.sharedView().showMessage("Application from NRIC not found");
-                }
-            }
-
-            //Create a Booking for applicant
-
-            if (optionalUser.isPresent()){
-                Auser = optionalUser.get();
-            }
-            else {
-                views.sharedView().showMessage("No Such User");
+            FlatBookingEvent bookingEvent = FlatBookingEvent.start(found.getId(),
+                    found.getProject() == null ? 0 : found.getProject().getId(), String.valueOf(found.getFlatType()));
+
+            // Commit the unit reserved when the manager approved the application
+            ActionResult<Booking> booked = bookingService.bookFlat(found, user);
+            bookingEvent.finish(booked.isSuccess());
+            views.sharedView().showMessage(booked.getMessage());
+            if (!booked.isSuccess()) {
+                return;
             }
 
-            bookingService.addBooking(flatVar, proj, Auser, user);
-
+            proj = found.getProject();
+            Auser = found.getApplicant();
+            flatVar = booked.getData().getFlatType();
 
             views.sharedView().showMessage("\n\nProject Booking Receipts");
-            System.out.println("Name: " + Auser.getName() +
+            views.sharedView().showMessage("Name: " + Auser.getName() +
                                 "\nNRIC: " +Auser.getNric() +
                                 "\nAge: " + Auser.getAge() +
                                 "\nMarital Status: " + Auser.getMaritalStatus() +
@@ -348,7 +339,7 @@ public class OfficerController implements IBaseController {
 
     //Join project as Officer
     private void joinProject(){
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
         if(registrationService.getHandledProject(user.getNric()) != null){
             views.sharedView().showMessage("You are currently handling a project");
             return;
@@ -359,7 +350,7 @@ public class OfficerController implements IBaseController {
         //int num = projectService.getProjectSize();
         do{
             views.sharedView().showMessage("Select project from list by ID (0 to exit):");
-            choice = sc.nextInt();
+            choice = views.sharedView().promptInt("");
             if(choice == 0) return;
             optionalProject = projectService.getProjectById(choice);
             if (optionalProject.isPresent()){
@@ -419,8 +410,8 @@ public class OfficerController implements IBaseController {
 
 
     private void test(){
-//        User user = Session.getCurrentUser();
-//        if(Session.isLoggedIn()) {
+//        User user = session.getCurrentUser();
+//        if(session.isLoggedIn()) {
 //            String str = user.getNric();
 //            views.sharedView().showMessage(str);
 //        }
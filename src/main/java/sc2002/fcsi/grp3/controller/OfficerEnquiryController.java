@@ -20,6 +20,9 @@ public class OfficerEnquiryController implements IBaseController {
     private final SharedView sharedView;
     private final EnquiryView view;
     private final EnquiryService service;
+    private final Session session;
+
+    private static final int SEARCH_LIMIT = 20;
 
     /**
      * Constructs an OfficerEnquiryController with the necessary dependencies.
@@ -27,11 +30,13 @@ public class OfficerEnquiryController implements IBaseController {
      * @param sharedView the shared view for displaying common UI elements
      * @param view       the view for displaying enquiry-related UI elements
      * @param service    the service for managing enquiry-related operations
+     * @param session    the session of the user this controller serves
      */
-    public OfficerEnquiryController(SharedView sharedView, EnquiryView view, EnquiryService service) {
+    public OfficerEnquiryController(SharedView sharedView, EnquiryView view, EnquiryService service, Session session) {
         this.sharedView = sharedView;
         this.view = view;
         this.service = service;
+        this.session = session;
     }
 
     /**
@@ -42,6 +47,7 @@ public class OfficerEnquiryController implements IBaseController {
         String[] options  = {
                 "View Assigned Project Enquiries",
                 "Reply to Enquiry",
+                "Search Assigned Project Enquiries",
                 "Back"
         };
         do{
@@ -49,6 +55,8 @@ public class OfficerEnquiryController implements IBaseController {
             switch(choice){
                 case 1 -> viewAssignedEnquiries();
                 case 2 -> replyEnquiry();
+                case 3 -> searchEnquiries();
+                case 4 -> {}
                 default -> view.showError("Invalid choice!");
             }
         } while (choice != options.length);
@@ -58,15 +66,28 @@ public class OfficerEnquiryController implements IBaseController {
      * Displays all enquiries assigned to the officer for the projects they are handling.
      */
     private void viewAssignedEnquiries(){
-        User officer = Session.getCurrentUser();
+        User officer = session.getCurrentUser();
         view.showEnquiriesOfficerManager(service.getEnquiriesHandledByOfficer(officer));
     }
 
+    /**
+     * Searches the enquiries of the projects the officer is handling and displays the best matches.
+     */
+    private void searchEnquiries(){
+        User officer = session.getCurrentUser();
+        String query = view.promptSearchQuery();
+        if (!Validator.isNonEmpty(query)){
+            view.showError("Search query cannot be empty.");
+            return;
+        }
+        view.showEnquiriesOfficerManager(service.searchEnquiriesHandledByOfficer(officer, query, SEARCH_LIMIT));
+    }
+
     /**
      * Allows the officer to reply to an enquiry. Prompts the officer to select an enquiry and provide a reply.
      */
     private void replyEnquiry(){
-        User officer = Session.getCurrentUser();
+        User officer = session.getCurrentUser();
         List<Enquiry> notReplied = service.getUnrepliedEnquiriesHandledByOfficer(officer);
         if(notReplied.isEmpty()){
             view.showError("No unreplied enquiries available. ");
@@ -24,6 +24,7 @@ public class ProjectViewerController implements IBaseController {
     private final SharedView sharedView;
     private final ProjectView view;
     private final ProjectService projectService;
+    private final Session session;
 
     /**
      * Constructs a ProjectViewerController with the necessary dependencies.
@@ -31,15 +32,18 @@ public class ProjectViewerController implements IBaseController {
      * @param sharedView     the shared view for displaying common UI elements
      * @param view           the view for displaying project-related UI elements
      * @param projectService the service for managing project-related operations
+     * @param session        the session of the user this controller serves
      */
     public ProjectViewerController(
             SharedView sharedView,
             ProjectView view,
-            ProjectService projectService
+            ProjectService projectService,
+            Session session
     ) {
         this.sharedView = sharedView;
         this.view = view;
         this.projectService = projectService;
+        this.session = session;
     }
 
     /**
@@ -55,17 +59,17 @@ public class ProjectViewerController implements IBaseController {
                 "Back to project view",
                 "Back"
         };
-        User user = Session.getCurrentUser();
+        User user = session.getCurrentUser();
 
         do {
             sharedView.clear();
             sharedView.showTitle("Projects");
-            ProjectFilter filter = Session.get("projectFilter", ProjectFilter.class);
+            ProjectFilter filter = session.get("projectFilter", ProjectFilter.class);
             if (filter == null) {
                 filter = new ProjectFilter();
             }
 
-            ProjectSortOption sortOption = Session.get("sortOption", ProjectSortOption.class);
+            ProjectSortOption sortOption = session.get("sortOption", ProjectSortOption.class);
             if (sortOption == null) {
                 sortOption = ProjectSortOption.DEFAULT;
             }
@@ -81,7 +85,7 @@ public class ProjectViewerController implements IBaseController {
             switch (choice) {
                 case 1 -> createFilter();
                 case 2 -> updateFilter(filter);
-                case 3 -> Session.remove("projectFilter");
+                case 3 -> session.remove("projectFilter");
                 case 4 -> sortProjects(sortOption);
                 case 5, 6 -> {}
                 default -> sharedView.showInvalidChoice();
@@ -97,11 +101,11 @@ public class ProjectViewerController implements IBaseController {
      * @return a list of visible projects
      */
     private List<Project> getVisibleProjects(User user) {
-        List<Project> visibleProjects = Session.getList("visibleProjects", Project.class);
+        List<Project> visibleProjects = session.getList("visibleProjects", Project.class);
 
         if (visibleProjects == null) {
             visibleProjects = projectService.getVisibleProjects(user);
-            Session.put("visibleProjects", visibleProjects);
+            session.put("visibleProjects", visibleProjects);
         }
 
         if (visibleProjects.isEmpty()) {
@@ -168,7 +172,7 @@ public class ProjectViewerController implements IBaseController {
                     minPrice,
                     maxPrice
             );
-            Session.set("projectFilter", filter);
+            session.set("projectFilter", filter);
         } catch (Exception e) {
             sharedView.showError("Failed to create filter: " + e.getMessage());
         }
@@ -221,7 +225,7 @@ public class ProjectViewerController implements IBaseController {
             }
         } while (choice != options.length);
 
-        Session.set("projectFilter", filter);
+        session.set("projectFilter", filter);
         sharedView.showMessage("Filter Updated.");
     }
 
@@ -273,6 +277,6 @@ public class ProjectViewerController implements IBaseController {
                 break;
             }
         }
-        Session.set("sortOption", sortOption);
+        session.set("sortOption", sortOption);
     }
 }
@@ -1,10 +1,16 @@
 package sc2002.fcsi.grp3.controller;
 
+import sc2002.fcsi.grp3.dto.FlatBookingAggregation;
 import sc2002.fcsi.grp3.dto.FlatBookingReportRow;
+import sc2002.fcsi.grp3.dto.FlatBookingTotals;
+import sc2002.fcsi.grp3.io.ExportFormat;
 import sc2002.fcsi.grp3.model.ReportFilter;
 import sc2002.fcsi.grp3.model.enums.FlatType;
 import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.service.OperationClass;
 import sc2002.fcsi.grp3.service.ReportService;
+import sc2002.fcsi.grp3.service.ServiceExecutor;
+import sc2002.fcsi.grp3.service.result.ActionResult;
 import sc2002.fcsi.grp3.session.Session;
 import sc2002.fcsi.grp3.view.ReportView;
 import sc2002.fcsi.grp3.view.SharedView;
@@ -14,24 +20,42 @@ import java.util.List;
 /**
  * The ReportViewerController class handles the viewing and filtering of applicant booking reports.
  * It provides functionality for creating, updating, and clearing filters for generating reports.
+ * Reports are generated, exported and summarised in the report bulkhead of the {@link ServiceExecutor}, so that
+ * many managers asking for reports at once cannot take the threads the other sessions need.
  */
 public class ReportViewerController implements IBaseController {
 
     private final SharedView sharedView;
     private final ReportView view;
     private final ReportService reportService;
+    private final ServiceExecutor serviceExecutor;
+    private final Session session;
+
+    /**
+     * The ReportPage record holds the rows and totals of the report shown on one screen.
+     *
+     * @param rows   the report rows
+     * @param totals the booking totals
+     */
+    private record ReportPage(List<FlatBookingReportRow> rows, FlatBookingTotals totals) {
+    }
 
     /**
      * Constructs a ReportViewerController with the necessary dependencies.
      *
-     * @param sharedView    the shared view for displaying common UI elements
-     * @param view          the view for displaying report-related UI elements
-     * @param reportService the service for managing report-related operations
+     * @param sharedView      the shared view for displaying common UI elements
+     * @param view            the view for displaying report-related UI elements
+     * @param reportService   the service for managing report-related operations
+     * @param serviceExecutor the executor that report generation and exports run on
+     * @param session         the session of the user this controller serves
      */
-    public ReportViewerController(SharedView sharedView, ReportView view, ReportService reportService) {
+    public ReportViewerController(SharedView sharedView, ReportView view, ReportService reportService,
+                                  ServiceExecutor serviceExecutor, Session session) {
         this.sharedView = sharedView;
         this.view = view;
         this.reportService = reportService;
+        this.serviceExecutor = serviceExecutor;
+        this.session = session;
     }
 
     /**
@@ -43,6 +67,8 @@ public class ReportViewerController implements IBaseController {
                 "Create filter",
                 "Update filter",
                 "Clear filter",
+                "Export report",
+                "View booking statistics",
                 "Back to report view",
                 "Back"
         };
@@ -51,28 +77,88 @@ public class ReportViewerController implements IBaseController {
             sharedView.clear();
             sharedView.showTitle("Applicant Booking Report");
 
-            ReportFilter filter = Session.get("reportFilter", ReportFilter.class);
+            ReportFilter filter = session.get("reportFilter", ReportFilter.class);
             if (filter == null) filter = new ReportFilter();
 
             view.showCurrentFilter(filter);
             view.showMessage("");
 
-            List<FlatBookingReportRow> report = reportService.getFlatBookingReport(filter);
-            view.showBookingReport(report);
-            view.showRecordCount(report.size());
+            ReportFilter current = filter;
+            ActionResult<ReportPage> page = serviceExecutor.call(OperationClass.REPORT, () -> new ReportPage(
+                    reportService.getFlatBookingReport(current), reportService.getFlatBookingTotals(current)));
+            if (page.isSuccess()) {
+                view.showBookingReport(page.getData().rows());
+                view.showRecordCount(page.getData().rows().size());
+                view.showBookingTotals(page.getData().totals());
+            } else {
+                sharedView.showError(page.getMessage());
+            }
             sharedView.pressEnterToContinue();
 
             choice = sharedView.showMenuAndGetChoice("Filter Menu", options);
             switch (choice) {
                 case 1 -> createFilter();
                 case 2 -> updateFilter(filter);
-                case 3 -> Session.remove("reportFilter");
-                case 4, 5 -> {}
+                case 3 -> session.remove("reportFilter");
+                case 4 -> exportReport(filter);
+                case 5 -> showStatistics(filter);
+                case 6, 7 -> {}
                 default -> sharedView.showInvalidChoice();
             }
         } while (choice != options.length);
     }
 
+    /**
+     * Shows the statistics of the bookings matching the current filter, which are computed in the report
+     * bulkhead by scanning the applications in parallel.
+     *
+     * @param filter the current filter
+     */
+    private void showStatistics(ReportFilter filter) {
+        sharedView.showTitle("Booking Statistics");
+
+        ActionResult<FlatBookingAggregation> result = serviceExecutor.call(OperationClass.REPORT,
+                () -> reportService.getFlatBookingAggregation(filter));
+        if (result.isSuccess()) {
+            view.showBookingStatistics(result.getData());
+        } else {
+            sharedView.showError(result.getMessage());
+        }
+        sharedView.pressEnterToContinue();
+    }
+
+    /**
+     * Prompts the user for a file and format, and exports the report rows matching the current filter to it.
+     *
+     * @param filter the current filter
+     */
+    private void exportReport(ReportFilter filter) {
+        sharedView.showTitle("Export Report");
+
+        String file = view.promptExportFile();
+        if (file.isBlank()) {
+            sharedView.showError("File name cannot be empty.");
+            return;
+        }
+
+        ExportFormat format;
+        try {
+            format = ExportFormat.fromString(view.promptExportFormat());
+        } catch (IllegalArgumentException e) {
+            sharedView.showError(e.getMessage());
+            return;
+        }
+
+        ActionResult<Long> result = serviceExecutor.callAction(OperationClass.REPORT,
+                () -> reportService.exportFlatBookingReport(filter, file, format));
+        if (result.isSuccess()) {
+            sharedView.showMessage(result.getMessage());
+        } else {
+            sharedView.showError(result.getMessage());
+        }
+        sharedView.pressEnterToContinue();
+    }
+
     /**
      * Prompts the user to create a new filter for the report.
      * The filter criteria include marital status, flat types, age range, and neighbourhood.
@@ -98,7 +184,7 @@ public class ReportViewerController implements IBaseController {
         filter.setMaxAge(maxAge);
         filter.setNeighbourhood(neighbourhood.isBlank() ? null : neighbourhood);
 
-        Session.set("reportFilter", filter);
+        session.set("reportFilter", filter);
         sharedView.showMessage("Filter created.");
     }
 
@@ -140,7 +226,7 @@ public class ReportViewerController implements IBaseController {
             }
         } while (choice != 7);
 
-        Session.set("reportFilter", filter);
+        session.set("reportFilter", filter);
         sharedView.showMessage("Filter updated.");
     }
 }
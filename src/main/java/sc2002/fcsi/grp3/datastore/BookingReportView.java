@@ -0,0 +1,329 @@
+package sc2002.fcsi.grp3.datastore;
+
+import sc2002.fcsi.grp3.dto.FlatBookingReportRow;
+import sc2002.fcsi.grp3.dto.FlatBookingTotals;
+import sc2002.fcsi.grp3.model.Application;
+import sc2002.fcsi.grp3.model.ChangeTracker;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.ReportFilter;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.AgeBand;
+import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The BookingReportView class is a materialized view of the flat booking report.
+ * It holds one report row for every stored application with the status BOOKED, and is updated as
+ * applications are added or change status, so the report never has to scan every application.
+ * <p>
+ * Rows are grouped by neighbourhood and listed in order of application ID. Each neighbourhood also keeps
+ * a count of its bookings for every combination of flat type, marital status and applicant age, from which
+ * the group-by totals of any report filter are summed without visiting the rows.
+ * <p>
+ * A row copies the applicant's name, age and marital status and the project's name and neighbourhood, so all
+ * rows are rebuilt when one of those details changes, which is detected through the details version in
+ * {@link ChangeTracker}. Other changes to users and projects, such as flats being reserved as applications are
+ * approved, leave the rows as they are.
+ */
+final class BookingReportView implements Application.ChangeListener {
+
+    // ages above this are counted as this age
+    private static final int MAX_AGE = 150;
+    private static final FlatType[] FLAT_TYPES = FlatType.values();
+    private static final MaritalStatus[] MARITAL_STATUSES = MaritalStatus.values();
+    private static final Comparator<Entry> BY_APPLICATION_ID =
+            Comparator.comparingInt(Entry::applicationId).thenComparingLong(Entry::sequence);
+
+    private record Entry(int applicationId, Application application, FlatBookingReportRow row, String neighbourhood,
+                         int cell, long sequence) {
+    }
+
+    /**
+     * The Neighbourhood class holds the bookings in one neighbourhood.
+     */
+    private static final class Neighbourhood {
+        final String name;
+        final NavigableSet<Entry> entries = new TreeSet<>(BY_APPLICATION_ID);
+        final int[] counts = new int[FLAT_TYPES.length * MARITAL_STATUSES.length * (MAX_AGE + 1)];
+
+        Neighbourhood(String name) {
+            this.name = name;
+        }
+    }
+
+    private final Set<Application> stored = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Application, Entry> booked = new IdentityHashMap<>();
+    private final NavigableSet<Entry> all = new TreeSet<>(BY_APPLICATION_ID);
+    private final Map<String, Neighbourhood> neighbourhoods = new HashMap<>();
+    private long nextSequence;
+    private long detailsVersion = -1;
+
+    /**
+     * Replaces every application in the view.
+     *
+     * @param applications the stored applications
+     */
+    synchronized void setAll(Collection<Application> applications) {
+        stored.clear();
+        booked.clear();
+        all.clear();
+        neighbourhoods.clear();
+        detailsVersion = ChangeTracker.getDetailsVersion();
+        if (applications != null) {
+            for (Application application : applications) {
+                add(application);
+            }
+        }
+    }
+
+    /**
+     * Adds a newly stored application to the view.
+     *
+     * @param application the application that was stored
+     */
+    synchronized void add(Application application) {
+        stored.add(application);
+        applicationChanged(application);
+    }
+
+    /**
+     * Moves an application into or out of the report after its status or flat type changed.
+     * Applications that are not stored are ignored.
+     *
+     * @param application the application that changed
+     */
+    @Override
+    public synchronized void applicationChanged(Application application) {
+        if (!stored.contains(application)) return;
+        Entry old = booked.remove(application);
+        if (old != null) unindex(old);
+        if (isBooked(application)) index(application);
+    }
+
+    /**
+     * Retrieves the report rows that match a filter, in order of application ID.
+     *
+     * @param filter the filter criteria, or null to include every booking
+     * @return the matching rows
+     */
+    synchronized List<FlatBookingReportRow> rows(ReportFilter filter) {
+        refresh();
+        List<FlatBookingReportRow> rows = new ArrayList<>();
+        for (Entry entry : entriesFor(filter)) {
+            if (filter == null || filter.matches(entry.row())) rows.add(entry.row());
+        }
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Retrieves the number of bookings that match a filter, grouped by neighbourhood, flat type,
+     * marital status and age band.
+     *
+     * @param filter the filter criteria, or null to include every booking
+     * @return the totals
+     */
+    synchronized FlatBookingTotals totals(ReportFilter filter) {
+        refresh();
+        ReportFilter criteria = filter == null ? new ReportFilter() : filter;
+        boolean[] flatTypes = new boolean[FLAT_TYPES.length];
+        for (FlatType type : FLAT_TYPES) {
+            flatTypes[type.ordinal()] = criteria.getFlatTypes() == null || criteria.getFlatTypes().isEmpty()
+                    || criteria.getFlatTypes().contains(type);
+        }
+        int minAge = criteria.getMinAge() == null ? 0 : Math.max(criteria.getMinAge(), 0);
+        int maxAge = criteria.getMaxAge() == null ? MAX_AGE : Math.min(criteria.getMaxAge(), MAX_AGE);
+
+        int total = 0;
+        Map<String, Integer> byNeighbourhood = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        int[] byFlatType = new int[FLAT_TYPES.length];
+        int[] byMaritalStatus = new int[MARITAL_STATUSES.length];
+        int[] byAge = new int[MAX_AGE + 1];
+        for (Neighbourhood neighbourhood : neighbourhoodsFor(criteria)) {
+            int inNeighbourhood = 0;
+            for (FlatType type : FLAT_TYPES) {
+                if (!flatTypes[type.ordinal()]) continue;
+                for (MaritalStatus status : MARITAL_STATUSES) {
+                    if (criteria.getMaritalStatus() != null && criteria.getMaritalStatus() != status) continue;
+                    int base = cell(type, status, 0);
+                    for (int age = minAge; age <= maxAge; age++) {
+                        int count = neighbourhood.counts[base + age];
+                        if (count == 0) continue;
+                        inNeighbourhood += count;
+                        byFlatType[type.ordinal()] += count;
+                        byMaritalStatus[status.ordinal()] += count;
+                        byAge[age] += count;
+                    }
+                }
+            }
+            if (inNeighbourhood > 0) byNeighbourhood.merge(neighbourhood.name, inNeighbourhood, Integer::sum);
+            total += inNeighbourhood;
+        }
+
+        Map<AgeBand, Integer> byAgeBand = new EnumMap<>(AgeBand.class);
+        for (int age = minAge; age <= maxAge; age++) {
+            if (byAge[age] > 0) byAgeBand.merge(AgeBand.of(age), byAge[age], Integer::sum);
+        }
+        return new FlatBookingTotals(
+                total,
+                Collections.unmodifiableMap(byNeighbourhood),
+                Collections.unmodifiableMap(counted(FlatType.class, FLAT_TYPES, byFlatType)),
+                Collections.unmodifiableMap(counted(MaritalStatus.class, MARITAL_STATUSES, byMaritalStatus)),
+                Collections.unmodifiableMap(byAgeBand));
+    }
+
+    /**
+     * Retrieves the report rows that match a filter one page at a time, in order of application ID.
+     * Each page is read under the lock, but the lock is not held between pages, so a long export does not
+     * hold up changes to applications. Rows booked or changed while the iteration runs are seen only if their
+     * application ID has not yet been passed. A page never ends part way through the rows of one application ID,
+     * as the next page starts after the last ID read.
+     *
+     * @param filter   the filter criteria, or null to include every booking
+     * @param pageSize the greatest number of rows to read under the lock at a time
+     * @return an iterator over the matching rows
+     */
+    Iterator<FlatBookingReportRow> iterator(ReportFilter filter, int pageSize) {
+        return new Iterator<>() {
+            private Iterator<FlatBookingReportRow> page = Collections.emptyIterator();
+            private int lastId = Integer.MIN_VALUE;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext() && !exhausted) {
+                    page = nextPage();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public FlatBookingReportRow next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return page.next();
+            }
+
+            private Iterator<FlatBookingReportRow> nextPage() {
+                List<FlatBookingReportRow> rows = new ArrayList<>(pageSize);
+                synchronized (BookingReportView.this) {
+                    refresh();
+                    // the probe sorts after every entry of the last application ID read
+                    Entry after = new Entry(lastId, null, null, null, -1, Long.MAX_VALUE);
+                    int read = 0;
+                    exhausted = true;
+                    for (Entry entry : entriesFor(filter).tailSet(after, false)) {
+                        if (read >= pageSize && entry.applicationId() != lastId) {
+                            exhausted = false;
+                            break;
+                        }
+                        lastId = entry.applicationId();
+                        read++;
+                        if (filter == null || filter.matches(entry.row())) rows.add(entry.row());
+                    }
+                }
+                return rows.iterator();
+            }
+        };
+    }
+
+    private NavigableSet<Entry> entriesFor(ReportFilter filter) {
+        if (filter == null || filter.getNeighbourhood() == null || filter.getNeighbourhood().isBlank()) return all;
+        Neighbourhood neighbourhood = neighbourhoods.get(normalize(filter.getNeighbourhood()));
+        // an empty set of its own, as the shared empty set cannot compare entries
+        return neighbourhood == null ? new TreeSet<>(BY_APPLICATION_ID) : neighbourhood.entries;
+    }
+
+    private Collection<Neighbourhood> neighbourhoodsFor(ReportFilter filter) {
+        if (filter.getNeighbourhood() == null || filter.getNeighbourhood().isBlank()) return neighbourhoods.values();
+        Neighbourhood neighbourhood = neighbourhoods.get(normalize(filter.getNeighbourhood()));
+        return neighbourhood == null ? List.of() : List.of(neighbourhood);
+    }
+
+    /**
+     * Rebuilds every row if a detail the rows copy has changed since the rows were built.
+     */
+    private void refresh() {
+        long details = ChangeTracker.getDetailsVersion();
+        if (details == detailsVersion) return;
+        detailsVersion = details;
+
+        List<Application> applications = new ArrayList<>(booked.keySet());
+        booked.clear();
+        all.clear();
+        neighbourhoods.clear();
+        for (Application application : applications) {
+            if (isBooked(application)) index(application);
+        }
+    }
+
+    private void index(Application application) {
+        User applicant = application.getApplicant();
+        Project project = application.getProject();
+        FlatBookingReportRow row = new FlatBookingReportRow(
+                applicant.getName(),
+                applicant.getAge(),
+                applicant.getMaritalStatus(),
+                application.getFlatType(),
+                project.getName(),
+                project.getNeighbourhood());
+        String key = normalize(project.getNeighbourhood());
+        // a booking without a flat type or marital status is listed, but cannot be counted
+        int cell = row.getFlatType() == null || row.getMaritalStatus() == null ? -1
+                : cell(row.getFlatType(), row.getMaritalStatus(), Math.min(Math.max(row.getApplicantAge(), 0), MAX_AGE));
+        Entry entry = new Entry(application.getId(), application, row, key, cell, nextSequence++);
+
+        Neighbourhood neighbourhood = neighbourhoods.computeIfAbsent(key,
+                k -> new Neighbourhood(project.getNeighbourhood() == null ? "" : project.getNeighbourhood()));
+        neighbourhood.entries.add(entry);
+        if (cell >= 0) neighbourhood.counts[cell]++;
+        all.add(entry);
+        booked.put(application, entry);
+    }
+
+    private void unindex(Entry entry) {
+        all.remove(entry);
+        Neighbourhood neighbourhood = neighbourhoods.get(entry.neighbourhood());
+        neighbourhood.entries.remove(entry);
+        if (entry.cell() >= 0) neighbourhood.counts[entry.cell()]--;
+        if (neighbourhood.entries.isEmpty()) neighbourhoods.remove(entry.neighbourhood());
+    }
+
+    private static boolean isBooked(Application application) {
+        return application.getStatus() == ApplicationStatus.BOOKED
+                && application.getApplicant() != null
+                && application.getProject() != null;
+    }
+
+    private static int cell(FlatType type, MaritalStatus status, int age) {
+        return (type.ordinal() * MARITAL_STATUSES.length + status.ordinal()) * (MAX_AGE + 1) + age;
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> counted(Class<E> type, E[] values, int[] counts) {
+        Map<E, Integer> map = new EnumMap<>(type);
+        for (E value : values) {
+            if (counts[value.ordinal()] > 0) map.put(value, counts[value.ordinal()]);
+        }
+        return map;
+    }
+
+    private static String normalize(String neighbourhood) {
+        return neighbourhood == null ? "" : neighbourhood.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,28 +1,94 @@
 package sc2002.fcsi.grp3.datastore;
 
+import sc2002.fcsi.grp3.dto.FlatBookingReportRow;
+import sc2002.fcsi.grp3.dto.FlatBookingTotals;
 import sc2002.fcsi.grp3.model.*;
+import sc2002.fcsi.grp3.model.enums.EntityType;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The DataStore class serves as an in-memory database for storing application data.
  * It maintains lists of users, projects, applications, registrations, enquiries, and bookings.
+ * Each list is backed by an {@link EntityTable} that keeps a primary-key hash index and
+ * foreign-key indexes in sync with every add, remove and set, so lookups do not scan the lists.
+ * <p>
+ * The store runs in {@link StorageMode#SINGLE} mode by default. In {@link StorageMode#CONCURRENT}
+ * mode each entity table has its own read-write lock and every getter returns an immutable snapshot,
+ * so many sessions can share one store. Sessions read in parallel, but every service mutation runs under
+ * the one change lock of the {@link Journal}, so writes are serialized across all tables. A write usually
+ * spans several tables, e.g. a booking changes an application, a flat and the bookings, and its journal
+ * entry must be logged in the order it was applied, so the tables are not written independently.
  * This class follows the Singleton design pattern to ensure a single instance is used throughout the application.
  */
 public final class DataStore {
 
-    private static DataStore instance;
-    private List<User> users = new ArrayList<>();
-    private List<Project> projects = new ArrayList<>();
-    private List<Application> applications = new ArrayList<>();
-    private List<Registration> registrations = new ArrayList<>();
-    private List<Enquiry> enquiries = new ArrayList<>();
-    private List<Booking> bookings = new ArrayList<>();
+    // the number of booked applications read under the report's lock at a time when streaming the report
+    private static final int REPORT_PAGE_SIZE = 1024;
+
+    private StorageMode storageMode = StorageMode.SINGLE;
+    private volatile Journal journal = Journal.disabled();
+
+    private final EntityTable<String, User> users = new EntityTable<>(u -> normalizeNric(u.getNric()));
+    private final UserNameTrie userNames = new UserNameTrie(users::rows);
+
+    private final EntityTable<Integer, Project> projects = new EntityTable<>(Project::getId);
+    private final EntityTable<Integer, Project>.SecondaryIndex<String> projectsByManager =
+            projects.addIndex(p -> keyOf(normalizeNric(p.getManagerNric())));
+    private final EntityTable<Integer, Project>.SecondaryIndex<String> projectsByOfficer =
+            projects.addIndex(p -> p.getOfficerNrics() == null
+                    ? List.of()
+                    : p.getOfficerNrics().stream().map(DataStore::normalizeNric).distinct().toList());
+
+    private final ProjectPeriodIndex projectPeriods = new ProjectPeriodIndex();
+
+    private final EntityTable<Integer, Application> applications = new EntityTable<>(Application::getId);
+    private final EntityTable<Integer, Application>.SecondaryIndex<String> applicationsByApplicant =
+            applications.addIndex(a -> keyOf(a.getApplicant() == null ? null : normalizeNric(a.getApplicant().getNric())));
+    private final EntityTable<Integer, Application>.SecondaryIndex<Integer> applicationsByProject =
+            applications.addIndex(a -> keyOf(a.getProject() == null ? null : a.getProject().getId()));
+
+    private final BookingReportView bookingReport = new BookingReportView();
+
+    private final EntityTable<String, Registration> registrations = new EntityTable<>(Registration::getId);
+    private final EntityTable<String, Registration>.SecondaryIndex<String> registrationsByApplicant =
+            registrations.addIndex(r -> keyOf(r.getApplicant() == null ? null : normalizeNric(r.getApplicant().getNric())));
+    private final EntityTable<String, Registration>.SecondaryIndex<Integer> registrationsByProject =
+            registrations.addIndex(r -> keyOf(r.getProject() == null ? null : r.getProject().getId()));
+
+    private final EntityTable<Integer, Enquiry> enquiries = new EntityTable<>(Enquiry::getId);
+    private final EntityTable<Integer, Enquiry>.SecondaryIndex<String> enquiriesByCreator =
+            enquiries.addIndex(e -> keyOf(e.getCreatedBy() == null ? null : normalizeNric(e.getCreatedBy().getNric())));
+    private final EntityTable<Integer, Enquiry>.SecondaryIndex<Integer> enquiriesByProject =
+            enquiries.addIndex(e -> keyOf(e.getRelatedProject() == null ? null : e.getRelatedProject().getId()));
+
+    private final EnquiryTextIndex enquiryText = new EnquiryTextIndex();
+    private final UnrepliedEnquiryQueues unrepliedEnquiries = new UnrepliedEnquiryQueues();
+
+    private final EntityTable<Integer, Booking> bookings = new EntityTable<>(Booking::getId);
+    private final EntityTable<Integer, Booking>.SecondaryIndex<String> bookingsByApplicant =
+            bookings.addIndex(b -> keyOf(b.getApplicant() == null ? null : normalizeNric(b.getApplicant().getNric())));
 
     /**
      * Private constructor to prevent instantiation from outside the class.
      */
     private DataStore() {
+        Application.addChangeListener(bookingReport);
+    }
+
+    /**
+     * Lazily holds the singleton instance; the class loader guarantees safe publication.
+     */
+    private static final class Holder {
+        private static final DataStore INSTANCE = new DataStore();
     }
 
     /**
@@ -31,19 +97,78 @@ public final class DataStore {
      * @return the singleton instance of DataStore
      */
     public static DataStore getInstance() {
-        if (instance == null) {
-            instance = new DataStore();
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Gets the current storage mode.
+     *
+     * @return the storage mode
+     */
+    public synchronized StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * Sets the storage mode of every entity table.
+     * This should be called once at startup, before any session starts using the store.
+     *
+     * @param mode the storage mode to use
+     */
+    public synchronized void setStorageMode(StorageMode mode) {
+        this.storageMode = mode;
+        Stream.of(users, projects, applications, registrations, enquiries, bookings)
+                .forEach(table -> table.setMode(mode));
     }
 
+    /**
+     * Retrieves the journal that services record their mutations in.
+     *
+     * @return the journal, disabled unless one has been set
+     */
+    public Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Sets the journal that services record their mutations in.
+     *
+     * @param journal the journal to use
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal == null ? Journal.disabled() : journal;
+    }
+
+    /**
+     * Normalizes an NRIC so that lookups are case-insensitive.
+     *
+     * @param nric the NRIC to normalize
+     * @return the upper-cased, trimmed NRIC, or null if the input is null
+     */
+    public static String normalizeNric(String nric) {
+        return nric == null ? null : nric.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Wraps a single, possibly null, index key.
+     *
+     * @param key the key
+     * @param <S> the type of the key
+     * @return a singleton collection, or an empty collection if the key is null
+     */
+    private static <S> Collection<S> keyOf(S key) {
+        return key == null ? List.of() : List.of(key);
+    }
+
+    // Users
+
     /**
      * Retrieves the list of users.
      *
      * @return the list of users
      */
     public List<User> getUsers() {
-        return users;
+        return users.rows();
     }
 
     /**
@@ -52,16 +177,51 @@ public final class DataStore {
      * @param users the list of users to set
      */
     public void setUsers(List<User> users) {
-        this.users = users;
+        this.users.setAll(users);
+        ChangeTracker.markReplaced(EntityType.USERS);
+    }
+
+    /**
+     * Adds a user to the list of users.
+     *
+     * @param user the user to add
+     */
+    public void addUser(User user) {
+        users.add(user);
+        ChangeTracker.markDirty(EntityType.USERS);
     }
 
+    /**
+     * Finds a user by NRIC, ignoring case.
+     *
+     * @param nric the NRIC of the user
+     * @return the user, or null if not found
+     */
+    public User findUserByNric(String nric) {
+        if (nric == null) return null;
+        return users.get(normalizeNric(nric));
+    }
+
+    /**
+     * Finds users whose name, or any word in it, starts with a prefix, ignoring case.
+     *
+     * @param prefix the start of the name or of a word in it
+     * @param limit  the maximum number of users to return
+     * @return the matching users, in alphabetical order of the matching words
+     */
+    public List<User> findUsersByNamePrefix(String prefix, int limit) {
+        return userNames.find(prefix, limit);
+    }
+
+    // Projects
+
     /**
      * Retrieves the list of projects.
      *
      * @return the list of projects
      */
     public List<Project> getProjects() {
-        return projects;
+        return projects.rows();
     }
 
     /**
@@ -70,7 +230,9 @@ public final class DataStore {
      * @param projects the list of projects to set
      */
     public void setProjects(List<Project> projects) {
-        this.projects = projects;
+        this.projects.setAll(projects);
+        projectPeriods.setAll(projects);
+        ChangeTracker.markReplaced(EntityType.PROJECTS);
     }
 
     /**
@@ -80,21 +242,120 @@ public final class DataStore {
      */
     public void addProject(Project project) {
         projects.add(project);
+        projectPeriods.add(project);
+        ChangeTracker.markDirty(EntityType.PROJECTS);
+    }
+
+    /**
+     * Removes a project from the list of projects.
+     *
+     * @param project the project to remove
+     * @return true if the project was removed, false if it was not stored
+     */
+    public boolean removeProject(Project project) {
+        boolean removed = projects.remove(project);
+        if (removed) {
+            projectPeriods.remove(project);
+            ChangeTracker.markDirty(EntityType.PROJECTS);
+        }
+        return removed;
+    }
+
+    /**
+     * Refreshes the manager, officer and application period indexes of a project after its assignments
+     * or application dates changed.
+     *
+     * @param project the project that changed
+     */
+    public void reindexProject(Project project) {
+        projects.reindex(project);
+        projectPeriods.reindex(project);
+    }
+
+    /**
+     * Finds a project by its ID.
+     *
+     * @param id the ID of the project
+     * @return the project, or null if not found
+     */
+    public Project findProjectById(int id) {
+        return projects.get(id);
+    }
+
+    /**
+     * Retrieves all projects managed by the specified manager.
+     *
+     * @param managerNric the NRIC of the manager
+     * @return the list of projects managed by the manager
+     */
+    public List<Project> getProjectsByManager(String managerNric) {
+        return projectsByManager.get(normalizeNric(managerNric));
+    }
+
+    /**
+     * Retrieves all projects the specified officer is assigned to.
+     *
+     * @param officerNric the NRIC of the officer
+     * @return the list of projects handled by the officer
+     */
+    public List<Project> getProjectsByOfficer(String officerNric) {
+        return projectsByOfficer.get(normalizeNric(officerNric));
+    }
+
+    /**
+     * Checks whether a period overlaps the application period of any project, both ends inclusive.
+     *
+     * @param opening the first day of the period
+     * @param closing the last day of the period
+     * @param exclude a project to ignore, e.g. the one being edited, or null
+     * @return true if another project's application period overlaps
+     */
+    public boolean hasOverlappingProject(LocalDate opening, LocalDate closing, Project exclude) {
+        return projectPeriods.overlaps(opening, closing, exclude);
     }
 
+    /**
+     * Checks whether a period overlaps the application period of any project managed by the specified manager.
+     *
+     * @param managerNric the NRIC of the manager
+     * @param opening     the first day of the period
+     * @param closing     the last day of the period
+     * @param exclude     a project to ignore, e.g. the one being edited, or null
+     * @return true if another of the manager's projects has an overlapping application period
+     */
+    public boolean hasOverlappingProjectManagedBy(String managerNric, LocalDate opening, LocalDate closing, Project exclude) {
+        return projectPeriods.overlapsManagedBy(managerNric, opening, closing, exclude);
+    }
+
+    /**
+     * Retrieves all projects whose application period includes the specified date.
+     *
+     * @param date the date
+     * @return the list of projects open for application on that date
+     */
+    public List<Project> getProjectsOpenOn(LocalDate date) {
+        return projectPeriods.openOn(date);
+    }
+
+    // Applications
+
     /**
      * Retrieves the list of applications.
      *
      * @return the list of applications
      */
-    public List<Application> getApplications() { return applications; }
+    public List<Application> getApplications() { return applications.rows(); }
 
     /**
      * Sets the list of applications.
      *
      * @param applications the list of applications to set
      */
-    public void setApplications(List<Application> applications) { this.applications = applications; }
+    public void setApplications(List<Application> applications) {
+        this.applications.setAll(applications);
+        bookingReport.setAll(applications);
+        ChangeTracker.markReplaced(EntityType.APPLICATIONS);
+    }
 
     /**
      * Adds an application to the list of applications.
@@ -103,75 +364,300 @@ public final class DataStore {
      */
     public void addApplication(Application application) {
         applications.add(application);
+        bookingReport.add(application);
+        ChangeTracker.markDirty(EntityType.APPLICATIONS);
+    }
+
+    /**
+     * Finds an application by its ID.
+     *
+     * @param id the ID of the application
+     * @return the application, or null if not found
+     */
+    public Application findApplicationById(int id) {
+        return applications.get(id);
+    }
+
+    /**
+     * Retrieves all applications submitted by the specified applicant.
+     *
+     * @param applicantNric the NRIC of the applicant
+     * @return the list of applications submitted by the applicant
+     */
+    public List<Application> getApplicationsByApplicant(String applicantNric) {
+        return applicationsByApplicant.get(normalizeNric(applicantNric));
+    }
+
+    /**
+     * Retrieves all applications submitted for the specified project.
+     *
+     * @param projectId the ID of the project
+     * @return the list of applications for the project
+     */
+    public List<Application> getApplicationsByProject(int projectId) {
+        return applicationsByProject.get(projectId);
+    }
+
+    /**
+     * Retrieves the flat booking report rows of booked applications that match a filter,
+     * from a report that is kept up to date as applications change.
+     *
+     * @param filter the filter criteria, or null to include every booking
+     * @return the matching rows, in order of application ID
+     */
+    public List<FlatBookingReportRow> getFlatBookingReport(ReportFilter filter) {
+        return bookingReport.rows(filter);
+    }
+
+    /**
+     * Streams the flat booking report rows of booked applications that match a filter.
+     * Rows are read lazily, a page at a time, so the report is never held in memory as a whole.
+     *
+     * @param filter the filter criteria, or null to include every booking
+     * @return a stream of the matching rows, in order of application ID
+     */
+    public Stream<FlatBookingReportRow> streamFlatBookingReport(ReportFilter filter) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                bookingReport.iterator(filter, REPORT_PAGE_SIZE), Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
 
+    /**
+     * Retrieves the number of booked applications that match a filter, grouped by neighbourhood,
+     * flat type, marital status and age band.
+     *
+     * @param filter the filter criteria, or null to include every booking
+     * @return the booking totals
+     */
+    public FlatBookingTotals getFlatBookingTotals(ReportFilter filter) {
+        return bookingReport.totals(filter);
+    }
+
+    // Registrations
+
     /**
      * Adds a registration to the list of registrations.
      *
      * @param registration the registration to add
      */
-    public void addRegistration(Registration registration){registrations.add(registration);}
+    public void addRegistration(Registration registration){
+        registrations.add(registration);
+        ChangeTracker.markDirty(EntityType.REGISTRATIONS);
+    }
 
     /**
      * Sets the list of registrations.
      *
      * @param registration the list of registrations to set
      */
-    public void setRegistrations(List<Registration> registration){this.registrations = registration;}
+    public void setRegistrations(List<Registration> registration) {
+        this.registrations.setAll(registration);
+        ChangeTracker.markReplaced(EntityType.REGISTRATIONS);
+    }
 
     /**
      * Retrieves the list of registrations.
      *
      * @return the list of registrations
      */
-    public List<Registration> getRegistrations(){ return registrations; }
+    public List<Registration> getRegistrations(){ return registrations.rows(); }
+
+    /**
+     * Finds a registration by its ID.
+     *
+     * @param id the ID of the registration
+     * @return the registration, or null if not found
+     */
+    public Registration findRegistrationById(String id) {
+        return registrations.get(id);
+    }
+
+    /**
+     * Retrieves all registrations submitted by the specified officer.
+     *
+     * @param applicantNric the NRIC of the officer
+     * @return the list of registrations submitted by the officer
+     */
+    public List<Registration> getRegistrationsByApplicant(String applicantNric) {
+        return registrationsByApplicant.get(normalizeNric(applicantNric));
+    }
+
+    /**
+     * Retrieves all registrations submitted for the specified project.
+     *
+     * @param projectId the ID of the project
+     * @return the list of registrations for the project
+     */
+    public List<Registration> getRegistrationsByProject(int projectId) {
+        return registrationsByProject.get(projectId);
+    }
+
+    // Enquiries
 
     /**
      * Retrieves the list of enquiries.
      *
      * @return the list of enquiries
      */
-    public List<Enquiry> getEnquiries() {return enquiries;}
+    public List<Enquiry> getEnquiries() {return enquiries.rows();}
 
     /**
      * Sets the list of enquiries.
      *
      * @param enquiries the list of enquiries to set
      */
-    public void setEnquiries(List<Enquiry> enquiries){ this.enquiries = enquiries;}
+    public void setEnquiries(List<Enquiry> enquiries) {
+        this.enquiries.setAll(enquiries);
+        enquiryText.setAll(enquiries);
+        unrepliedEnquiries.setAll(enquiries);
+        ChangeTracker.markReplaced(EntityType.ENQUIRIES);
+    }
 
     /**
      * Adds an enquiry to the list of enquiries.
      *
      * @param enquiry the enquiry to add
      */
-    public void addEnquiry(Enquiry enquiry){ enquiries.add(enquiry);}
+    public void addEnquiry(Enquiry enquiry){
+        enquiries.add(enquiry);
+        enquiryText.add(enquiry);
+        unrepliedEnquiries.update(enquiry);
+        ChangeTracker.markDirty(EntityType.ENQUIRIES);
+    }
 
     /**
      * Removes an enquiry from the list of enquiries.
      *
      * @param enquiry the enquiry to remove
      */
-    public void removeEnquiry(Enquiry enquiry){ enquiries.remove(enquiry);}
+    public void removeEnquiry(Enquiry enquiry){
+        if (enquiries.remove(enquiry)) {
+            enquiryText.remove(enquiry);
+            unrepliedEnquiries.remove(enquiry);
+            ChangeTracker.markDirty(EntityType.ENQUIRIES);
+        }
+    }
+
+    /**
+     * Refreshes the full-text index and the unreplied queue of an enquiry after its title, content or reply changed.
+     *
+     * @param enquiry the enquiry that changed
+     */
+    public void reindexEnquiry(Enquiry enquiry) {
+        if (enquiries.get(enquiry.getId()) != enquiry) return;
+        enquiryText.reindex(enquiry);
+        unrepliedEnquiries.update(enquiry);
+    }
+
+    /**
+     * Retrieves the enquiries about the given projects that have not been replied to, oldest first.
+     *
+     * @param projects the projects whose enquiries to retrieve
+     * @return the unreplied enquiries
+     */
+    public List<Enquiry> getUnrepliedEnquiriesByProjects(Collection<Project> projects) {
+        return unrepliedEnquiries.inbox(projects.stream().map(Project::getId).toList());
+    }
+
+    /**
+     * Checks whether a stored enquiry is still waiting for a reply.
+     *
+     * @param enquiry the enquiry to check
+     * @return true if the enquiry is stored and has not been replied to
+     */
+    public boolean isUnrepliedEnquiry(Enquiry enquiry) {
+        return unrepliedEnquiries.isQueued(enquiry);
+    }
+
+    /**
+     * Searches the title, content and reply of the enquiries for a query, and ranks the matches.
+     * An enquiry matches if it contains every word of the query, ignoring case; words in double quotes
+     * must also appear together as a phrase.
+     *
+     * @param query      the search query
+     * @param projectIds the IDs of the projects to search within, or null to search every project
+     * @param limit      the greatest number of enquiries to return
+     * @return the matching enquiries, best match first
+     */
+    public List<Enquiry> searchEnquiries(String query, Set<Integer> projectIds, int limit) {
+        return enquiryText.search(query, projectIds, limit);
+    }
+
+    /**
+     * Finds an enquiry by its ID.
+     *
+     * @param id the ID of the enquiry
+     * @return the enquiry, or null if not found
+     */
+    public Enquiry findEnquiryById(int id) {
+        return enquiries.get(id);
+    }
+
+    /**
+     * Retrieves all enquiries created by the specified user.
+     *
+     * @param creatorNric the NRIC of the creator
+     * @return the list of enquiries created by the user
+     */
+    public List<Enquiry> getEnquiriesByCreator(String creatorNric) {
+        return enquiriesByCreator.get(normalizeNric(creatorNric));
+    }
+
+    /**
+     * Retrieves all enquiries related to the specified project.
+     *
+     * @param projectId the ID of the project
+     * @return the list of enquiries for the project
+     */
+    public List<Enquiry> getEnquiriesByProject(int projectId) {
+        return enquiriesByProject.get(projectId);
+    }
+
+    // Bookings
 
     /**
      * Retrieves the list of bookings.
      *
      * @return the list of bookings
      */
-    public List<Booking> getBookings() {return bookings;}
+    public List<Booking> getBookings() {return bookings.rows();}
 
     /**
      * Sets the list of bookings.
      *
      * @param bookings the list of bookings to set
      */
-    public void setBookings(List<Booking> bookings) { this.bookings = bookings;}
+    public void setBookings(List<Booking> bookings) {
+        this.bookings.setAll(bookings);
+        ChangeTracker.markReplaced(EntityType.BOOKINGS);
+    }
 
     /**
      * Adds a booking to the list of bookings.
      *
      * @param booking the booking to add
      */
-    public void addBooking(Booking booking){ bookings.add(booking);}
+    public void addBooking(Booking booking){
+        bookings.add(booking);
+        ChangeTracker.markDirty(EntityType.BOOKINGS);
+    }
+
+    /**
+     * Finds a booking by its ID.
+     *
+     * @param id the ID of the booking
+     * @return the booking, or null if not found
+     */
+    public Booking findBookingById(int id) {
+        return bookings.get(id);
+    }
+
+    /**
+     * Retrieves all bookings made for the specified applicant.
+     *
+     * @param applicantNric the NRIC of the applicant
+     * @return the list of bookings for the applicant
+     */
+    public List<Booking> getBookingsByApplicant(String applicantNric) {
+        return bookingsByApplicant.get(normalizeNric(applicantNric));
+    }
 }
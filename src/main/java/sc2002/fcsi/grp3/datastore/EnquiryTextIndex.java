@@ -0,0 +1,429 @@
+package sc2002.fcsi.grp3.datastore;
+
+import sc2002.fcsi.grp3.model.Enquiry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * The EnquiryTextIndex class is an inverted index over the title, content and reply of every enquiry,
+ * used for ranked keyword and phrase search.
+ * <p>
+ * Text is split into lower-cased runs of letters and digits. For every term the index keeps a posting list of
+ * the enquiries containing it, with the positions of the term in each one. The three fields are numbered in
+ * separate position ranges, so a phrase never matches across the end of one field and the start of the next.
+ * <p>
+ * Each indexed enquiry gets a document number, and posting lists are appended in document order. An enquiry
+ * that changes is given a new number and its old number is left behind as a tombstone, so updates never
+ * rewrite a posting list. The whole index is rebuilt once tombstones outnumber live enquiries.
+ * The document numbers of each project are also listed, so that a search within a few projects only visits
+ * the enquiries about them.
+ * Enquiries are indexed with the text they had when they were added, so an enquiry whose text changes
+ * must be reindexed.
+ */
+final class EnquiryTextIndex {
+
+    // positions of the content and reply start at these offsets, far past the end of the previous field
+    private static final int FIELD_GAP = 1 << 20;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    // BM25 ranking parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Integer, DocumentList> documentsByProject = new HashMap<>();
+    private final Map<Enquiry, Integer> documentOf = new IdentityHashMap<>();
+    private Enquiry[] documents = new Enquiry[16];
+    private int[] projectOf = new int[16];
+    private int[] lengthOf = new int[16];
+    private PostingList[][] termsOf = new PostingList[16][];
+    private int documentCount;
+    private int liveCount;
+    private long totalLength;
+
+    /**
+     * Replaces every indexed enquiry.
+     *
+     * @param enquiries the enquiries to index
+     */
+    synchronized void setAll(Collection<Enquiry> enquiries) {
+        clear();
+        if (enquiries != null) {
+            for (Enquiry enquiry : enquiries) {
+                add(enquiry);
+            }
+        }
+    }
+
+    /**
+     * Indexes an enquiry under its current title, content and reply.
+     *
+     * @param enquiry the enquiry to index
+     */
+    synchronized void add(Enquiry enquiry) {
+        if (documentOf.containsKey(enquiry)) remove(enquiry);
+        int document = documentCount++;
+        ensureCapacity(documentCount);
+
+        Map<String, int[]> positions = new HashMap<>();
+        int length = tokenize(enquiry.getTitle(), 0, positions)
+                + tokenize(enquiry.getContent(), FIELD_GAP, positions)
+                + tokenize(enquiry.getReply(), 2 * FIELD_GAP, positions);
+
+        PostingList[] terms = new PostingList[positions.size()];
+        int t = 0;
+        for (Map.Entry<String, int[]> entry : positions.entrySet()) {
+            PostingList list = postings.computeIfAbsent(entry.getKey(), key -> new PostingList());
+            int[] termPositions = entry.getValue();
+            list.append(document, termPositions, termPositions[0]);
+            terms[t++] = list;
+        }
+
+        documents[document] = enquiry;
+        projectOf[document] = enquiry.getRelatedProject() == null ? -1 : enquiry.getRelatedProject().getId();
+        documentsByProject.computeIfAbsent(projectOf[document], key -> new DocumentList()).add(document);
+        lengthOf[document] = length;
+        termsOf[document] = terms;
+        documentOf.put(enquiry, document);
+        liveCount++;
+        totalLength += length;
+    }
+
+    /**
+     * Drops an enquiry from the index.
+     *
+     * @param enquiry the enquiry to drop
+     */
+    synchronized void remove(Enquiry enquiry) {
+        Integer document = documentOf.remove(enquiry);
+        if (document == null) return;
+        for (PostingList list : termsOf[document]) {
+            list.live--;
+        }
+        documents[document] = null;
+        termsOf[document] = null;
+        liveCount--;
+        totalLength -= lengthOf[document];
+        if (documentCount - liveCount > Math.max(liveCount, MIN_TOMBSTONES_TO_COMPACT)) compact();
+    }
+
+    /**
+     * Indexes an enquiry again after its title, content or reply changed.
+     *
+     * @param enquiry the enquiry to reindex
+     */
+    synchronized void reindex(Enquiry enquiry) {
+        remove(enquiry);
+        add(enquiry);
+    }
+
+    /**
+     * Searches the enquiries for a query and ranks the matches.
+     * Words in double quotes form a phrase, which must appear with its words in order in the title, content or
+     * reply. An enquiry matches if it contains every word of the query; matches are ranked by BM25, so enquiries
+     * where the words are frequent, and words that are rare across all enquiries, rank higher.
+     *
+     * @param query      the search query, e.g. {@code 3-room "balcony facing"}
+     * @param projectIds the IDs of the projects to search within, or null to search every project
+     * @param limit      the greatest number of enquiries to return
+     * @return the matching enquiries, best match first
+     */
+    synchronized List<Enquiry> search(String query, Set<Integer> projectIds, int limit) {
+        List<String[]> phrases = new ArrayList<>();
+        Set<String> words = new LinkedHashSet<>();
+        parseQuery(query, words, phrases);
+        if (words.isEmpty() || limit <= 0) return List.of();
+
+        PostingList[] lists = new PostingList[words.size()];
+        Map<String, Integer> slotOf = new HashMap<>();
+        int w = 0;
+        for (String word : words) {
+            PostingList list = postings.get(word);
+            if (list == null || list.live == 0) return List.of();
+            slotOf.put(word, w);
+            lists[w++] = list;
+        }
+        int[][] phraseSlots = new int[phrases.size()][];
+        for (int p = 0; p < phrases.size(); p++) {
+            phraseSlots[p] = Arrays.stream(phrases.get(p)).mapToInt(slotOf::get).toArray();
+        }
+
+        // walk the shortest posting list and look each of its documents up in the others
+        Integer[] order = new Integer[lists.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingInt(i -> lists[i].size));
+        int[] cursor = new int[lists.length];
+        double[] idf = new double[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            idf[i] = Math.log(1 + (liveCount - lists[i].live + 0.5) / (lists[i].live + 0.5));
+        }
+        double averageLength = liveCount == 0 ? 1 : Math.max(1.0, (double) totalLength / liveCount);
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(Hit.WORST_FIRST);
+        // a scope holding fewer enquiries than the shortest posting list is walked instead of that list
+        PostingList lead = lists[order[0]];
+        int[] scoped = projectIds == null ? null : documentsIn(projectIds, lead.size);
+        int candidateCount = scoped != null ? scoped.length : lead.size;
+        int firstFollower = scoped != null ? 0 : 1;
+        candidates:
+        for (int k = 0; k < candidateCount; k++) {
+            int document = scoped != null ? scoped[k] : lead.documents[k];
+            if (documents[document] == null) continue;
+            if (scoped == null) {
+                if (projectIds != null && !projectIds.contains(projectOf[document])) continue;
+                cursor[order[0]] = k;
+            }
+            for (int i = firstFollower; i < order.length; i++) {
+                PostingList list = lists[order[i]];
+                int found = list.seek(document, cursor[order[i]]);
+                cursor[order[i]] = found;
+                if (found >= list.size) break candidates;
+                if (list.documents[found] != document) continue candidates;
+            }
+            for (int[] phrase : phraseSlots) {
+                if (!containsPhrase(lists, cursor, phrase)) continue candidates;
+            }
+
+            double score = 0;
+            double norm = K1 * (1 - B + B * lengthOf[document] / averageLength);
+            for (int i = 0; i < lists.length; i++) {
+                int tf = lists[i].frequency(cursor[i]);
+                score += idf[i] * tf * (K1 + 1) / (tf + norm);
+            }
+            Hit hit = new Hit(documents[document], score);
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (Hit.WORST_FIRST.compare(hit, best.peek()) > 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Hit.WORST_FIRST.reversed());
+        return hits.stream().map(Hit::enquiry).toList();
+    }
+
+    /**
+     * Collects the document numbers of the enquiries about the given projects, in order,
+     * unless there are more than a limit.
+     *
+     * @return the document numbers, or null if there are more than the limit
+     */
+    private int[] documentsIn(Set<Integer> projectIds, int limit) {
+        int total = 0;
+        for (Integer projectId : projectIds) {
+            DocumentList list = documentsByProject.get(projectId);
+            if (list != null) total += list.size;
+            if (total > limit) return null;
+        }
+        int[] scoped = new int[total];
+        int size = 0;
+        for (Integer projectId : projectIds) {
+            DocumentList list = documentsByProject.get(projectId);
+            if (list == null) continue;
+            System.arraycopy(list.documents, 0, scoped, size, list.size);
+            size += list.size;
+        }
+        Arrays.sort(scoped);
+        return scoped;
+    }
+
+    /**
+     * Checks whether the words of a phrase appear one after another in the current document of each list.
+     */
+    private static boolean containsPhrase(PostingList[] lists, int[] cursor, int[] phrase) {
+        PostingList first = lists[phrase[0]];
+        int from = first.positionStart[cursor[phrase[0]]];
+        int to = first.positionStart[cursor[phrase[0]] + 1];
+        starts:
+        for (int p = from; p < to; p++) {
+            int start = first.positions[p];
+            for (int offset = 1; offset < phrase.length; offset++) {
+                PostingList list = lists[phrase[offset]];
+                int at = cursor[phrase[offset]];
+                if (Arrays.binarySearch(list.positions, list.positionStart[at], list.positionStart[at + 1],
+                        start + offset) < 0) {
+                    continue starts;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Splits a query into its words, and the phrases in double quotes.
+     */
+    private static void parseQuery(String query, Set<String> words, List<String[]> phrases) {
+        if (query == null) return;
+        String[] parts = query.split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            List<String> tokens = tokens(parts[i]);
+            words.addAll(tokens);
+            // odd parts were inside quotes; a single word needs no phrase check
+            if (i % 2 == 1 && tokens.size() > 1) phrases.add(tokens.toArray(new String[0]));
+        }
+    }
+
+    /**
+     * Splits text into lower-cased runs of letters and digits.
+     *
+     * @param text the text to split
+     * @return the terms of the text, in order
+     */
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Records the position of every term of a field, numbering positions from the field's offset.
+     * The first element of each position array holds the number of positions in use.
+     *
+     * @return the number of terms in the field
+     */
+    private static int tokenize(String text, int offset, Map<String, int[]> positions) {
+        List<String> tokens = tokens(text);
+        for (int i = 0; i < tokens.size() && i < FIELD_GAP; i++) {
+            int[] termPositions = positions.get(tokens.get(i));
+            if (termPositions == null) {
+                termPositions = new int[4];
+            } else if (termPositions[0] + 1 == termPositions.length) {
+                termPositions = Arrays.copyOf(termPositions, termPositions.length * 2);
+            }
+            termPositions[++termPositions[0]] = offset + i;
+            positions.put(tokens.get(i), termPositions);
+        }
+        return tokens.size();
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= documents.length) return;
+        int capacity = Math.max(size, documents.length * 2);
+        documents = Arrays.copyOf(documents, capacity);
+        projectOf = Arrays.copyOf(projectOf, capacity);
+        lengthOf = Arrays.copyOf(lengthOf, capacity);
+        termsOf = Arrays.copyOf(termsOf, capacity);
+    }
+
+    private void clear() {
+        postings.clear();
+        documentsByProject.clear();
+        documentOf.clear();
+        documents = new Enquiry[16];
+        projectOf = new int[16];
+        lengthOf = new int[16];
+        termsOf = new PostingList[16][];
+        documentCount = 0;
+        liveCount = 0;
+        totalLength = 0;
+    }
+
+    /**
+     * Rebuilds the index from the live enquiries, dropping every tombstone.
+     */
+    private void compact() {
+        List<Enquiry> live = new ArrayList<>(liveCount);
+        for (int document = 0; document < documentCount; document++) {
+            if (documents[document] != null) live.add(documents[document]);
+        }
+        clear();
+        for (Enquiry enquiry : live) {
+            add(enquiry);
+        }
+    }
+
+    private record Hit(Enquiry enquiry, double score) {
+        // lower scores, then newer enquiries, are worse
+        static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+                .thenComparingInt(hit -> -hit.enquiry().getId());
+    }
+
+    /**
+     * The DocumentList class lists document numbers in the order they were added.
+     */
+    private static final class DocumentList {
+        int size;
+        int[] documents = new int[4];
+
+        void add(int document) {
+            if (size == documents.length) documents = Arrays.copyOf(documents, size * 2);
+            documents[size++] = document;
+        }
+    }
+
+    /**
+     * The PostingList class lists the documents containing one term, in document order,
+     * with the positions of the term in each document.
+     */
+    private static final class PostingList {
+        int size;
+        int live;
+        int[] documents = new int[4];
+        // the positions of document k are positions[positionStart[k] .. positionStart[k + 1])
+        int[] positionStart = new int[5];
+        int[] positions = new int[4];
+
+        void append(int document, int[] source, int count) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                positionStart = Arrays.copyOf(positionStart, size * 2 + 1);
+            }
+            int end = positionStart[size];
+            if (end + count > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(end + count, positions.length * 2));
+            }
+            System.arraycopy(source, 1, positions, end, count);
+            documents[size] = document;
+            positionStart[size + 1] = end + count;
+            size++;
+            live++;
+        }
+
+        int frequency(int index) {
+            return positionStart[index + 1] - positionStart[index];
+        }
+
+        /**
+         * Finds the first index at or after {@code from} whose document is not before the given document,
+         * galloping ahead and then searching the last step.
+         */
+        int seek(int document, int from) {
+            if (from >= size || documents[from] >= document) return from;
+            int step = 1;
+            int low = from;
+            int high = from + 1;
+            while (high < size && documents[high] < document) {
+                low = high;
+                step <<= 1;
+                high = from + step;
+            }
+            high = Math.min(high, size);
+            int found = Arrays.binarySearch(documents, low + 1, high, document);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+}
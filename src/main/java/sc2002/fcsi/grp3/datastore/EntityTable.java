@@ -0,0 +1,287 @@
+package sc2002.fcsi.grp3.datastore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The EntityTable class holds all rows of one entity type together with a primary-key hash index
+ * and any number of secondary (foreign-key) indexes.
+ * Every mutation goes through the table so that the indexes never drift from the row list.
+ * <p>
+ * In {@link StorageMode#CONCURRENT} mode every table guards its rows and indexes with its own
+ * read-write lock, and reads hand out immutable snapshots so callers can iterate safely while
+ * other sessions keep writing. Writers never contend for this lock: every service mutation already
+ * holds the journal's store-wide change lock (see {@link Journal#beginChange()}), so only one write runs
+ * at a time. The write side only keeps readers of this table out while a row or index changes, and
+ * readers of other tables are never blocked. In {@link StorageMode#SINGLE} mode no locking is done.
+ *
+ * @param <K> the type of the primary key
+ * @param <T> the type of the entity stored in the table
+ */
+final class EntityTable<K, T> {
+
+    private final Function<T, K> keyOf;
+    private final List<T> rows = new ArrayList<>();
+    private final Map<K, T> byKey = new HashMap<>();
+    private final List<SecondaryIndex<?>> indexes = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean concurrent;
+
+    /**
+     * Constructs an empty EntityTable.
+     *
+     * @param keyOf extracts the primary key of an entity
+     */
+    EntityTable(Function<T, K> keyOf) {
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Switches the table between locked and unlocked access.
+     *
+     * @param mode the storage mode to use
+     */
+    void setMode(StorageMode mode) {
+        lock.writeLock().lock();
+        try {
+            concurrent = mode == StorageMode.CONCURRENT;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a read action, holding the read lock in concurrent mode.
+     *
+     * @param action the action to run
+     * @param <R>    the type of the result
+     * @return the result of the action
+     */
+    private <R> R read(Supplier<R> action) {
+        if (!concurrent) return action.get();
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a write action, holding the write lock in concurrent mode to keep readers out.
+     * Writes are already serialized by the journal, so the lock never orders two writers.
+     *
+     * @param action the action to run
+     * @param <R>    the type of the result
+     * @return the result of the action
+     */
+    private <R> R write(Supplier<R> action) {
+        if (!concurrent) return action.get();
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registers a secondary index on this table.
+     * The extractor may return several keys for one entity (e.g. every officer of a project),
+     * or an empty collection if the entity should not be indexed.
+     *
+     * @param keysOf extracts the index keys of an entity
+     * @param <S>    the type of the index key
+     * @return the new secondary index
+     */
+    <S> SecondaryIndex<S> addIndex(Function<T, Collection<S>> keysOf) {
+        return write(() -> {
+            SecondaryIndex<S> index = new SecondaryIndex<>(keysOf);
+            for (T row : rows) {
+                index.add(row);
+            }
+            indexes.add(index);
+            return index;
+        });
+    }
+
+    /**
+     * Retrieves all rows in insertion order.
+     * In concurrent mode this is an immutable snapshot; otherwise it is a read-only live view.
+     *
+     * @return the list of rows
+     */
+    List<T> rows() {
+        if (!concurrent) return Collections.unmodifiableList(rows);
+        return read(() -> List.copyOf(rows));
+    }
+
+    /**
+     * Retrieves the number of rows in the table.
+     *
+     * @return the row count
+     */
+    int size() {
+        return read(rows::size);
+    }
+
+    /**
+     * Looks up a row by its primary key.
+     *
+     * @param key the primary key
+     * @return the row, or null if no row has the key
+     */
+    T get(K key) {
+        return read(() -> byKey.get(key));
+    }
+
+    /**
+     * Replaces every row in the table and rebuilds all indexes.
+     *
+     * @param newRows the rows to store
+     */
+    void setAll(List<T> newRows) {
+        write(() -> {
+            rows.clear();
+            byKey.clear();
+            for (SecondaryIndex<?> index : indexes) {
+                index.clear();
+            }
+            if (newRows != null) {
+                for (T row : newRows) {
+                    insert(row);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Appends a row and indexes it.
+     * If another row already owns the same primary key, the earlier row stays reachable by key.
+     *
+     * @param row the row to add
+     */
+    void add(T row) {
+        write(() -> {
+            insert(row);
+            return null;
+        });
+    }
+
+    private void insert(T row) {
+        rows.add(row);
+        byKey.putIfAbsent(keyOf.apply(row), row);
+        for (SecondaryIndex<?> index : indexes) {
+            index.add(row);
+        }
+    }
+
+    /**
+     * Removes a row and drops it from every index.
+     *
+     * @param row the row to remove
+     * @return true if the row was present, false otherwise
+     */
+    boolean remove(T row) {
+        return write(() -> delete(row));
+    }
+
+    private boolean delete(T row) {
+        if (!rows.remove(row)) return false;
+        K key = keyOf.apply(row);
+        if (byKey.get(key) == row) {
+            byKey.remove(key);
+            // promote a remaining row with the same key, if any
+            for (T other : rows) {
+                if (Objects.equals(key, keyOf.apply(other))) {
+                    byKey.put(key, other);
+                    break;
+                }
+            }
+        }
+        for (SecondaryIndex<?> index : indexes) {
+            index.remove(row);
+        }
+        return true;
+    }
+
+    /**
+     * Recomputes the secondary index keys of a row after one of its indexed fields changed.
+     *
+     * @param row the row whose keys changed
+     */
+    void reindex(T row) {
+        write(() -> {
+            for (SecondaryIndex<?> index : indexes) {
+                index.remove(row);
+                index.add(row);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The SecondaryIndex class maps a non-unique key to every row carrying that key.
+     * It shares the lock of the table that owns it.
+     *
+     * @param <S> the type of the index key
+     */
+    final class SecondaryIndex<S> {
+
+        private final Function<T, Collection<S>> keysOf;
+        private final Map<S, List<T>> buckets = new HashMap<>();
+        private final Map<T, Collection<S>> indexedKeys = new IdentityHashMap<>();
+
+        private SecondaryIndex(Function<T, Collection<S>> keysOf) {
+            this.keysOf = keysOf;
+        }
+
+        /**
+         * Retrieves a snapshot of the rows carrying the given key.
+         *
+         * @param key the index key
+         * @return an immutable list of matching rows, empty if none
+         */
+        List<T> get(S key) {
+            return read(() -> {
+                List<T> bucket = buckets.get(key);
+                return bucket == null ? List.<T>of() : List.copyOf(bucket);
+            });
+        }
+
+        private void add(T row) {
+            Collection<S> keys = List.copyOf(keysOf.apply(row));
+            indexedKeys.put(row, keys);
+            for (S key : keys) {
+                buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+            }
+        }
+
+        private void remove(T row) {
+            Collection<S> keys = indexedKeys.remove(row);
+            if (keys == null) return;
+            for (S key : keys) {
+                List<T> bucket = buckets.get(key);
+                if (bucket == null) continue;
+                bucket.removeIf(r -> r == row);
+                if (bucket.isEmpty()) buckets.remove(key);
+            }
+        }
+
+        private void clear() {
+            buckets.clear();
+            indexedKeys.clear();
+        }
+    }
+}
@@ -0,0 +1,739 @@
+package sc2002.fcsi.grp3.datastore;
+
+import sc2002.fcsi.grp3.io.CSVRow;
+import sc2002.fcsi.grp3.io.WriteAheadLog;
+import sc2002.fcsi.grp3.model.*;
+import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.model.enums.EnquiryStatus;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.RegistrationStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The Journal class records every service mutation in a {@link WriteAheadLog} so that changes made
+ * since the last save survive a crash, and replays those entries on top of the CSV snapshot at startup.
+ * <p>
+ * A service makes its change inside a {@link Change}, which holds the journal's change lock while the
+ * data is changed and the entry is queued, so entries are logged in exactly the order the changes were made.
+ * There is one change lock for the whole store, so changes to different tables are serialized too; only
+ * the in-memory change is made under it. The lock is released before waiting for the entry to reach the disk,
+ * so concurrent changes still share one fsync, and the service reports success only once its entry is durable. If the entry cannot be
+ * written, the change throws an {@link UncheckedIOException} instead of returning. The change itself stays
+ * applied in memory, as there is no undo; it is saved by the next checkpoint, which takes the place of the
+ * missing entry. While the log takes no more entries after a write it could not undo, new changes are
+ * refused before they start, so the store is read-only until a checkpoint has repaired the log.
+ * A checkpoint holds the same lock while it saves, so the saved files never contain a change whose entry
+ * is not already in the log or did not fail.
+ * <p>
+ * Entries carry the IDs assigned at the time, so replay recreates entities with the same IDs.
+ * They record the state a change left behind, such as the new status of an application and the units
+ * left in its flat, rather than the steps that led to it. Replaying an entry that the files already contain,
+ * e.g. after a crash part way through a checkpoint, therefore sets the same values again instead of
+ * repeating the change. Flat reservations are rebuilt from the replayed applications at the end.
+ */
+public class Journal {
+
+    /**
+     * The kinds of journal entries.
+     */
+    enum Operation {
+        APPLY,
+        WITHDRAW,
+        APPLICATION_STATUS,
+        WITHDRAWAL_DECISION,
+        BOOK,
+        ENQUIRY_CREATE,
+        ENQUIRY_EDIT,
+        ENQUIRY_DELETE,
+        ENQUIRY_REPLY,
+        REGISTER,
+        REGISTRATION_STATUS,
+        PASSWORD,
+        PROJECT_CREATE,
+        PROJECT_UPDATE,
+        PROJECT_DELETE,
+        VISIBILITY,
+        OFFICER_SLOTS
+    }
+
+    private static final String NOT_RECORDED =
+            "The change was made but could not be written to the journal; it will be kept by the next save";
+
+    private final WriteAheadLog log;
+    private final ReentrantLock changeLock = new ReentrantLock();
+    private long changeSeq;
+
+    /**
+     * Constructs a Journal that writes to the given log.
+     *
+     * @param log the write-ahead log, or null to disable journaling
+     */
+    public Journal(WriteAheadLog log) {
+        this.log = log;
+    }
+
+    /**
+     * Creates a Journal that records nothing.
+     *
+     * @return a disabled journal
+     */
+    public static Journal disabled() {
+        return new Journal(null);
+    }
+
+    /**
+     * Checks whether mutations are being recorded.
+     *
+     * @return true if the journal has a log
+     */
+    public boolean isEnabled() {
+        return log != null;
+    }
+
+    /**
+     * Retrieves the write-ahead log of the journal.
+     *
+     * @return the log, or null if the journal is disabled
+     */
+    public WriteAheadLog getLog() {
+        return log;
+    }
+
+    /**
+     * Begins a service mutation. The change lock is held until the returned scope is closed, which then
+     * waits until every entry recorded inside it is durable. The lock covers every table, so no two
+     * mutations run at the same time, whichever entities they touch.
+     *
+     * @return the scope of the change, to close in a try-with-resources statement
+     * @throws UncheckedIOException if the log takes no more entries, so the change is refused before it is made
+     */
+    public Change beginChange() {
+        if (log != null && log.isBroken()) {
+            throw new UncheckedIOException("Changes are disabled until the next save, as the journal could not be written",
+                    new IOException("Write-ahead log takes no more entries"));
+        }
+        return pauseChanges();
+    }
+
+    /**
+     * Keeps every service mutation out until the returned scope is closed, e.g. while a checkpoint saves.
+     *
+     * @return the scope of the pause, to close in a try-with-resources statement
+     */
+    public Change pauseChanges() {
+        changeLock.lock();
+        return new Change();
+    }
+
+    /**
+     * The Change class is the scope of one service mutation, or of a pause in mutations.
+     */
+    public final class Change implements AutoCloseable {
+
+        private Change() {
+        }
+
+        /**
+         * Releases the change lock and waits until the entries recorded in this scope are durable.
+         *
+         * @throws UncheckedIOException if an entry could not be written, so the change is not durable;
+         *                              it stays applied in memory until the next checkpoint saves it
+         */
+        @Override
+        public void close() {
+            long seq = 0;
+            if (changeLock.getHoldCount() == 1) {
+                seq = changeSeq;
+                changeSeq = 0;
+            }
+            changeLock.unlock();
+            if (seq == 0) return;
+            try {
+                log.await(seq);
+            } catch (IOException e) {
+                throw new UncheckedIOException(NOT_RECORDED, e);
+            }
+        }
+    }
+
+    /**
+     * Records a submitted application.
+     *
+     * @param application the new application
+     */
+    public void applicationSubmitted(Application application) {
+        record(Operation.APPLY,
+                application.getId(),
+                application.getProject().getId(),
+                application.getApplicant().getNric(),
+                application.getFlatType().getCode(),
+                application.getStatus(),
+                application.getSubmittedAt());
+    }
+
+    /**
+     * Records a withdrawal request.
+     *
+     * @param application the application to be withdrawn
+     */
+    public void withdrawalRequested(Application application) {
+        ApplicationStatus previous = application.getStatusBeforeWithdrawal();
+        record(Operation.WITHDRAW, application.getId(), previous == null ? "" : previous);
+    }
+
+    /**
+     * Records a change to the status of an application.
+     *
+     * @param application the application that changed
+     * @param status      the new status
+     */
+    public void applicationStatusChanged(Application application, ApplicationStatus status) {
+        record(Operation.APPLICATION_STATUS, application.getId(), status, unitsAvailable(application));
+    }
+
+    /**
+     * Records the decision on a withdrawal request.
+     *
+     * @param application the application the request was for
+     * @param previous    the status the application had before the request, or null if unknown
+     * @param approve     true if the request was approved
+     */
+    public void withdrawalDecided(Application application, ApplicationStatus previous, boolean approve) {
+        record(Operation.WITHDRAWAL_DECISION, application.getId(), approve, previous == null ? "" : previous,
+                unitsAvailable(application));
+    }
+
+    /**
+     * Records a new booking.
+     *
+     * @param booking     the new booking
+     * @param application the application that was booked, or null if the booking was made without one
+     */
+    public void bookingAdded(Booking booking, Application application) {
+        record(Operation.BOOK,
+                booking.getId(),
+                booking.getFlatType().getType().getCode(),
+                booking.getProjectId().getId(),
+                booking.getApplicant().getNric(),
+                booking.getOfficer().getNric(),
+                booking.getBookingDate(),
+                application == null ? "" : application.getId());
+    }
+
+    /**
+     * Records a new enquiry.
+     *
+     * @param enquiry the new enquiry
+     */
+    public void enquiryCreated(Enquiry enquiry) {
+        record(Operation.ENQUIRY_CREATE,
+                enquiry.getId(),
+                enquiry.getCreatedBy().getNric(),
+                enquiry.getRelatedProject().getId(),
+                enquiry.getTitle(),
+                enquiry.getContent(),
+                enquiry.getCreatedAt());
+    }
+
+    /**
+     * Records an edit to the title and content of an enquiry.
+     *
+     * @param enquiry the edited enquiry
+     */
+    public void enquiryEdited(Enquiry enquiry) {
+        record(Operation.ENQUIRY_EDIT,
+                enquiry.getId(),
+                enquiry.getTitle(),
+                enquiry.getContent(),
+                enquiry.getLastUpdatedAt());
+    }
+
+    /**
+     * Records a deleted enquiry.
+     *
+     * @param enquiry the deleted enquiry
+     */
+    public void enquiryDeleted(Enquiry enquiry) {
+        record(Operation.ENQUIRY_DELETE, enquiry.getId());
+    }
+
+    /**
+     * Records a reply to an enquiry.
+     *
+     * @param enquiry the enquiry that was replied to
+     */
+    public void enquiryReplied(Enquiry enquiry) {
+        record(Operation.ENQUIRY_REPLY,
+                enquiry.getId(),
+                enquiry.getRepliedBy() == null ? "" : enquiry.getRepliedBy().getNric(),
+                enquiry.getReply(),
+                enquiry.getLastUpdatedAt());
+    }
+
+    /**
+     * Records a new officer registration.
+     *
+     * @param registration the new registration
+     */
+    public void registrationAdded(Registration registration) {
+        record(Operation.REGISTER,
+                registration.getId(),
+                registration.getProject().getId(),
+                registration.getApplicant().getNric(),
+                registration.getStatus(),
+                registration.getSubmittedAt());
+    }
+
+    /**
+     * Records a change to the status of an officer registration.
+     *
+     * @param registration the registration that changed
+     * @param status       the new status
+     */
+    public void registrationStatusChanged(Registration registration, RegistrationStatus status) {
+        record(Operation.REGISTRATION_STATUS, registration.getId(), status);
+    }
+
+    /**
+     * Records a change to the password of a user.
+     *
+     * @param user the user whose password changed
+     */
+    public void passwordChanged(User user) {
+        record(Operation.PASSWORD, user.getNric(), user.getPassword());
+    }
+
+    /**
+     * Records a new project, with its flats and officers.
+     *
+     * @param project the new project
+     */
+    public void projectCreated(Project project) {
+        List<Flat> flats = project.getFlats();
+        record(Operation.PROJECT_CREATE,
+                project.getId(),
+                project.getName(),
+                project.getNeighbourhood(),
+                project.isVisible(),
+                joinFlats(flats, flat -> flat.getType().getCode()),
+                joinFlats(flats, flat -> Integer.toString(flat.getUnitsAvailable())),
+                joinFlats(flats, flat -> Float.toString(flat.getSellingPrice())),
+                project.getApplicationOpeningDate(),
+                project.getApplicationClosingDate(),
+                project.getManagerNric(),
+                project.getTotalOfficerSlots(),
+                String.join(";", project.getOfficerNrics()));
+    }
+
+    /**
+     * Records an edit to the details and flats of a project.
+     *
+     * @param project the edited project
+     */
+    public void projectUpdated(Project project) {
+        List<Flat> flats = project.getFlats();
+        record(Operation.PROJECT_UPDATE,
+                project.getId(),
+                project.getName(),
+                project.getNeighbourhood(),
+                project.getApplicationOpeningDate(),
+                project.getApplicationClosingDate(),
+                joinFlats(flats, flat -> flat.getType().getCode()),
+                joinFlats(flats, flat -> Integer.toString(flat.getUnitsAvailable())),
+                joinFlats(flats, flat -> Float.toString(flat.getSellingPrice())),
+                project.getTotalOfficerSlots());
+    }
+
+    /**
+     * Records a deleted project.
+     *
+     * @param project the deleted project
+     */
+    public void projectDeleted(Project project) {
+        record(Operation.PROJECT_DELETE, project.getId());
+    }
+
+    /**
+     * Records a change to the visibility of a project.
+     *
+     * @param project the project whose visibility changed
+     */
+    public void visibilityChanged(Project project) {
+        record(Operation.VISIBILITY, project.getId(), project.isVisible());
+    }
+
+    /**
+     * Records a change to the number of officer slots of a project.
+     *
+     * @param project the project whose officer slots changed
+     */
+    public void officerSlotsChanged(Project project) {
+        record(Operation.OFFICER_SLOTS, project.getId(), project.getTotalOfficerSlots());
+    }
+
+    private static String joinFlats(List<Flat> flats, Function<Flat, String> field) {
+        return flats.stream().map(field).collect(Collectors.joining(";"));
+    }
+
+    /**
+     * Queues an entry in the log. Inside a {@link Change} the entry becomes durable when the change is
+     * closed; outside one, this waits until it is durable.
+     * A failed write does not undo the in-memory change, but throws so that the caller does not report success.
+     *
+     * @param operation the kind of entry
+     * @param values    the values of the entry
+     * @throws UncheckedIOException if the entry could not be written
+     */
+    private void record(Operation operation, Object... values) {
+        if (log == null) return;
+        List<String> fields = new ArrayList<>(values.length + 1);
+        fields.add(operation.name());
+        for (Object value : values) {
+            fields.add(String.valueOf(value));
+        }
+        try (Change _ = beginChange()) {
+            changeSeq = log.enqueue(fields);
+        } catch (IOException e) {
+            throw new UncheckedIOException(NOT_RECORDED, e);
+        }
+    }
+
+    /**
+     * Retrieves the units left in the flat of an application, to record with a change to it.
+     *
+     * @param application the application
+     * @return the available units, or -1 if the application has no such flat
+     */
+    private static int unitsAvailable(Application application) {
+        Flat flat = application.getProject().getFlat(application.getFlatType());
+        return flat == null ? -1 : flat.getUnitsAvailable();
+    }
+
+    /**
+     * Replays every entry in the log onto the DataStore.
+     * Entries whose users, projects or entities cannot be found are skipped.
+     *
+     * @param db the data store loaded from the CSV snapshot
+     * @return the number of entries applied
+     */
+    public int replay(DataStore db) {
+        if (log == null) return 0;
+        int[] applied = {0};
+        int read;
+        try {
+            read = log.readAll(row -> {
+                try {
+                    if (apply(db, row)) applied[0]++;
+                } catch (RuntimeException e) {
+                    System.out.println("[Journal] Skipped invalid entry " + row + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            System.out.println("[Journal] Failed to read journal: " + e.getMessage());
+            return applied[0];
+        }
+        resetIdCounters(db);
+        restoreReservations(db);
+        System.out.println("[Journal] Replayed " + applied[0] + " of " + read + " journal entries.");
+        return applied[0];
+    }
+
+    /**
+     * Applies one entry to the DataStore.
+     *
+     * @param db  the data store
+     * @param row the entry
+     * @return true if the entry was applied, false if it was skipped
+     */
+    private boolean apply(DataStore db, CSVRow row) {
+        Operation operation = row.getEnum(0, Operation.values());
+        switch (operation) {
+            case APPLY -> {
+                if (db.findApplicationById(row.getInt(1)) != null) return false;
+                Project project = db.findProjectById(row.getInt(2));
+                User applicant = db.findUserByNric(row.getString(3));
+                if (project == null || applicant == null) return false;
+                db.addApplication(new Application(
+                        row.getInt(1),
+                        project,
+                        applicant,
+                        FlatType.fromCode(row.getString(4)),
+                        row.getEnum(5, ApplicationStatus.values()),
+                        LocalDate.parse(row.getString(6))));
+                return true;
+            }
+            case WITHDRAW -> {
+                Application application = db.findApplicationById(row.getInt(1));
+                if (application == null) return false;
+                application.restoreWithdrawalRequest(hasField(row, 2) && !row.isBlank(2)
+                        ? row.getEnum(2, ApplicationStatus.values())
+                        : null);
+                return true;
+            }
+            case APPLICATION_STATUS -> {
+                Application application = db.findApplicationById(row.getInt(1));
+                if (application == null) return false;
+                application.setStatus(row.getEnum(2, ApplicationStatus.values()));
+                restoreUnitsAvailable(application, row, 3);
+                return true;
+            }
+            case WITHDRAWAL_DECISION -> {
+                Application application = db.findApplicationById(row.getInt(1));
+                boolean approve = Boolean.parseBoolean(row.getString(2));
+                if (application == null || !approve) return false;
+                application.setStatus(ApplicationStatus.WITHDRAWN);
+                restoreUnitsAvailable(application, row, 4);
+                return true;
+            }
+            case BOOK -> {
+                Project project = db.findProjectById(row.getInt(3));
+                User applicant = db.findUserByNric(row.getString(4));
+                User officer = db.findUserByNric(row.getString(5));
+                if (project == null || applicant == null || officer == null) return false;
+                Flat flat = project.getFlat(FlatType.fromCode(row.getString(2)));
+                if (flat == null) return false;
+                if (db.findBookingById(row.getInt(1)) == null) {
+                    db.addBooking(new Booking(row.getInt(1), flat, project, applicant, officer,
+                            LocalDate.parse(row.getString(6))));
+                }
+
+                // the booking marks its application booked; the unit left the available count when it was approved
+                Application application = hasField(row, 7) && !row.isBlank(7)
+                        ? db.findApplicationById(row.getInt(7))
+                        : null;
+                if (application != null) application.setStatus(ApplicationStatus.BOOKED);
+                return true;
+            }
+            case ENQUIRY_CREATE -> {
+                if (db.findEnquiryById(row.getInt(1)) != null) return false;
+                User createdBy = db.findUserByNric(row.getString(2));
+                Project project = db.findProjectById(row.getInt(3));
+                if (createdBy == null || project == null) return false;
+                LocalDate createdAt = LocalDate.parse(row.getString(6));
+                db.addEnquiry(new Enquiry(
+                        row.getInt(1),
+                        row.getString(4),
+                        row.getString(5),
+                        null,
+                        createdBy,
+                        project,
+                        null,
+                        EnquiryStatus.SUBMITTED,
+                        createdAt,
+                        createdAt));
+                return true;
+            }
+            case ENQUIRY_EDIT -> {
+                Enquiry enquiry = db.findEnquiryById(row.getInt(1));
+                if (enquiry == null) return false;
+                enquiry.setTitle(row.getString(2));
+                enquiry.setContent(row.getString(3));
+                enquiry.setLastUpdatedAt(LocalDate.parse(row.getString(4)));
+                db.reindexEnquiry(enquiry);
+                return true;
+            }
+            case ENQUIRY_DELETE -> {
+                Enquiry enquiry = db.findEnquiryById(row.getInt(1));
+                if (enquiry == null) return false;
+                db.removeEnquiry(enquiry);
+                return true;
+            }
+            case ENQUIRY_REPLY -> {
+                Enquiry enquiry = db.findEnquiryById(row.getInt(1));
+                User repliedBy = db.findUserByNric(row.getString(2));
+                if (enquiry == null || enquiry.isReplied()) return false;
+                enquiry.setReply(row.getString(3));
+                enquiry.setRepliedBy(repliedBy);
+                enquiry.setStatus(EnquiryStatus.REPLIED);
+                enquiry.setLastUpdatedAt(LocalDate.parse(row.getString(4)));
+                db.reindexEnquiry(enquiry);
+                return true;
+            }
+            case REGISTER -> {
+                if (db.findRegistrationById(row.getString(1)) != null) return false;
+                Project project = db.findProjectById(row.getInt(2));
+                User officer = db.findUserByNric(row.getString(3));
+                if (project == null || officer == null) return false;
+                db.addRegistration(new Registration(
+                        row.getString(1),
+                        project,
+                        officer,
+                        row.getEnum(4, RegistrationStatus.values()),
+                        LocalDate.parse(row.getString(5))));
+                return true;
+            }
+            case REGISTRATION_STATUS -> {
+                Registration registration = db.findRegistrationById(row.getString(1));
+                RegistrationStatus status = row.getEnum(2, RegistrationStatus.values());
+                if (registration == null || registration.getStatus() == status) return false;
+                registration.setStatus(status);
+                if (status == RegistrationStatus.APPROVED
+                        && registration.getProject().assignOfficer(registration.getApplicant().getNric())) {
+                    db.reindexProject(registration.getProject());
+                }
+                return true;
+            }
+            case PASSWORD -> {
+                User user = db.findUserByNric(row.getString(1));
+                if (user == null) return false;
+                user.setPassword(row.getString(2));
+                return true;
+            }
+            case PROJECT_CREATE -> {
+                if (db.findProjectById(row.getInt(1)) != null) return false;
+                List<Flat> flats = parseFlats(row, 5);
+                List<String> officerNrics = new ArrayList<>();
+                for (String nric : row.getString(12).split(";")) {
+                    if (!nric.isEmpty()) officerNrics.add(nric);
+                }
+                db.addProject(new Project(
+                        row.getInt(1),
+                        row.getString(2),
+                        row.getString(3),
+                        Boolean.parseBoolean(row.getString(4)),
+                        LocalDate.parse(row.getString(8)),
+                        LocalDate.parse(row.getString(9)),
+                        row.getString(10),
+                        row.getInt(11),
+                        flats,
+                        officerNrics));
+                return true;
+            }
+            case PROJECT_UPDATE -> {
+                Project project = db.findProjectById(row.getInt(1));
+                if (project == null) return false;
+                // reservations are rebuilt from the applications after replay, so no flat type is kept back here
+                project.updateFlats(parseFlats(row, 6));
+                project.setName(row.getString(2));
+                project.setNeighbourhood(row.getString(3));
+                project.setApplicationOpeningDate(LocalDate.parse(row.getString(4)));
+                project.setApplicationClosingDate(LocalDate.parse(row.getString(5)));
+                project.setTotalOfficerSlots(row.getInt(9));
+                db.reindexProject(project);
+                return true;
+            }
+            case PROJECT_DELETE -> {
+                Project project = db.findProjectById(row.getInt(1));
+                return project != null && db.removeProject(project);
+            }
+            case VISIBILITY -> {
+                Project project = db.findProjectById(row.getInt(1));
+                if (project == null) return false;
+                project.setVisible(Boolean.parseBoolean(row.getString(2)));
+                return true;
+            }
+            case OFFICER_SLOTS -> {
+                Project project = db.findProjectById(row.getInt(1));
+                if (project == null) return false;
+                project.setTotalOfficerSlots(row.getInt(2));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the flats recorded in an entry as three {@code ;}-separated lists of types, units and prices.
+     *
+     * @param row   the entry
+     * @param index the index of the list of types, which the units and prices follow
+     * @return the flats
+     */
+    private static List<Flat> parseFlats(CSVRow row, int index) {
+        String[] types = row.getString(index).split(";");
+        String[] units = row.getString(index + 1).split(";");
+        String[] prices = row.getString(index + 2).split(";");
+        List<Flat> flats = new ArrayList<>();
+        for (int i = 0; i < types.length; i++) {
+            if (types[i].isEmpty()) continue;
+            flats.add(new Flat(FlatType.fromCode(types[i]), Integer.parseInt(units[i]), Float.parseFloat(prices[i])));
+        }
+        return flats;
+    }
+
+    /**
+     * Checks whether an entry has a field, since entries written by older versions have fewer.
+     * The last field of every entry is its checksum.
+     *
+     * @param row   the entry
+     * @param index the field index
+     * @return true if the entry has the field
+     */
+    private static boolean hasField(CSVRow row, int index) {
+        return index < row.size() - 1;
+    }
+
+    /**
+     * Sets the units left in the flat of an application to the count recorded in an entry, if it has one.
+     *
+     * @param application the application the entry is about
+     * @param row         the entry
+     * @param index       the index of the unit count
+     */
+    private static void restoreUnitsAvailable(Application application, CSVRow row, int index) {
+        if (!hasField(row, index)) return;
+        int units = row.getInt(index);
+        Flat flat = application.getProject().getFlat(application.getFlatType());
+        if (flat != null && units >= 0) flat.restoreUnitsAvailable(units);
+    }
+
+    /**
+     * Rebuilds the reservation count of every flat from the applications that hold one.
+     *
+     * @param db the data store
+     */
+    private static void restoreReservations(DataStore db) {
+        for (Project project : db.getProjects()) {
+            for (Flat flat : project.getFlats()) {
+                flat.clearReservations();
+            }
+        }
+        for (Application application : db.getApplications()) {
+            if (!application.holdsReservation() || application.getProject() == null) continue;
+            Flat flat = application.getProject().getFlat(application.getFlatType());
+            if (flat != null) flat.restoreReservation();
+        }
+    }
+
+    /**
+     * Moves the ID counters past every ID in the store, including the replayed ones.
+     *
+     * @param db the data store
+     */
+    private static void resetIdCounters(DataStore db) {
+        Project.setNextProjectId(db.getProjects().stream()
+                .mapToInt(Project::getId)
+                .max()
+                .orElse(0) + 1);
+        Application.setNextId(db.getApplications().stream()
+                .mapToInt(Application::getId)
+                .max()
+                .orElse(0) + 1);
+        Booking.setNextBookingId(db.getBookings().stream()
+                .mapToInt(Booking::getId)
+                .max()
+                .orElse(0));
+        Enquiry.setNextEnquiryId(db.getEnquiries().stream()
+                .mapToInt(Enquiry::getId)
+                .max()
+                .orElse(0));
+        Registration.setNextRegistrationId(db.getRegistrations().stream()
+                .mapToInt(r -> {
+                    try {
+                        return Integer.parseInt(r.getId().trim());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                })
+                .max()
+                .orElse(0));
+    }
+}
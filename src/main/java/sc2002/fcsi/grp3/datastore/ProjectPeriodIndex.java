@@ -0,0 +1,280 @@
+package sc2002.fcsi.grp3.datastore;
+
+import sc2002.fcsi.grp3.model.Project;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ProjectPeriodIndex class indexes the application periods of all projects, both globally and per manager.
+ * It answers "does this period overlap another project" and "which projects are open on this date"
+ * in O(log n + k) time, where k is the number of matching projects.
+ * <p>
+ * Each index is an interval tree: a balanced search tree ordered by opening date, where every node also
+ * records the latest closing date in its subtree, so that whole subtrees ending before a period can be skipped.
+ * Projects are indexed with the dates they had when they were added, so a project whose dates change
+ * must be reindexed.
+ */
+final class ProjectPeriodIndex {
+
+    private final IntervalTree all = new IntervalTree();
+    private final Map<String, IntervalTree> byManager = new HashMap<>();
+    private final Map<Project, String> indexedManager = new IdentityHashMap<>();
+
+    /**
+     * Replaces every indexed project.
+     *
+     * @param projects the projects to index
+     */
+    synchronized void setAll(List<Project> projects) {
+        all.clear();
+        byManager.clear();
+        indexedManager.clear();
+        if (projects != null) {
+            for (Project project : projects) {
+                add(project);
+            }
+        }
+    }
+
+    /**
+     * Indexes a project under its current dates and manager.
+     * Projects without both dates are not indexed.
+     *
+     * @param project the project to index
+     */
+    synchronized void add(Project project) {
+        if (project.getApplicationOpeningDate() == null || project.getApplicationClosingDate() == null) return;
+        String manager = DataStore.normalizeNric(project.getManagerNric());
+        all.insert(project);
+        byManager.computeIfAbsent(manager, key -> new IntervalTree()).insert(project);
+        indexedManager.put(project, manager);
+    }
+
+    /**
+     * Drops a project from the index.
+     *
+     * @param project the project to drop
+     */
+    synchronized void remove(Project project) {
+        if (!indexedManager.containsKey(project)) return;
+        String manager = indexedManager.remove(project);
+        all.delete(project);
+        IntervalTree managed = byManager.get(manager);
+        managed.delete(project);
+        if (managed.isEmpty()) byManager.remove(manager);
+    }
+
+    /**
+     * Indexes a project again after its dates or manager changed.
+     *
+     * @param project the project to reindex
+     */
+    synchronized void reindex(Project project) {
+        remove(project);
+        add(project);
+    }
+
+    /**
+     * Checks whether a period overlaps the application period of any project, both ends inclusive.
+     *
+     * @param opening the first day of the period
+     * @param closing the last day of the period
+     * @param exclude a project to ignore, e.g. the one being edited, or null
+     * @return true if another project's period overlaps
+     */
+    synchronized boolean overlaps(LocalDate opening, LocalDate closing, Project exclude) {
+        return overlaps(all, opening, closing, exclude);
+    }
+
+    /**
+     * Checks whether a period overlaps the application period of any project of a manager, both ends inclusive.
+     *
+     * @param managerNric the manager whose projects to check
+     * @param opening     the first day of the period
+     * @param closing     the last day of the period
+     * @param exclude     a project to ignore, e.g. the one being edited, or null
+     * @return true if another of the manager's projects has an overlapping period
+     */
+    synchronized boolean overlapsManagedBy(String managerNric, LocalDate opening, LocalDate closing, Project exclude) {
+        return overlaps(byManager.get(DataStore.normalizeNric(managerNric)), opening, closing, exclude);
+    }
+
+    private static boolean overlaps(IntervalTree tree, LocalDate opening, LocalDate closing, Project exclude) {
+        if (tree == null) return false;
+        List<Project> found = new ArrayList<>(1);
+        tree.collect(opening.toEpochDay(), closing.toEpochDay(), found, exclude, 1);
+        return !found.isEmpty();
+    }
+
+    /**
+     * Retrieves the projects whose application period includes a date.
+     *
+     * @param date the date
+     * @return the projects open on that date, in order of opening date
+     */
+    synchronized List<Project> openOn(LocalDate date) {
+        List<Project> found = new ArrayList<>();
+        all.collect(date.toEpochDay(), date.toEpochDay(), found, null, Integer.MAX_VALUE);
+        return found;
+    }
+
+    /**
+     * The IntervalTree class is an AVL tree of project periods ordered by opening day,
+     * augmented with the latest closing day of each subtree.
+     */
+    private static final class IntervalTree {
+
+        private static final class Node {
+            final long start;
+            final long end;
+            final long sequence;
+            final Project project;
+            long maxEnd;
+            int height = 1;
+            Node left;
+            Node right;
+
+            Node(long start, long end, long sequence, Project project) {
+                this.start = start;
+                this.end = end;
+                this.sequence = sequence;
+                this.project = project;
+                this.maxEnd = end;
+            }
+        }
+
+        private final Map<Project, Node> nodes = new IdentityHashMap<>();
+        private Node root;
+        private long nextSequence;
+
+        boolean isEmpty() {
+            return root == null;
+        }
+
+        void clear() {
+            root = null;
+            nodes.clear();
+        }
+
+        void insert(Project project) {
+            Node node = new Node(
+                    project.getApplicationOpeningDate().toEpochDay(),
+                    project.getApplicationClosingDate().toEpochDay(),
+                    nextSequence++,
+                    project);
+            nodes.put(project, node);
+            root = insert(root, node);
+        }
+
+        void delete(Project project) {
+            Node node = nodes.remove(project);
+            if (node != null) root = delete(root, node);
+        }
+
+        /**
+         * Collects the projects whose period overlaps [from, to], stopping once enough have been found.
+         */
+        void collect(long from, long to, List<Project> found, Project exclude, int limit) {
+            collect(root, from, to, found, exclude, limit);
+        }
+
+        private static void collect(Node node, long from, long to, List<Project> found, Project exclude, int limit) {
+            // nothing in this subtree closes on or after the start of the period
+            if (node == null || node.maxEnd < from || found.size() >= limit) return;
+            collect(node.left, from, to, found, exclude, limit);
+            // this node and everything to its right opens after the period ends
+            if (node.start > to || found.size() >= limit) return;
+            if (node.end >= from && node.project != exclude) found.add(node.project);
+            collect(node.right, from, to, found, exclude, limit);
+        }
+
+        private static int compare(Node a, Node b) {
+            int byStart = Long.compare(a.start, b.start);
+            return byStart != 0 ? byStart : Long.compare(a.sequence, b.sequence);
+        }
+
+        private static Node insert(Node node, Node added) {
+            if (node == null) return added;
+            if (compare(added, node) < 0) {
+                node.left = insert(node.left, added);
+            } else {
+                node.right = insert(node.right, added);
+            }
+            return balance(node);
+        }
+
+        private static Node delete(Node node, Node removed) {
+            if (node == null) return null;
+            int cmp = compare(removed, node);
+            if (cmp < 0) {
+                node.left = delete(node.left, removed);
+            } else if (cmp > 0) {
+                node.right = delete(node.right, removed);
+            } else {
+                if (node.left == null) return node.right;
+                if (node.right == null) return node.left;
+                Node successor = node.right;
+                while (successor.left != null) successor = successor.left;
+                successor.right = deleteMin(node.right);
+                successor.left = node.left;
+                return balance(successor);
+            }
+            return balance(node);
+        }
+
+        private static Node deleteMin(Node node) {
+            if (node.left == null) return node.right;
+            node.left = deleteMin(node.left);
+            return balance(node);
+        }
+
+        private static int height(Node node) {
+            return node == null ? 0 : node.height;
+        }
+
+        private static void update(Node node) {
+            node.height = 1 + Math.max(height(node.left), height(node.right));
+            long maxEnd = node.end;
+            if (node.left != null) maxEnd = Math.max(maxEnd, node.left.maxEnd);
+            if (node.right != null) maxEnd = Math.max(maxEnd, node.right.maxEnd);
+            node.maxEnd = maxEnd;
+        }
+
+        private static Node balance(Node node) {
+            update(node);
+            int skew = height(node.left) - height(node.right);
+            if (skew > 1) {
+                if (height(node.left.left) < height(node.left.right)) node.left = rotateLeft(node.left);
+                return rotateRight(node);
+            }
+            if (skew < -1) {
+                if (height(node.right.right) < height(node.right.left)) node.right = rotateRight(node.right);
+                return rotateLeft(node);
+            }
+            return node;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node pivot = node.left;
+            node.left = pivot.right;
+            pivot.right = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node pivot = node.right;
+            node.right = pivot.left;
+            pivot.left = node;
+            update(node);
+            update(pivot);
+            return pivot;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package sc2002.fcsi.grp3.datastore;
+
+/**
+ * The StorageMode enum represents how the DataStore guards its entity tables.
+ */
+public enum StorageMode {
+
+    /**
+     * No locking; suitable for a single console session.
+     */
+    SINGLE,
+
+    /**
+     * Per-entity read-write locks and snapshot reads; suitable for many concurrent sessions.
+     * Reads run in parallel, while writes from all sessions are serialized by the journal's change lock.
+     */
+    CONCURRENT;
+
+    /**
+     * Parses a string to a {@code StorageMode}, case-insensitively.
+     *
+     * @param input the input string (e.g. "single", "CONCURRENT")
+     * @return the corresponding {@code StorageMode}, or {@link #SINGLE} if the input is null or blank
+     * @throws IllegalArgumentException if the input is not a known mode
+     */
+    public static StorageMode fromString(String input) {
+        if (input == null || input.isBlank()) {
+            return SINGLE;
+        }
+
+        return switch (input.trim().toUpperCase()) {
+            case "SINGLE" -> SINGLE;
+            case "CONCURRENT" -> CONCURRENT;
+            default -> throw new IllegalArgumentException("Invalid storage mode: " + input);
+        };
+    }
+}
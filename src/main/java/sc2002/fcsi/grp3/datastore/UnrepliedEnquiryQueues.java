@@ -0,0 +1,145 @@
+package sc2002.fcsi.grp3.datastore;
+
+import sc2002.fcsi.grp3.model.Enquiry;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The UnrepliedEnquiryQueues class keeps, for every project, a queue of the enquiries about it that have not been
+ * replied to, oldest first.
+ * <p>
+ * New enquiries are created today, so they almost always belong at the back of their queue and are appended
+ * in O(1); an enquiry older than the back of its queue is sorted in. Replied and deleted enquiries leave their
+ * queue in O(1). The inbox of an officer or manager is a merge of the queues of the projects they handle.
+ * An enquiry's place in the queues follows its reply and project, so an enquiry whose reply or project
+ * changes must be updated.
+ */
+final class UnrepliedEnquiryQueues {
+
+    private static final Comparator<Enquiry> OLDEST_FIRST = Comparator
+            .comparing(Enquiry::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+            .thenComparingInt(Enquiry::getId);
+
+    /**
+     * The Queue class holds the unreplied enquiries of one project, oldest first.
+     */
+    private static final class Queue {
+        LinkedHashSet<Enquiry> enquiries = new LinkedHashSet<>();
+        // no queued enquiry is newer than this one, though it may have left the queue
+        Enquiry newest;
+    }
+
+    private final Map<Integer, Queue> byProject = new HashMap<>();
+    private final Map<Enquiry, Integer> projectOf = new IdentityHashMap<>();
+
+    /**
+     * Replaces every queued enquiry.
+     *
+     * @param enquiries the stored enquiries
+     */
+    synchronized void setAll(Collection<Enquiry> enquiries) {
+        byProject.clear();
+        projectOf.clear();
+        if (enquiries == null) return;
+        List<Enquiry> sorted = new ArrayList<>(enquiries);
+        sorted.sort(OLDEST_FIRST);
+        for (Enquiry enquiry : sorted) {
+            update(enquiry);
+        }
+    }
+
+    /**
+     * Queues an enquiry if it is unreplied, or takes it out of its queue if it has been replied to.
+     * An unreplied enquiry that moved to another project is moved to that project's queue.
+     *
+     * @param enquiry the enquiry that was added or changed
+     */
+    synchronized void update(Enquiry enquiry) {
+        if (enquiry.isReplied() || enquiry.getRelatedProject() == null) {
+            remove(enquiry);
+            return;
+        }
+        Integer queuedIn = projectOf.get(enquiry);
+        if (queuedIn != null && queuedIn == enquiry.getRelatedProject().getId()) return;
+        remove(enquiry);
+        enqueue(enquiry);
+    }
+
+    /**
+     * Takes an enquiry out of its queue.
+     *
+     * @param enquiry the enquiry to take out
+     */
+    synchronized void remove(Enquiry enquiry) {
+        Integer projectId = projectOf.remove(enquiry);
+        if (projectId == null) return;
+        Queue queue = byProject.get(projectId);
+        queue.enquiries.remove(enquiry);
+        if (queue.enquiries.isEmpty()) byProject.remove(projectId);
+    }
+
+    /**
+     * Checks whether an enquiry is queued, i.e. stored and not yet replied to.
+     *
+     * @param enquiry the enquiry to check
+     * @return true if the enquiry is waiting for a reply
+     */
+    synchronized boolean isQueued(Enquiry enquiry) {
+        return projectOf.containsKey(enquiry);
+    }
+
+    /**
+     * Retrieves the unreplied enquiries of the given projects, oldest first.
+     * A project listed more than once is merged in once.
+     *
+     * @param projectIds the IDs of the projects
+     * @return the unreplied enquiries
+     */
+    synchronized List<Enquiry> inbox(Collection<Integer> projectIds) {
+        record Head(Enquiry enquiry, Iterator<Enquiry> rest) {
+        }
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::enquiry, OLDEST_FIRST));
+        int total = 0;
+        for (Integer projectId : new LinkedHashSet<>(projectIds)) {
+            Queue queue = byProject.get(projectId);
+            if (queue == null) continue;
+            Iterator<Enquiry> rest = queue.enquiries.iterator();
+            heads.add(new Head(rest.next(), rest));
+            total += queue.enquiries.size();
+        }
+
+        List<Enquiry> inbox = new ArrayList<>(total);
+        while (!heads.isEmpty()) {
+            Head head = heads.poll();
+            inbox.add(head.enquiry());
+            if (head.rest().hasNext()) heads.add(new Head(head.rest().next(), head.rest()));
+        }
+        return inbox;
+    }
+
+    private void enqueue(Enquiry enquiry) {
+        int projectId = enquiry.getRelatedProject().getId();
+        Queue queue = byProject.computeIfAbsent(projectId, key -> new Queue());
+        if (queue.newest == null || OLDEST_FIRST.compare(enquiry, queue.newest) >= 0) {
+            queue.enquiries.add(enquiry);
+            queue.newest = enquiry;
+        } else {
+            // an older enquiry, e.g. one replayed from the journal, is sorted into place
+            List<Enquiry> sorted = new ArrayList<>(queue.enquiries);
+            sorted.add(enquiry);
+            sorted.sort(OLDEST_FIRST);
+            queue.enquiries = new LinkedHashSet<>(sorted);
+        }
+        projectOf.put(enquiry, projectId);
+    }
+}
@@ -0,0 +1,154 @@
+package sc2002.fcsi.grp3.datastore;
+
+import sc2002.fcsi.grp3.model.ChangeTracker;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.EntityType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The UserNameTrie class finds users whose name, or any word onwards in their name, starts with a prefix,
+ * so that "tan" finds both "Tan Wei Ming" and "John Tan".
+ * <p>
+ * Name searches are rare next to NRIC lookups, so the trie is only built on the first search and rebuilt
+ * whenever the users change, which is detected through the version in {@link ChangeTracker}.
+ * Logins never pay for it.
+ */
+final class UserNameTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final User[] NO_USERS = new User[0];
+
+    /**
+     * The Node class is one character step in the trie. Children are kept sorted by character,
+     * so a depth-first walk visits names in alphabetical order.
+     */
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        User[] users = NO_USERS;
+        int userCount;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : children[i];
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) return children[i];
+            i = -i - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+            newKeys[i] = c;
+            newChildren[i] = new Node();
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[i];
+        }
+
+        void addUser(User user) {
+            if (userCount == users.length) users = Arrays.copyOf(users, Math.max(1, userCount * 2));
+            users[userCount++] = user;
+        }
+    }
+
+    private final Supplier<Collection<User>> users;
+    private Node root;
+    private long usersVersion = -1;
+
+    /**
+     * Constructs a UserNameTrie over the stored users.
+     *
+     * @param users supplies the stored users when the trie is (re)built
+     */
+    UserNameTrie(Supplier<Collection<User>> users) {
+        this.users = users;
+    }
+
+    /**
+     * Finds the users with a name word starting with the prefix, in alphabetical order of the matching words.
+     *
+     * @param prefix the start of a name or of any word in it, ignoring case
+     * @param limit  the maximum number of users to return
+     * @return the matching users, each at most once
+     */
+    synchronized List<User> find(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) return List.of();
+        refresh();
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) return List.of();
+
+        Set<User> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<User> matches = new ArrayList<>();
+        collect(node, found, matches, limit);
+        return matches;
+    }
+
+    private static boolean collect(Node node, Set<User> found, List<User> matches, int limit) {
+        for (int i = 0; i < node.userCount; i++) {
+            if (found.add(node.users[i])) {
+                matches.add(node.users[i]);
+                if (matches.size() == limit) return true;
+            }
+        }
+        for (Node child : node.children) {
+            if (collect(child, found, matches, limit)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Rebuilds the trie if the users have changed since it was built.
+     */
+    private void refresh() {
+        long version = ChangeTracker.getVersion(EntityType.USERS);
+        if (root != null && version == usersVersion) return;
+        usersVersion = version;
+        root = new Node();
+        for (User user : users.get()) {
+            insert(user);
+        }
+    }
+
+    private void insert(User user) {
+        String name = normalize(user.getName());
+        for (int start = 0; start < name.length(); start++) {
+            if (start > 0 && name.charAt(start - 1) != ' ') continue;
+            Node node = root;
+            for (int i = start; i < name.length(); i++) {
+                node = node.childOrCreate(name.charAt(i));
+            }
+            node.addUser(user);
+        }
+    }
+
+    /**
+     * Lower-cases a name and collapses its whitespace to single spaces.
+     *
+     * @param name the name
+     * @return the normalized name, or an empty string if the name is null
+     */
+    static String normalize(String name) {
+        if (name == null) return "";
+        return String.join(" ", name.trim().toLowerCase(Locale.ROOT).split("\\s+")).trim();
+    }
+}
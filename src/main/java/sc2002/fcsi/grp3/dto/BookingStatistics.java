@@ -0,0 +1,97 @@
+package sc2002.fcsi.grp3.dto;
+
+import sc2002.fcsi.grp3.model.enums.AgeBand;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The BookingStatistics class accumulates statistics over a group of flat bookings: the number of bookings,
+ * the total and average selling price of the booked flats, and the number of applicants in each age band.
+ * <p>
+ * Statistics gathered separately, e.g. over different chunks of applications, can be combined with
+ * {@link #merge(BookingStatistics)}, giving the same result as gathering them all in one place.
+ */
+public final class BookingStatistics {
+
+    private static final AgeBand[] AGE_BANDS = AgeBand.values();
+
+    private int count;
+    private int pricedCount;
+    private double totalSellingPrice;
+    private final int[] ageBandCounts = new int[AGE_BANDS.length];
+
+    /**
+     * Adds a booking to the statistics.
+     *
+     * @param applicantAge the age of the applicant
+     * @param sellingPrice the selling price of the booked flat, or NaN if the project no longer lists the flat
+     */
+    public void add(int applicantAge, float sellingPrice) {
+        count++;
+        if (!Float.isNaN(sellingPrice)) {
+            pricedCount++;
+            totalSellingPrice += sellingPrice;
+        }
+        ageBandCounts[AgeBand.of(applicantAge).ordinal()]++;
+    }
+
+    /**
+     * Adds every booking counted in other statistics to these statistics.
+     *
+     * @param other the statistics to merge in
+     * @return these statistics
+     */
+    public BookingStatistics merge(BookingStatistics other) {
+        count += other.count;
+        pricedCount += other.pricedCount;
+        totalSellingPrice += other.totalSellingPrice;
+        for (int band = 0; band < ageBandCounts.length; band++) {
+            ageBandCounts[band] += other.ageBandCounts[band];
+        }
+        return this;
+    }
+
+    /**
+     * Gets the number of bookings.
+     *
+     * @return the booking count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the total selling price of the booked flats.
+     *
+     * @return the total selling price
+     */
+    public double getTotalSellingPrice() {
+        return totalSellingPrice;
+    }
+
+    /**
+     * Gets the average selling price of the booked flats.
+     * Bookings of flats that their project no longer lists are left out.
+     *
+     * @return the average selling price, or 0 if no booked flat has a price
+     */
+    public double getAverageSellingPrice() {
+        return pricedCount == 0 ? 0 : totalSellingPrice / pricedCount;
+    }
+
+    /**
+     * Gets the number of applicants in each age band.
+     * Only age bands with at least one applicant are listed.
+     *
+     * @return the age histogram
+     */
+    public Map<AgeBand, Integer> getAgeHistogram() {
+        Map<AgeBand, Integer> histogram = new EnumMap<>(AgeBand.class);
+        for (AgeBand band : AGE_BANDS) {
+            if (ageBandCounts[band.ordinal()] > 0) histogram.put(band, ageBandCounts[band.ordinal()]);
+        }
+        return Collections.unmodifiableMap(histogram);
+    }
+}
@@ -0,0 +1,28 @@
+package sc2002.fcsi.grp3.dto;
+
+/**
+ * The BulkheadStats record holds a snapshot of one bulkhead of the service executor.
+ *
+ * @param concurrency       the number of calls that may run at once
+ * @param queueCapacity     the number of calls that may wait for a free slot
+ * @param running           the number of calls running now
+ * @param queued            the number of calls waiting now
+ * @param peakQueued        the largest number of calls that have waited at once
+ * @param completed         the number of calls that have finished
+ * @param rejected          the number of calls turned away because the bulkhead was full
+ * @param meanQueueMillis   the mean time a finished call waited for a slot, in milliseconds
+ * @param meanLatencyMillis the mean time from submitting a call to it finishing, in milliseconds
+ * @param maxLatencyMillis  the longest time from submitting a call to it finishing, in milliseconds
+ */
+public record BulkheadStats(
+        int concurrency,
+        int queueCapacity,
+        int running,
+        int queued,
+        int peakQueued,
+        long completed,
+        long rejected,
+        double meanQueueMillis,
+        double meanLatencyMillis,
+        double maxLatencyMillis
+) {}
@@ -0,0 +1,21 @@
+package sc2002.fcsi.grp3.dto;
+
+import sc2002.fcsi.grp3.model.enums.FlatType;
+
+import java.util.Map;
+
+/**
+ * The FlatBookingAggregation record holds statistics over the flat bookings in a report,
+ * overall and grouped by neighbourhood, flat type and project.
+ *
+ * @param overall         the statistics over every booking
+ * @param byNeighbourhood the statistics of each neighbourhood, sorted by neighbourhood
+ * @param byFlatType      the statistics of each flat type
+ * @param byProject       the statistics of each project, by project name, sorted by project name
+ */
+public record FlatBookingAggregation(
+        BookingStatistics overall,
+        Map<String, BookingStatistics> byNeighbourhood,
+        Map<FlatType, BookingStatistics> byFlatType,
+        Map<String, BookingStatistics> byProject
+) {}
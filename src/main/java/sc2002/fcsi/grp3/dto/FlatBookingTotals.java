@@ -0,0 +1,25 @@
+package sc2002.fcsi.grp3.dto;
+
+import sc2002.fcsi.grp3.model.enums.AgeBand;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+
+import java.util.Map;
+
+/**
+ * The FlatBookingTotals record holds the number of flat bookings in a report, grouped in several ways.
+ * Every grouping only lists the groups that have at least one booking.
+ *
+ * @param total           the total number of bookings
+ * @param byNeighbourhood the number of bookings in each neighbourhood, sorted by neighbourhood
+ * @param byFlatType      the number of bookings of each flat type
+ * @param byMaritalStatus the number of bookings by applicants of each marital status
+ * @param byAgeBand       the number of bookings by applicants in each age band
+ */
+public record FlatBookingTotals(
+        int total,
+        Map<String, Integer> byNeighbourhood,
+        Map<FlatType, Integer> byFlatType,
+        Map<MaritalStatus, Integer> byMaritalStatus,
+        Map<AgeBand, Integer> byAgeBand
+) {}
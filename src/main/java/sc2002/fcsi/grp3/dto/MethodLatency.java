@@ -0,0 +1,24 @@
+package sc2002.fcsi.grp3.dto;
+
+/**
+ * The MethodLatency record holds how often a service method has been called and how long it took.
+ *
+ * @param component   the class the method belongs to
+ * @param method      the method name
+ * @param count       the number of calls
+ * @param totalMillis the total time spent in the method, in milliseconds
+ * @param meanMillis  the mean duration, in milliseconds
+ * @param p50Millis   the median duration, in milliseconds
+ * @param p99Millis   the 99th percentile duration, in milliseconds
+ * @param maxMillis   the longest duration, in milliseconds
+ */
+public record MethodLatency(
+        String component,
+        String method,
+        long count,
+        double totalMillis,
+        double meanMillis,
+        double p50Millis,
+        double p99Millis,
+        double maxMillis
+) {}
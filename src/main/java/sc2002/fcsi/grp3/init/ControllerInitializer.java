@@ -3,10 +3,16 @@ package sc2002.fcsi.grp3.init;
 import sc2002.fcsi.grp3.controller.ControllerFactory;
 import sc2002.fcsi.grp3.controller.MainMenuController;
 import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.service.PasswordHasher;
+import sc2002.fcsi.grp3.service.ServiceExecutor;
+import sc2002.fcsi.grp3.session.Session;
+
+import java.nio.file.Path;
 
 /**
  * The ControllerInitializer class is responsible for initializing and providing access to controllers.
- * It uses the ControllerFactory to create controllers with the required dependencies.
+ * It uses the ControllerFactory to create controllers with the required dependencies, sharing the single
+ * session of the console.
  */
 public class ControllerInitializer {
 
@@ -15,11 +21,16 @@ public class ControllerInitializer {
     /**
      * Constructs a ControllerInitializer with the required dependencies.
      *
-     * @param store    the data store containing application data
-     * @param viewInit the initializer for setting up views
+     * @param store           the data store containing application data
+     * @param viewInit        the initializer for setting up views
+     * @param passwordHasher  the password hasher shared by every session
+     * @param serviceExecutor the executor for long service calls
+     * @param exportDirectory the directory reports are exported into
      */
-    public ControllerInitializer(DataStore store, ViewInitializer viewInit) {
-        this.factory = new ControllerFactory(store, viewInit);
+    public ControllerInitializer(DataStore store, ViewInitializer viewInit, PasswordHasher passwordHasher,
+                                 ServiceExecutor serviceExecutor, Path exportDirectory) {
+        this.factory = new ControllerFactory(store, viewInit, passwordHasher, serviceExecutor, exportDirectory,
+                new Session());
     }
 
     /**
@@ -2,8 +2,40 @@ package sc2002.fcsi.grp3.init;
 
 import sc2002.fcsi.grp3.io.ConfigLoader;
 import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.datastore.Journal;
+import sc2002.fcsi.grp3.datastore.StorageMode;
+import sc2002.fcsi.grp3.io.BinarySnapshot;
 import sc2002.fcsi.grp3.io.CSVDataLoader;
+import sc2002.fcsi.grp3.io.LoadMode;
+import sc2002.fcsi.grp3.io.TimedCSVDataLoader;
+import sc2002.fcsi.grp3.io.WriteAheadLog;
+import sc2002.fcsi.grp3.metrics.FlightRecording;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+import sc2002.fcsi.grp3.model.ChangeTracker;
+import sc2002.fcsi.grp3.server.SessionServer;
+import sc2002.fcsi.grp3.service.OperationClass;
+import sc2002.fcsi.grp3.service.PasswordHasher;
+import sc2002.fcsi.grp3.service.ReportService;
+import sc2002.fcsi.grp3.service.ServiceExecutor;
 import sc2002.fcsi.grp3.service.SystemSaver;
+import sc2002.fcsi.grp3.service.TimedSystemSaver;
+import sc2002.fcsi.grp3.service.result.ActionResult;
+import sc2002.fcsi.grp3.session.SessionManager;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * The SystemInitializer class is responsible for initializing the system.
@@ -11,11 +43,18 @@ import sc2002.fcsi.grp3.service.SystemSaver;
  */
 public class SystemInitializer {
 
+    private static final int LOADER_THREADS = 4;
+    private static final int DEFAULT_SERVER_PORT = 5050;
+
     private final DataStore dataStore;
     private final ConfigLoader config;
     private final ViewInitializer viewInitializer;
     private final ControllerInitializer controllerInitializer;
     private final SystemSaver systemSaver;
+    private final PasswordHasher passwordHasher;
+    private final ServiceExecutor serviceExecutor;
+    private final Path exportDirectory;
+    private volatile boolean dataLoaded;
 
     /**
      * Constructs a SystemInitializer and initializes the required components.
@@ -24,15 +63,24 @@ public class SystemInitializer {
     public SystemInitializer() {
         this.dataStore = DataStore.getInstance();
         this.config = new ConfigLoader("config.properties");
+        this.dataStore.setStorageMode(StorageMode.fromString(config.get("dataStoreMode")));
         this.viewInitializer = new ViewInitializer();
-        this.controllerInitializer = new ControllerInitializer(dataStore, viewInitializer);
-        this.systemSaver = new SystemSaver(dataStore, config);
+        this.passwordHasher = createPasswordHasher();
+        this.serviceExecutor = createServiceExecutor();
+        this.exportDirectory = Path.of(config.getOrDefault("exportDir",
+                ReportService.DEFAULT_EXPORT_DIRECTORY.toString()).trim());
+        this.controllerInitializer = new ControllerInitializer(dataStore, viewInitializer, passwordHasher,
+                serviceExecutor, exportDirectory);
+        this.systemSaver = new TimedSystemSaver(dataStore, config);
         registerShutdownHook();
     }
 
     /**
      * Loads data from CSV files into the DataStore.
      * The file paths are retrieved from the configuration file.
+     * <p>
+     * Users and projects are loaded in parallel first, since every other file refers to them.
+     * Applications, enquiries, bookings and registrations are then loaded in parallel.
      */
     private void loadData() {
         String usersPath = config.get("usersFile");
@@ -42,45 +90,334 @@ public class SystemInitializer {
         String bookingsPath = config.get("bookingsFile");
         String registrationsPath = config.get("registrationsFile");
 
-
-
-        CSVDataLoader loader = new CSVDataLoader(
+        CSVDataLoader loader = new TimedCSVDataLoader(
                 usersPath,
                 projectsPath,
                 applicationsPath,
                 enquiriesPath,
                 bookingsPath,
                 registrationsPath);
-        dataStore.setUsers(loader.loadUsers());
-        dataStore.setProjects(loader.loadProjects());
-        dataStore.setApplications(loader.loadApplications());
-        dataStore.setEnquiries(loader.loadEnquiries());
-        dataStore.setBookings(loader.loadBookings());
-        dataStore.setRegistrations(loader.loadRegistrations());
+        loader.setApplicationLoadMode(LoadMode.fromString(config.get("applicationsLoadMode")));
+
+        if (loadSnapshot(loader)) {
+            dataLoaded = true;
+            return;
+        }
+
+        int threads = Math.max(1, Math.min(LOADER_THREADS, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "data-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            // the dependent parsers look up the project and user maps built by these two loads
+            awaitAll(
+                    loadAsync("users", loader::loadUsers, dataStore::setUsers, executor),
+                    loadAsync("projects", loader::loadProjects, dataStore::setProjects, executor));
+
+            awaitAll(
+                    loadAsync("applications", loader::loadApplications, dataStore::setApplications, executor),
+                    loadAsync("enquiries", loader::loadEnquiries, dataStore::setEnquiries, executor),
+                    loadAsync("bookings", loader::loadBookings, dataStore::setBookings, executor),
+                    loadAsync("registrations", loader::loadRegistrations, dataStore::setRegistrations, executor));
+        } finally {
+            executor.shutdown();
+        }
+
+        // loading goes through constructors and setters, none of which are unsaved changes
+        ChangeTracker.clearAll();
+        dataLoaded = true;
+        System.out.println("[SystemInitializer] Loaded all data in " + elapsedMillis(start) + " ms.");
+    }
+
+    /**
+     * Loads all data from the binary snapshot, if one is configured and newer than every CSV file.
+     *
+     * @param loader the loader that resolves references between the entities
+     * @return true if the data was loaded from the snapshot, false if the CSV files must be read
+     */
+    private boolean loadSnapshot(CSVDataLoader loader) {
+        String snapshotPath = config.get("snapshotFile");
+        if (snapshotPath == null || snapshotPath.isBlank()) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        BinarySnapshot.Contents contents = loader.loadSnapshot(snapshotPath.trim());
+        if (contents == null) {
+            return false;
+        }
+        dataStore.setUsers(contents.users());
+        dataStore.setProjects(contents.projects());
+        dataStore.setApplications(contents.applications());
+        dataStore.setEnquiries(contents.enquiries());
+        dataStore.setBookings(contents.bookings());
+        dataStore.setRegistrations(contents.registrations());
+
+        ChangeTracker.clearAll();
+        System.out.println("[SystemInitializer] Loaded " + contents.users().size() + " users, "
+                + contents.projects().size() + " projects and " + contents.applications().size()
+                + " applications from snapshot in " + elapsedMillis(start) + " ms.");
+        return true;
+    }
+
+    /**
+     * Loads one file on the given executor and stores the result in the DataStore.
+     * Prints the row count and time taken once the file is loaded.
+     *
+     * @param entity   the name of the entity being loaded, used in the report
+     * @param loader   loads the rows from file
+     * @param store    stores the loaded rows
+     * @param executor the executor to load on
+     * @param <T>      the type of the rows
+     * @return a future that completes when the rows are stored
+     */
+    private static <T> CompletableFuture<Void> loadAsync(
+            String entity,
+            Supplier<List<T>> loader,
+            Consumer<List<T>> store,
+            ExecutorService executor
+    ) {
+        return CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            List<T> rows = loader.get();
+            store.accept(rows);
+            System.out.println("[SystemInitializer] Loaded " + rows.size() + " " + entity
+                    + " in " + elapsedMillis(start) + " ms.");
+        }, executor);
+    }
 
-        System.out.println("[SystemInitializer] Loaded " + dataStore.getUsers().size() + " users.");
-        System.out.println("[SystemInitializer] Loaded " + dataStore.getProjects().size() + " projects.");
-        System.out.println("[SystemInitializer] Loaded " + dataStore.getApplications().size() + " applications.");
-        System.out.println("[SystemInitializer] Loaded " + dataStore.getEnquiries().size() + " enquiries.");
-        System.out.println("[SystemInitializer] Loaded " + dataStore.getBookings().size() + " bookings.");
-        System.out.println("[SystemInitializer] Loaded " + dataStore.getRegistrations().size() + " registrations.");
+    /**
+     * Waits for all loads to finish.
+     * A failure in any load is rethrown as it would have been by a sequential load.
+     *
+     * @param loads the loads to wait for
+     */
+    private static void awaitAll(CompletableFuture<?>... loads) {
+        try {
+            CompletableFuture.allOf(loads).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Calculates the milliseconds elapsed since the given start time.
+     *
+     * @param startNanos the start time from {@link System#nanoTime()}
+     * @return the elapsed time in milliseconds
+     */
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Creates the password hasher from the configured iteration count and verification pool size.
+     * By default passwords are verified on half of the cores, leaving the rest to logged in sessions.
+     *
+     * @return the password hasher
+     */
+    private PasswordHasher createPasswordHasher() {
+        int iterations = Integer.parseInt(config.getOrDefault("passwordHashIterations",
+                String.valueOf(PasswordHasher.DEFAULT_ITERATIONS)).trim());
+        int threads = Integer.parseInt(config.getOrDefault("passwordVerifierThreads",
+                String.valueOf(Math.max(1, Runtime.getRuntime().availableProcessors() / 2))).trim());
+        int queueCapacity = Integer.parseInt(config.getOrDefault("passwordVerifierQueue",
+                String.valueOf(PasswordHasher.DEFAULT_QUEUE_CAPACITY)).trim());
+        return new PasswordHasher(iterations, threads, queueCapacity);
+    }
+
+    /**
+     * Creates the executor for long service calls. The bulkhead of each operation class is sized by the
+     * {@code <label>BulkheadConcurrency} and {@code <label>BulkheadQueue} keys, such as
+     * {@code reportBulkheadQueue}, falling back to the defaults of the {@link OperationClass}.
+     *
+     * @return the service executor
+     */
+    private ServiceExecutor createServiceExecutor() {
+        return new ServiceExecutor(
+                operation -> Integer.parseInt(config.getOrDefault(operation.getLabel() + "BulkheadConcurrency",
+                        String.valueOf(operation.getDefaultConcurrency())).trim()),
+                operation -> Integer.parseInt(config.getOrDefault(operation.getLabel() + "BulkheadQueue",
+                        String.valueOf(operation.getDefaultQueueCapacity())).trim()));
+    }
+
+    /**
+     * Creates the session table for server mode from the configured size and idle timeout, and starts
+     * sweeping it for idle sessions.
+     *
+     * @return the session manager
+     */
+    private SessionManager createSessionManager() {
+        int maxSessions = Integer.parseInt(config.getOrDefault("maxSessions",
+                String.valueOf(SessionManager.DEFAULT_MAX_SESSIONS)).trim());
+        long idleMinutes = Long.parseLong(config.getOrDefault("sessionIdleTimeoutMinutes",
+                String.valueOf(SessionManager.DEFAULT_IDLE_TIMEOUT.toMinutes())).trim());
+        return new SessionManager(maxSessions, Duration.ofMinutes(idleMinutes)).start();
     }
 
     /**
      * Registers a shutdown hook to save the system state when the application terminates.
+     * Nothing is saved if the data was never loaded, so an empty store cannot overwrite the snapshot.
      */
     private void registerShutdownHook() {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            System.out.println("[SystemSaver] Saving system state...");
-            systemSaver.saveAll();
+            if (dataLoaded) {
+                System.out.println("[SystemSaver] Saving system state...");
+                if (systemSaver.checkpoint()) {
+                    systemSaver.saveSnapshot();
+                }
+            }
+            WriteAheadLog log = dataStore.getJournal().getLog();
+            if (log != null) {
+                try {
+                    log.close();
+                } catch (IOException e) {
+                    System.out.println("[SystemSaver] Failed to close journal: " + e.getMessage());
+                }
+            }
         }));
     }
 
+    /**
+     * Opens the write-ahead journal, replays it on top of the loaded CSV data and schedules checkpoints.
+     * Journaling is disabled if no journal file is configured.
+     */
+    private void openJournal() {
+        String journalPath = config.get("journalFile");
+        if (journalPath == null || journalPath.isBlank()) return;
+
+        long groupCommitMillis = Long.parseLong(config.getOrDefault("journalGroupCommitMillis", "2").trim());
+        long checkpointSeconds = Long.parseLong(config.getOrDefault("journalCheckpointSeconds", "300").trim());
+        try {
+            Journal journal = new Journal(new WriteAheadLog(journalPath.trim(), groupCommitMillis));
+            int replayed = journal.replay(dataStore);
+            dataStore.setJournal(journal);
+            if (replayed > 0) {
+                // fold the recovered changes into the CSV files straight away, and drop them from the journal
+                systemSaver.checkpoint();
+            }
+        } catch (IOException e) {
+            System.out.println("[SystemInitializer] Failed to open journal, changes will only be saved on exit: "
+                    + e.getMessage());
+            return;
+        }
+
+        if (checkpointSeconds > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "checkpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::scheduledCheckpoint,
+                    checkpointSeconds, checkpointSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Registers the gauges of the service executor and schedules writing every metric to the configured
+     * {@code metricsFile} in the Prometheus text format, every {@code metricsDumpSeconds}.
+     * Nothing is written if no metrics file is configured.
+     */
+    private void startMetrics() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        serviceExecutor.registerGauges(metrics);
+
+        String metricsPath = config.get("metricsFile");
+        long dumpSeconds = Long.parseLong(config.getOrDefault("metricsDumpSeconds", "60").trim());
+        if (metricsPath == null || metricsPath.isBlank() || dumpSeconds <= 0) return;
+
+        Path target = Path.of(metricsPath.trim());
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                metrics.writePrometheus(target);
+            } catch (IOException e) {
+                System.out.println("[SystemInitializer] Failed to write metrics: " + e.getMessage());
+            }
+        }, dumpSeconds, dumpSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts a continuous flight recording, kept as a ring buffer of the last {@code jfrMaxAgeMinutes}
+     * minutes and at most {@code jfrMaxSizeMB} megabytes of events, and written to a file when the process exits.
+     * The recording uses the JDK settings named by {@code jfrSettings}, {@code default} if not configured.
+     *
+     * @param destination the file to write the recording to, or null for the configured {@code jfrFile}
+     */
+    public void startRecording(String destination) {
+        String path = destination != null ? destination : config.getOrDefault("jfrFile", "data/flight.jfr");
+        String settings = config.getOrDefault("jfrSettings", "default").trim();
+        long maxAgeMinutes = Long.parseLong(config.getOrDefault("jfrMaxAgeMinutes", "30").trim());
+        long maxSizeMegabytes = Long.parseLong(config.getOrDefault("jfrMaxSizeMB", "100").trim());
+        try {
+            FlightRecording recording = new FlightRecording(settings, Path.of(path.trim()),
+                    Duration.ofMinutes(maxAgeMinutes), maxSizeMegabytes * 1024 * 1024);
+            recording.start();
+            System.out.println("[SystemInitializer] Flight recording started, written to "
+                    + recording.getDestination() + " on exit");
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.out.println("[SystemInitializer] Failed to start flight recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a periodic checkpoint in the save bulkhead, skipping it if another save is still running.
+     */
+    private void scheduledCheckpoint() {
+        ActionResult<Boolean> result = serviceExecutor.call(OperationClass.SAVE, systemSaver::checkpoint);
+        if (!result.isSuccess()) {
+            System.out.println("[SystemSaver] Checkpoint skipped: " + result.getMessage());
+        }
+    }
+
     /**
      * Starts the system by loading data and launching the main menu controller.
      */
     public void startSystem() {
+        startMetrics();
         loadData();
+        openJournal();
         controllerInitializer.getMainMenuController().start();
     }
+
+    /**
+     * Starts the system in server mode, serving terminal sessions over TCP on the configured
+     * address and port, or port 5050 on the loopback address by default.
+     */
+    public void startServer() {
+        startServer(Integer.parseInt(config.getOrDefault("serverPort", String.valueOf(DEFAULT_SERVER_PORT)).trim()));
+    }
+
+    /**
+     * Starts the system in server mode, serving terminal sessions over TCP until the process is stopped.
+     * The data store is switched to concurrent mode, since every session shares it, and at most
+     * {@code maxSessions} sessions are open at once, each evicted after {@code sessionIdleTimeoutMinutes}
+     * without input.
+     *
+     * @param port the port to listen on
+     */
+    public void startServer(int port) {
+        dataStore.setStorageMode(StorageMode.CONCURRENT);
+        startMetrics();
+        loadData();
+        openJournal();
+
+        String host = config.getOrDefault("serverAddress", "127.0.0.1").trim();
+        try (SessionServer server = new SessionServer(new InetSocketAddress(host, port), dataStore, passwordHasher,
+                serviceExecutor, createSessionManager(), exportDirectory)) {
+            server.serve();
+        } catch (IOException e) {
+            System.out.println("[SystemInitializer] Failed to start server on " + host + ":" + port + ": "
+                    + e.getMessage());
+        }
+    }
 }
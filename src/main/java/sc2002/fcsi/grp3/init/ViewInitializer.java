@@ -9,7 +9,23 @@ import sc2002.fcsi.grp3.view.helper.Prompter;
  */
 public class ViewInitializer {
 
-    private final Prompter sharedPrompt = new Prompter();
+    private final Prompter sharedPrompt;
+
+    /**
+     * Constructs a ViewInitializer whose views use standard input and output.
+     */
+    public ViewInitializer() {
+        this(new Prompter());
+    }
+
+    /**
+     * Constructs a ViewInitializer whose views use the given prompter, such as one over a network session.
+     *
+     * @param sharedPrompt the prompter shared by all views
+     */
+    public ViewInitializer(Prompter sharedPrompt) {
+        this.sharedPrompt = sharedPrompt;
+    }
 
     /**
      * Retrieves the SharedView instance.
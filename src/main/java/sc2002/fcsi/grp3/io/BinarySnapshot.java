@@ -0,0 +1,434 @@
+package sc2002.fcsi.grp3.io;
+
+import sc2002.fcsi.grp3.model.*;
+import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.model.enums.EnquiryStatus;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.enums.RegistrationStatus;
+import sc2002.fcsi.grp3.model.role.RoleFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The BinarySnapshot class reads and writes all entities as one compact binary file, so that a restart
+ * does not have to parse dates, enums and numbers out of the CSV files.
+ * <p>
+ * Layout:
+ * <ul>
+ *     <li>Header: magic number, format version and a fingerprint of the enum constants</li>
+ *     <li>String dictionary: every NRIC, neighbourhood and role name, written once</li>
+ *     <li>One section per entity type; dictionary strings are written as indexes,
+ *     dates as epoch days and enums as ordinals</li>
+ * </ul>
+ * A snapshot whose version or enum fingerprint does not match is rejected, and the CSV files are
+ * loaded instead. CSV remains the import and export format.
+ */
+public final class BinarySnapshot {
+
+    private static final int MAGIC = 0x48444253; // "HDBS"
+    private static final int VERSION = 2;
+    private static final int NONE = -1;
+
+    /**
+     * The entities read from a snapshot.
+     *
+     * @param users         the users
+     * @param projects      the projects
+     * @param applications  the applications
+     * @param enquiries     the enquiries
+     * @param bookings      the bookings
+     * @param registrations the registrations
+     */
+    public record Contents(
+            List<User> users,
+            List<Project> projects,
+            List<Application> applications,
+            List<Enquiry> enquiries,
+            List<Booking> bookings,
+            List<Registration> registrations
+    ) {}
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * Writes all entities to a snapshot file.
+     * The file is written to a temporary file first and moved into place when complete.
+     *
+     * @param filePath the snapshot file path
+     * @param contents the entities to write
+     * @return true if the snapshot was written, false otherwise
+     */
+    public static boolean write(String filePath, Contents contents) {
+        String tmpFile = filePath + ".tmp";
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Paths.get(tmpFile)), 1 << 16))) {
+            Dictionary dictionary = Dictionary.of(contents);
+
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(enumFingerprint());
+            out.writeInt(dictionary.strings.size());
+            for (String s : dictionary.strings) {
+                writeString(out, s);
+            }
+
+            out.writeInt(contents.users().size());
+            for (User user : contents.users()) {
+                out.writeInt(dictionary.indexOf(user.getNric()));
+                writeString(out, user.getName());
+                out.writeInt(user.getAge());
+                out.writeByte(user.getMaritalStatus().ordinal());
+                writeString(out, user.getPassword());
+                out.writeInt(dictionary.indexOf(user.getRoleName()));
+            }
+
+            out.writeInt(contents.projects().size());
+            for (Project project : contents.projects()) {
+                out.writeInt(project.getId());
+                writeString(out, project.getName());
+                out.writeInt(dictionary.indexOf(project.getNeighbourhood()));
+                out.writeBoolean(project.isVisible());
+                out.writeInt(project.getFlats().size());
+                for (Flat flat : project.getFlats()) {
+                    out.writeByte(flat.getType().ordinal());
+                    out.writeInt(flat.getUnitsAvailable());
+                    out.writeFloat(flat.getSellingPrice());
+                }
+                writeDate(out, project.getApplicationOpeningDate());
+                writeDate(out, project.getApplicationClosingDate());
+                out.writeInt(dictionary.indexOf(project.getManagerNric()));
+                out.writeInt(project.getTotalOfficerSlots());
+                out.writeInt(project.getOfficerNrics().size());
+                for (String nric : project.getOfficerNrics()) {
+                    out.writeInt(dictionary.indexOf(nric));
+                }
+            }
+
+            out.writeInt(contents.applications().size());
+            for (Application app : contents.applications()) {
+                out.writeInt(app.getId());
+                out.writeInt(app.getProject().getId());
+                out.writeInt(dictionary.indexOf(app.getApplicant().getNric()));
+                out.writeByte(app.getFlatType().ordinal());
+                out.writeByte(app.getStatus().ordinal());
+                writeDate(out, app.getSubmittedAt());
+                out.writeByte(app.getStatusBeforeWithdrawal() == null ? -1 : app.getStatusBeforeWithdrawal().ordinal());
+            }
+
+            out.writeInt(contents.enquiries().size());
+            for (Enquiry enq : contents.enquiries()) {
+                out.writeInt(enq.getId());
+                writeString(out, enq.getTitle());
+                writeString(out, enq.getContent());
+                writeNullableString(out, enq.getReply() == null || enq.getReply().isBlank() ? null : enq.getReply());
+                out.writeInt(dictionary.indexOf(enq.getCreatedBy().getNric()));
+                out.writeInt(enq.getRelatedProject().getId());
+                out.writeInt(enq.getRepliedBy() == null ? NONE : dictionary.indexOf(enq.getRepliedBy().getNric()));
+                out.writeByte(enq.getStatus().ordinal());
+                writeDate(out, enq.getCreatedAt());
+                writeDate(out, enq.getLastUpdatedAt());
+            }
+
+            out.writeInt(contents.bookings().size());
+            for (Booking book : contents.bookings()) {
+                out.writeInt(book.getId());
+                out.writeByte(book.getFlatType().getType().ordinal());
+                out.writeInt(book.getProjectId().getId());
+                out.writeInt(dictionary.indexOf(book.getApplicant().getNric()));
+                out.writeInt(dictionary.indexOf(book.getOfficer().getNric()));
+                writeDate(out, book.getBookingDate());
+            }
+
+            out.writeInt(contents.registrations().size());
+            for (Registration reg : contents.registrations()) {
+                writeString(out, reg.getId());
+                out.writeInt(reg.getProject().getId());
+                out.writeInt(dictionary.indexOf(reg.getApplicant().getNric()));
+                out.writeByte(reg.getStatus().ordinal());
+                writeDate(out, reg.getSubmittedAt());
+            }
+        } catch (IOException e) {
+            System.out.println("Failed to save snapshot: " + e.getMessage());
+            new java.io.File(tmpFile).delete();
+            return false;
+        }
+        try {
+            Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads all entities from a snapshot file.
+     * References between entities are resolved the same way as the CSV parsers resolve them.
+     *
+     * @param filePath the snapshot file path
+     * @return the entities
+     * @throws IOException if the file cannot be read or was written by an incompatible version
+     */
+    public static Contents read(String filePath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(filePath)), 1 << 16))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a snapshot file: " + filePath);
+            int version = in.readUnsignedShort();
+            if (version != VERSION) throw new IOException("Unsupported snapshot version " + version);
+            if (in.readInt() != enumFingerprint()) throw new IOException("Snapshot enums do not match this build");
+
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(in);
+            }
+
+            MaritalStatus[] maritalStatuses = MaritalStatus.values();
+            FlatType[] flatTypes = FlatType.values();
+            ApplicationStatus[] applicationStatuses = ApplicationStatus.values();
+            EnquiryStatus[] enquiryStatuses = EnquiryStatus.values();
+            RegistrationStatus[] registrationStatuses = RegistrationStatus.values();
+
+            int count = in.readInt();
+            List<User> users = new ArrayList<>(count);
+            Map<String, User> userMap = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String nric = strings[in.readInt()];
+                String name = readString(in);
+                int age = in.readInt();
+                MaritalStatus maritalStatus = maritalStatuses[in.readByte()];
+                String password = readString(in);
+                String roleName = strings[in.readInt()];
+                User user = new User(name, nric, age, password, maritalStatus, RoleFactory.fromString(roleName));
+                users.add(user);
+                userMap.put(nric, user);
+            }
+
+            count = in.readInt();
+            List<Project> projects = new ArrayList<>(count);
+            Map<Integer, Project> projectMap = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                String name = readString(in);
+                String neighbourhood = strings[in.readInt()];
+                boolean visible = in.readBoolean();
+                int flatCount = in.readInt();
+                List<Flat> flats = new ArrayList<>(flatCount);
+                for (int f = 0; f < flatCount; f++) {
+                    flats.add(new Flat(flatTypes[in.readByte()], in.readInt(), in.readFloat()));
+                }
+                LocalDate opening = readDate(in);
+                LocalDate closing = readDate(in);
+                String managerNric = strings[in.readInt()];
+                int officerSlots = in.readInt();
+                int officerCount = in.readInt();
+                List<String> officerNrics = new ArrayList<>(officerCount);
+                for (int o = 0; o < officerCount; o++) {
+                    officerNrics.add(strings[in.readInt()]);
+                }
+                Project project = new Project(id, name, neighbourhood, visible, opening, closing,
+                        managerNric, officerSlots, flats, officerNrics);
+                projects.add(project);
+                projectMap.put(id, project);
+            }
+
+            count = in.readInt();
+            List<Application> applications = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                Project project = projectMap.get(in.readInt());
+                User applicant = userMap.get(strings[in.readInt()]);
+                FlatType flatType = flatTypes[in.readByte()];
+                ApplicationStatus status = applicationStatuses[in.readByte()];
+                LocalDate submittedAt = readDate(in);
+                byte before = in.readByte();
+                applications.add(new Application(id, project, applicant, flatType, status, submittedAt,
+                        before < 0 ? null : applicationStatuses[before]));
+            }
+
+            count = in.readInt();
+            List<Enquiry> enquiries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                String title = readString(in);
+                String content = readString(in);
+                String reply = readNullableString(in);
+                User createdBy = userMap.get(strings[in.readInt()]);
+                Project project = projectMap.get(in.readInt());
+                int repliedByIndex = in.readInt();
+                User repliedBy = repliedByIndex == NONE ? null : userMap.get(strings[repliedByIndex]);
+                EnquiryStatus status = enquiryStatuses[in.readByte()];
+                LocalDate createdAt = readDate(in);
+                LocalDate lastUpdatedAt = readDate(in);
+                enquiries.add(new Enquiry(id, title, content, reply, createdBy, project, repliedBy, status,
+                        createdAt, lastUpdatedAt));
+            }
+
+            count = in.readInt();
+            List<Booking> bookings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                FlatType flatType = flatTypes[in.readByte()];
+                Project project = projectMap.get(in.readInt());
+                User applicant = userMap.get(strings[in.readInt()]);
+                User officer = userMap.get(strings[in.readInt()]);
+                LocalDate bookingDate = readDate(in);
+                if (project == null || applicant == null || officer == null) continue;
+                Flat flat = project.getFlat(flatType);
+                if (flat == null) continue;
+                bookings.add(new Booking(id, flat, project, applicant, officer, bookingDate));
+            }
+
+            count = in.readInt();
+            List<Registration> registrations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String id = readString(in);
+                Project project = projectMap.get(in.readInt());
+                User applicant = userMap.get(strings[in.readInt()]);
+                RegistrationStatus status = registrationStatuses[in.readByte()];
+                LocalDate submittedAt = readDate(in);
+                if (project == null || applicant == null) continue;
+                registrations.add(new Registration(id, project, applicant, status, submittedAt));
+            }
+
+            return new Contents(users, projects, applications, enquiries, bookings, registrations);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt snapshot: " + e, e);
+        }
+    }
+
+    /**
+     * Checks whether a snapshot exists and is at least as new as every given CSV file.
+     * A CSV file edited after the snapshot was written makes the snapshot stale.
+     *
+     * @param filePath the snapshot file path
+     * @param csvPaths the CSV files the snapshot was saved alongside
+     * @return true if the snapshot can be loaded instead of the CSV files
+     */
+    public static boolean isFresh(String filePath, String... csvPaths) {
+        try {
+            Path snapshot = Paths.get(filePath);
+            if (!Files.exists(snapshot)) return false;
+            long snapshotTime = Files.getLastModifiedTime(snapshot).toMillis();
+            for (String csvPath : csvPaths) {
+                Path csv = Paths.get(csvPath);
+                if (Files.exists(csv) && Files.getLastModifiedTime(csv).toMillis() > snapshotTime) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Computes a fingerprint of every enum stored by ordinal, so that a snapshot written before an
+     * enum constant was added, removed or reordered is not misread.
+     *
+     * @return the fingerprint
+     */
+    private static int enumFingerprint() {
+        return Stream.of(MaritalStatus.values(), FlatType.values(), ApplicationStatus.values(),
+                        EnquiryStatus.values(), RegistrationStatus.values())
+                .map(constants -> Stream.of(constants).map(Enum::name).collect(Collectors.joining(",")))
+                .collect(Collectors.joining(";"))
+                .hashCode();
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeInt((int) date.toEpochDay());
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        return LocalDate.ofEpochDay(in.readInt());
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) writeString(out, s);
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readString(in) : null;
+    }
+
+    /**
+     * The table of repeated strings (NRICs, neighbourhoods and role names) written once at the start
+     * of the snapshot and referred to by index.
+     */
+    private static final class Dictionary {
+
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        /**
+         * Builds the dictionary of every repeated string in the given entities.
+         *
+         * @param contents the entities to be written
+         * @return the dictionary
+         */
+        static Dictionary of(Contents contents) {
+            Dictionary dictionary = new Dictionary();
+            for (User user : contents.users()) {
+                dictionary.add(user.getNric());
+                dictionary.add(user.getRoleName());
+            }
+            for (Project project : contents.projects()) {
+                dictionary.add(project.getNeighbourhood());
+                dictionary.add(project.getManagerNric());
+                project.getOfficerNrics().forEach(dictionary::add);
+            }
+            contents.applications().forEach(app -> dictionary.add(app.getApplicant().getNric()));
+            for (Enquiry enq : contents.enquiries()) {
+                dictionary.add(enq.getCreatedBy().getNric());
+                if (enq.getRepliedBy() != null) dictionary.add(enq.getRepliedBy().getNric());
+            }
+            for (Booking book : contents.bookings()) {
+                dictionary.add(book.getApplicant().getNric());
+                dictionary.add(book.getOfficer().getNric());
+            }
+            contents.registrations().forEach(reg -> dictionary.add(reg.getApplicant().getNric()));
+            return dictionary;
+        }
+
+        private void add(String s) {
+            String key = s == null ? "" : s;
+            if (!indexes.containsKey(key)) {
+                indexes.put(key, strings.size());
+                strings.add(key);
+            }
+        }
+
+        int indexOf(String s) {
+            return indexes.get(s == null ? "" : s);
+        }
+    }
+}
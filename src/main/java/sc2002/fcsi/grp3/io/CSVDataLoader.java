@@ -1,9 +1,12 @@
 package sc2002.fcsi.grp3.io;
 
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.metrics.CsvFileEvent;
 import sc2002.fcsi.grp3.model.*;
 import sc2002.fcsi.grp3.parser.*;
 
-import java.io.*;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
@@ -34,6 +37,7 @@ public class CSVDataLoader implements IDataLoader {
     private List<Enquiry> enquiries;
     private List<Booking> bookings;
     private List<Registration> registrations;
+    private LoadMode applicationLoadMode = LoadMode.SEQUENTIAL;
 
     /**
      * Constructs a CSVDataLoader with the specified file paths for different data types.
@@ -62,17 +66,27 @@ public class CSVDataLoader implements IDataLoader {
     }
 
     /**
-     * Reads lines from a CSV file and processes each row using the provided row handler.
+     * Sets how the applications file is read.
+     * {@link LoadMode#MAPPED} is meant for very large files and parses them in parallel.
+     *
+     * @param applicationLoadMode the load mode for applications
+     */
+    public void setApplicationLoadMode(LoadMode applicationLoadMode) {
+        this.applicationLoadMode = applicationLoadMode;
+    }
+
+    /**
+     * Reads records from a CSV file and processes each row using the provided row handler.
+     * The same row object is reused for every record, so handlers must not keep it.
      *
      * @param filepath   the path to the CSV file
      * @param rowHandler a consumer to process each row of the CSV file
      */
-    protected static void readCSVLines(String filepath, Consumer<String[]> rowHandler) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filepath))) {
-            String line = br.readLine(); // skip header
-            while ((line = br.readLine()) != null) {
-                String[] tokens = line.split(",", -1);
-                rowHandler.accept(tokens);
+    protected static void readCSVLines(String filepath, Consumer<CSVRow> rowHandler) {
+        try (CSVReader reader = CSVReader.open(filepath)) {
+            reader.next(); // skip header
+            while (reader.next()) {
+                rowHandler.accept(reader.row());
             }
         } catch (IOException e) {
             System.out.println("Failed to read file: " + filepath);
@@ -80,6 +94,61 @@ public class CSVDataLoader implements IDataLoader {
         }
     }
 
+    /**
+     * Quotes a value for writing to a CSV file if it contains a comma, quote or line break.
+     * Embedded quotes are doubled as described in RFC 4180.
+     *
+     * @param value the value to quote
+     * @return the value, quoted if necessary
+     */
+    protected static String escapeCSV(String value) {
+        if (value == null) return "";
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Loads every entity from a binary snapshot instead of the CSV files.
+     * The snapshot is only used if it is at least as new as every CSV file, so CSV files edited by hand
+     * still take precedence.
+     *
+     * @param snapshotFilePath the snapshot file path
+     * @return the loaded entities, or null if the snapshot is missing, stale or unreadable
+     */
+    public BinarySnapshot.Contents loadSnapshot(String snapshotFilePath) {
+        if (!BinarySnapshot.isFresh(snapshotFilePath, userFilePath, projectFilePath, applicationFilePath,
+                enquiryFilePath, bookingFilePath, registrationFilePath)) {
+            return null;
+        }
+
+        BinarySnapshot.Contents contents;
+        try {
+            contents = BinarySnapshot.read(snapshotFilePath);
+        } catch (IOException e) {
+            System.out.println("Failed to read snapshot, loading CSV files instead: " + e.getMessage());
+            return null;
+        }
+
+        this.users = new ArrayList<>(contents.users());
+        indexUsers();
+        this.projects = new ArrayList<>(contents.projects());
+        indexProjects();
+        this.applications = new ArrayList<>(contents.applications());
+        finishApplications();
+        this.enquiries = new ArrayList<>(contents.enquiries());
+        finishEnquiries();
+        this.bookings = new ArrayList<>(contents.bookings());
+        finishBookings();
+        this.registrations = new ArrayList<>(contents.registrations());
+        finishRegistrations();
+        return new BinarySnapshot.Contents(users, projects, applications, enquiries, bookings, registrations);
+    }
+
     /**
      * Loads user data from the CSV file and returns a list of users.
      *
@@ -87,20 +156,44 @@ public class CSVDataLoader implements IDataLoader {
      */
     @Override
     public List<User> loadUsers() {
-        users = new ArrayList<>();
-        UserParser userParser = new UserParser();
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.LOAD, userFilePath);
+        try {
+            users = new ArrayList<>();
+            UserParser userParser = new UserParser();
+
+            readCSVLines(userFilePath, row -> {
+                try {
+                    User user = userParser.parse(row);
+                    if (user != null) users.add(user);
+                } catch (Exception e) {
+                    System.out.println("Invalid user row: " + row);
+                }
+            });
+            indexUsers();
+            event.succeeded(users.size());
+            return users;
+        } finally {
+            event.finish();
+        }
+    }
 
-        readCSVLines(userFilePath, tokens -> {
-            try {
-                User user = userParser.parse(tokens);
-                if (user != null) users.add(user);
-            } catch (Exception e) {
-                System.out.println("Invalid user row: " + Arrays.toString(tokens));
-            }
-        });
+    /**
+     * Builds the NRIC lookup used to resolve users in the dependent files.
+     * The NRICs are normalized the same way as in the data store, so references differing only in case resolve.
+     */
+    private void indexUsers() {
         this.userMap = users.stream()
-                .collect(Collectors.toMap(User::getNric, u -> u));
-        return users;
+                .collect(Collectors.toMap(u -> DataStore.normalizeNric(u.getNric()), u -> u, (first, second) -> first));
+    }
+
+    /**
+     * Finds a loaded user by NRIC, ignoring case.
+     *
+     * @param nric the NRIC of the user
+     * @return the user, or null if not found
+     */
+    private User findUser(String nric) {
+        return userMap.get(DataStore.normalizeNric(nric));
     }
 
     /**
@@ -108,30 +201,39 @@ public class CSVDataLoader implements IDataLoader {
      *
      * @param filePath the file path to save the user data
      * @param users    the list of users to save
+     * @return true if the file was written, false otherwise
      */
-    public static void saveUsers(String filePath, List<User> users) {
-        String tmpFile = filePath + ".tmp";
-        try (FileWriter writer = new FileWriter(tmpFile)) {
-            // Write header
-            writer.write("Name,NRIC,Age,Marital Status,Password,Role\n");
-            for (User user : users) {
-                writer.write(String.format("%s,%s,%d,%s,%s,%s\n",
-                        user.getName(),
-                        user.getNric(),
-                        user.getAge(),
-                        user.getMaritalStatus().toString(),
-                        user.getPassword(),
-                        user.getRoleName()));
-            }
-        } catch (IOException e) {
-            System.out.println("Failed to save users: " + e.getMessage());
-            new java.io.File(tmpFile).delete();
-            return;
-        }
+    public static boolean saveUsers(String filePath, List<User> users) {
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.SAVE, filePath);
         try {
-            Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+            String tmpFile = filePath + ".tmp";
+            try (FileWriter writer = new FileWriter(tmpFile)) {
+                // Write header
+                writer.write("Name,NRIC,Age,Marital Status,Password,Role\n");
+                for (User user : users) {
+                    writer.write(String.format("%s,%s,%d,%s,%s,%s\n",
+                            escapeCSV(user.getName()),
+                            user.getNric(),
+                            user.getAge(),
+                            user.getMaritalStatus().toString(),
+                            escapeCSV(user.getPassword()),
+                            user.getRoleName()));
+                }
+            } catch (IOException e) {
+                System.out.println("Failed to save users: " + e.getMessage());
+                new java.io.File(tmpFile).delete();
+                return false;
+            }
+            try {
+                Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+                return false;
+            }
+            event.succeeded(users.size());
+            return true;
+        } finally {
+            event.finish();
         }
     }
 
@@ -142,31 +244,43 @@ public class CSVDataLoader implements IDataLoader {
      */
     @Override
     public List<Project> loadProjects() {
-        projects = new ArrayList<>();
-        ProjectParser projectParser = new ProjectParser();
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.LOAD, projectFilePath);
+        try {
+            projects = new ArrayList<>();
+            ProjectParser projectParser = new ProjectParser();
+
+            readCSVLines(projectFilePath, row -> {
+                try {
+                    Project project = projectParser.parse(row);
+                    if (project != null) projects.add(project);
+                } catch (Exception e) {
+                    System.out.println("Invalid project row: " + row);
+                    System.out.println(e.getMessage());
+                    throw e;
+                }
+            });
 
-        readCSVLines(projectFilePath, tokens -> {
-            try {
-                Project project = projectParser.parse(tokens);
-                if (project != null) projects.add(project);
-            } catch (Exception e) {
-                System.out.println("Invalid project row: " + Arrays.toString(tokens));
-                System.out.println(e.getMessage());
-                throw e;
-            }
-        });
+            indexProjects();
+            event.succeeded(projects.size());
+            return projects;
+        } finally {
+            event.finish();
+        }
+    }
 
+    /**
+     * Builds the ID lookup used to resolve projects in the dependent files and moves the project ID counter past it.
+     */
+    private void indexProjects() {
         projectMap = projects.stream()
                 .collect(Collectors.toMap(Project::getId, p -> p));
 
-
         int maxProjectId = projects.stream()
                 .mapToInt(Project::getId)
                 .max()
                 .orElse(0);
         maxProjectId = maxProjectId + 1;
         Project.setNextProjectId(maxProjectId);
-        return projects;
     }
 
     /**
@@ -174,53 +288,62 @@ public class CSVDataLoader implements IDataLoader {
      *
      * @param filePath the file path to save the project data
      * @param projects the list of projects to save
+     * @return true if the file was written, false otherwise
      */
-    public static void saveProjects(String filePath, List<Project> projects) {
-        String tmpFile = filePath + ".tmp";
-        try (FileWriter writer = new FileWriter(tmpFile)) {
-            writer.write("id,Project Name,Neighborhood,Visible,Flat Types,Available Units,Selling Price,Application opening date,Application closing date,Manager,Officer Slot,Officer NRICs\n");
-            for (Project project : projects) {
-                List<Flat> flats = project.getFlats();
-
-                String flatTypes = flats
-                        .stream()
-                        .map(flat -> flat.getType().getCode())
-                        .collect(Collectors.joining(";"));
-
-                String availableUnits = flats
-                        .stream()
-                        .map(flat -> Integer.toString(flat.getUnitsAvailable()))
-                        .collect(Collectors.joining(";"));
-
-                String sellingPrice = flats
-                        .stream()
-                        .map(flat -> String.format("%.2f", flat.getSellingPrice()))
-                        .collect(Collectors.joining(";"));
-
-                writer.write(String.format("%d,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s\n",
-                        project.getId(),
-                        project.getName(),
-                        project.getNeighbourhood(),
-                        project.isVisible(),
-                        flatTypes.trim(),
-                        availableUnits.trim(),
-                        sellingPrice.trim(),
-                        project.getApplicationOpeningDate().format(dtFormatter),
-                        project.getApplicationClosingDate().format(dtFormatter),
-                        project.getManagerNric(),
-                        project.getTotalOfficerSlots(),
-                        // todo: String.join() returns error from project.getOfficerNrics is empty
-                        String.join(";", project.getOfficerNrics())));
-            }
-        } catch (IOException e) {
-            System.out.println("Failed to save projects: " + e.getMessage());
-            new java.io.File(tmpFile).delete();
-            return;
-        }
+    public static boolean saveProjects(String filePath, List<Project> projects) {
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.SAVE, filePath);
         try {
-            Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+            String tmpFile = filePath + ".tmp";
+            try (FileWriter writer = new FileWriter(tmpFile)) {
+                writer.write("id,Project Name,Neighborhood,Visible,Flat Types,Available Units,Selling Price,Application opening date,Application closing date,Manager,Officer Slot,Officer NRICs\n");
+                for (Project project : projects) {
+                    List<Flat> flats = project.getFlats();
+
+                    String flatTypes = flats
+                            .stream()
+                            .map(flat -> flat.getType().getCode())
+                            .collect(Collectors.joining(";"));
+
+                    String availableUnits = flats
+                            .stream()
+                            .map(flat -> Integer.toString(flat.getUnitsAvailable()))
+                            .collect(Collectors.joining(";"));
+
+                    String sellingPrice = flats
+                            .stream()
+                            .map(flat -> String.format("%.2f", flat.getSellingPrice()))
+                            .collect(Collectors.joining(";"));
+
+                    writer.write(String.format("%d,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s\n",
+                            project.getId(),
+                            escapeCSV(project.getName()),
+                            escapeCSV(project.getNeighbourhood()),
+                            project.isVisible(),
+                            flatTypes.trim(),
+                            availableUnits.trim(),
+                            sellingPrice.trim(),
+                            project.getApplicationOpeningDate().format(dtFormatter),
+                            project.getApplicationClosingDate().format(dtFormatter),
+                            project.getManagerNric(),
+                            project.getTotalOfficerSlots(),
+                            // todo: String.join() returns error from project.getOfficerNrics is empty
+                            String.join(";", project.getOfficerNrics())));
+                }
+            } catch (IOException e) {
+                System.out.println("Failed to save projects: " + e.getMessage());
+                new java.io.File(tmpFile).delete();
+                return false;
+            }
+            try {
+                Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+                return false;
+            }
+            event.succeeded(projects.size());
+            return true;
+        } finally {
+            event.finish();
         }
     }
 
@@ -230,20 +353,32 @@ public class CSVDataLoader implements IDataLoader {
      * @return a list of applications
      */
     public List<Application> loadApplications() {
-        this.applications = new ArrayList<>();
-        ApplicationParser applicationParser = new ApplicationParser(projectMap, userMap);
-        readCSVLines(applicationFilePath, tokens -> {
-            try {
-                Application application = applicationParser.parse(tokens);
-                if (application != null) {
-                    applications.add(application);
-                }
-            } catch (Exception e) {
-                System.out.println("Invalid application row: " + Arrays.toString(tokens));
-                System.out.println(e.getMessage());
-                throw e;
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.LOAD, applicationFilePath);
+        try {
+            this.applications = applicationLoadMode == LoadMode.MAPPED
+                    ? readApplicationsMapped()
+                    : readApplications();
+
+            finishApplications();
+            event.succeeded(applications.size());
+            return applications;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * Restores the flat reservations of successful applications, including those waiting for a withdrawal
+     * decision, and moves the application ID counter past them.
+     */
+    private void finishApplications() {
+        // Units for successful applications were taken off the available count when they were approved
+        for (Application application : applications) {
+            if (application.holdsReservation() && application.getProject() != null) {
+                Flat flat = application.getProject().getFlat(application.getFlatType());
+                if (flat != null) flat.restoreReservation();
             }
-        });
+        }
 
         int maxApplicationId = applications.stream()
                 .mapToInt(Application::getId)
@@ -251,8 +386,56 @@ public class CSVDataLoader implements IDataLoader {
                 .orElse(0);
         maxApplicationId = maxApplicationId + 1;
         Application.setNextId(maxApplicationId);
+    }
+
+    /**
+     * Parses the applications file sequentially.
+     *
+     * @return the parsed applications in file order
+     */
+    List<Application> readApplications() {
+        List<Application> parsed = new ArrayList<>();
+        ApplicationParser applicationParser = new ApplicationParser(projectMap, this::findUser);
+        readCSVLines(applicationFilePath, row -> {
+            Application application = parseApplication(applicationParser, row);
+            if (application != null) {
+                parsed.add(application);
+            }
+        });
+        return parsed;
+    }
 
-        return applications;
+    /**
+     * Parses the applications file in memory-mapped chunks in parallel.
+     *
+     * @return the parsed applications in file order
+     */
+    List<Application> readApplicationsMapped() {
+        ApplicationParser applicationParser = new ApplicationParser(projectMap, this::findUser);
+        try {
+            return MappedCSVReader.readAll(applicationFilePath, row -> parseApplication(applicationParser, row));
+        } catch (IOException e) {
+            System.out.println("Failed to read file: " + applicationFilePath);
+            System.out.println(e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Parses one application row, reporting the row if it is invalid.
+     *
+     * @param applicationParser the parser to use
+     * @param row               the CSV row
+     * @return the parsed application, or null if the row is skipped
+     */
+    private static Application parseApplication(ApplicationParser applicationParser, CSVRow row) {
+        try {
+            return applicationParser.parse(row);
+        } catch (Exception e) {
+            System.out.println("Invalid application row: " + row);
+            System.out.println(e.getMessage());
+            throw e;
+        }
     }
 
     /**
@@ -260,29 +443,39 @@ public class CSVDataLoader implements IDataLoader {
      *
      * @param filePath     the file path to save the application data
      * @param applications the list of applications to save
+     * @return true if the file was written, false otherwise
      */
-    public static void saveApplications(String filePath, List<Application> applications) {
-        String tmpFile = filePath + ".tmp";
-        try (FileWriter writer = new FileWriter(tmpFile)) {
-            writer.write("id,projectId,userNric,flatType,applicationStatus,submittedAt\n");
-            for (Application app : applications) {
-                writer.write(String.format("%d,%d,%s,%s,%s,%s\n",
-                        app.getId(),
-                        app.getProject().getId(),
-                        app.getApplicant().getNric(),
-                        app.getFlatType().getCode(),
-                        app.getStatus(),
-                        app.getSubmittedAt().format(dtFormatter)));
-            }
-        } catch (IOException e) {
-            System.out.println("Failed to save applications: " + e.getMessage());
-            new java.io.File(tmpFile).delete();
-            return;
-        }
+    public static boolean saveApplications(String filePath, List<Application> applications) {
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.SAVE, filePath);
         try {
-            Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+            String tmpFile = filePath + ".tmp";
+            try (FileWriter writer = new FileWriter(tmpFile)) {
+                writer.write("id,projectId,userNric,flatType,applicationStatus,submittedAt,statusBeforeWithdrawal\n");
+                for (Application app : applications) {
+                    writer.write(String.format("%d,%d,%s,%s,%s,%s,%s\n",
+                            app.getId(),
+                            app.getProject().getId(),
+                            app.getApplicant().getNric(),
+                            app.getFlatType().getCode(),
+                            app.getStatus(),
+                            app.getSubmittedAt().format(dtFormatter),
+                            app.getStatusBeforeWithdrawal() == null ? "" : app.getStatusBeforeWithdrawal()));
+                }
+            } catch (IOException e) {
+                System.out.println("Failed to save applications: " + e.getMessage());
+                new java.io.File(tmpFile).delete();
+                return false;
+            }
+            try {
+                Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+                return false;
+            }
+            event.succeeded(applications.size());
+            return true;
+        } finally {
+            event.finish();
         }
     }
 
@@ -292,31 +485,41 @@ public class CSVDataLoader implements IDataLoader {
      * @return a list of enquiries
      */
     public List<Enquiry> loadEnquiries() {
-        this.enquiries = new ArrayList<>();
-        EnquiryParser enquiryParser = new EnquiryParser(projectMap, userMap);
-
-        readCSVLines(enquiryFilePath, tokens -> {
-            try {
-                Enquiry enquiry = enquiryParser.parse(tokens);
-                if (enquiry != null) {
-                    enquiries.add(enquiry);
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.LOAD, enquiryFilePath);
+        try {
+            this.enquiries = new ArrayList<>();
+            EnquiryParser enquiryParser = new EnquiryParser(projectMap, this::findUser);
+
+            readCSVLines(enquiryFilePath, row -> {
+                try {
+                    Enquiry enquiry = enquiryParser.parse(row);
+                    if (enquiry != null) {
+                        enquiries.add(enquiry);
+                    }
+                } catch (Exception e) {
+                    System.out.println("Invalid enquiry row: " + row);
+                    System.out.println(e.getMessage());
+                    throw e;
                 }
-            } catch (Exception e) {
-                System.out.println("Invalid enquiry row: " + Arrays.toString(tokens));
-                System.out.println(e.getMessage());
-                throw e;
-            }
-        });
+            });
 
+            finishEnquiries();
+            event.succeeded(enquiries.size());
+            return enquiries;
+        } finally {
+            event.finish();
+        }
+    }
 
+    /**
+     * Moves the enquiry ID counter past the loaded enquiries.
+     */
+    private void finishEnquiries() {
         int maxEnquiryId = enquiries.stream()
                 .mapToInt(Enquiry::getId)
                 .max()
                 .orElse(1);
         Enquiry.setNextEnquiryId(maxEnquiryId);
-
-        return enquiries;
-
     }
 
     /**
@@ -324,35 +527,44 @@ public class CSVDataLoader implements IDataLoader {
      *
      * @param filePath  the file path to save the enquiry data
      * @param enquiries the list of enquiries to save
+     * @return true if the file was written, false otherwise
      */
-    public static void saveEnquiries(String filePath, List<Enquiry> enquiries) {
-        String tmpFile = filePath + ".tmp";
-        try (FileWriter writer = new FileWriter(tmpFile)) {
-            writer.write("id,title,content,reply,createdBy,relatedProject,repliedBy,status,createdAt,lastUpdatedAt\n");
-            for (Enquiry enq : enquiries) {
-                String reply = enq.getReply() == null || enq.getReply().isBlank() ? "" : enq.getReply();
-                String repliedBy = enq.getRepliedBy() == null ? "" : enq.getRepliedBy().getNric();
-                writer.write(String.format("%d,%s,%s,%s,%s,%d,%s,%s,%s,%s\n",
-                        enq.getId(),
-                        enq.getTitle(),
-                        enq.getContent(),
-                        reply,
-                        enq.getCreatedBy().getNric(),
-                        enq.getRelatedProject().getId(),
-                        repliedBy,
-                        enq.getStatus(),
-                        enq.getCreatedAt().format(dtFormatter),
-                        enq.getLastUpdatedAt().format(dtFormatter)));
-            }
-        } catch (IOException e) {
-            System.out.println("Failed to save enquiries! " + e.getMessage());
-            new java.io.File(tmpFile).delete();
-            return;
-        }
+    public static boolean saveEnquiries(String filePath, List<Enquiry> enquiries) {
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.SAVE, filePath);
         try {
-            Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+            String tmpFile = filePath + ".tmp";
+            try (FileWriter writer = new FileWriter(tmpFile)) {
+                writer.write("id,title,content,reply,createdBy,relatedProject,repliedBy,status,createdAt,lastUpdatedAt\n");
+                for (Enquiry enq : enquiries) {
+                    String reply = enq.getReply() == null || enq.getReply().isBlank() ? "" : enq.getReply();
+                    String repliedBy = enq.getRepliedBy() == null ? "" : enq.getRepliedBy().getNric();
+                    writer.write(String.format("%d,%s,%s,%s,%s,%d,%s,%s,%s,%s\n",
+                            enq.getId(),
+                            escapeCSV(enq.getTitle()),
+                            escapeCSV(enq.getContent()),
+                            escapeCSV(reply),
+                            enq.getCreatedBy().getNric(),
+                            enq.getRelatedProject().getId(),
+                            repliedBy,
+                            enq.getStatus(),
+                            enq.getCreatedAt().format(dtFormatter),
+                            enq.getLastUpdatedAt().format(dtFormatter)));
+                }
+            } catch (IOException e) {
+                System.out.println("Failed to save enquiries! " + e.getMessage());
+                new java.io.File(tmpFile).delete();
+                return false;
+            }
+            try {
+                Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+                return false;
+            }
+            event.succeeded(enquiries.size());
+            return true;
+        } finally {
+            event.finish();
         }
     }
 
@@ -362,29 +574,41 @@ public class CSVDataLoader implements IDataLoader {
      * @return a list of bookings
      */
     public List<Booking> loadBookings() {
-        this.bookings = new ArrayList<>();
-        BookingParser bookingParser = new BookingParser(projectMap, userMap);
-
-        readCSVLines(bookingFilePath, tokens -> {
-            try {
-                Booking booking = bookingParser.parse(tokens);
-                if (booking != null) {
-                    bookings.add(booking);
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.LOAD, bookingFilePath);
+        try {
+            this.bookings = new ArrayList<>();
+            BookingParser bookingParser = new BookingParser(projectMap, this::findUser);
+
+            readCSVLines(bookingFilePath, row -> {
+                try {
+                    Booking booking = bookingParser.parse(row);
+                    if (booking != null) {
+                        bookings.add(booking);
+                    }
+                } catch (Exception e) {
+                    System.out.println("Invalid booking row: " + row);
+                    System.out.println(e.getMessage());
+                    throw e;
                 }
-            } catch (Exception e) {
-                System.out.println("Invalid booking row: " + Arrays.toString(tokens));
-                System.out.println(e.getMessage());
-                throw e;
-            }
-        });
+            });
+
+            finishBookings();
+            event.succeeded(bookings.size());
+            return bookings;
+        } finally {
+            event.finish();
+        }
+    }
 
+    /**
+     * Moves the booking ID counter past the loaded bookings.
+     */
+    private void finishBookings() {
         int maxBookingId = bookings.stream()
                 .mapToInt(Booking::getId)
                 .max()
                 .orElse(0);
         Booking.setNextBookingId(maxBookingId);
-
-        return bookings;
     }
 
     /**
@@ -392,29 +616,38 @@ public class CSVDataLoader implements IDataLoader {
      *
      * @param filePath  the file path to save the booking data
      * @param bookings  the list of bookings to save
+     * @return true if the file was written, false otherwise
      */
-    public static void saveBookings(String filePath, List<Booking> bookings) {
-        String tmpFile = filePath + ".tmp";
-        try (FileWriter writer = new FileWriter(tmpFile)) {
-            writer.write("id,flatType,projectId,applicantNric,officerNric,bookingDate\n");
-            for (Booking book : bookings) {
-                writer.write(String.format("%d,%s,%d,%s,%s,%s\n",
-                        book.getId(),
-                        book.getFlatType().getType().getCode(),
-                        book.getProjectId().getId(),
-                        book.getApplicant().getNric(),
-                        book.getOfficer().getNric(),
-                        book.getBookingDate().format(dtFormatter)));
-            }
-        } catch (IOException e) {
-            System.out.println("Failed to save bookings! " + e.getMessage());
-            new java.io.File(tmpFile).delete();
-            return;
-        }
+    public static boolean saveBookings(String filePath, List<Booking> bookings) {
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.SAVE, filePath);
         try {
-            Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+            String tmpFile = filePath + ".tmp";
+            try (FileWriter writer = new FileWriter(tmpFile)) {
+                writer.write("id,flatType,projectId,applicantNric,officerNric,bookingDate\n");
+                for (Booking book : bookings) {
+                    writer.write(String.format("%d,%s,%d,%s,%s,%s\n",
+                            book.getId(),
+                            book.getFlatType().getType().getCode(),
+                            book.getProjectId().getId(),
+                            book.getApplicant().getNric(),
+                            book.getOfficer().getNric(),
+                            book.getBookingDate().format(dtFormatter)));
+                }
+            } catch (IOException e) {
+                System.out.println("Failed to save bookings! " + e.getMessage());
+                new java.io.File(tmpFile).delete();
+                return false;
+            }
+            try {
+                Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+                return false;
+            }
+            event.succeeded(bookings.size());
+            return true;
+        } finally {
+            event.finish();
         }
     }
 
@@ -424,21 +657,35 @@ public class CSVDataLoader implements IDataLoader {
      * @return a list of registrations
      */
     public List<Registration> loadRegistrations() {
-        this.registrations = new ArrayList<>();
-        RegistrationParser registrationParser = new RegistrationParser(projectMap, userMap);
-        readCSVLines(registrationFilePath, tokens -> {
-            try {
-                Registration registration = registrationParser.parse(tokens);
-                if (registration != null) {
-                    registrations.add(registration);
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.LOAD, registrationFilePath);
+        try {
+            this.registrations = new ArrayList<>();
+            RegistrationParser registrationParser = new RegistrationParser(projectMap, this::findUser);
+            readCSVLines(registrationFilePath, row -> {
+                try {
+                    Registration registration = registrationParser.parse(row);
+                    if (registration != null) {
+                        registrations.add(registration);
+                    }
+                } catch (Exception e) {
+                    System.out.println("Invalid registration row: " + row);
+                    System.out.println(e.getMessage());
+                    throw e;
                 }
-            } catch (Exception e) {
-                System.out.println("Invalid registration row: " + Arrays.toString(tokens));
-                System.out.println(e.getMessage());
-                throw e;
-            }
-        });
+            });
+
+            finishRegistrations();
+            event.succeeded(registrations.size());
+            return registrations;
+        } finally {
+            event.finish();
+        }
+    }
 
+    /**
+     * Moves the registration ID counter past the loaded registrations.
+     */
+    private void finishRegistrations() {
         int maxRegistrationId = registrations.stream()
                 .mapToInt(r -> {
                     try {
@@ -450,7 +697,6 @@ public class CSVDataLoader implements IDataLoader {
                 .max()
                 .orElse(0);
         Registration.setNextRegistrationId(maxRegistrationId);
-        return registrations;
     }
 
     /**
@@ -458,28 +704,37 @@ public class CSVDataLoader implements IDataLoader {
      *
      * @param filePath      the file path to save the registration data
      * @param registrations the list of registrations to save
+     * @return true if the file was written, false otherwise
      */
-    public static void saveRegistrations(String filePath, List<Registration> registrations) {
-        String tmpFile = filePath + ".tmp";
-        try (FileWriter writer = new FileWriter(tmpFile)) {
-            writer.write("id,project,applicant,status,submittedAt\n");
-            for (Registration reg : registrations) {
-                writer.write(String.format("%s,%d,%s,%s,%s\n",
-                        reg.getId(),
-                        reg.getProject().getId(),
-                        reg.getApplicant().getNric(),
-                        reg.getStatus().name(),
-                        reg.getSubmittedAt().format(dtFormatter)));
-            }
-        } catch (IOException e) {
-            System.out.println("Failed to save registrations! " + e.getMessage());
-            new java.io.File(tmpFile).delete();
-            return;
-        }
+    public static boolean saveRegistrations(String filePath, List<Registration> registrations) {
+        CsvFileEvent event = CsvFileEvent.start(CsvFileEvent.SAVE, filePath);
         try {
-            Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+            String tmpFile = filePath + ".tmp";
+            try (FileWriter writer = new FileWriter(tmpFile)) {
+                writer.write("id,project,applicant,status,submittedAt\n");
+                for (Registration reg : registrations) {
+                    writer.write(String.format("%s,%d,%s,%s,%s\n",
+                            reg.getId(),
+                            reg.getProject().getId(),
+                            reg.getApplicant().getNric(),
+                            reg.getStatus().name(),
+                            reg.getSubmittedAt().format(dtFormatter)));
+                }
+            } catch (IOException e) {
+                System.out.println("Failed to save registrations! " + e.getMessage());
+                new java.io.File(tmpFile).delete();
+                return false;
+            }
+            try {
+                Files.move(Paths.get(tmpFile), Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                System.out.println("Failed to move temp file to final destination: " + e.getMessage());
+                return false;
+            }
+            event.succeeded(registrations.size());
+            return true;
+        } finally {
+            event.finish();
         }
     }
 }
@@ -0,0 +1,159 @@
+package sc2002.fcsi.grp3.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * The CSVReader class is a streaming RFC 4180 tokenizer.
+ * It reads through a large character buffer and fills a single reusable {@link CSVRow},
+ * so no line strings or token arrays are created while reading.
+ * <p>
+ * Quoted fields may contain commas, line breaks and doubled quotes ({@code ""}).
+ * Both {@code \n} and {@code \r\n} line endings are accepted and blank lines are skipped.
+ */
+public class CSVReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final CSVRow row = new CSVRow();
+    private int position;
+    private int limit;
+    private int pushedBack = NONE;
+
+    /**
+     * Constructs a CSVReader over the given character stream.
+     *
+     * @param in the stream to read from
+     */
+    public CSVReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Opens a CSVReader over a UTF-8 file.
+     *
+     * @param filepath the path to the CSV file
+     * @return the reader
+     * @throws IOException if the file cannot be opened
+     */
+    public static CSVReader open(String filepath) throws IOException {
+        return new CSVReader(new InputStreamReader(Files.newInputStream(Paths.get(filepath)), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Retrieves the row holding the record read by the last call to {@link #next()}.
+     *
+     * @return the current row
+     */
+    public CSVRow row() {
+        return row;
+    }
+
+    /**
+     * Reads the next record into the current row.
+     *
+     * @return true if a record was read, false at the end of the input
+     * @throws IOException if reading fails
+     */
+    public boolean next() throws IOException {
+        row.reset();
+        int c = read();
+        while (c == '\n' || c == '\r') {
+            c = read();
+        }
+        if (c == -1) return false;
+
+        boolean quoted = false;
+        row.startField();
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    // unterminated quote, keep what was read
+                    row.endField();
+                    return true;
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c == '"') {
+                        row.append('"');
+                        c = read();
+                    } else {
+                        quoted = false;
+                    }
+                    continue;
+                }
+                row.append((char) c);
+                c = read();
+                continue;
+            }
+
+            switch (c) {
+                case -1, '\n' -> {
+                    row.endField();
+                    return true;
+                }
+                case '\r' -> {
+                    c = read();
+                    if (c != '\n' && c != -1) pushedBack = c;
+                    row.endField();
+                    return true;
+                }
+                case ',' -> {
+                    row.endField();
+                    row.startField();
+                }
+                case '"' -> {
+                    if (row.isFieldBlank()) {
+                        row.clearField();
+                        quoted = true;
+                    } else {
+                        row.append('"');
+                    }
+                }
+                default -> row.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Reads the next character, refilling the buffer when it runs out.
+     *
+     * @return the next character, or -1 at the end of the input
+     * @throws IOException if reading fails
+     */
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * Closes the underlying stream.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,232 @@
+package sc2002.fcsi.grp3.io;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * The CSVRow class is a reusable view over one record produced by a {@link CSVReader}.
+ * Field characters are kept in a shared buffer and exposed as trimmed {@link CharSequence} views,
+ * so reading a row does not allocate per field. The row and its views are overwritten by the next
+ * record, so callers must copy out (e.g. with {@link #getString(int)}) anything they keep.
+ */
+public final class CSVRow {
+
+    private char[] data = new char[256];
+    private int length;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private Field[] views = new Field[16];
+    private int size;
+
+    /**
+     * Constructs an empty CSVRow.
+     */
+    CSVRow() {
+    }
+
+    /**
+     * Clears the row so the next record can be read into it.
+     */
+    void reset() {
+        length = 0;
+        size = 0;
+    }
+
+    /**
+     * Starts a new field at the current end of the buffer.
+     */
+    void startField() {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+            views = Arrays.copyOf(views, size * 2);
+        }
+        starts[size] = length;
+        ends[size] = length;
+        size++;
+    }
+
+    /**
+     * Checks whether the field being read has only whitespace so far.
+     *
+     * @return true if the current field is blank
+     */
+    boolean isFieldBlank() {
+        for (int i = starts[size - 1]; i < length; i++) {
+            if (data[i] > ' ') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drops the characters read so far for the current field, e.g. whitespace before an opening quote.
+     */
+    void clearField() {
+        length = starts[size - 1];
+    }
+
+    /**
+     * Appends a character to the field being read.
+     *
+     * @param c the character to append
+     */
+    void append(char c) {
+        if (length == data.length) {
+            data = Arrays.copyOf(data, length * 2);
+        }
+        data[length++] = c;
+    }
+
+    /**
+     * Ends the field being read.
+     */
+    void endField() {
+        ends[size - 1] = length;
+    }
+
+    /**
+     * Retrieves the number of fields in the row.
+     *
+     * @return the field count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves a trimmed view of a field.
+     * The view is reused and only valid until the next record is read.
+     *
+     * @param index the field index
+     * @return the field as a character sequence
+     */
+    public CharSequence get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + size);
+        }
+        int from = starts[index];
+        int to = ends[index];
+        while (from < to && data[from] <= ' ') from++;
+        while (to > from && data[to - 1] <= ' ') to--;
+
+        Field view = views[index];
+        if (view == null) {
+            view = new Field();
+            views[index] = view;
+        }
+        view.from = from;
+        view.to = to;
+        return view;
+    }
+
+    /**
+     * Retrieves a field as a trimmed string.
+     *
+     * @param index the field index
+     * @return the field value
+     */
+    public String getString(int index) {
+        return get(index).toString();
+    }
+
+    /**
+     * Checks whether a field is empty or only whitespace.
+     *
+     * @param index the field index
+     * @return true if the field is blank
+     */
+    public boolean isBlank(int index) {
+        return get(index).length() == 0;
+    }
+
+    /**
+     * Parses a field as a decimal integer without creating a string.
+     *
+     * @param index the field index
+     * @return the integer value
+     * @throws NumberFormatException if the field is not a valid integer
+     */
+    public int getInt(int index) {
+        CharSequence field = get(index);
+        return Integer.parseInt(field, 0, field.length(), 10);
+    }
+
+    /**
+     * Parses a field as a date using the given formatter.
+     *
+     * @param index     the field index
+     * @param formatter the formatter to parse with
+     * @return the date value
+     */
+    public LocalDate getDate(int index, DateTimeFormatter formatter) {
+        return LocalDate.parse(get(index), formatter);
+    }
+
+    /**
+     * Matches a field against the names of the given enum constants without creating a string.
+     *
+     * @param index     the field index
+     * @param constants the constants to match against, usually {@code E.values()}
+     * @param <E>       the enum type
+     * @return the constant whose name equals the field
+     * @throws IllegalArgumentException if no constant matches
+     */
+    public <E extends Enum<E>> E getEnum(int index, E[] constants) {
+        CharSequence field = get(index);
+        for (E constant : constants) {
+            if (constant.name().contentEquals(field)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("No enum constant " + field);
+    }
+
+    /**
+     * Returns the fields of the row in the same form as {@link Arrays#toString(Object[])},
+     * for use in error messages.
+     *
+     * @return the row as a string
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(data, starts[i], ends[i] - starts[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * A reusable character sequence over a slice of the row buffer.
+     */
+    private final class Field implements CharSequence {
+
+        private int from;
+        private int to;
+
+        @Override
+        public int length() {
+            return to - from;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return data[from + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(data, from, to - from);
+        }
+    }
+}
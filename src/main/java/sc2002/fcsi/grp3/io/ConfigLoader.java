@@ -29,6 +29,15 @@ public class ConfigLoader {
         }
     }
 
+    /**
+     * Constructs a ConfigLoader from properties that are already loaded, e.g. ones built by a test or benchmark.
+     *
+     * @param props the properties to use
+     */
+    public ConfigLoader(Properties props) {
+        this.props.putAll(props);
+    }
+
     /**
      * Retrieves the value associated with the specified key.
      *
@@ -0,0 +1,36 @@
+package sc2002.fcsi.grp3.io;
+
+/**
+ * The ExportFormat enum represents the file formats a report can be exported to.
+ */
+public enum ExportFormat {
+
+    /**
+     * Comma-separated values, with a header line.
+     */
+    CSV,
+
+    /**
+     * One JSON object per line.
+     */
+    JSON_LINES;
+
+    /**
+     * Parses a string to an {@code ExportFormat}, case-insensitively.
+     *
+     * @param input the input string (e.g. "csv", "jsonl")
+     * @return the corresponding {@code ExportFormat}, or {@link #CSV} if the input is null or blank
+     * @throws IllegalArgumentException if the input is not a known format
+     */
+    public static ExportFormat fromString(String input) {
+        if (input == null || input.isBlank()) {
+            return CSV;
+        }
+
+        return switch (input.trim().toUpperCase()) {
+            case "CSV" -> CSV;
+            case "JSON", "JSONL", "JSON_LINES" -> JSON_LINES;
+            default -> throw new IllegalArgumentException("Invalid export format: " + input);
+        };
+    }
+}
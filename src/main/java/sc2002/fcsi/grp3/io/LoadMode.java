@@ -0,0 +1,36 @@
+package sc2002.fcsi.grp3.io;
+
+/**
+ * The LoadMode enum represents how a large CSV file is read at startup.
+ */
+public enum LoadMode {
+
+    /**
+     * Stream the file through a single {@link CSVReader}.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Memory-map the file and parse newline-aligned chunks in parallel.
+     */
+    MAPPED;
+
+    /**
+     * Parses a string to a {@code LoadMode}, case-insensitively.
+     *
+     * @param input the input string (e.g. "sequential", "MAPPED")
+     * @return the corresponding {@code LoadMode}, or {@link #SEQUENTIAL} if the input is null or blank
+     * @throws IllegalArgumentException if the input is not a known mode
+     */
+    public static LoadMode fromString(String input) {
+        if (input == null || input.isBlank()) {
+            return SEQUENTIAL;
+        }
+
+        return switch (input.trim().toUpperCase()) {
+            case "SEQUENTIAL" -> SEQUENTIAL;
+            case "MAPPED" -> MAPPED;
+            default -> throw new IllegalArgumentException("Invalid load mode: " + input);
+        };
+    }
+}
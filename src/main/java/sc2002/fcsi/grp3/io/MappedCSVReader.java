@@ -0,0 +1,188 @@
+package sc2002.fcsi.grp3.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * The MappedCSVReader class parses a large CSV file in parallel.
+ * The file is split into newline-aligned chunks, each chunk is memory-mapped through
+ * {@link FileChannel#map} and tokenized by its own {@link CSVReader}, and the parsed rows
+ * are merged back in file order.
+ * <p>
+ * Bytes are widened straight to chars instead of going through a charset decoder, and chunk
+ * boundaries are placed at the first line break after each split point. This is only correct for
+ * ASCII files without quoted line breaks, such as the applications file, which holds only ids,
+ * NRICs, codes and dates.
+ */
+public final class MappedCSVReader {
+
+    private static final int CHUNKS_PER_CORE = 4;
+    private static final long MAX_CHUNK_SIZE = 256L * 1024 * 1024;
+    private static final int SCAN_SIZE = 8 * 1024;
+
+    private MappedCSVReader() {
+    }
+
+    /**
+     * Parses every record after the header, using a chunk count based on the number of cores.
+     *
+     * @param filepath  the path to the CSV file
+     * @param rowParser parses a row; null results are dropped
+     * @param <T>       the type of the parsed rows
+     * @return the parsed rows in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static <T> List<T> readAll(String filepath, Function<CSVRow, T> rowParser) throws IOException {
+        return readAll(filepath, rowParser, Runtime.getRuntime().availableProcessors() * CHUNKS_PER_CORE);
+    }
+
+    /**
+     * Parses every record after the header using about the given number of chunks.
+     * More chunks are used if needed to keep each mapping under {@code MAX_CHUNK_SIZE}.
+     *
+     * @param filepath   the path to the CSV file
+     * @param rowParser  parses a row; null results are dropped
+     * @param chunkCount the number of chunks to aim for
+     * @param <T>        the type of the parsed rows
+     * @return the parsed rows in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static <T> List<T> readAll(String filepath, Function<CSVRow, T> rowParser, int chunkCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filepath), StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel, chunkCount);
+
+            List<List<T>> parsed;
+            try {
+                parsed = IntStream.range(0, bounds.length - 1)
+                        .parallel()
+                        .mapToObj(i -> parseChunk(channel, bounds[i], bounds[i + 1], i == 0, rowParser))
+                        .toList();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            List<T> rows = new ArrayList<>(parsed.stream().mapToInt(List::size).sum());
+            parsed.forEach(rows::addAll);
+            return rows;
+        }
+    }
+
+    /**
+     * Splits the file into chunks that each start right after a line break.
+     *
+     * @param channel    the file channel
+     * @param chunkCount the number of chunks to aim for
+     * @return the chunk boundaries, starting with 0 and ending with the file size
+     * @throws IOException if the file cannot be read
+     */
+    private static long[] chunkBounds(FileChannel channel, int chunkCount) throws IOException {
+        long size = channel.size();
+        long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(1, size / Math.max(1, chunkCount)));
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long position = chunkSize;
+        while (position < size) {
+            long lineStart = nextLineStart(channel, position);
+            if (lineStart >= size) break;
+            if (lineStart > bounds.get(bounds.size() - 1)) bounds.add(lineStart);
+            position = lineStart + chunkSize;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Finds the start of the first line that begins after the given position.
+     *
+     * @param channel  the file channel
+     * @param position the position to scan from
+     * @return the position after the next line break, or the file size if there is none
+     * @throws IOException if the file cannot be read
+     */
+    private static long nextLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_SIZE);
+        long offset = position;
+        while (true) {
+            scan.clear();
+            int read = channel.read(scan, offset);
+            if (read <= 0) return channel.size();
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') return offset + i + 1;
+            }
+            offset += read;
+        }
+    }
+
+    /**
+     * Maps and parses one chunk.
+     *
+     * @param channel    the file channel
+     * @param start      the first byte of the chunk
+     * @param end        the byte after the chunk
+     * @param skipHeader whether the first record is the header
+     * @param rowParser  parses a row; null results are dropped
+     * @param <T>        the type of the parsed rows
+     * @return the parsed rows of the chunk in file order
+     */
+    private static <T> List<T> parseChunk(
+            FileChannel channel,
+            long start,
+            long end,
+            boolean skipHeader,
+            Function<CSVRow, T> rowParser
+    ) {
+        List<T> rows = new ArrayList<>();
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            try (CSVReader reader = new CSVReader(new ByteBufferReader(buffer))) {
+                if (skipHeader) reader.next();
+                while (reader.next()) {
+                    T row = rowParser.apply(reader.row());
+                    if (row != null) rows.add(row);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    /**
+     * A Reader that widens each byte of a buffer to a char.
+     */
+    private static final class ByteBufferReader extends Reader {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferReader(ByteBuffer buffer) {
+            this.buffer = Objects.requireNonNull(buffer);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            int remaining = buffer.remaining();
+            if (remaining == 0) return -1;
+            int n = Math.min(len, remaining);
+            for (int i = 0; i < n; i++) {
+                cbuf[off + i] = (char) (buffer.get() & 0xFF);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
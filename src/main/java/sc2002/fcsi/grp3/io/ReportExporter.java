@@ -0,0 +1,203 @@
+package sc2002.fcsi.grp3.io;
+
+import sc2002.fcsi.grp3.dto.FlatBookingReportRow;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * The ReportExporter class writes flat booking report rows to a CSV or JSON-lines file as they are produced.
+ * Each row is encoded into a fixed-size buffer that is written to the file channel whenever it fills up,
+ * so the memory used does not grow with the size of the report.
+ * <p>
+ * The rows are written to a temporary file that replaces the target file once every row has been written,
+ * so a failed export never leaves a partial report behind. The temporary file has a unique name, so exports
+ * running at the same time never write to the same one.
+ * <p>
+ * Reports are only exported into an export directory: the file name a user gives is resolved with
+ * {@link #resolveExportFile(Path, String)}, which rejects names that would lead outside it.
+ */
+public final class ReportExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "Name,Age,Marital Status,Flat Type,Project,Neighbourhood";
+
+    private ReportExporter() {
+    }
+
+    /**
+     * Resolves a file name given by a user to a file inside the export directory.
+     * The name may contain subdirectories, but must not be absolute or contain {@code ..}.
+     *
+     * @param directory the export directory
+     * @param name      the file name, relative to the export directory
+     * @return the file to export to
+     * @throws IllegalArgumentException if the name is blank, absolute, or leads outside the export directory
+     */
+    public static Path resolveExportFile(Path directory, String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("File name cannot be empty.");
+        }
+        Path relative;
+        try {
+            relative = Path.of(name.trim());
+        } catch (InvalidPathException e) {
+            throw new IllegalArgumentException("Invalid file name: " + name);
+        }
+        if (relative.isAbsolute() || relative.getRoot() != null) {
+            throw new IllegalArgumentException("File name must be relative to the export directory.");
+        }
+        for (Path element : relative) {
+            if (element.toString().equals("..")) {
+                throw new IllegalArgumentException("File name must not contain '..'.");
+            }
+        }
+        Path target = directory.resolve(relative).normalize();
+        Path base = directory.toAbsolutePath().normalize();
+        Path absolute = target.toAbsolutePath();
+        if (!absolute.startsWith(base) || absolute.equals(base)) {
+            throw new IllegalArgumentException("File name must name a file inside the export directory.");
+        }
+        return target;
+    }
+
+    /**
+     * Writes report rows to a file in the given format.
+     *
+     * @param rows   the rows to write, read once from start to end
+     * @param target the file to write
+     * @param format the file format
+     * @return the number of rows written
+     * @throws IOException if the file cannot be written
+     */
+    public static long exportBookingReport(Iterator<FlatBookingReportRow> rows, Path target, ExportFormat format)
+            throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tmp = Files.createTempFile(directory, "." + target.getFileName(), ".tmp");
+        try {
+            long count;
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                count = writeRows(channel, rows, format);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            return count;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the rows to the channel, with a header line first for CSV.
+     *
+     * @return the number of rows written
+     */
+    private static long writeRows(FileChannel channel, Iterator<FlatBookingReportRow> rows, ExportFormat format)
+            throws IOException {
+        long count = 0;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        StringBuilder line = new StringBuilder(256);
+        if (format == ExportFormat.CSV) {
+            write(channel, buffer, line.append(CSV_HEADER).append('\n'));
+        }
+        while (rows.hasNext()) {
+            FlatBookingReportRow row = rows.next();
+            line.setLength(0);
+            if (format == ExportFormat.CSV) {
+                appendCsv(line, row);
+            } else {
+                appendJson(line, row);
+            }
+            write(channel, buffer, line.append('\n'));
+            count++;
+        }
+        drain(channel, buffer);
+        return count;
+    }
+
+    private static void appendCsv(StringBuilder line, FlatBookingReportRow row) {
+        line.append(CSVDataLoader.escapeCSV(row.getApplicantName())).append(',')
+                .append(row.getApplicantAge()).append(',')
+                .append(row.getMaritalStatus() == null ? "" : row.getMaritalStatus().getDisplayName()).append(',')
+                .append(row.getFlatType() == null ? "" : row.getFlatType().getDisplayName()).append(',')
+                .append(CSVDataLoader.escapeCSV(row.getProjectName())).append(',')
+                .append(CSVDataLoader.escapeCSV(row.getNeighbourhood()));
+    }
+
+    private static void appendJson(StringBuilder line, FlatBookingReportRow row) {
+        line.append("{\"name\":");
+        appendJsonString(line, row.getApplicantName());
+        line.append(",\"age\":").append(row.getApplicantAge());
+        line.append(",\"maritalStatus\":");
+        appendJsonString(line, row.getMaritalStatus() == null ? null : row.getMaritalStatus().getDisplayName());
+        line.append(",\"flatType\":");
+        appendJsonString(line, row.getFlatType() == null ? null : row.getFlatType().getDisplayName());
+        line.append(",\"project\":");
+        appendJsonString(line, row.getProjectName());
+        line.append(",\"neighbourhood\":");
+        appendJsonString(line, row.getNeighbourhood());
+        line.append('}');
+    }
+
+    /**
+     * Appends a JSON string literal, escaping quotes, backslashes and control characters.
+     *
+     * @param line  the line to append to
+     * @param value the string, or null for a JSON null
+     */
+    private static void appendJsonString(StringBuilder line, String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Encodes a line into the buffer, writing the buffer out first if the line does not fit.
+     */
+    private static void write(FileChannel channel, ByteBuffer buffer, CharSequence line) throws IOException {
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > buffer.remaining()) drain(channel, buffer);
+        if (bytes.length > buffer.capacity()) {
+            // a line longer than the buffer is written on its own
+            ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+            while (wrapped.hasRemaining()) channel.write(wrapped);
+            return;
+        }
+        buffer.put(bytes);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+}
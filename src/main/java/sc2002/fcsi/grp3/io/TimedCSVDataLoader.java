@@ -0,0 +1,80 @@
+package sc2002.fcsi.grp3.io;
+
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+import sc2002.fcsi.grp3.metrics.Timer;
+import sc2002.fcsi.grp3.model.*;
+
+import java.util.List;
+
+/**
+ * The TimedCSVDataLoader class is a {@link CSVDataLoader} that records how long each of its public methods
+ * takes in the {@link MetricsRegistry}. Each override times the call to the method it overrides,
+ * so that CSVDataLoader itself carries no instrumentation.
+ */
+public class TimedCSVDataLoader extends CSVDataLoader {
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final Timer LOAD_SNAPSHOT = METRICS.timer("CSVDataLoader", "loadSnapshot");
+    private static final Timer LOAD_USERS = METRICS.timer("CSVDataLoader", "loadUsers");
+    private static final Timer LOAD_PROJECTS = METRICS.timer("CSVDataLoader", "loadProjects");
+    private static final Timer LOAD_APPLICATIONS = METRICS.timer("CSVDataLoader", "loadApplications");
+    private static final Timer LOAD_ENQUIRIES = METRICS.timer("CSVDataLoader", "loadEnquiries");
+    private static final Timer LOAD_BOOKINGS = METRICS.timer("CSVDataLoader", "loadBookings");
+    private static final Timer LOAD_REGISTRATIONS = METRICS.timer("CSVDataLoader", "loadRegistrations");
+
+    /**
+     * Constructs a TimedCSVDataLoader.
+     *
+     * @param userFilePath         the file path for user data
+     * @param projectFilePath      the file path for project data
+     * @param applicationFilePath  the file path for application data
+     * @param enquiryFilePath      the file path for enquiry data
+     * @param bookingFilePath      the file path for booking data
+     * @param registrationFilePath the file path for registration data
+     */
+    public TimedCSVDataLoader(
+            String userFilePath,
+            String projectFilePath,
+            String applicationFilePath,
+            String enquiryFilePath,
+            String bookingFilePath,
+            String registrationFilePath
+    ) {
+        super(userFilePath, projectFilePath, applicationFilePath, enquiryFilePath, bookingFilePath, registrationFilePath);
+    }
+
+    @Override
+    public BinarySnapshot.Contents loadSnapshot(String snapshotFilePath) {
+        return LOAD_SNAPSHOT.time(() -> super.loadSnapshot(snapshotFilePath));
+    }
+
+    @Override
+    public List<User> loadUsers() {
+        return LOAD_USERS.time(super::loadUsers);
+    }
+
+    @Override
+    public List<Project> loadProjects() {
+        return LOAD_PROJECTS.time(super::loadProjects);
+    }
+
+    @Override
+    public List<Application> loadApplications() {
+        return LOAD_APPLICATIONS.time(super::loadApplications);
+    }
+
+    @Override
+    public List<Enquiry> loadEnquiries() {
+        return LOAD_ENQUIRIES.time(super::loadEnquiries);
+    }
+
+    @Override
+    public List<Booking> loadBookings() {
+        return LOAD_BOOKINGS.time(super::loadBookings);
+    }
+
+    @Override
+    public List<Registration> loadRegistrations() {
+        return LOAD_REGISTRATIONS.time(super::loadRegistrations);
+    }
+}
@@ -0,0 +1,421 @@
+package sc2002.fcsi.grp3.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * The WriteAheadLog class is an append-only journal file of CSV-encoded entries.
+ * <p>
+ * Every entry is one line ending in a CRC-32 of its fields, so a line torn by a crash is detected
+ * and ignored on replay. {@link #append(List)} returns only once the entry has been forced to disk;
+ * {@link #enqueue(List)} and {@link #await(long)} split that in two, so a caller can fix the order of its
+ * entries under its own lock and wait for the disk outside it.
+ * Appends from many threads are written and forced together by a single flusher thread
+ * (group commit), so concurrent sessions share one fsync instead of paying for one each.
+ * <p>
+ * If a batch cannot be written, the file is cut back to where the batch began, the callers waiting for
+ * its entries get the error, and later batches are written as usual. Only if the file cannot be cut back,
+ * so it may end in a partial entry, does the log stop taking entries, since replay would stop at that entry
+ * and ignore everything written after it. It takes entries again once a checkpoint has compacted the
+ * partial entry away.
+ */
+public class WriteAheadLog implements Closeable {
+
+    private final Path path;
+    private final long groupCommitNanos;
+    private final Object lock = new Object();
+    private final Object ioLock = new Object();
+    private final Thread flusher;
+    private FileChannel channel;
+    private StringBuilder pending = new StringBuilder();
+    private long appendedSeq;
+    private long writtenSeq;
+    private long syncCount;
+    private final List<FailedBatch> failedBatches = new ArrayList<>();
+    private IOException broken;
+    private boolean closed;
+
+    /**
+     * The entries of a batch that could not be written, kept so that their callers still see the error
+     * after later batches succeed. Consecutive failed batches are merged.
+     */
+    private record FailedBatch(long firstSeq, long lastSeq, IOException error) {
+    }
+
+    /**
+     * Opens the log for appending, creating the file if needed.
+     *
+     * @param filepath          the path to the log file
+     * @param groupCommitMillis how long the flusher waits for more entries before each fsync
+     * @throws IOException if the file cannot be opened
+     */
+    public WriteAheadLog(String filepath, long groupCommitMillis) throws IOException {
+        this.path = Paths.get(filepath);
+        this.groupCommitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, groupCommitMillis));
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        this.channel = openChannel();
+        this.flusher = new Thread(this::flushLoop, "wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    private FileChannel openChannel() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Appends an entry and waits until it is durable.
+     *
+     * @param fields the fields of the entry
+     * @throws IOException if the log is closed or the entry could not be written
+     */
+    public void append(List<String> fields) throws IOException {
+        await(enqueue(fields));
+    }
+
+    /**
+     * Queues an entry for the next group commit without waiting for it.
+     * Entries are written in the order they are queued.
+     *
+     * @param fields the fields of the entry
+     * @return the sequence number of the entry, to pass to {@link #await(long)}
+     * @throws IOException if the log is closed, or takes no more entries after a write it could not undo
+     */
+    public long enqueue(List<String> fields) throws IOException {
+        String line = encode(fields);
+        synchronized (lock) {
+            if (closed) throw new IOException("Write-ahead log is closed: " + path);
+            if (broken != null) {
+                throw new IOException("Write-ahead log " + path + " takes no more entries after a failed write", broken);
+            }
+            pending.append(line).append('\n');
+            lock.notifyAll();
+            return ++appendedSeq;
+        }
+    }
+
+    /**
+     * Waits until every entry up to the given sequence number is durable.
+     *
+     * @param seq a sequence number returned by {@link #enqueue(List)}
+     * @throws IOException if the entry with that sequence number could not be written
+     */
+    public void await(long seq) throws IOException {
+        synchronized (lock) {
+            awaitWritten(seq);
+            for (FailedBatch batch : failedBatches) {
+                if (batch.firstSeq() <= seq && seq <= batch.lastSeq()) {
+                    throw new IOException("Failed to write to " + path, batch.error());
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits until the flusher has tried to write every entry up to the given sequence number.
+     * Must be called while holding {@code lock}.
+     *
+     * @param seq the sequence number
+     */
+    private void awaitWritten(long seq) {
+        boolean interrupted = false;
+        while (writtenSeq < seq) {
+            try {
+                lock.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Writes pending entries in batches until the log is closed.
+     */
+    private void flushLoop() {
+        while (true) {
+            String batch;
+            long batchSeq;
+            synchronized (lock) {
+                while (pending.length() == 0 && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // only close() stops the flusher
+                    }
+                }
+                if (pending.length() == 0) return;
+            }
+
+            if (groupCommitNanos > 0) {
+                // give other sessions a moment to join this fsync
+                LockSupport.parkNanos(groupCommitNanos);
+            }
+
+            boolean writable;
+            synchronized (lock) {
+                batch = pending.toString();
+                pending = new StringBuilder();
+                batchSeq = appendedSeq;
+                writable = broken == null;
+            }
+
+            IOException error = writable ? write(batch) : broken;
+
+            synchronized (lock) {
+                if (error == null) {
+                    syncCount++;
+                } else {
+                    recordFailure(writtenSeq + 1, batchSeq, error);
+                }
+                writtenSeq = batchSeq;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes and forces a batch. If that fails, the file is cut back to where the batch began, so a later
+     * batch does not follow a partial entry; if even that fails, the log is marked broken.
+     *
+     * @param batch the encoded entries
+     * @return the error if the batch could not be written, or null
+     */
+    private IOException write(String batch) {
+        synchronized (ioLock) {
+            long start = -1;
+            try {
+                start = channel.size();
+                ByteBuffer bytes = StandardCharsets.UTF_8.encode(batch);
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+                return null;
+            } catch (IOException e) {
+                if (!undo(start, e)) {
+                    synchronized (lock) {
+                        broken = e;
+                    }
+                    System.out.println("[WriteAheadLog] " + path + " takes no more entries after a failed write: " + e);
+                }
+                return e;
+            }
+        }
+    }
+
+    /**
+     * Cuts the file back to where a failed batch began. Must be called while holding {@code ioLock}.
+     *
+     * @param start the size of the file before the batch, or -1 if it could not be read
+     * @param error the error the batch failed with, to add the error of the undo to
+     * @return true if the file was cut back
+     */
+    private boolean undo(long start, IOException error) {
+        if (start < 0) return false;
+        try {
+            channel.truncate(start);
+            channel.force(false);
+            return true;
+        } catch (IOException e) {
+            error.addSuppressed(e);
+            return false;
+        }
+    }
+
+    /**
+     * Remembers the entries of a failed batch, merging it with the previous failed batch if they are
+     * consecutive. Must be called while holding {@code lock}.
+     */
+    private void recordFailure(long firstSeq, long lastSeq, IOException error) {
+        int last = failedBatches.size() - 1;
+        if (last >= 0 && failedBatches.get(last).lastSeq() == firstSeq - 1) {
+            FailedBatch previous = failedBatches.remove(last);
+            failedBatches.add(new FailedBatch(previous.firstSeq(), lastSeq, previous.error()));
+        } else {
+            failedBatches.add(new FailedBatch(firstSeq, lastSeq, error));
+        }
+    }
+
+    /**
+     * Checks whether the log has stopped taking entries after a write it could not undo.
+     *
+     * @return true if the log takes no more entries
+     */
+    public boolean isBroken() {
+        synchronized (lock) {
+            return broken != null;
+        }
+    }
+
+    /**
+     * Reads every intact entry in file order.
+     * Reading stops at the first entry whose checksum does not match, which is normally a line
+     * torn by a crash.
+     *
+     * @param entryHandler a consumer to process each entry
+     * @return the number of entries read
+     * @throws IOException if the file cannot be read
+     */
+    public int readAll(Consumer<CSVRow> entryHandler) throws IOException {
+        if (!Files.exists(path)) return 0;
+        int count = 0;
+        synchronized (ioLock) {
+            try (CSVReader reader = new CSVReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8))) {
+                while (reader.next()) {
+                    CSVRow row = reader.row();
+                    if (!isIntact(row)) {
+                        System.out.println("[WriteAheadLog] Ignoring damaged entry " + (count + 1) + " and everything after it.");
+                        break;
+                    }
+                    entryHandler.accept(row);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves the current end of the log file, once every entry queued so far has been written or has failed.
+     * Every entry queued before this call that was written ends at or before the returned position. Entries
+     * that failed are not in the file, but their changes are in memory and go into the checkpoint taken at
+     * the mark.
+     *
+     * @return the log position
+     * @throws IOException if the size cannot be read
+     */
+    public long mark() throws IOException {
+        synchronized (lock) {
+            awaitWritten(appendedSeq);
+        }
+        synchronized (ioLock) {
+            return channel.size();
+        }
+    }
+
+    /**
+     * Drops every entry before the given position, keeping the entries after it.
+     * Used after a checkpoint has saved everything up to the mark. If the log stopped taking entries after
+     * a failed write and nothing is left after the mark, the partial entry is dropped with the rest and
+     * the log takes entries again.
+     *
+     * @param mark a position returned by {@link #mark()}
+     * @throws IOException if the log cannot be rewritten
+     */
+    public void compact(long mark) throws IOException {
+        synchronized (ioLock) {
+            long size = channel.size();
+            Path tmp = Paths.get(path + ".tmp");
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                 FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+                long position = mark;
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+                out.force(false);
+            }
+            channel.close();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = openChannel();
+            if (size == mark) {
+                synchronized (lock) {
+                    broken = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves how many fsyncs have been done, for comparing against the number of entries written.
+     *
+     * @return the number of group commits
+     */
+    public long getSyncCount() {
+        synchronized (lock) {
+            return syncCount;
+        }
+    }
+
+    /**
+     * Flushes pending entries and closes the log.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (ioLock) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Encodes an entry as a CSV line followed by the CRC-32 of that line.
+     * Fields are trimmed, as they would be when read back.
+     *
+     * @param fields the fields of the entry
+     * @return the encoded line, without a line break
+     */
+    private static String encode(List<String> fields) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) sb.append(',');
+            String field = fields.get(i);
+            sb.append(CSVDataLoader.escapeCSV(field == null ? null : field.trim()));
+        }
+        String body = sb.toString();
+        return body + ',' + Long.toHexString(checksum(body));
+    }
+
+    /**
+     * Checks that the last field of an entry is the checksum of the fields before it.
+     *
+     * @param row the entry
+     * @return true if the entry is intact
+     */
+    private static boolean isIntact(CSVRow row) {
+        if (row.size() < 2) return false;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < row.size() - 1; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(CSVDataLoader.escapeCSV(row.getString(i)));
+        }
+        try {
+            return Long.parseLong(row.getString(row.size() - 1), 16) == checksum(sb.toString());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static long checksum(String body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
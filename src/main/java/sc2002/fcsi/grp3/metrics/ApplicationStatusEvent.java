@@ -0,0 +1,68 @@
+package sc2002.fcsi.grp3.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The ApplicationStatusEvent class is a JDK Flight Recorder event for a manager approving or rejecting
+ * a BTO application, including the flat reservation made on approval.
+ */
+@Name("sc2002.fcsi.grp3.ApplicationStatus")
+@Label("Application Status Change")
+@Category({"BTO Management System", "Applications"})
+@Description("A BTO application approved or rejected by a manager")
+public final class ApplicationStatusEvent extends Event {
+
+    @Label("Application ID")
+    int applicationId;
+
+    @Label("Project ID")
+    int projectId;
+
+    @Label("Flat Type")
+    String flatType;
+
+    @Label("From Status")
+    String fromStatus;
+
+    @Label("To Status")
+    String toStatus;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Starts timing a status change.
+     *
+     * @param applicationId the application ID
+     * @param projectId     the ID of the project applied for
+     * @param flatType      the flat type applied for
+     * @param fromStatus    the current status
+     * @param toStatus      the new status
+     * @return the started event
+     */
+    public static ApplicationStatusEvent start(int applicationId, int projectId, String flatType,
+                                               String fromStatus, String toStatus) {
+        ApplicationStatusEvent event = new ApplicationStatusEvent();
+        event.applicationId = applicationId;
+        event.projectId = projectId;
+        event.flatType = flatType;
+        event.fromStatus = fromStatus;
+        event.toStatus = toStatus;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops timing and records the event.
+     *
+     * @param succeeded whether the status was changed
+     */
+    public void finish(boolean succeeded) {
+        this.succeeded = succeeded;
+        commit();
+    }
+}
@@ -0,0 +1,34 @@
+package sc2002.fcsi.grp3.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Counter class counts events, such as sessions opened. Incrementing it is lock-free and stays cheap
+ * when many threads count at once.
+ */
+public final class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Constructs a Counter starting at zero.
+     */
+    Counter() {
+    }
+
+    /**
+     * Counts one event.
+     */
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Gets the number of events counted.
+     *
+     * @return the count
+     */
+    public long get() {
+        return value.sum();
+    }
+}
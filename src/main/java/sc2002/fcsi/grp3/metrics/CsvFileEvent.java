@@ -0,0 +1,94 @@
+package sc2002.fcsi.grp3.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The CsvFileEvent class is a JDK Flight Recorder event for one CSV data file being loaded or saved,
+ * recording the file, the number of rows, the file size and how long it took.
+ * <p>
+ * A loader starts the event before touching the file, marks it as succeeded with the row count once the
+ * rows are read or written, and finishes it in a {@code finally} block, so failed loads and saves are
+ * recorded too. When no recording is running, the event costs next to nothing.
+ */
+@Name("sc2002.fcsi.grp3.CsvFile")
+@Label("CSV File")
+@Category({"BTO Management System", "Storage"})
+@Description("A CSV data file loaded or saved")
+@StackTrace(false)
+public final class CsvFileEvent extends Event {
+
+    /**
+     * The operation of an event that loads a file.
+     */
+    public static final String LOAD = "load";
+
+    /**
+     * The operation of an event that saves a file.
+     */
+    public static final String SAVE = "save";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("File")
+    String file;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("File Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Starts timing a load or save.
+     *
+     * @param operation {@link #LOAD} or {@link #SAVE}
+     * @param file      the path of the CSV file
+     * @return the started event
+     */
+    public static CsvFileEvent start(String operation, String file) {
+        CsvFileEvent event = new CsvFileEvent();
+        event.operation = operation;
+        event.file = file;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Marks the load or save as succeeded.
+     *
+     * @param rows the number of rows read or written
+     */
+    public void succeeded(long rows) {
+        this.rows = rows;
+        this.succeeded = true;
+    }
+
+    /**
+     * Stops timing and records the event, with the size of the file as it is now.
+     */
+    public void finish() {
+        end();
+        if (!shouldCommit()) return;
+        try {
+            bytes = Files.size(Path.of(file));
+        } catch (IOException | RuntimeException e) {
+            bytes = -1;
+        }
+        commit();
+    }
+}
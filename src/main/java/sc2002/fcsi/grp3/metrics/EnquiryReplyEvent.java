@@ -0,0 +1,57 @@
+package sc2002.fcsi.grp3.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The EnquiryReplyEvent class is a JDK Flight Recorder event for an officer or manager replying to an
+ * enquiry, including re-indexing it for search and the unreplied queues.
+ */
+@Name("sc2002.fcsi.grp3.EnquiryReply")
+@Label("Enquiry Reply")
+@Category({"BTO Management System", "Enquiries"})
+@Description("An enquiry replied to by an officer or manager")
+public final class EnquiryReplyEvent extends Event {
+
+    @Label("Enquiry ID")
+    int enquiryId;
+
+    @Label("Project ID")
+    int projectId;
+
+    @Label("Reply Length")
+    int replyLength;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Starts timing a reply.
+     *
+     * @param enquiryId   the enquiry ID
+     * @param projectId   the ID of the project the enquiry is about, or 0 if none
+     * @param replyLength the number of characters in the reply
+     * @return the started event
+     */
+    public static EnquiryReplyEvent start(int enquiryId, int projectId, int replyLength) {
+        EnquiryReplyEvent event = new EnquiryReplyEvent();
+        event.enquiryId = enquiryId;
+        event.projectId = projectId;
+        event.replyLength = replyLength;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops timing and records the event.
+     *
+     * @param succeeded whether the reply was saved
+     */
+    public void finish(boolean succeeded) {
+        this.succeeded = succeeded;
+        commit();
+    }
+}
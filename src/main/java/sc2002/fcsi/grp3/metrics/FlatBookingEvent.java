@@ -0,0 +1,57 @@
+package sc2002.fcsi.grp3.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The FlatBookingEvent class is a JDK Flight Recorder event for an officer booking a flat for a successful
+ * applicant: committing the reserved unit, marking the application as booked and recording the booking.
+ */
+@Name("sc2002.fcsi.grp3.FlatBooking")
+@Label("Flat Booking")
+@Category({"BTO Management System", "Bookings"})
+@Description("A flat booked by an officer for a successful applicant")
+public final class FlatBookingEvent extends Event {
+
+    @Label("Application ID")
+    int applicationId;
+
+    @Label("Project ID")
+    int projectId;
+
+    @Label("Flat Type")
+    String flatType;
+
+    @Label("Booked")
+    boolean booked;
+
+    /**
+     * Starts timing a booking.
+     *
+     * @param applicationId the application ID
+     * @param projectId     the ID of the project
+     * @param flatType      the flat type being booked
+     * @return the started event
+     */
+    public static FlatBookingEvent start(int applicationId, int projectId, String flatType) {
+        FlatBookingEvent event = new FlatBookingEvent();
+        event.applicationId = applicationId;
+        event.projectId = projectId;
+        event.flatType = flatType;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops timing and records the event.
+     *
+     * @param booked whether the flat was booked
+     */
+    public void finish(boolean booked) {
+        this.booked = booked;
+        commit();
+    }
+}
@@ -0,0 +1,76 @@
+package sc2002.fcsi.grp3.metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * The FlightRecording class runs a continuous JDK Flight Recorder recording of the system, with the JDK's
+ * own events plus the {@link CsvFileEvent}, {@link ApplicationStatusEvent}, {@link FlatBookingEvent} and
+ * {@link EnquiryReplyEvent} events.
+ * <p>
+ * The recording is a ring buffer: it keeps only the most recent events, up to a maximum age and size,
+ * dropping the oldest as new ones arrive, so it can stay on for as long as the system runs. It is written
+ * to its destination when the process exits, and can be dumped while running with
+ * {@code jcmd <pid> JFR.dump name=bto-continuous}.
+ */
+public final class FlightRecording {
+
+    /**
+     * The name of the recording, by which {@code jcmd} can find it.
+     */
+    public static final String NAME = "bto-continuous";
+
+    private final Recording recording;
+    private final Path destination;
+
+    /**
+     * Constructs a FlightRecording, without starting it.
+     *
+     * @param settings    the name of the JDK settings to record with, such as {@code default} or {@code profile}
+     * @param destination the file to write the recording to on exit
+     * @param maxAge      how long events are kept before being dropped
+     * @param maxSize     how many bytes of events are kept before the oldest are dropped
+     * @throws IOException    if the settings cannot be read or the destination cannot be created
+     * @throws ParseException if the settings cannot be parsed
+     */
+    public FlightRecording(String settings, Path destination, Duration maxAge, long maxSize)
+            throws IOException, ParseException {
+        Path parent = destination.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        this.destination = destination;
+        this.recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize);
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.enable(CsvFileEvent.class);
+        recording.enable(ApplicationStatusEvent.class);
+        recording.enable(FlatBookingEvent.class);
+        recording.enable(EnquiryReplyEvent.class);
+    }
+
+    /**
+     * Starts recording.
+     */
+    public void start() {
+        recording.start();
+    }
+
+    /**
+     * Gets the file the recording is written to.
+     *
+     * @return the destination
+     */
+    public Path getDestination() {
+        return destination;
+    }
+}
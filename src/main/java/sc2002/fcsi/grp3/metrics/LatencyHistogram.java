@@ -0,0 +1,132 @@
+package sc2002.fcsi.grp3.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LatencyHistogram class counts durations, in nanoseconds, in log-linear buckets in the manner of an
+ * HDR histogram. Values below 64 ns get a bucket each; above that, every power of two is split into 32
+ * buckets, so any percentile read back is within about 3% of the true value, from nanoseconds up to
+ * over an hour, in a fixed table of about a thousand counters.
+ * <p>
+ * Recording is lock-free: it increments one bucket, a count and a sum, and raises the maximum only when
+ * it is exceeded. Readers see each counter as it is at that moment, so a percentile read while values are
+ * being recorded may lag the newest ones by a few values.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+    // about 73 minutes; longer values are counted in the last bucket
+    private static final long MAX_TRACKABLE_NANOS = (1L << 42) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_NANOS) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds; negative values are counted as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(Math.min(value, MAX_TRACKABLE_NANOS)));
+        count.increment();
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Gets the number of durations recorded.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the total of the durations recorded.
+     *
+     * @return the sum in nanoseconds
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Gets the longest duration recorded.
+     *
+     * @return the maximum in nanoseconds, or 0 if nothing has been recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the durations at the given percentiles, read from one pass over the buckets.
+     * Each value is the top of the bucket the percentile falls in, but never more than the maximum.
+     *
+     * @param percentiles the percentiles, as fractions between 0 and 1, in ascending order
+     * @return the duration in nanoseconds at each percentile, or zeros if nothing has been recorded
+     */
+    public long[] getPercentiles(double... percentiles) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        long[] values = new long[percentiles.length];
+        if (total == 0) return values;
+
+        long highest = max.get();
+        long seen = 0;
+        int bucket = -1;
+        for (int p = 0; p < percentiles.length; p++) {
+            long rank = Math.max(1, (long) Math.ceil(percentiles[p] * total));
+            while (seen < rank && bucket < BUCKET_COUNT - 1) {
+                seen += counts[++bucket];
+            }
+            values[p] = Math.min(highestValueIn(bucket), highest);
+        }
+        return values;
+    }
+
+    /**
+     * Gets the bucket that counts a value.
+     *
+     * @param value a value between 0 and the largest trackable value
+     * @return the bucket index
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS + 1;
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT
+                + (int) (value >>> shift) - HALF_SUB_BUCKET_COUNT;
+    }
+
+    /**
+     * Gets the largest value counted by a bucket.
+     *
+     * @param index the bucket index
+     * @return the largest value in the bucket
+     */
+    private static long highestValueIn(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = offset % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,197 @@
+package sc2002.fcsi.grp3.metrics;
+
+import sc2002.fcsi.grp3.dto.MethodLatency;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * The MetricsRegistry class holds the metrics of the system: a {@link Timer} for every instrumented method,
+ * plus named {@link Counter}s and gauges. It is a singleton, like the data store, so that services can
+ * look up their timers once, in static fields, and pay only for the clock reads and a histogram update
+ * on each call.
+ * <p>
+ * The metrics can be listed for the admin menu, or written in the Prometheus text format, in which the
+ * timers appear as the summary {@code service_method_latency_seconds} with one series per method.
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private static final String LATENCY_NAME = "service_method_latency_seconds";
+    private static final String LATENCY_HELP = "Time taken by each public service method.";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<String, Timer> timers = new LinkedHashMap<>();
+    private final Map<String, Counter> counters = new LinkedHashMap<>();
+    private final Map<String, String> help = new LinkedHashMap<>();
+    private final Map<String, Map<String, DoubleSupplier>> gauges = new LinkedHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Retrieves the singleton instance of MetricsRegistry.
+     *
+     * @return the MetricsRegistry instance
+     */
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Retrieves the timer of a method, creating it on first use. Overloads of a method share one timer.
+     *
+     * @param component the class the method belongs to
+     * @param method    the method name
+     * @return the timer
+     */
+    public synchronized Timer timer(String component, String method) {
+        return timers.computeIfAbsent(component + "." + method, key -> new Timer(component, method));
+    }
+
+    /**
+     * Retrieves a counter, creating it on first use.
+     *
+     * @param name        the Prometheus name of the counter, ending in {@code _total}
+     * @param description what the counter counts
+     * @return the counter
+     */
+    public synchronized Counter counter(String name, String description) {
+        help.putIfAbsent(name, description);
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Registers a gauge, whose value is read whenever the metrics are listed or written.
+     * Registering a gauge again with the same name and labels replaces it.
+     *
+     * @param name        the Prometheus name of the gauge
+     * @param description what the gauge measures
+     * @param labels      the labels of this series, such as {@code operation="report"}, or an empty string
+     * @param value       supplies the current value
+     */
+    public synchronized void gauge(String name, String description, String labels, DoubleSupplier value) {
+        help.putIfAbsent(name, description);
+        gauges.computeIfAbsent(name, key -> new LinkedHashMap<>()).put(labels, value);
+    }
+
+    /**
+     * Retrieves the latency of every method that has been called, slowest in total first.
+     *
+     * @return the method latencies
+     */
+    public List<MethodLatency> getMethodLatencies() {
+        List<MethodLatency> latencies = new ArrayList<>();
+        for (Timer timer : timers()) {
+            LatencyHistogram histogram = timer.getHistogram();
+            long count = histogram.getCount();
+            if (count == 0) continue;
+            long[] percentiles = histogram.getPercentiles(0.5, 0.99);
+            double total = histogram.getSum() / 1e6;
+            latencies.add(new MethodLatency(timer.getComponent(), timer.getMethod(), count, total, total / count,
+                    percentiles[0] / 1e6, percentiles[1] / 1e6, histogram.getMax() / 1e6));
+        }
+        latencies.sort(Comparator.comparingDouble(MethodLatency::totalMillis).reversed());
+        return latencies;
+    }
+
+    /**
+     * Retrieves the current value of every counter and gauge.
+     *
+     * @return the values by name and labels, such as {@code service_executor_queued{operation="report"}}
+     */
+    public synchronized Map<String, Double> getValues() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        counters.forEach((name, counter) -> values.put(name, (double) counter.get()));
+        gauges.forEach((name, series) -> series.forEach((labels, value) ->
+                values.put(labels.isEmpty() ? name : name + "{" + labels + "}", value.getAsDouble())));
+        return values;
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format.
+     *
+     * @param out the writer to write to
+     * @throws IOException if writing fails
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        StringBuilder text = new StringBuilder();
+        text.append("# HELP ").append(LATENCY_NAME).append(' ').append(LATENCY_HELP).append('\n');
+        text.append("# TYPE ").append(LATENCY_NAME).append(" summary\n");
+        for (Timer timer : timers()) {
+            LatencyHistogram histogram = timer.getHistogram();
+            String labels = "component=\"" + escape(timer.getComponent()) + "\",method=\""
+                    + escape(timer.getMethod()) + "\"";
+            long[] values = histogram.getPercentiles(QUANTILES);
+            for (int i = 0; i < QUANTILES.length; i++) {
+                text.append(LATENCY_NAME).append('{').append(labels).append(",quantile=\"").append(QUANTILES[i])
+                        .append("\"} ").append(seconds(values[i])).append('\n');
+            }
+            text.append(LATENCY_NAME).append("_sum{").append(labels).append("} ")
+                    .append(seconds(histogram.getSum())).append('\n');
+            text.append(LATENCY_NAME).append("_count{").append(labels).append("} ")
+                    .append(histogram.getCount()).append('\n');
+        }
+
+        synchronized (this) {
+            counters.forEach((name, counter) -> {
+                text.append("# HELP ").append(name).append(' ').append(help.get(name)).append('\n');
+                text.append("# TYPE ").append(name).append(" counter\n");
+                text.append(name).append(' ').append(counter.get()).append('\n');
+            });
+            gauges.forEach((name, series) -> {
+                text.append("# HELP ").append(name).append(' ').append(help.get(name)).append('\n');
+                text.append("# TYPE ").append(name).append(" gauge\n");
+                series.forEach((labels, value) -> text.append(name)
+                        .append(labels.isEmpty() ? "" : "{" + labels + "}").append(' ')
+                        .append(format(value.getAsDouble())).append('\n'));
+            });
+        }
+        out.write(text.toString());
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format to a file, replacing it in one step so
+     * that a scraper never reads a half-written file.
+     *
+     * @param target the file to write
+     * @throws IOException if writing fails
+     */
+    public void writePrometheus(Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writePrometheus(out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private synchronized List<Timer> timers() {
+        return new ArrayList<>(timers.values());
+    }
+
+    private static String seconds(long nanos) {
+        return format(nanos / 1e9);
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) return String.valueOf((long) value);
+        return Double.toString(value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
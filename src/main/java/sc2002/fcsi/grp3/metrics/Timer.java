@@ -0,0 +1,91 @@
+package sc2002.fcsi.grp3.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * The Timer class measures how long one method takes. A call is measured by passing it to
+ * {@link #time(Supplier)} or {@link #run(Runnable)}, which record its duration even if it throws.
+ */
+public final class Timer {
+
+    private final String component;
+    private final String method;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * Constructs a Timer for a method.
+     *
+     * @param component the class the method belongs to
+     * @param method    the method name
+     */
+    Timer(String component, String method) {
+        this.component = component;
+        this.method = method;
+    }
+
+    /**
+     * Calls a method and records how long it took.
+     *
+     * @param call the call to measure
+     * @param <T>  the result type of the call
+     * @return the result of the call
+     */
+    public <T> T time(Supplier<T> call) {
+        long startNanos = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            record(startNanos);
+        }
+    }
+
+    /**
+     * Calls a method that returns nothing and records how long it took.
+     *
+     * @param call the call to measure
+     */
+    public void run(Runnable call) {
+        long startNanos = System.nanoTime();
+        try {
+            call.run();
+        } finally {
+            record(startNanos);
+        }
+    }
+
+    /**
+     * Records a call that started at the given time and has just finished.
+     *
+     * @param startNanos the {@link System#nanoTime()} at which the call started
+     */
+    public void record(long startNanos) {
+        histogram.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Gets the class the timed method belongs to.
+     *
+     * @return the component name
+     */
+    public String getComponent() {
+        return component;
+    }
+
+    /**
+     * Gets the name of the timed method.
+     *
+     * @return the method name
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the histogram of the method's durations.
+     *
+     * @return the histogram
+     */
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+}
@@ -1,9 +1,12 @@
 package sc2002.fcsi.grp3.model;
 
 import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.model.enums.EntityType;
 import sc2002.fcsi.grp3.model.enums.FlatType;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The Application class represents an application submitted by a user for a project.
@@ -15,9 +18,24 @@ public class Application {
     private final Project project;
     private final User applicant;
     private FlatType flatType;
-    private ApplicationStatus status;
+    private volatile ApplicationStatus status;
     private final LocalDate submittedAt;
+    private volatile ApplicationStatus statusBeforeWithdrawal;
     private static int nextId;
+    private static final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The ChangeListener interface is notified after the status or flat type of any application changes.
+     */
+    public interface ChangeListener {
+
+        /**
+         * Called after an application's status or flat type has changed.
+         *
+         * @param application the application that changed
+         */
+        void applicationChanged(Application application);
+    }
 
     /**
      * Constructs an Application with all specified details.
@@ -45,6 +63,31 @@ public class Application {
         this.submittedAt = submittedAt;
     }
 
+    /**
+     * Constructs an Application with all specified details, including the status it had before a
+     * withdrawal was requested.
+     *
+     * @param id                     the unique ID of the application
+     * @param project                the project the application is for
+     * @param applicant              the user submitting the application
+     * @param flatType               the type of flat being applied for
+     * @param status                 the current status of the application
+     * @param submittedAt            the date the application was submitted
+     * @param statusBeforeWithdrawal the status before the withdrawal request, or null if none was made
+     */
+    public Application(
+            int id,
+            Project project,
+            User applicant,
+            FlatType flatType,
+            ApplicationStatus status,
+            LocalDate submittedAt,
+            ApplicationStatus statusBeforeWithdrawal
+    ) {
+        this(id, project, applicant, flatType, status, submittedAt);
+        this.statusBeforeWithdrawal = statusBeforeWithdrawal;
+    }
+
     /**
      * Constructs an Application with default status and submission date.
      * The application ID is auto-incremented.
@@ -127,6 +170,8 @@ public class Application {
      */
     public void setFlatType(FlatType flatType) {
         this.flatType = flatType;
+        ChangeTracker.markDirty(EntityType.APPLICATIONS);
+        notifyListeners();
     }
 
     /**
@@ -135,7 +180,91 @@ public class Application {
      * @param status the status to set
      */
     public void setStatus(ApplicationStatus status) {
-        this.status = status;
+        synchronized (this) {
+            this.status = status;
+        }
+        ChangeTracker.markDirty(EntityType.APPLICATIONS);
+        notifyListeners();
+    }
+
+    /**
+     * Sets the status of the application only if it still has the expected status.
+     * Two sessions acting on the same application race through this check, so only one of them
+     * can move it on, e.g. from PENDING to SUCCESSFUL or from SUCCESSFUL to BOOKED.
+     *
+     * @param expected the status the application must have
+     * @param status   the status to set
+     * @return true if the status was set, false if the application no longer had the expected status
+     */
+    public boolean compareAndSetStatus(ApplicationStatus expected, ApplicationStatus status) {
+        synchronized (this) {
+            if (this.status != expected) {
+                return false;
+            }
+            this.status = status;
+        }
+        ChangeTracker.markDirty(EntityType.APPLICATIONS);
+        notifyListeners();
+        return true;
+    }
+
+    /**
+     * Marks the application as withdrawal requested, remembering the status it had before
+     * so that any flat unit it holds can be released once the withdrawal is approved.
+     * An application that is already withdrawn, or waiting for a withdrawal decision, is left as it is.
+     *
+     * @return true if the withdrawal was requested, false if the application was already being withdrawn
+     */
+    public boolean requestWithdrawal() {
+        synchronized (this) {
+            if (status == ApplicationStatus.WITHDRAWAL_REQUESTED || status == ApplicationStatus.WITHDRAWN) {
+                return false;
+            }
+            this.statusBeforeWithdrawal = status;
+            this.status = ApplicationStatus.WITHDRAWAL_REQUESTED;
+        }
+        ChangeTracker.markDirty(EntityType.APPLICATIONS);
+        notifyListeners();
+        return true;
+    }
+
+    /**
+     * Restores a withdrawal request recorded in the journal, when replaying it after a crash.
+     *
+     * @param statusBeforeWithdrawal the status the application had before the request
+     */
+    public void restoreWithdrawalRequest(ApplicationStatus statusBeforeWithdrawal) {
+        synchronized (this) {
+            this.statusBeforeWithdrawal = statusBeforeWithdrawal;
+            this.status = ApplicationStatus.WITHDRAWAL_REQUESTED;
+        }
+        ChangeTracker.markDirty(EntityType.APPLICATIONS);
+        notifyListeners();
+    }
+
+    /**
+     * Gets the status the application had before a withdrawal was requested.
+     * It is saved with the application, so it survives a restart.
+     *
+     * @return the previous status, or null if no withdrawal was requested or it was saved by an older version
+     */
+    public ApplicationStatus getStatusBeforeWithdrawal() {
+        return statusBeforeWithdrawal;
+    }
+
+    /**
+     * Registers a listener to be notified whenever the status or flat type of an application changes.
+     *
+     * @param listener the listener to add
+     */
+    public static void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    private void notifyListeners() {
+        for (ChangeListener listener : listeners) {
+            listener.applicationChanged(this);
+        }
     }
 
     /**
@@ -147,6 +276,18 @@ public class Application {
         nextId = id;
     }
 
+    /**
+     * Checks if the application holds a reserved unit of its flat type: it has been approved but not booked,
+     * including while a withdrawal of such an application is waiting for a decision.
+     *
+     * @return true if the application holds a reservation
+     */
+    public boolean holdsReservation() {
+        return status == ApplicationStatus.SUCCESSFUL
+                || (status == ApplicationStatus.WITHDRAWAL_REQUESTED
+                && statusBeforeWithdrawal == ApplicationStatus.SUCCESSFUL);
+    }
+
     /**
      * Checks if the application is active.
      * An application is considered active if its status is PENDING or SUCCESSFUL.
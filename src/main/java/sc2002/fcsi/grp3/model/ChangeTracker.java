@@ -0,0 +1,125 @@
+package sc2002.fcsi.grp3.model;
+
+import sc2002.fcsi.grp3.model.enums.EntityType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The ChangeTracker class records which kinds of entities have changed since they were last saved.
+ * Model setters and DataStore mutations mark their entity type as dirty, and the SystemSaver
+ * only rewrites the files of dirty entity types.
+ * <p>
+ * Every entity type also has a version number that goes up on every change a cache may depend on and is
+ * never reset, so that caches built from the entities can tell whether they are still current.
+ * <p>
+ * A separate details version goes up only when a detail that reports copy changes: a user's name, age or
+ * marital status, or a project's name or neighbourhood. Reports can then ignore the many other changes to
+ * users and projects, such as a flat being reserved or a password being rehashed.
+ */
+public final class ChangeTracker {
+
+    private static final Set<EntityType> dirty = ConcurrentHashMap.newKeySet();
+    private static final Map<EntityType, AtomicLong> versions = new EnumMap<>(EntityType.class);
+    private static final AtomicLong detailsVersion = new AtomicLong();
+
+    static {
+        for (EntityType type : EntityType.values()) {
+            versions.put(type, new AtomicLong());
+        }
+    }
+
+    private ChangeTracker() {
+    }
+
+    /**
+     * Marks an entity type as changed.
+     *
+     * @param type the entity type that changed
+     */
+    public static void markDirty(EntityType type) {
+        versions.get(type).incrementAndGet();
+        dirty.add(type);
+    }
+
+    /**
+     * Marks an entity type as having unsaved changes without raising its version, for changes that no
+     * cache depends on, such as the unit count of a flat that still has units left or a user's password.
+     *
+     * @param type the entity type that changed
+     */
+    public static void markUnsaved(EntityType type) {
+        dirty.add(type);
+    }
+
+    /**
+     * Records that every entity of a type was replaced, e.g. by loading them from file.
+     * The version goes up, but the type is not marked as having unsaved changes.
+     *
+     * @param type the entity type that was replaced
+     */
+    public static void markReplaced(EntityType type) {
+        versions.get(type).incrementAndGet();
+        if (type == EntityType.USERS || type == EntityType.PROJECTS) {
+            detailsVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records that a detail copied into reports changed: a user's name, age or marital status,
+     * or a project's name or neighbourhood.
+     */
+    public static void markDetailsChanged() {
+        detailsVersion.incrementAndGet();
+    }
+
+    /**
+     * Retrieves the version of an entity type, which goes up every time an entity of that type changes.
+     *
+     * @param type the entity type
+     * @return the current version
+     */
+    public static long getVersion(EntityType type) {
+        return versions.get(type).get();
+    }
+
+    /**
+     * Retrieves the details version, which goes up every time a detail copied into reports changes.
+     *
+     * @return the current details version
+     */
+    public static long getDetailsVersion() {
+        return detailsVersion.get();
+    }
+
+    /**
+     * Checks whether an entity type has changed since it was last saved.
+     *
+     * @param type the entity type to check
+     * @return true if the entity type has unsaved changes
+     */
+    public static boolean isDirty(EntityType type) {
+        return dirty.contains(type);
+    }
+
+    /**
+     * Clears the dirty flag of an entity type, e.g. just before it is saved.
+     * Changes made while the save is running mark the type dirty again.
+     *
+     * @param type the entity type to clear
+     * @return true if the entity type was dirty
+     */
+    public static boolean clearDirty(EntityType type) {
+        return dirty.remove(type);
+    }
+
+    /**
+     * Clears every dirty flag, e.g. after the data has been loaded from file.
+     */
+    public static void clearAll() {
+        dirty.clear();
+    }
+}
@@ -1,6 +1,7 @@
 package sc2002.fcsi.grp3.model;
 
 import sc2002.fcsi.grp3.model.enums.EnquiryStatus;
+import sc2002.fcsi.grp3.model.enums.EntityType;
 import java.time.LocalDate;
 
 /**
@@ -176,6 +177,7 @@ public class Enquiry {
      */
     public void setTitle(String title) {
         this.title = title;
+        ChangeTracker.markDirty(EntityType.ENQUIRIES);
     }
 
     /**
@@ -185,6 +187,7 @@ public class Enquiry {
      */
     public void setContent(String content) {
         this.content = content;
+        ChangeTracker.markDirty(EntityType.ENQUIRIES);
     }
 
     /**
@@ -194,6 +197,7 @@ public class Enquiry {
      */
     public void setReply(String reply) {
         this.reply = reply;
+        ChangeTracker.markDirty(EntityType.ENQUIRIES);
     }
 
     /**
@@ -203,6 +207,7 @@ public class Enquiry {
      */
     public void setCreatedBy(User user) {
         this.createdBy = user;
+        ChangeTracker.markDirty(EntityType.ENQUIRIES);
     }
 
     /**
@@ -212,6 +217,7 @@ public class Enquiry {
      */
     public void setRelatedProject(Project project) {
         this.relatedProject = project;
+        ChangeTracker.markDirty(EntityType.ENQUIRIES);
     }
 
     /**
@@ -221,6 +227,7 @@ public class Enquiry {
      */
     public void setRepliedBy(User user) {
         this.repliedBy = user;
+        ChangeTracker.markDirty(EntityType.ENQUIRIES);
     }
 
     /**
@@ -230,6 +237,7 @@ public class Enquiry {
      */
     public void setStatus(EnquiryStatus status) {
         this.status = status;
+        ChangeTracker.markDirty(EntityType.ENQUIRIES);
     }
 
     /**
@@ -239,6 +247,7 @@ public class Enquiry {
      */
     public void setCreatedAt(LocalDate date) {
         this.createdAt = date;
+        ChangeTracker.markDirty(EntityType.ENQUIRIES);
     }
 
     /**
@@ -248,6 +257,7 @@ public class Enquiry {
      */
     public void setLastUpdatedAt(LocalDate date) {
         this.lastUpdatedAt = date;
+        ChangeTracker.markDirty(EntityType.ENQUIRIES);
     }
 
     /**
@@ -1,16 +1,27 @@
 package sc2002.fcsi.grp3.model;
 
+import sc2002.fcsi.grp3.model.enums.EntityType;
 import sc2002.fcsi.grp3.model.enums.FlatType;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * The Flat class represents a flat in a housing project.
  * It contains details such as the flat type, available units, and selling price.
+ * <p>
+ * Inventory is kept in two atomic counters so that concurrent approvals and bookings never oversell:
+ * <ul>
+ *     <li><b>Available</b>: units that are still free to be allocated</li>
+ *     <li><b>Reserved</b>: units held for successful applications that have not been booked yet</li>
+ * </ul>
+ * A manager approval reserves a unit, an officer booking commits it, and a withdrawal releases it.
  */
 public class Flat {
 
     private final FlatType type;
-    private int unitsAvailable;
-    private final float sellingPrice;
+    private final AtomicInteger unitsAvailable;
+    private final AtomicInteger unitsReserved = new AtomicInteger();
+    private volatile float sellingPrice;
 
     /**
      * Constructs a Flat with the specified type, available units, and selling price.
@@ -21,7 +32,7 @@ public class Flat {
      */
     public Flat(FlatType type, int unitsAvailable, float sellingPrice) {
         this.type = type;
-        this.unitsAvailable = unitsAvailable;
+        this.unitsAvailable = new AtomicInteger(unitsAvailable);
         this.sellingPrice = sellingPrice;
     }
 
@@ -36,11 +47,21 @@ public class Flat {
 
     /**
      * Gets the number of units available for the flat.
+     * Units that are reserved for successful applications are not counted.
      *
      * @return the number of available units
      */
     public int getUnitsAvailable() {
-        return unitsAvailable;
+        return unitsAvailable.get();
+    }
+
+    /**
+     * Gets the number of units reserved for successful applications that are not booked yet.
+     *
+     * @return the number of reserved units
+     */
+    public int getUnitsReserved() {
+        return unitsReserved.get();
     }
 
     /**
@@ -52,16 +73,147 @@ public class Flat {
         return sellingPrice;
     }
 
+    /**
+     * Sets the number of available units, e.g. when a manager edits the flats of a project.
+     * Units reserved for successful applications are kept, so those applications can still be booked.
+     *
+     * @param units the number of available units
+     */
+    public void setUnitsAvailable(int units) {
+        if (unitsAvailable.getAndSet(units) != units) {
+            ChangeTracker.markDirty(EntityType.PROJECTS);
+        }
+    }
+
+    /**
+     * Sets the selling price of the flat.
+     *
+     * @param sellingPrice the selling price
+     */
+    public void setSellingPrice(float sellingPrice) {
+        if (Float.compare(this.sellingPrice, sellingPrice) != 0) {
+            this.sellingPrice = sellingPrice;
+            ChangeTracker.markDirty(EntityType.PROJECTS);
+        }
+    }
+
     /**
      * Reduces the number of available units by one if units are available.
+     * The unit is taken without a reservation.
      *
      * @return true if the operation was successful, false otherwise
      */
     public boolean reduceUnitsAvailable() {
-        if (unitsAvailable > 0) {
-            unitsAvailable--;
-            return true;
+        int left = decrementIfPositive(unitsAvailable);
+        if (left < 0) {
+            return false;
+        }
+        availableChanged(left == 0);
+        return true;
+    }
+
+    /**
+     * Reserves one available unit for a successful application.
+     *
+     * @return true if a unit was reserved, false if no units are available
+     */
+    public boolean reserveUnit() {
+        int left = decrementIfPositive(unitsAvailable);
+        if (left < 0) {
+            return false;
+        }
+        unitsReserved.incrementAndGet();
+        availableChanged(left == 0);
+        return true;
+    }
+
+    /**
+     * Commits a reserved unit when the flat is booked.
+     * The unit leaves the inventory for good.
+     *
+     * @return true if a reservation was committed, false if there was no reservation
+     */
+    public boolean commitReservation() {
+        return decrementIfPositive(unitsReserved) >= 0;
+    }
+
+    /**
+     * Releases a reserved unit back to the available pool, e.g. when a successful application is withdrawn.
+     *
+     * @return true if a reservation was released, false if there was no reservation
+     */
+    public boolean releaseReservation() {
+        if (decrementIfPositive(unitsReserved) < 0) {
+            return false;
+        }
+        availableChanged(unitsAvailable.incrementAndGet() == 1);
+        return true;
+    }
+
+    /**
+     * Returns a booked unit to the available pool, e.g. when a booked application is withdrawn.
+     */
+    public void returnUnit() {
+        availableChanged(unitsAvailable.incrementAndGet() == 1);
+    }
+
+    /**
+     * Records a reservation that was made before the data was last saved, or puts back a reservation
+     * whose commit has been undone.
+     * The available count already excludes such units, so only the reserved count changes.
+     */
+    public void restoreReservation() {
+        unitsReserved.incrementAndGet();
+    }
+
+    /**
+     * Sets the number of available units to a value recorded in the journal, when replaying it after a crash.
+     *
+     * @param units the number of available units
+     */
+    public void restoreUnitsAvailable(int units) {
+        if (unitsAvailable.getAndSet(units) != units) {
+            ChangeTracker.markDirty(EntityType.PROJECTS);
+        }
+    }
+
+    /**
+     * Forgets every reservation, so that they can be restored from the applications that hold them.
+     */
+    public void clearReservations() {
+        unitsReserved.set(0);
+    }
+
+    /**
+     * Records a change to the number of available units, so that the project is saved.
+     * The project version only goes up when the flat runs out or gets its first unit back: the lists of
+     * visible projects depend on whether units are left, but nothing caches the count itself, so every
+     * approval, booking and withdrawal would otherwise rebuild the project caches.
+     *
+     * @param soldOutChanged true if the flat just ran out of units or just got one back
+     */
+    private static void availableChanged(boolean soldOutChanged) {
+        if (soldOutChanged) {
+            ChangeTracker.markDirty(EntityType.PROJECTS);
+        } else {
+            ChangeTracker.markUnsaved(EntityType.PROJECTS);
         }
-        return false;
+    }
+
+    /**
+     * Atomically decrements a counter if it is positive.
+     *
+     * @param counter the counter to decrement
+     * @return the decremented value, or -1 if the counter was already zero
+     */
+    private static int decrementIfPositive(AtomicInteger counter) {
+        int current;
+        do {
+            current = counter.get();
+            if (current <= 0) {
+                return -1;
+            }
+        } while (!counter.compareAndSet(current, current - 1));
+        return current - 1;
     }
 }
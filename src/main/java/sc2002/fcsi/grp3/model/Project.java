@@ -1,5 +1,6 @@
 package sc2002.fcsi.grp3.model;
 
+import sc2002.fcsi.grp3.model.enums.EntityType;
 import sc2002.fcsi.grp3.model.enums.FlatType;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -218,6 +219,19 @@ public class Project {
                 .anyMatch(flat -> flat.getType() == type && flat.getUnitsAvailable() > 0);
     }
 
+    /**
+     * Gets the flat of the specified type in this project.
+     *
+     * @param type the flat type to look for
+     * @return the flat, or null if the project has no flat of that type
+     */
+    public Flat getFlat(FlatType type) {
+        return flats.stream()
+                .filter(flat -> flat.getType() == type)
+                .findFirst()
+                .orElse(null);
+    }
+
     // Setters
 
     /**
@@ -227,6 +241,8 @@ public class Project {
      */
     public void setName(String name) {
         this.name = name;
+        ChangeTracker.markDirty(EntityType.PROJECTS);
+        ChangeTracker.markDetailsChanged();
     }
 
     /**
@@ -236,6 +252,8 @@ public class Project {
      */
     public void setNeighbourhood(String neighbourhood) {
         this.neighbourhood = neighbourhood;
+        ChangeTracker.markDirty(EntityType.PROJECTS);
+        ChangeTracker.markDetailsChanged();
     }
 
     /**
@@ -245,6 +263,7 @@ public class Project {
      */
     public void setVisible(boolean visible) {
         isVisible = visible;
+        ChangeTracker.markDirty(EntityType.PROJECTS);
     }
 
     /**
@@ -254,6 +273,43 @@ public class Project {
      */
     public void setFlats(List<Flat> flats) {
         this.flats = flats;
+        ChangeTracker.markDirty(EntityType.PROJECTS);
+    }
+
+    /**
+     * Updates the flats of the project to the given types, unit counts and prices.
+     * A flat whose type the project already has is updated in place, so the units it has reserved for
+     * successful applications stay reserved; flats of new types are added. A flat type can only be dropped
+     * if none of its units are reserved.
+     * <p>
+     * The project gets a new flat list rather than changing the old one, so a save reading the old list
+     * at the same time is not disturbed.
+     *
+     * @param updated the new flat details
+     * @return true if the flats were updated, false if a dropped flat type still has reserved units
+     */
+    public boolean updateFlats(List<Flat> updated) {
+        for (Flat flat : flats) {
+            boolean kept = updated.stream().anyMatch(f -> f.getType() == flat.getType());
+            if (!kept && flat.getUnitsReserved() > 0) {
+                return false;
+            }
+        }
+
+        List<Flat> result = new ArrayList<>(updated.size());
+        for (Flat flat : updated) {
+            Flat existing = getFlat(flat.getType());
+            if (existing == null) {
+                result.add(flat);
+            } else {
+                existing.setUnitsAvailable(flat.getUnitsAvailable());
+                existing.setSellingPrice(flat.getSellingPrice());
+                result.add(existing);
+            }
+        }
+        this.flats = result;
+        ChangeTracker.markDirty(EntityType.PROJECTS);
+        return true;
     }
 
     /**
@@ -263,6 +319,7 @@ public class Project {
      */
     public void setApplicationOpeningDate(LocalDate applicationOpeningDate) {
         this.applicationOpeningDate = applicationOpeningDate;
+        ChangeTracker.markDirty(EntityType.PROJECTS);
     }
 
     /**
@@ -272,6 +329,7 @@ public class Project {
      */
     public void setApplicationClosingDate(LocalDate applicationClosingDate) {
         this.applicationClosingDate = applicationClosingDate;
+        ChangeTracker.markDirty(EntityType.PROJECTS);
     }
 
     /**
@@ -280,7 +338,8 @@ public class Project {
      * @param nric the manager's NRIC to set
      */
     public void setManagerNric(String nric) {
-        this.managerNric = managerNric;
+        this.managerNric = nric;
+        ChangeTracker.markDirty(EntityType.PROJECTS);
     }
 
     /**
@@ -290,6 +349,7 @@ public class Project {
      */
     public void setTotalOfficerSlots(int totalOfficerSlots) {
         this.totalOfficerSlots = totalOfficerSlots;
+        ChangeTracker.markDirty(EntityType.PROJECTS);
     }
 
     /**
@@ -299,6 +359,7 @@ public class Project {
      */
     public void setOfficerNrics(List<String> officerNrics) {
         this.officerNrics = officerNrics;
+        ChangeTracker.markDirty(EntityType.PROJECTS);
     }
 
     /**
@@ -326,6 +387,7 @@ public class Project {
         }
 
         officerNrics.add(nric);
+        ChangeTracker.markDirty(EntityType.PROJECTS);
         return true;
     }
 
@@ -3,6 +3,7 @@ package sc2002.fcsi.grp3.model;
 import sc2002.fcsi.grp3.model.enums.FlatType;
 import java.time.LocalDate;
 import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.model.enums.EntityType;
 import sc2002.fcsi.grp3.model.enums.RegistrationStatus;
 
 /**
@@ -121,6 +122,7 @@ public class Registration {
      */
     public void setSubmittedAt(LocalDate submittedAt) {
         this.submittedAt = submittedAt;
+        ChangeTracker.markDirty(EntityType.REGISTRATIONS);
     }
 
     /**
@@ -130,6 +132,7 @@ public class Registration {
      */
     public void setStatus(RegistrationStatus status) {
         this.status = status;
+        ChangeTracker.markDirty(EntityType.REGISTRATIONS);
     }
 
     /**
@@ -139,6 +142,7 @@ public class Registration {
      */
     public void setApplicant(User applicant) {
         this.applicant = applicant;
+        ChangeTracker.markDirty(EntityType.REGISTRATIONS);
     }
 
     /**
@@ -148,6 +152,7 @@ public class Registration {
      */
     public void setProject(Project project) {
         this.project = project;
+        ChangeTracker.markDirty(EntityType.REGISTRATIONS);
     }
 
     /**
@@ -157,6 +162,7 @@ public class Registration {
      */
     public void setId(String id) {
         this.id = id;
+        ChangeTracker.markDirty(EntityType.REGISTRATIONS);
     }
 
     /**
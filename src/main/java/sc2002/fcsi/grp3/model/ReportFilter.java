@@ -134,33 +134,46 @@ public class ReportFilter {
      * @return {@code true} if the entry satisfies all non-null/non-zero filter fields; {@code false} otherwise
      */
     public boolean matches(FlatBookingReportRow entry) {
+        return matches(entry.getApplicantAge(), entry.getMaritalStatus(), entry.getFlatType(), entry.getNeighbourhood());
+    }
+
+    /**
+     * Checks whether a booking with the given details matches the filter criteria, by the same rules as
+     * {@link #matches(FlatBookingReportRow)}, without building a report row.
+     *
+     * @param applicantAge  the age of the applicant
+     * @param maritalStatus the marital status of the applicant
+     * @param flatType      the type of flat booked
+     * @param neighbourhood the neighbourhood of the project
+     * @return {@code true} if the booking satisfies all non-null/non-zero filter fields; {@code false} otherwise
+     */
+    public boolean matches(int applicantAge, MaritalStatus maritalStatus, FlatType flatType, String neighbourhood) {
         // Match marital status (if filter is set)
-        if (maritalStatus != null && entry.getMaritalStatus() != maritalStatus) {
+        if (this.maritalStatus != null && maritalStatus != this.maritalStatus) {
             return false;
         }
 
         // Match flat type (if filter is set)
-        if (flatTypes != null && !flatTypes.isEmpty() && !flatTypes.contains(entry.getFlatType())) {
+        if (flatTypes != null && !flatTypes.isEmpty() && !flatTypes.contains(flatType)) {
             return false;
         }
 
         // Match minimum age (if minAge filter is set)
-        if (minAge != null && entry.getApplicantAge() < minAge) {
+        if (minAge != null && applicantAge < minAge) {
             return false;
         }
 
         // Match maximum age (if maxAge filter is set)
-        if (maxAge != null && entry.getApplicantAge() > maxAge) {
+        if (maxAge != null && applicantAge > maxAge) {
             return false;
         }
 
         // Match neighbourhood (if filter is set)
-        if (neighbourhood != null && !neighbourhood.isBlank()
-                && !entry.getNeighbourhood().equalsIgnoreCase(neighbourhood)) {
+        if (this.neighbourhood != null && !this.neighbourhood.isBlank()
+                && !neighbourhood.equalsIgnoreCase(this.neighbourhood)) {
             return false;
         }
 
         return true;
     }
 }
-
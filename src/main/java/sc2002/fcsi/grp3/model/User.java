@@ -1,5 +1,6 @@
 package sc2002.fcsi.grp3.model;
 
+import sc2002.fcsi.grp3.model.enums.EntityType;
 import sc2002.fcsi.grp3.model.enums.MaritalStatus;
 import sc2002.fcsi.grp3.model.role.IRole;
 
@@ -138,6 +139,8 @@ public class User {
      */
     public void setName(String name) {
         this.name = name;
+        ChangeTracker.markDirty(EntityType.USERS);
+        ChangeTracker.markDetailsChanged();
     }
 
     /**
@@ -147,6 +150,8 @@ public class User {
      */
     public void setAge(int age) {
         this.age = age;
+        ChangeTracker.markDirty(EntityType.USERS);
+        ChangeTracker.markDetailsChanged();
     }
 
     /**
@@ -156,6 +161,8 @@ public class User {
      */
     public void setPassword(String password) {
         this.password =  password;
+        // no cache depends on passwords, so a rehash on login does not rebuild the user name index
+        ChangeTracker.markUnsaved(EntityType.USERS);
     }
 
     /**
@@ -165,6 +172,8 @@ public class User {
      */
     public void setMaritalStatus(MaritalStatus maritalStatus) {
         this.maritalStatus = maritalStatus;
+        ChangeTracker.markDirty(EntityType.USERS);
+        ChangeTracker.markDetailsChanged();
     }
 
     /**
@@ -174,6 +183,7 @@ public class User {
      */
     public void setRole(IRole role) {
         this.role = role;
+        ChangeTracker.markDirty(EntityType.USERS);
     }
 
     /**
@@ -0,0 +1,87 @@
+package sc2002.fcsi.grp3.model.enums;
+
+/**
+ * Represents the age bands that applicants are grouped into in reports.
+ */
+public enum AgeBand {
+
+    /**
+     * Represents applicants younger than 21.
+     */
+    UNDER_21("Under 21", 0, 20),
+
+    /**
+     * Represents applicants aged 21 to 34.
+     */
+    AGE_21_TO_34("21-34", 21, 34),
+
+    /**
+     * Represents applicants aged 35 to 44.
+     */
+    AGE_35_TO_44("35-44", 35, 44),
+
+    /**
+     * Represents applicants aged 45 to 54.
+     */
+    AGE_45_TO_54("45-54", 45, 54),
+
+    /**
+     * Represents applicants aged 55 to 64.
+     */
+    AGE_55_TO_64("55-64", 55, 64),
+
+    /**
+     * Represents applicants aged 65 and above.
+     */
+    AGE_65_AND_ABOVE("65 and above", 65, Integer.MAX_VALUE);
+
+    private final String displayName;
+    private final int minAge;
+    private final int maxAge;
+
+    AgeBand(String displayName, int minAge, int maxAge) {
+        this.displayName = displayName;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Returns a user-friendly display name for the age band.
+     *
+     * @return the display name of the age band
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Retrieves the age band that an age falls into.
+     *
+     * @param age the age
+     * @return the matching age band
+     */
+    public static AgeBand of(int age) {
+        for (AgeBand band : values()) {
+            if (age <= band.maxAge) return band;
+        }
+        return AGE_65_AND_ABOVE;
+    }
+
+    /**
+     * Gets the youngest age in the band.
+     *
+     * @return the minimum age
+     */
+    public int getMinAge() {
+        return minAge;
+    }
+
+    /**
+     * Gets the oldest age in the band.
+     *
+     * @return the maximum age
+     */
+    public int getMaxAge() {
+        return maxAge;
+    }
+}
@@ -0,0 +1,46 @@
+package sc2002.fcsi.grp3.model.enums;
+
+/**
+ * The EntityType enum represents the kinds of entities that are persisted, one data file each.
+ */
+public enum EntityType {
+
+    /**
+     * Users of the system.
+     */
+    USERS,
+
+    /**
+     * BTO projects, including their flat inventory and officer assignments.
+     */
+    PROJECTS,
+
+    /**
+     * BTO applications.
+     */
+    APPLICATIONS,
+
+    /**
+     * Enquiries and their replies.
+     */
+    ENQUIRIES,
+
+    /**
+     * Flat bookings.
+     */
+    BOOKINGS,
+
+    /**
+     * Officer registrations.
+     */
+    REGISTRATIONS;
+
+    /**
+     * Gets the display label of the entity type.
+     *
+     * @return the lowercase name (e.g. "applications")
+     */
+    public String getLabel() {
+        return name().toLowerCase();
+    }
+}
@@ -1,5 +1,6 @@
 package sc2002.fcsi.grp3.parser;
 
+import sc2002.fcsi.grp3.io.CSVRow;
 import sc2002.fcsi.grp3.model.Application;
 import sc2002.fcsi.grp3.model.Project;
 import sc2002.fcsi.grp3.model.User;
@@ -8,43 +9,50 @@ import sc2002.fcsi.grp3.model.enums.FlatType;
 
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
- * The ApplicationParser class is responsible for parsing application data from CSV tokens.
- * It maps project and user references using provided maps.
+ * The ApplicationParser class is responsible for parsing application data from CSV rows.
+ * It resolves project references through a map and user references through a lookup.
  */
 public class ApplicationParser implements IBaseParser<Application> {
 
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+
     private final Map<Integer, Project> projectMap;
-    private final Map<String, User> userMap;
+    private final Function<String, User> userLookup;
 
     /**
-     * Constructs an ApplicationParser with the specified project and user maps.
+     * Constructs an ApplicationParser with the specified project map and user lookup.
      *
      * @param projectMap a map of project IDs to Project objects
-     * @param userMap    a map of user NRICs to User objects
+     * @param userLookup finds a user by NRIC, ignoring case
      */
-    public ApplicationParser(Map<Integer, Project> projectMap, Map<String, User> userMap) {
+    public ApplicationParser(Map<Integer, Project> projectMap, Function<String, User> userLookup) {
         this.projectMap = projectMap;
-        this.userMap = userMap;
+        this.userLookup = userLookup;
     }
 
     /**
      * Parses a CSV row into an Application object.
+     * Rows saved before the status before withdrawal was kept have six fields instead of seven.
      *
-     * @param tokens the CSV row tokens
+     * @param row the CSV row
      * @return the parsed Application object, or null if the row is invalid
      */
     @Override
-    public Application parse(String[] tokens) {
-        if (tokens.length != 6) return null;
+    public Application parse(CSVRow row) {
+        if (row.size() != 6 && row.size() != 7) return null;
 
-        int id = Integer.parseInt(tokens[0].trim());
-        Project project = projectMap.get(Integer.parseInt(tokens[1].trim()));
-        User user = userMap.get(tokens[2].trim());
-        FlatType flatType = FlatType.fromCode(tokens[3].trim());
-        ApplicationStatus status = ApplicationStatus.valueOf(tokens[4].trim());
-        LocalDate submittedAt = LocalDate.parse(tokens[5].trim(), dtFormatter);
+        int id = row.getInt(0);
+        Project project = projectMap.get(row.getInt(1));
+        User user = userLookup.apply(row.getString(2));
+        FlatType flatType = FlatType.fromCode(row.getString(3));
+        ApplicationStatus status = row.getEnum(4, STATUSES);
+        LocalDate submittedAt = row.getDate(5, dtFormatter);
+        ApplicationStatus statusBeforeWithdrawal = row.size() == 7 && !row.isBlank(6)
+                ? row.getEnum(6, STATUSES)
+                : null;
 
         return new Application(
                 id,
@@ -52,7 +60,8 @@ public class ApplicationParser implements IBaseParser<Application> {
                 user,
                 flatType,
                 status,
-                submittedAt
+                submittedAt,
+                statusBeforeWithdrawal
         );
     }
 }
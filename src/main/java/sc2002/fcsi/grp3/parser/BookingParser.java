@@ -1,5 +1,6 @@
 package sc2002.fcsi.grp3.parser;
 
+import sc2002.fcsi.grp3.io.CSVRow;
 import sc2002.fcsi.grp3.model.Booking;
 import sc2002.fcsi.grp3.model.Flat;
 import sc2002.fcsi.grp3.model.Project;
@@ -8,44 +9,45 @@ import sc2002.fcsi.grp3.model.enums.FlatType;
 
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
- * The BookingParser class is responsible for parsing booking data from CSV tokens.
- * It maps project and user references using provided maps.
+ * The BookingParser class is responsible for parsing booking data from CSV rows.
+ * It resolves project references through a map and user references through a lookup.
  */
 public class BookingParser implements IBaseParser<Booking> {
 
     private final Map<Integer, Project> projectMap;
-    private final Map<String, User> userMap;
+    private final Function<String, User> userLookup;
 
     /**
-     * Constructs a BookingParser with the specified project and user maps.
+     * Constructs a BookingParser with the specified project map and user lookup.
      *
      * @param projectMap a map of project IDs to Project objects
-     * @param userMap    a map of user NRICs to User objects
+     * @param userLookup finds a user by NRIC, ignoring case
      */
-    public BookingParser(Map<Integer, Project> projectMap, Map<String, User> userMap) {
+    public BookingParser(Map<Integer, Project> projectMap, Function<String, User> userLookup) {
         this.projectMap = projectMap;
-        this.userMap = userMap;
+        this.userLookup = userLookup;
 
     }
 
     /**
      * Parses a CSV row into a Booking object.
      *
-     * @param tokens the CSV row tokens
+     * @param row the CSV row
      * @return the parsed Booking object, or null if the row is invalid
      */
     @Override
-    public Booking parse(String[] tokens) {
-        if (tokens.length != 6) return null;
-
-        int id = Integer.parseInt(tokens[0].trim());
-        FlatType flatType = FlatType.fromCode(tokens[1].trim());
-        Project project = projectMap.get(Integer.parseInt(tokens[2].trim()));
-        User applicant = userMap.get(tokens[3].trim());
-        User officer = userMap.get(tokens[4].trim());
-        LocalDate bookingDate = LocalDate.parse(tokens[5].trim(), dtFormatter);
+    public Booking parse(CSVRow row) {
+        if (row.size() != 6) return null;
+
+        int id = row.getInt(0);
+        FlatType flatType = FlatType.fromCode(row.getString(1));
+        Project project = projectMap.get(row.getInt(2));
+        User applicant = userLookup.apply(row.getString(3));
+        User officer = userLookup.apply(row.getString(4));
+        LocalDate bookingDate = row.getDate(5, dtFormatter);
 
         if (project == null || applicant == null || officer == null) return null;
 
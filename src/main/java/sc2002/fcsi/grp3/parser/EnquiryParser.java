@@ -1,6 +1,7 @@
 package sc2002.fcsi.grp3.parser;
 
 
+import sc2002.fcsi.grp3.io.CSVRow;
 import sc2002.fcsi.grp3.model.Enquiry;
 import sc2002.fcsi.grp3.model.Project;
 import sc2002.fcsi.grp3.model.User;
@@ -9,46 +10,47 @@ import sc2002.fcsi.grp3.model.enums.EnquiryStatus;
 
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
- * The EnquiryParser class is responsible for parsing enquiry data from CSV tokens.
- * It maps project and user references using provided maps.
+ * The EnquiryParser class is responsible for parsing enquiry data from CSV rows.
+ * It resolves project references through a map and user references through a lookup.
  */
 public class EnquiryParser implements IBaseParser<Enquiry> {
 
     private final Map<Integer, Project> projectMap;
-    private final Map<String, User> userMap;
+    private final Function<String, User> userLookup;
 
     /**
-     * Constructs an EnquiryParser with the specified project and user maps.
+     * Constructs an EnquiryParser with the specified project map and user lookup.
      *
      * @param projectMap a map of project IDs to Project objects
-     * @param userMap    a map of user NRICs to User objects
+     * @param userLookup finds a user by NRIC, ignoring case
      */
-    public EnquiryParser(Map<Integer, Project> projectMap, Map<String, User> userMap) {
+    public EnquiryParser(Map<Integer, Project> projectMap, Function<String, User> userLookup) {
         this.projectMap = projectMap;
-        this.userMap = userMap;
+        this.userLookup = userLookup;
     }
 
     /**
      * Parses a CSV row into an Enquiry object.
      *
-     * @param tokens the CSV row tokens
+     * @param row the CSV row
      * @return the parsed Enquiry object, or null if the row is invalid
      */
     @Override
-    public Enquiry parse(String[] tokens) {
-        if(tokens.length != 10) return null;
-        int id = Integer.parseInt(tokens[0].trim());
-        String title = tokens[1].trim();
-        String content = tokens[2].trim();
-        String reply = tokens[3].isBlank() ? null : tokens[3].trim();
-        User createdBy = userMap.get(tokens[4].trim());
-        Project relatedProject = projectMap.get(Integer.parseInt(tokens[5].trim()));
-        User repliedBy = tokens[6].isBlank() ? null : userMap.get(tokens[6].trim());
-        EnquiryStatus status = EnquiryStatus.valueOf(tokens[7].trim());
-        LocalDate createdAt = LocalDate.parse(tokens[8].trim(), dtFormatter);
-        LocalDate lastUpdatedAt = LocalDate.parse(tokens[9].trim(), dtFormatter);
+    public Enquiry parse(CSVRow row) {
+        if(row.size() != 10) return null;
+        int id = row.getInt(0);
+        String title = row.getString(1);
+        String content = row.getString(2);
+        String reply = row.isBlank(3) ? null : row.getString(3);
+        User createdBy = userLookup.apply(row.getString(4));
+        Project relatedProject = projectMap.get(row.getInt(5));
+        User repliedBy = row.isBlank(6) ? null : userLookup.apply(row.getString(6));
+        EnquiryStatus status = row.getEnum(7, EnquiryStatus.values());
+        LocalDate createdAt = row.getDate(8, dtFormatter);
+        LocalDate lastUpdatedAt = row.getDate(9, dtFormatter);
 
         return new Enquiry(
                 id,
@@ -1,9 +1,11 @@
 package sc2002.fcsi.grp3.parser;
 
+import sc2002.fcsi.grp3.io.CSVRow;
+
 import java.time.format.DateTimeFormatter;
 
 /**
- * The IBaseParser interface defines a generic parser for converting CSV tokens into objects.
+ * The IBaseParser interface defines a generic parser for converting CSV rows into objects.
  *
  * @param <T> the type of object to be parsed
  */
@@ -16,9 +18,10 @@ public interface IBaseParser<T> {
 
     /**
      * Parses a CSV row into an object of type T.
+     * The row is only valid for the duration of the call.
      *
-     * @param tokens the CSV row tokens
+     * @param row the CSV row
      * @return the parsed object of type T
      */
-    T parse(String[] tokens);
+    T parse(CSVRow row);
 }
@@ -1,5 +1,6 @@
 package sc2002.fcsi.grp3.parser;
 
+import sc2002.fcsi.grp3.io.CSVRow;
 import sc2002.fcsi.grp3.model.Flat;
 import sc2002.fcsi.grp3.model.Project;
 import sc2002.fcsi.grp3.model.enums.FlatType;
@@ -10,7 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * The ProjectParser class is responsible for parsing project data from CSV tokens.
+ * The ProjectParser class is responsible for parsing project data from CSV rows.
  * It includes logic to parse flat details and project attributes.
  */
 public class ProjectParser implements IBaseParser<Project> {
@@ -42,27 +43,27 @@ public class ProjectParser implements IBaseParser<Project> {
     /**
      * Parses a CSV row into a Project object.
      *
-     * @param tokens the CSV row tokens
+     * @param row the CSV row
      * @return the parsed Project object, or null if the row is invalid
      */
     @Override
-    public Project parse(String[] tokens) {
-        if (tokens.length != 12) return null;
+    public Project parse(CSVRow row) {
+        if (row.size() != 12) return null;
 
-        int projectId = Integer.parseInt(tokens[0].trim());
-        String name = tokens[1].trim();
-        String neighborhood = tokens[2].trim();
-        boolean visibility = Boolean.parseBoolean(tokens[3].trim());
-        String[] flatTypes = tokens[4].trim().split(";");
-        String[] availableUnits = tokens[5].trim().split(";");
-        String[] sellingPrice = tokens[6].trim().split(";");
-        LocalDate applicationOpeningDate = LocalDate.parse(tokens[7].trim(), dtFormatter);
-        LocalDate applicationClosingDate = LocalDate.parse(tokens[8].trim(), dtFormatter);
-        String managerNric = tokens[9].trim();
-        int totalOfficerSlots = Integer.parseInt(tokens[10].trim());
+        int projectId = row.getInt(0);
+        String name = row.getString(1);
+        String neighborhood = row.getString(2);
+        boolean visibility = Boolean.parseBoolean(row.getString(3));
+        String[] flatTypes = row.getString(4).split(";");
+        String[] availableUnits = row.getString(5).split(";");
+        String[] sellingPrice = row.getString(6).split(";");
+        LocalDate applicationOpeningDate = row.getDate(7, dtFormatter);
+        LocalDate applicationClosingDate = row.getDate(8, dtFormatter);
+        String managerNric = row.getString(9);
+        int totalOfficerSlots = row.getInt(10);
         List<String> officerNrics = new ArrayList<>();
         // initialize officer nric as mutable list
-        for (String s : tokens[11].split(";")) {
+        for (String s : row.getString(11).split(";")) {
             if (!s.isEmpty()) {
                 officerNrics.add(s);
             }
@@ -1,5 +1,6 @@
 package sc2002.fcsi.grp3.parser;
 
+import sc2002.fcsi.grp3.io.CSVRow;
 import sc2002.fcsi.grp3.model.Project;
 import sc2002.fcsi.grp3.model.Registration;
 import sc2002.fcsi.grp3.model.User;
@@ -9,42 +10,43 @@ import sc2002.fcsi.grp3.model.enums.RegistrationStatus;
 
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
- * The RegistrationParser class is responsible for parsing registration data from CSV tokens.
- * It maps project and user references using provided maps.
+ * The RegistrationParser class is responsible for parsing registration data from CSV rows.
+ * It resolves project references through a map and user references through a lookup.
  */
 public class RegistrationParser implements IBaseParser<Registration> {
 
     private final Map<Integer, Project> projectMap;
-    private final Map<String, User> userMap;
+    private final Function<String, User> userLookup;
 
     /**
-     * Constructs a RegistrationParser with the specified project and user maps.
+     * Constructs a RegistrationParser with the specified project map and user lookup.
      *
      * @param projectMap a map of project IDs to Project objects
-     * @param userMap    a map of user NRICs to User objects
+     * @param userLookup finds a user by NRIC, ignoring case
      */
-    public RegistrationParser(Map<Integer, Project> projectMap, Map<String, User> userMap) {
+    public RegistrationParser(Map<Integer, Project> projectMap, Function<String, User> userLookup) {
 
         this.projectMap = projectMap;
-        this.userMap = userMap;
+        this.userLookup = userLookup;
     }
 
     /**
      * Parses a CSV row into a Registration object.
      *
-     * @param tokens the CSV row tokens
+     * @param row the CSV row
      * @return the parsed Registration object, or null if the row is invalid
      */
     @Override
-    public Registration parse(String[] tokens) {
-        if (tokens.length != 5) return null;
-        String id = tokens[0].trim();
-        Project project = projectMap.get(Integer.parseInt(tokens[1].trim()));
-        User applicant = userMap.get(tokens[2].trim());
-        RegistrationStatus status = RegistrationStatus.valueOf(tokens[3].trim());
-        LocalDate submittedAt = LocalDate.parse(tokens[4].trim(), dtFormatter);
+    public Registration parse(CSVRow row) {
+        if (row.size() != 5) return null;
+        String id = row.getString(0);
+        Project project = projectMap.get(row.getInt(1));
+        User applicant = userLookup.apply(row.getString(2));
+        RegistrationStatus status = row.getEnum(3, RegistrationStatus.values());
+        LocalDate submittedAt = row.getDate(4, dtFormatter);
 
 
         if (project == null || applicant == null) return null;
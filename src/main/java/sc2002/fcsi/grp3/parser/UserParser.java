@@ -1,31 +1,32 @@
 package sc2002.fcsi.grp3.parser;
 
+import sc2002.fcsi.grp3.io.CSVRow;
 import sc2002.fcsi.grp3.model.User;
 import sc2002.fcsi.grp3.model.enums.MaritalStatus;
 import sc2002.fcsi.grp3.model.role.IRole;
 import sc2002.fcsi.grp3.model.role.RoleFactory;
 
 /**
- * The UserParser class is responsible for parsing user data from CSV tokens.
+ * The UserParser class is responsible for parsing user data from CSV rows.
  */
 public class UserParser implements IBaseParser<User> {
 
     /**
      * Parses a CSV row into a User object.
      *
-     * @param tokens the CSV row tokens
+     * @param row the CSV row
      * @return the parsed User object, or null if the row is invalid
      */
     @Override
-    public User parse(String[] tokens) {
-        if (tokens.length != 6) return null;
+    public User parse(CSVRow row) {
+        if (row.size() != 6) return null;
 
-        String nric = tokens[0].trim();
-        String name = tokens[1].trim();
-        int age = Integer.parseInt(tokens[2].trim());
-        MaritalStatus maritalStatus = MaritalStatus.valueOf(tokens[3].trim().toUpperCase());
-        String password = tokens[4].trim();
-        IRole role = RoleFactory.fromString(tokens[5].trim());
+        String nric = row.getString(0);
+        String name = row.getString(1);
+        int age = row.getInt(2);
+        MaritalStatus maritalStatus = MaritalStatus.valueOf(row.getString(3).toUpperCase());
+        String password = row.getString(4);
+        IRole role = RoleFactory.fromString(row.getString(5));
         return new User(nric, name, age, password, maritalStatus, role);
     }
 }
@@ -0,0 +1,249 @@
+package sc2002.fcsi.grp3.server;
+
+import sc2002.fcsi.grp3.service.AuthService;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LoadTestClient class simulates many applicants using a {@link SessionServer} at the same time.
+ * Each simulated applicant connects, logs in, lists the projects open to them, logs out and exits,
+ * waiting for each prompt before answering it as a person would. The login, project listing and whole
+ * session times are then reported as percentiles.
+ * <p>
+ * Logins the server refuses are counted apart from failed sessions, split into those refused for wrong
+ * credentials and those refused because the server was too busy to verify the password in time.
+ * <p>
+ * Usage: {@code LoadTestClient <host> <port> <sessions> <password> <nric> [<nric> ...]}.
+ * The sessions take turns among the given NRICs, which must belong to applicants with the given password.
+ */
+public final class LoadTestClient {
+
+    private static final int TIMEOUT_MILLIS = 60_000;
+    private static final String MENU_PROMPT = "> ";
+
+    private LoadTestClient() {
+    }
+
+    /**
+     * Runs the load test and prints the results.
+     *
+     * @param args the host, port, number of sessions, password and applicant NRICs
+     * @throws Exception if the test cannot be run
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.out.println("Usage: LoadTestClient <host> <port> <sessions> <password> <nric> [<nric> ...]");
+            return;
+        }
+        InetSocketAddress address = new InetSocketAddress(args[0], Integer.parseInt(args[1]));
+        int sessions = Integer.parseInt(args[2]);
+        String password = args[3];
+        String[] nrics = Arrays.copyOfRange(args, 4, args.length);
+
+        long start = System.nanoTime();
+        List<Future<Timings>> results = new ArrayList<>(sessions);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                String nric = nrics[i % nrics.length];
+                results.add(executor.submit(() -> runSession(address, nric, password)));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> logins = new ArrayList<>();
+        List<Long> listings = new ArrayList<>();
+        List<Long> totals = new ArrayList<>();
+        int wrongCredentials = 0;
+        int busy = 0;
+        int failures = 0;
+        for (Future<Timings> result : results) {
+            try {
+                Timings timings = result.get();
+                logins.add(timings.login());
+                listings.add(timings.listing());
+                totals.add(timings.total());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof LoginRefusedException refused) {
+                    if (refused.isBusy()) {
+                        busy++;
+                    } else {
+                        wrongCredentials++;
+                    }
+                } else if (++failures <= 5) {
+                    System.out.println("Session failed: " + e.getCause());
+                }
+            }
+        }
+
+        System.out.printf("%d sessions, %d refused at login for wrong credentials, %d refused as the server was busy,"
+                        + " %d failed, in %d ms (%.1f sessions/s)%n", sessions, wrongCredentials, busy, failures,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), sessions * 1e9 / elapsed);
+        report("login", logins);
+        report("project listing", listings);
+        report("whole session", totals);
+    }
+
+    /**
+     * The LoginRefusedException class signals that the server refused a login, either because the
+     * credentials were wrong or because the server was too busy to verify the password.
+     */
+    private static final class LoginRefusedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean busy;
+
+        LoginRefusedException(String nric, boolean busy) {
+            super((busy ? "Login refused as the server was busy for " : "Login refused for ") + nric);
+            this.busy = busy;
+        }
+
+        /**
+         * Checks whether the login was refused because the server was busy, rather than for wrong credentials.
+         *
+         * @return true if the server was busy
+         */
+        boolean isBusy() {
+            return busy;
+        }
+    }
+
+    /**
+     * The Timings record holds the times, in nanoseconds, taken by one simulated applicant.
+     *
+     * @param login   from sending the password to the login being confirmed
+     * @param listing from choosing to view projects to the list being shown
+     * @param total   from connecting to being disconnected
+     */
+    private record Timings(long login, long listing, long total) {
+    }
+
+    /**
+     * Runs one applicant's session.
+     *
+     * @param address  the server address
+     * @param nric     the applicant's NRIC
+     * @param password the applicant's password
+     * @return the times taken
+     * @throws IOException if the connection fails, times out or the login is refused
+     */
+    private static Timings runSession(InetSocketAddress address, String nric, String password) throws IOException {
+        long start = System.nanoTime();
+        try (Socket socket = new Socket()) {
+            socket.connect(address, TIMEOUT_MILLIS);
+            socket.setSoTimeout(TIMEOUT_MILLIS);
+            socket.setTcpNoDelay(true);
+            Reader in = new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8);
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+
+            expect(in, MENU_PROMPT);
+            send(out, "1");
+            expect(in, "Enter NRIC: ");
+            send(out, nric);
+            expect(in, "Enter Password: ");
+            long loginStart = System.nanoTime();
+            send(out, password);
+            int outcome = expect(in, "Login successful", AuthService.INVALID_CREDENTIALS,
+                    AuthService.TOO_MANY_LOGINS, AuthService.VERIFICATION_TIMED_OUT);
+            if (outcome > 0) {
+                throw new LoginRefusedException(nric, outcome > 1);
+            }
+            expect(in, MENU_PROMPT);
+            long login = System.nanoTime() - loginStart;
+
+            // view available projects, then leave the filter menu and log out
+            long listingStart = System.nanoTime();
+            send(out, "1");
+            expect(in, "Press Enter to continue...");
+            long listing = System.nanoTime() - listingStart;
+            send(out, "");
+            expect(in, MENU_PROMPT);
+            send(out, "6");
+            expect(in, MENU_PROMPT);
+            send(out, "5");
+            expect(in, MENU_PROMPT);
+            send(out, "2");
+            while (in.read() != -1) {
+                // wait for the server to close the session
+            }
+            return new Timings(login, listing, System.nanoTime() - start);
+        }
+    }
+
+    private static void send(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Reads output until the expected text appears.
+     *
+     * @param in       the server output
+     * @param expected the text to wait for
+     * @throws IOException if the server disconnects first
+     */
+    private static void expect(Reader in, String expected) throws IOException {
+        expect(in, expected, new String[0]);
+    }
+
+    /**
+     * Reads output until the expected text, or one of the alternatives, appears.
+     *
+     * @param in           the server output
+     * @param expected     the text to wait for
+     * @param alternatives texts that mean the step ended some other way
+     * @return 0 if the expected text appeared, or one more than the index of the alternative that did
+     * @throws IOException if the server disconnects first
+     */
+    private static int expect(Reader in, String expected, String... alternatives) throws IOException {
+        StringBuilder seen = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            seen.append((char) c);
+            if (endsWith(seen, expected)) return 0;
+            for (int i = 0; i < alternatives.length; i++) {
+                if (endsWith(seen, alternatives[i])) return i + 1;
+            }
+        }
+        throw new IOException("Disconnected while waiting for \"" + expected.trim() + "\"");
+    }
+
+    private static boolean endsWith(StringBuilder seen, String text) {
+        int offset = seen.length() - text.length();
+        return offset >= 0 && seen.indexOf(text, offset) == offset;
+    }
+
+    /**
+     * Prints the percentiles of a set of times.
+     *
+     * @param name  what was timed
+     * @param times the times in nanoseconds
+     */
+    private static void report(String name, List<Long> times) {
+        if (times.isEmpty()) return;
+        long[] sorted = times.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%-16s p50 %8.2f ms  p95 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n", name,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
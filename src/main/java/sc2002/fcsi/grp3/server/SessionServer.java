@@ -0,0 +1,206 @@
+package sc2002.fcsi.grp3.server;
+
+import sc2002.fcsi.grp3.controller.ControllerFactory;
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.init.ViewInitializer;
+import sc2002.fcsi.grp3.service.PasswordHasher;
+import sc2002.fcsi.grp3.service.ServiceExecutor;
+import sc2002.fcsi.grp3.session.Session;
+import sc2002.fcsi.grp3.session.SessionManager;
+import sc2002.fcsi.grp3.view.helper.Prompter;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The SessionServer class serves terminal sessions over TCP, so that many users can work on one shared
+ * {@link DataStore} at the same time. Any line-based client, such as {@code nc} or {@code telnet}, can connect.
+ * <p>
+ * Every connection runs on its own virtual thread, with its own {@link Prompter} over the socket streams,
+ * its own controllers from a {@link ControllerFactory} and its own {@link Session}, exactly as the console
+ * would in a JVM of its own. A session blocked on its client's input only parks its virtual thread, so
+ * idle sessions cost little more than their memory.
+ * <p>
+ * Sessions are opened from a bounded {@link SessionManager}. A connection that arrives while the table is
+ * full is told the server is busy and disconnected, and a client that sends nothing for longer than the
+ * idle timeout has its session evicted and its connection closed.
+ */
+public final class SessionServer implements AutoCloseable {
+
+    private static final int BACKLOG = 256;
+
+    private final ServerSocket serverSocket;
+    private final DataStore store;
+    private final PasswordHasher passwordHasher;
+    private final ServiceExecutor serviceExecutor;
+    private final SessionManager sessionManager;
+    private final Path exportDirectory;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Constructs a SessionServer listening on the given address.
+     *
+     * @param address         the address to listen on; port 0 picks a free port
+     * @param store           the data store shared by every session
+     * @param passwordHasher  the password hasher shared by every session
+     * @param serviceExecutor the executor for long service calls, shared by every session
+     * @param sessionManager  the table the sessions are opened from
+     * @param exportDirectory the directory reports are exported into, shared by every session
+     * @throws IOException if the address cannot be bound
+     */
+    public SessionServer(InetSocketAddress address, DataStore store, PasswordHasher passwordHasher,
+                         ServiceExecutor serviceExecutor, SessionManager sessionManager, Path exportDirectory)
+            throws IOException {
+        this.store = store;
+        this.passwordHasher = passwordHasher;
+        this.serviceExecutor = serviceExecutor;
+        this.sessionManager = sessionManager;
+        this.exportDirectory = exportDirectory;
+        this.serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(address, BACKLOG);
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the number of sessions that are connected.
+     *
+     * @return the number of active sessions
+     */
+    public int getActiveSessions() {
+        return sessionManager.size();
+    }
+
+    /**
+     * Accepts connections until the server is closed, starting a session for each one.
+     */
+    public void serve() {
+        System.out.println("[SessionServer] Listening on " + serverSocket.getLocalSocketAddress());
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) break;
+                System.out.println("[SessionServer] Failed to accept connection: " + e.getMessage());
+                continue;
+            }
+            sessions.submit(() -> runSession(socket));
+        }
+    }
+
+    /**
+     * Runs the main menu for one connection until the user exits, the client disconnects or the session
+     * is evicted for being idle.
+     *
+     * @param socket the client connection
+     */
+    private void runSession(Socket socket) {
+        Optional<Session> opened = sessionManager.open();
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            // the prompter flushes whenever it waits for input, so output is sent a screen at a time
+            PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream()), false,
+                    StandardCharsets.UTF_8);
+            if (opened.isEmpty()) {
+                out.println("Server is busy, please try again later.");
+                out.flush();
+                return;
+            }
+
+            Session session = opened.get();
+            try {
+                session.setOnClose(() -> {
+                    out.println();
+                    out.println("Session closed by the server.");
+                    out.flush();
+                    closeQuietly(socket);
+                });
+                Prompter prompter = new Prompter(new ActivityInputStream(socket.getInputStream(), session), out);
+                ControllerFactory factory = new ControllerFactory(store, new ViewInitializer(prompter),
+                        passwordHasher, serviceExecutor, exportDirectory, session);
+                factory.createMainMenuController().start();
+                out.flush();
+            } catch (NoSuchElementException e) {
+                // the client disconnected, or the session was evicted, while being prompted
+            } catch (RuntimeException e) {
+                if (!session.isClosed()) {
+                    System.out.println("[SessionServer] Session " + session.getId() + " ended with an error: " + e);
+                }
+            } finally {
+                session.setOnClose(null);
+                sessionManager.close(session);
+            }
+        } catch (IOException e) {
+            System.out.println("[SessionServer] Connection ended with an error: " + e);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // the connection is being dropped anyway
+        }
+    }
+
+    /**
+     * The ActivityInputStream class touches a session whenever its client sends input, so that only
+     * sessions whose clients have gone quiet are evicted as idle.
+     */
+    private static final class ActivityInputStream extends FilterInputStream {
+
+        private final Session session;
+
+        ActivityInputStream(InputStream in, Session session) {
+            super(in);
+            this.session = session;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) session.touch();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) session.touch();
+            return count;
+        }
+    }
+
+    /**
+     * Stops accepting connections and disconnects every session.
+     *
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessionManager.close();
+        sessions.shutdownNow();
+    }
+}
@@ -1,6 +1,7 @@
 package sc2002.fcsi.grp3.service;
 
 import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.datastore.Journal;
 import sc2002.fcsi.grp3.model.Application;
 import sc2002.fcsi.grp3.model.Project;
 import sc2002.fcsi.grp3.model.User;
@@ -12,7 +13,6 @@ import sc2002.fcsi.grp3.service.result.ActionResult;
 import javax.swing.*;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * The ApplicationService class provides functionality for managing applications.
@@ -41,10 +41,7 @@ public class ApplicationService {
      * @return a list of applications submitted by the user
      */
     public List<Application> getApplicationsFor(User user) {
-        return db.getApplications()
-                .stream()
-                .filter(app -> app.getApplicant().getNric().equalsIgnoreCase(user.getNric()))
-                .collect(Collectors.toList());
+        return db.getApplicationsByApplicant(user.getNric());
     }
 
     /**
@@ -69,12 +66,15 @@ public class ApplicationService {
      * @return an ActionResult containing the application if successful, or an error message if not
      */
     public ActionResult<Application> apply(User user, Project project, FlatType flatType) {
-        if (permission.canApplyForFlat(user, project, flatType)) {
-            Application app = new Application(project, user, flatType);
-            db.addApplication(app);
-            return ActionResult.success("Application for " + flatType.getDisplayName() + " flat in project " +project.getName() + " submitted", app);
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            if (permission.canApplyForFlat(user, project, flatType)) {
+                Application app = new Application(project, user, flatType);
+                db.addApplication(app);
+                db.getJournal().applicationSubmitted(app);
+                return ActionResult.success("Application for " + flatType.getDisplayName() + " flat in project " +project.getName() + " submitted", app);
+            }
+            return ActionResult.failure("You do not have permission to apply for a " + flatType.getDisplayName() + " flat in project " +project.getName() + " submitted");
         }
-        return ActionResult.failure("You do not have permission to apply for a " + flatType.getDisplayName() + " flat in project " +project.getName() + " submitted");
     }
 
     /**
@@ -84,14 +84,8 @@ public class ApplicationService {
      * @return the application if found, or null if not found
      */
     public Application findApplication(String nric){
-        Application found = null;
-        for(Application app : db.getApplications()){
-            if(app.getApplicant().getNric().equals(nric)) {
-                found = app;
-                break;
-            }
-        }
-        return found;
+        List<Application> found = db.getApplicationsByApplicant(nric);
+        return found.isEmpty() ? null : found.get(0);
     }
 
     /**
@@ -102,10 +96,15 @@ public class ApplicationService {
      * @return an ActionResult indicating success or failure of the withdrawal request
      */
     public ActionResult<Application> withdraw(User user, Application application) {
-        if (permission.canWithdrawApplication(user, application)) {
-            application.setStatus(ApplicationStatus.WITHDRAWAL_REQUESTED);
-            return ActionResult.success("Withdrawal request submitted.", application);
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            if (permission.canWithdrawApplication(user, application)) {
+                if (!application.requestWithdrawal()) {
+                    return ActionResult.failure("A withdrawal has already been requested for this application.");
+                }
+                db.getJournal().withdrawalRequested(application);
+                return ActionResult.success("Withdrawal request submitted.", application);
+            }
+            return ActionResult.failure("You are not allowed to withdraw this application");
         }
-        return ActionResult.failure("You are not allowed to withdraw this application");
     }
 }
@@ -2,42 +2,113 @@ package sc2002.fcsi.grp3.service;
 
 
 import sc2002.fcsi.grp3.model.User;
-import sc2002.fcsi.grp3.session.Session;
+import sc2002.fcsi.grp3.service.result.ActionResult;
 import sc2002.fcsi.grp3.util.Validator;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * The AuthService class provides authentication and password management functionality.
+ * Passwords are checked and stored through a {@link PasswordHasher}; a user whose password is still
+ * stored in plaintext, or with an outdated iteration count, has it rehashed on their next login.
+ * <p>
+ * A password that could not be verified, because too many logins are already waiting or the verification
+ * took too long, fails with a message of its own rather than being treated as a wrong password.
  */
 public class AuthService {
 
+    /**
+     * The message of a login with an unknown NRIC or a wrong password.
+     */
+    public static final String INVALID_CREDENTIALS = "Invalid NRIC or password.";
+
+    /**
+     * The message of a login refused because too many logins are already waiting to be verified.
+     */
+    public static final String TOO_MANY_LOGINS = "Too many logins in progress, please try again.";
+
+    /**
+     * The message of a login whose password was not verified in time.
+     */
+    public static final String VERIFICATION_TIMED_OUT = "Password verification timed out, please try again.";
+
+    /**
+     * How long a login waits for its password to be verified before giving up, by default.
+     */
+    public static final Duration DEFAULT_VERIFY_TIMEOUT = Duration.ofSeconds(10);
+
     private final UserService userService;
+    private final PasswordHasher passwordHasher;
+    private final long verifyTimeoutNanos;
+
+    /**
+     * Constructs an AuthService with the specified UserService and PasswordHasher.
+     *
+     * @param userService    the UserService for managing user-related operations
+     * @param passwordHasher the PasswordHasher that checks and hashes passwords
+     */
+    public AuthService(UserService userService, PasswordHasher passwordHasher) {
+        this(userService, passwordHasher, DEFAULT_VERIFY_TIMEOUT);
+    }
 
     /**
-     * Constructs an AuthService with the specified UserService.
+     * Constructs an AuthService that waits at most the given time for a password to be verified.
      *
-     * @param userService the UserService for managing user-related operations
+     * @param userService    the UserService for managing user-related operations
+     * @param passwordHasher the PasswordHasher that checks and hashes passwords
+     * @param verifyTimeout  how long a login waits for its password to be verified before giving up
      */
-    public AuthService(UserService userService) {
+    public AuthService(UserService userService, PasswordHasher passwordHasher, Duration verifyTimeout) {
         this.userService = userService;
+        this.passwordHasher = passwordHasher;
+        this.verifyTimeoutNanos = verifyTimeout.toNanos();
     }
 
     /**
      * Authenticates a user based on their NRIC and password.
-     * If authentication is successful, the user is set as the current session user.
+     * The caller records the authenticated user on its own session.
      *
      * @param nric     the NRIC of the user
      * @param password the password of the user
-     * @return the authenticated User object, or null if authentication fails
+     * @return an ActionResult holding the authenticated user, or failing with {@link #INVALID_CREDENTIALS},
+     *         {@link #TOO_MANY_LOGINS} or {@link #VERIFICATION_TIMED_OUT}
      */
-    public User authenticate(String nric, String password) {
+    public ActionResult<User> authenticate(String nric, String password) {
         Optional<User> user = userService.findByNRIC(nric);
-        if (user.isPresent() && user.get().getPassword().equals(password)) {
-            Session.setCurrentUser(user.get());
-            return user.get();
+        String stored = user.map(User::getPassword).orElse(null);
+        ActionResult<String> verified = verify(password, stored, INVALID_CREDENTIALS);
+        if (!verified.isSuccess()) {
+            return ActionResult.failure(verified.getMessage());
         }
-        return null;
+        if (user.isEmpty()) {
+            return ActionResult.failure(INVALID_CREDENTIALS);
+        }
+
+        String upgraded = verified.getData();
+        if (!upgraded.equals(stored)) {
+            userService.updatePassword(user.get(), upgraded);
+        }
+        return ActionResult.success("Login successful.", user.get());
+    }
+
+    /**
+     * Checks whether the given password is the user's current password.
+     *
+     * @param user     the user
+     * @param password the password to check
+     * @return a successful ActionResult if the password matches, or the reason it could not be confirmed
+     */
+    public ActionResult<Void> checkPassword(User user, String password) {
+        ActionResult<String> verified = verify(password, user.getPassword(), "Incorrect current password.");
+        if (!verified.isSuccess()) {
+            return ActionResult.failure(verified.getMessage());
+        }
+        return ActionResult.success("Password confirmed.");
     }
 
     /**
@@ -50,8 +121,9 @@ public class AuthService {
      * @return null if the password change is successful, or an error message if validation fails
      */
     public String changePassword(User user, String oldPassword, String newPassword) {
-        if (!user.getPassword().equals(oldPassword)) {
-            return "Incorrect current password.";
+        ActionResult<Void> checked = checkPassword(user, oldPassword);
+        if (!checked.isSuccess()) {
+            return checked.getMessage();
         }
 
         if (newPassword.equals(oldPassword)) {
@@ -62,7 +134,36 @@ public class AuthService {
             return "Password must be at least 8 characters long and include upper/lower case, a number, and a special character.";
         }
 
-        user.setPassword(newPassword);
+        userService.updatePassword(user, passwordHasher.hash(newPassword));
         return null;
     }
+
+    /**
+     * Verifies a password on the password hasher's threads and waits for the result.
+     *
+     * @param password        the password to check
+     * @param stored          the stored password, or null if there is no such user
+     * @param mismatchMessage the failure message if the password does not match
+     * @return an ActionResult holding the value to store from now on, or failing with the mismatch message,
+     *         {@link #TOO_MANY_LOGINS} or {@link #VERIFICATION_TIMED_OUT} if the password could not be verified
+     */
+    private ActionResult<String> verify(String password, String stored, String mismatchMessage) {
+        if (password == null) return ActionResult.failure(mismatchMessage);
+
+        try {
+            String upgraded = passwordHasher.verifyAndUpgrade(password, stored)
+                    .get(verifyTimeoutNanos, TimeUnit.NANOSECONDS);
+            return upgraded == null ? ActionResult.failure(mismatchMessage) : ActionResult.success(null, upgraded);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                return ActionResult.failure(TOO_MANY_LOGINS);
+            }
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        } catch (TimeoutException e) {
+            return ActionResult.failure(VERIFICATION_TIMED_OUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ActionResult.failure(VERIFICATION_TIMED_OUT);
+        }
+    }
 }
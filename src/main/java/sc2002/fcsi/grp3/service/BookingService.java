@@ -1,7 +1,10 @@
 package sc2002.fcsi.grp3.service;
 
 import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.datastore.Journal;
 import sc2002.fcsi.grp3.model.*;
+import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.service.result.ActionResult;
 
 import java.util.List;
 import java.util.Optional;
@@ -39,11 +42,41 @@ public class BookingService {
      * @return an Optional containing the booking, or empty if no booking exists for the user
      */
     public Optional<Booking> getBookingByUser(User user) {
-        return db.getBookings().stream()
-                .filter(b -> b.getApplicant().getNric().equals(user.getNric()))
+        return db.getBookingsByApplicant(user.getNric()).stream()
                 .findFirst();
     }
 
+    /**
+     * Books the flat of a successful application: commits the unit reserved when it was approved,
+     * marks the application as booked and records the booking.
+     * If another officer has already booked the application, the committed unit is reserved again and
+     * nothing else changes, so the same application is never booked twice.
+     *
+     * @param application the successful application to book
+     * @param officer     the officer making the booking
+     * @return an ActionResult holding the new booking, or a failure if the application cannot be booked
+     */
+    public ActionResult<Booking> bookFlat(Application application, User officer) {
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            Flat flat = application.getProject().getFlat(application.getFlatType());
+            if (flat == null) {
+                return ActionResult.failure("Application from NRIC not found");
+            }
+            if (!flat.commitReservation()) {
+                return ActionResult.failure("No Available flats left, Returning to menu.....");
+            }
+            if (!application.compareAndSetStatus(ApplicationStatus.SUCCESSFUL, ApplicationStatus.BOOKED)) {
+                flat.restoreReservation(); // Booked by another officer, put the unit back
+                return ActionResult.failure("Application already booked..");
+            }
+
+            Booking book = new Booking(flat, application.getProject(), application.getApplicant(), officer);
+            db.addBooking(book);
+            db.getJournal().bookingAdded(book, application);
+            return ActionResult.success("Application Status now: " + application.getStatus(), book);
+        }
+    }
+
     /**
      * Adds a new booking to the data store.
      *
@@ -53,12 +86,14 @@ public class BookingService {
      * @param Onric    the officer's NRIC
      */
     public void addBooking(Flat flatType, Project id, User Anric, User Onric){
-
-        Booking book = new Booking(flatType, id, Anric, Onric);
-        db.addBooking(book);
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            Booking book = new Booking(flatType, id, Anric, Onric);
+            db.addBooking(book);
+            db.getJournal().bookingAdded(book, null);
 
 //        Registration reg = new Registration(project, officer, today);
 //        db.addRegistration(reg);
+        }
     }
 
 }
\ No newline at end of file
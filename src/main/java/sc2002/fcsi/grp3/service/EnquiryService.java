@@ -1,6 +1,8 @@
 package sc2002.fcsi.grp3.service;
 
 import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.datastore.Journal;
+import sc2002.fcsi.grp3.metrics.EnquiryReplyEvent;
 import sc2002.fcsi.grp3.model.Application;
 import sc2002.fcsi.grp3.model.Enquiry;
 import sc2002.fcsi.grp3.model.Project;
@@ -13,6 +15,7 @@ import javax.swing.text.html.Option;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -48,10 +51,7 @@ public class EnquiryService {
      * @return a list of enquiries created by the user
      */
     public List<Enquiry> getOwnEnquiries(User user) {
-        return db.getEnquiries()
-                .stream()
-                .filter(enq -> enq.getCreatedBy().getNric().equalsIgnoreCase(user.getNric()))
-                .collect(Collectors.toList());
+        return db.getEnquiriesByCreator(user.getNric());
     }
 
     /**
@@ -61,24 +61,20 @@ public class EnquiryService {
      * @return a list of enquiries handled by the officer
      */
     public List<Enquiry> getEnquiriesHandledByOfficer(User officer){
-        return db.getEnquiries()
+        return db.getProjectsByOfficer(officer.getNric())
                 .stream()
-                .filter(e -> e.getRelatedProject().getOfficerNrics().contains(officer.getNric()))
+                .flatMap(p -> db.getEnquiriesByProject(p.getId()).stream())
                 .collect(Collectors.toList());
     }
 
     /**
-     * Retrieves all unreplied enquiries handled by the specified officer.
+     * Retrieves all unreplied enquiries handled by the specified officer, oldest first.
      *
      * @param officer the officer handling the enquiries
      * @return a list of unreplied enquiries handled by the officer
      */
     public List<Enquiry> getUnrepliedEnquiriesHandledByOfficer(User officer){
-        return db.getEnquiries()
-                .stream()
-                .filter(e -> e.getRelatedProject().getOfficerNrics().contains(officer.getNric()))
-                .filter(e -> !e.isReplied())
-                .collect(Collectors.toList());
+        return db.getUnrepliedEnquiriesByProjects(db.getProjectsByOfficer(officer.getNric()));
     }
 
     /**
@@ -89,12 +85,9 @@ public class EnquiryService {
      * @return an Optional containing the unreplied enquiry, or empty if not found
      */
     public Optional<Enquiry> getUnrepliedEnquiriesHandledByOfficerById(User officer, int id ){
-        return db.getEnquiries()
-                .stream()
-                .filter(e -> e.getId() == id)
-                .filter(e -> e.getRelatedProject().getOfficerNrics().contains(officer.getNric()))
-                .filter(e -> !e.isReplied())
-                .findFirst();
+        return Optional.ofNullable(db.findEnquiryById(id))
+                .filter(db::isUnrepliedEnquiry)
+                .filter(e -> e.getRelatedProject().getOfficerNrics().contains(officer.getNric()));
     }
     /**
      * Retrieves all enquiries visible to the specified manager.
@@ -107,17 +100,13 @@ public class EnquiryService {
     }
 
     /**
-     * Retrieves all unreplied enquiries handled by the specified manager.
+     * Retrieves all unreplied enquiries handled by the specified manager, oldest first.
      *
      * @param manager the manager handling the enquiries
      * @return a list of unreplied enquiries handled by the manager
      */
     public List<Enquiry> getUnrepliedEnquiriesHandledByManager(User manager){
-        return db.getEnquiries()
-                .stream()
-                .filter(e -> e.getRelatedProject().getManagerNric().equals(manager.getNric()))
-                .filter(e -> !e.isReplied())
-                .collect(Collectors.toList());
+        return db.getUnrepliedEnquiriesByProjects(db.getProjectsByManager(manager.getNric()));
     }
 
     /**
@@ -128,12 +117,9 @@ public class EnquiryService {
      * @return an Optional containing the unreplied enquiry, or empty if not found
      */
     public Optional<Enquiry> getUnrepliedEnquiriesHandledByManagerById(User manager, int id ){
-        return db.getEnquiries()
-                .stream()
-                .filter(e -> e.getId() == id)
-                .filter(e -> e.getRelatedProject().getManagerNric().equals(manager.getNric()))
-                .filter(e -> !e.isReplied())
-                .findFirst();
+        return Optional.ofNullable(db.findEnquiryById(id))
+                .filter(db::isUnrepliedEnquiry)
+                .filter(e -> e.getRelatedProject().getManagerNric().equals(manager.getNric()));
     }
 
     /**
@@ -144,10 +130,8 @@ public class EnquiryService {
      * @return an Optional containing the enquiry, or empty if not found
      */
     public Optional<Enquiry> getOwnEnquiryById(User user, int id) {
-        return db.getEnquiries()
-                .stream()
-                .filter(e -> e.getId() == id && e.getCreatedBy().getNric().equals(user.getNric()))
-                .findFirst();
+        return Optional.ofNullable(db.findEnquiryById(id))
+                .filter(e -> e.getCreatedBy().getNric().equals(user.getNric()));
     }
 
     /**
@@ -160,12 +144,15 @@ public class EnquiryService {
      * @return true if the enquiry was created successfully, false otherwise
      */
     public boolean createEnquiry(User user, Project project, String title, String content) {
-        Enquiry enquiry = new Enquiry(title, content, user, project);
-        try{
-            db.addEnquiry(enquiry);
-            return true;
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            Enquiry enquiry = new Enquiry(title, content, user, project);
+            try{
+                db.addEnquiry(enquiry);
+                db.getJournal().enquiryCreated(enquiry);
+                return true;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
         }
     }
 
@@ -178,14 +165,17 @@ public class EnquiryService {
      * @return true if the enquiry was edited successfully, false otherwise
      */
     public boolean editEnquiry(Enquiry enquiry, String newTitle, String newContent) {
-
-        if(enquiry.isReplied()){
-            return false;
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            if(enquiry.isReplied()){
+                return false;
+            }
+            enquiry.setTitle(newTitle);
+            enquiry.setContent(newContent);
+            enquiry.setLastUpdatedAt(LocalDate.now());
+            db.reindexEnquiry(enquiry);
+            db.getJournal().enquiryEdited(enquiry);
+            return true;
         }
-        enquiry.setTitle(newTitle);
-        enquiry.setContent(newContent);
-        enquiry.setLastUpdatedAt(LocalDate.now());
-        return true;
     }
 
     /**
@@ -196,16 +186,18 @@ public class EnquiryService {
      * @return true if the enquiry was deleted successfully, false otherwise
      */
     public boolean deleteEnquiry(User user, int enquiryId) {
-        Optional<Enquiry> enqOpt = getOwnEnquiryById(user, enquiryId);
-        if (enqOpt.isEmpty()) return false;
-
-        Enquiry enquiry = enqOpt.get();
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            Optional<Enquiry> enqOpt = getOwnEnquiryById(user, enquiryId);
+            if (enqOpt.isEmpty()) return false;
 
-        if (enquiry.isReplied()) return false;
+            Enquiry enquiry = enqOpt.get();
 
-        db.removeEnquiry(enquiry);
-        return true;
+            if (enquiry.isReplied()) return false;
 
+            db.removeEnquiry(enquiry);
+            db.getJournal().enquiryDeleted(enquiry);
+            return true;
+        }
     }
 
     /**
@@ -217,14 +209,77 @@ public class EnquiryService {
      * @return an ActionResult indicating success or failure of the reply
      */
     public ActionResult<Enquiry> replyToEnquiry(Enquiry enquiry, User repliedBy, String replyText) {
-        if (enquiry.isReplied()) return ActionResult.failure("Failed to reply to enquiry.");
+        EnquiryReplyEvent event = EnquiryReplyEvent.start(enquiry.getId(),
+                enquiry.getRelatedProject() == null ? 0 : enquiry.getRelatedProject().getId(),
+                replyText == null ? 0 : replyText.length());
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            if (enquiry.isReplied()) {
+                event.finish(false);
+                return ActionResult.failure("Failed to reply to enquiry.");
+            }
+
+            enquiry.setReply(replyText);
+            enquiry.setRepliedBy(repliedBy);
+            enquiry.setStatus(EnquiryStatus.REPLIED);
+            enquiry.setLastUpdatedAt(LocalDate.now());
+            db.reindexEnquiry(enquiry);
+            db.getJournal().enquiryReplied(enquiry);
+            event.finish(true);
+
+            return ActionResult.success("Reply submitted successfully!");
+        }
+    }
+
+    /**
+     * Searches the title, content and reply of every enquiry, best match first.
+     * Words in double quotes must appear together as a phrase.
+     *
+     * @param query the search query
+     * @param limit the greatest number of enquiries to return
+     * @return the matching enquiries
+     */
+    public List<Enquiry> searchEnquiries(String query, int limit) {
+        return db.searchEnquiries(query, null, limit);
+    }
+
+    /**
+     * Searches the enquiries about one project, best match first.
+     *
+     * @param project the project whose enquiries to search
+     * @param query   the search query
+     * @param limit   the greatest number of enquiries to return
+     * @return the matching enquiries
+     */
+    public List<Enquiry> searchEnquiriesForProject(Project project, String query, int limit) {
+        return db.searchEnquiries(query, Set.of(project.getId()), limit);
+    }
+
+    /**
+     * Searches the enquiries about the projects the specified officer is handling, best match first.
+     *
+     * @param officer the officer handling the enquiries
+     * @param query   the search query
+     * @param limit   the greatest number of enquiries to return
+     * @return the matching enquiries
+     */
+    public List<Enquiry> searchEnquiriesHandledByOfficer(User officer, String query, int limit) {
+        return db.searchEnquiries(query, projectIds(db.getProjectsByOfficer(officer.getNric())), limit);
+    }
 
-        enquiry.setReply(replyText);
-        enquiry.setRepliedBy(repliedBy);
-        enquiry.setStatus(EnquiryStatus.REPLIED);
-        enquiry.setLastUpdatedAt(LocalDate.now());
+    /**
+     * Searches the enquiries about the projects the specified manager is managing, best match first.
+     *
+     * @param manager the manager handling the enquiries
+     * @param query   the search query
+     * @param limit   the greatest number of enquiries to return
+     * @return the matching enquiries
+     */
+    public List<Enquiry> searchEnquiriesHandledByManager(User manager, String query, int limit) {
+        return db.searchEnquiries(query, projectIds(db.getProjectsByManager(manager.getNric())), limit);
+    }
 
-        return ActionResult.success("Reply submitted successfully!");
+    private static Set<Integer> projectIds(List<Project> projects) {
+        return projects.stream().map(Project::getId).collect(Collectors.toSet());
     }
 
     /**
@@ -234,9 +289,7 @@ public class EnquiryService {
      * @return an Optional containing the project, or empty if not found
      */
     public Optional<Project> getProjectById(int id) {
-        return db.getProjects().stream()
-                .filter(p -> p.getId() == id)
-                .findFirst();
+        return Optional.ofNullable(db.findProjectById(id));
     }
 
 
@@ -0,0 +1,60 @@
+package sc2002.fcsi.grp3.service;
+
+/**
+ * The OperationClass enum represents the kinds of long-running service calls that the
+ * {@link ServiceExecutor} keeps apart, each in a bulkhead with its own concurrency limit and queue.
+ */
+public enum OperationClass {
+
+    /**
+     * Generating or exporting booking reports.
+     */
+    REPORT("report", Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 32),
+
+    /**
+     * Saving the data store to its files; only one save runs at a time and none waits behind it.
+     */
+    SAVE("save", 1, 0),
+
+    /**
+     * Approving or rejecting applications, which updates flat counts and bookings.
+     */
+    APPROVAL("approval", 4, 64);
+
+    private final String label;
+    private final int defaultConcurrency;
+    private final int defaultQueueCapacity;
+
+    OperationClass(String label, int defaultConcurrency, int defaultQueueCapacity) {
+        this.label = label;
+        this.defaultConcurrency = defaultConcurrency;
+        this.defaultQueueCapacity = defaultQueueCapacity;
+    }
+
+    /**
+     * Gets the lower-case name of the operation class, as used in messages and configuration keys.
+     *
+     * @return the label
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Gets the number of calls of this class that may run at once by default.
+     *
+     * @return the default concurrency limit
+     */
+    public int getDefaultConcurrency() {
+        return defaultConcurrency;
+    }
+
+    /**
+     * Gets the number of calls of this class that may wait for a free slot by default.
+     *
+     * @return the default queue capacity
+     */
+    public int getDefaultQueueCapacity() {
+        return defaultQueueCapacity;
+    }
+}
@@ -0,0 +1,165 @@
+package sc2002.fcsi.grp3.service;
+
+import sc2002.fcsi.grp3.dto.BookingStatistics;
+import sc2002.fcsi.grp3.dto.FlatBookingAggregation;
+import sc2002.fcsi.grp3.model.Application;
+import sc2002.fcsi.grp3.model.Flat;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.ReportFilter;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The ParallelReportEngine class computes flat booking statistics over a large number of applications
+ * on a fork-join pool.
+ * <p>
+ * The applications are split in halves until each piece is small enough, and every piece is scanned on its own
+ * into a set of partial statistics. Partial statistics are merged pairwise as the pieces complete, so the scan
+ * needs no locking and its result does not depend on how the work was split.
+ */
+final class ParallelReportEngine {
+
+    // below this many applications a piece is never split further, to keep the task overhead small
+    private static final int MIN_CHUNK_SIZE = 1024;
+    // aim for this many pieces per worker, so that workers that finish early can steal the rest
+    private static final int CHUNKS_PER_WORKER = 8;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a ParallelReportEngine that runs on the given pool.
+     *
+     * @param pool the fork-join pool to run on
+     */
+    ParallelReportEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Computes statistics over the booked applications that match a filter.
+     *
+     * @param applications the applications to scan
+     * @param filter       the filter criteria, or null to include every booking
+     * @return the statistics, overall and grouped by neighbourhood, flat type and project
+     */
+    FlatBookingAggregation aggregate(List<Application> applications, ReportFilter filter) {
+        Application[] items = applications.toArray(new Application[0]);
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, items.length / (pool.getParallelism() * CHUNKS_PER_WORKER) + 1);
+        Partial result = pool.invoke(new ChunkTask(items, 0, items.length, chunkSize, filter));
+        return result.toAggregation();
+    }
+
+    /**
+     * The ChunkTask class scans a range of applications, splitting it in half while it is larger than a chunk.
+     */
+    private static final class ChunkTask extends RecursiveTask<Partial> {
+
+        private static final long serialVersionUID = 1L;
+
+        // tasks are never serialized; ForkJoinTask is Serializable only through its superclass
+        private final transient Application[] items;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final transient ReportFilter filter;
+
+        ChunkTask(Application[] items, int from, int to, int chunkSize, ReportFilter filter) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.filter = filter;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= chunkSize) {
+                return scan();
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(items, from, middle, chunkSize, filter);
+            left.fork();
+            Partial right = new ChunkTask(items, middle, to, chunkSize, filter).compute();
+            return left.join().merge(right);
+        }
+
+        private Partial scan() {
+            Partial partial = new Partial();
+            for (int i = from; i < to; i++) {
+                Application application = items[i];
+                if (application.getStatus() != ApplicationStatus.BOOKED) continue;
+                User applicant = application.getApplicant();
+                Project project = application.getProject();
+                if (applicant == null || project == null) continue;
+                FlatType flatType = application.getFlatType();
+                if (filter != null && !filter.matches(
+                        applicant.getAge(), applicant.getMaritalStatus(), flatType, project.getNeighbourhood())) {
+                    continue;
+                }
+                partial.add(applicant.getAge(), flatType, project, sellingPrice(project, flatType));
+            }
+            return partial;
+        }
+
+        private static float sellingPrice(Project project, FlatType flatType) {
+            for (Flat flat : project.getFlats()) {
+                if (flat.getType() == flatType) return flat.getSellingPrice();
+            }
+            return Float.NaN;
+        }
+    }
+
+    /**
+     * The Partial class holds the statistics of the applications scanned so far by one task.
+     */
+    private static final class Partial {
+
+        private final BookingStatistics overall = new BookingStatistics();
+        private final Map<String, BookingStatistics> byNeighbourhood = new HashMap<>();
+        private final Map<FlatType, BookingStatistics> byFlatType = new EnumMap<>(FlatType.class);
+        private final Map<Project, BookingStatistics> byProject = new IdentityHashMap<>();
+
+        void add(int age, FlatType flatType, Project project, float price) {
+            overall.add(age, price);
+            String neighbourhood = project.getNeighbourhood() == null ? "" : project.getNeighbourhood();
+            byNeighbourhood.computeIfAbsent(neighbourhood, key -> new BookingStatistics()).add(age, price);
+            if (flatType != null) {
+                byFlatType.computeIfAbsent(flatType, key -> new BookingStatistics()).add(age, price);
+            }
+            byProject.computeIfAbsent(project, key -> new BookingStatistics()).add(age, price);
+        }
+
+        Partial merge(Partial other) {
+            overall.merge(other.overall);
+            other.byNeighbourhood.forEach((key, stats) -> byNeighbourhood.merge(key, stats, BookingStatistics::merge));
+            other.byFlatType.forEach((key, stats) -> byFlatType.merge(key, stats, BookingStatistics::merge));
+            other.byProject.forEach((key, stats) -> byProject.merge(key, stats, BookingStatistics::merge));
+            return this;
+        }
+
+        FlatBookingAggregation toAggregation() {
+            // neighbourhoods match case-insensitively, and projects are reported by name
+            Map<String, BookingStatistics> neighbourhoods = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            byNeighbourhood.forEach((key, stats) -> neighbourhoods.merge(key, stats, BookingStatistics::merge));
+            Map<String, BookingStatistics> projects = new TreeMap<>();
+            byProject.forEach((project, stats) -> projects.merge(
+                    project.getName() == null ? "" : project.getName(), stats, BookingStatistics::merge));
+            return new FlatBookingAggregation(
+                    overall,
+                    Collections.unmodifiableMap(neighbourhoods),
+                    Collections.unmodifiableMap(byFlatType),
+                    Collections.unmodifiableMap(projects));
+        }
+    }
+}
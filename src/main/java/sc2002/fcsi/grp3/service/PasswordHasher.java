@@ -0,0 +1,214 @@
+package sc2002.fcsi.grp3.service;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The PasswordHasher class hashes passwords with PBKDF2 (HMAC-SHA256) and a random salt per user.
+ * Hashes are stored as {@code pbkdf2-sha256$<iterations>$<salt>$<hash>}, so that the iteration count
+ * can be raised later; anything else is taken to be a legacy plaintext password.
+ * <p>
+ * Checking a password costs as much CPU as hashing it, so logins are verified on a small pool of threads
+ * with a bounded queue. A burst of logins waits its turn or is turned away, instead of taking every core
+ * from the sessions that are already logged in.
+ */
+public final class PasswordHasher implements AutoCloseable {
+
+    /**
+     * The default number of PBKDF2 iterations, as recommended by OWASP for HMAC-SHA256.
+     */
+    public static final int DEFAULT_ITERATIONS = 600_000;
+
+    /**
+     * The default number of logins that may wait for a verification thread.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256$";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+
+    private final int iterations;
+    private final ThreadPoolExecutor verifier;
+    private final SecureRandom random = new SecureRandom();
+    private volatile String decoy;
+
+    /**
+     * Constructs a PasswordHasher.
+     *
+     * @param iterations    the number of PBKDF2 iterations for new hashes
+     * @param threads       the number of threads that verify passwords
+     * @param queueCapacity the number of verifications that may wait for a thread
+     * @throws IllegalArgumentException if any argument is not positive
+     */
+    public PasswordHasher(int iterations, int threads, int queueCapacity) {
+        if (iterations <= 0 || threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Iterations, threads and queue capacity must be positive");
+        }
+        this.iterations = iterations;
+        AtomicInteger count = new AtomicInteger();
+        this.verifier = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Gets the number of PBKDF2 iterations used for new hashes.
+     *
+     * @return the iteration count
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Hashes a password with a new random salt.
+     *
+     * @param password the password to hash
+     * @return the encoded hash
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(derive(password, salt, iterations));
+    }
+
+    /**
+     * Checks a password against a stored hash, or against a legacy plaintext password.
+     * The comparison takes the same time however much of the password matches.
+     *
+     * @param password the password to check
+     * @param stored   the stored hash or plaintext password
+     * @return true if the password matches
+     */
+    public boolean verify(String password, String stored) {
+        if (password == null || stored == null) return false;
+
+        String[] parts = parse(stored);
+        if (parts == null) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] salt = Base64.getDecoder().decode(parts[1]);
+        byte[] expected = Base64.getDecoder().decode(parts[2]);
+        return MessageDigest.isEqual(expected, derive(password, salt, Integer.parseInt(parts[0])));
+    }
+
+    /**
+     * Checks a password on the verification threads, and rehashes it if the stored value is plaintext
+     * or was hashed with a different iteration count.
+     *
+     * @param password the password to check
+     * @param stored   the stored hash or plaintext password, or null if there is no such user
+     * @return a future holding the value to store from now on (the stored value, or a new hash),
+     * or null if the password does not match; it fails with a {@link RejectedExecutionException}
+     * if too many verifications are already waiting
+     */
+    public CompletableFuture<String> verifyAndUpgrade(String password, String stored) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (stored == null) {
+                    // spend the same time as for a real user, so that logins do not reveal which NRICs exist
+                    verify(password, decoy());
+                    return null;
+                }
+                if (!verify(password, stored)) return null;
+                return needsRehash(stored) ? hash(password) : stored;
+            }, verifier);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Checks whether a stored password should be hashed again, because it is plaintext or
+     * was hashed with a different iteration count.
+     *
+     * @param stored the stored hash or plaintext password
+     * @return true if the password should be rehashed the next time it is known
+     */
+    public boolean needsRehash(String stored) {
+        String[] parts = parse(stored);
+        return parts == null || Integer.parseInt(parts[0]) != iterations;
+    }
+
+    /**
+     * Checks whether a stored password is a hash rather than legacy plaintext.
+     *
+     * @param stored the stored password
+     * @return true if the password is a hash
+     */
+    public static boolean isHashed(String stored) {
+        return parse(stored) != null;
+    }
+
+    /**
+     * Stops the verification threads. Verifications already queued still run.
+     */
+    @Override
+    public void close() {
+        verifier.shutdown();
+    }
+
+    /**
+     * Splits an encoded hash into its iteration count, salt and hash.
+     *
+     * @param stored the stored password
+     * @return the three parts, or null if the password is not a well-formed hash
+     */
+    private static String[] parse(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX)) return null;
+        String[] parts = stored.substring(PREFIX.length()).split("\\$", -1);
+        if (parts.length != 3 || parts[1].isEmpty() || parts[2].isEmpty()) return null;
+        try {
+            if (Integer.parseInt(parts[0]) <= 0) return null;
+            Base64.getDecoder().decode(parts[1]);
+            Base64.getDecoder().decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return parts;
+    }
+
+    /**
+     * Gets a hash of a random password, checked against when there is no such user.
+     */
+    private String decoy() {
+        String hash = decoy;
+        if (hash == null) {
+            byte[] password = new byte[SALT_BYTES];
+            random.nextBytes(password);
+            hash = hash(Base64.getEncoder().encodeToString(password));
+            decoy = hash;
+        }
+        return hash;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
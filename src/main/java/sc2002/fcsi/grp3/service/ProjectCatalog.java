@@ -0,0 +1,323 @@
+package sc2002.fcsi.grp3.service;
+
+import sc2002.fcsi.grp3.model.Flat;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.ProjectFilter;
+import sc2002.fcsi.grp3.model.ProjectSortOption;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.ProjectSortKey;
+import sc2002.fcsi.grp3.model.enums.SortDirection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The ProjectCatalog class is a read-only, column-oriented copy of every project and its flats,
+ * used to filter and sort projects without walking the project objects.
+ * <p>
+ * Each project is a row. Neighbourhoods are dictionary-encoded, with a bitmap of the rows in each one,
+ * and dates are stored as epoch days. The flats of all projects are stored back to back in primitive
+ * arrays, with each project pointing at the range holding its own flats. A filter narrows a bitmap of
+ * candidate rows one criterion at a time.
+ * <p>
+ * For every {@link ProjectSortKey} the rows are sorted once up front, so sorting a filtered result is
+ * a single pass over that order.
+ * <p>
+ * A catalog is never updated. A new one is built when the projects change.
+ */
+final class ProjectCatalog {
+
+    private static final FlatType[] FLAT_TYPES = FlatType.values();
+
+    private final long version;
+    private final Project[] projects;
+    private final Map<Project, Integer> rowOf = new IdentityHashMap<>();
+
+    private final Map<String, Integer> neighbourhoodCodes = new HashMap<>();
+    private final List<long[]> neighbourhoodRows = new ArrayList<>();
+    private final long[] openingDay;
+    private final long[] closingDay;
+
+    private final int[] flatStart;
+    private final byte[] flatType;
+    private final float[] flatPrice;
+
+    // sortOrder lists the rows by sort key; sortRunStart gives, for every index into sortOrder, where its run of
+    // equal keys starts
+    private final int[][] sortOrder = new int[ProjectSortKey.values().length][];
+    private final int[][] sortRunStart = new int[ProjectSortKey.values().length][];
+
+    /**
+     * Builds a catalog of the given projects.
+     *
+     * @param projects the projects to include
+     * @param version  the project version the projects were read at
+     */
+    ProjectCatalog(List<Project> projects, long version) {
+        this.version = version;
+        this.projects = projects.toArray(new Project[0]);
+        int rows = this.projects.length;
+
+        openingDay = new long[rows];
+        closingDay = new long[rows];
+        flatStart = new int[rows + 1];
+
+        int flatCount = 0;
+        for (Project project : this.projects) {
+            flatCount += project.getFlats().size();
+        }
+        flatType = new byte[flatCount];
+        flatPrice = new float[flatCount];
+
+        int flat = 0;
+        for (int row = 0; row < rows; row++) {
+            Project project = this.projects[row];
+            rowOf.putIfAbsent(project, row);
+            int code = neighbourhoodCodes.computeIfAbsent(normalize(project.getNeighbourhood()), key -> {
+                neighbourhoodRows.add(new long[words(rows)]);
+                return neighbourhoodRows.size() - 1;
+            });
+            set(neighbourhoodRows.get(code), row);
+            openingDay[row] = project.getApplicationOpeningDate().toEpochDay();
+            closingDay[row] = project.getApplicationClosingDate().toEpochDay();
+
+            flatStart[row] = flat;
+            for (Flat f : project.getFlats()) {
+                flatType[flat] = (byte) f.getType().ordinal();
+                flatPrice[flat] = f.getSellingPrice();
+                flat++;
+            }
+        }
+        flatStart[rows] = flat;
+
+        for (ProjectSortKey key : ProjectSortKey.values()) {
+            buildSortOrder(key);
+        }
+    }
+
+    /**
+     * Gets the project version this catalog was built from.
+     *
+     * @return the project version
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Filters and sorts projects with the same rules as {@link ProjectService#filterProjects}.
+     * Projects with the same sort key keep their order from the input list.
+     *
+     * @param user       the user applying the filter
+     * @param input      the projects to filter
+     * @param filter     the filter criteria
+     * @param sortOption the sorting criteria
+     * @return the filtered and sorted projects, or null if the input holds a project that is not in
+     *         the catalog or holds a project twice
+     */
+    List<Project> filter(User user, List<Project> input, ProjectFilter filter, ProjectSortOption sortOption) {
+        long[] matches = new long[words(projects.length)];
+        int[] position = new int[projects.length];
+        boolean inCatalogOrder = true;
+        int previousRow = -1;
+        Project[] inputProjects = input.toArray(new Project[0]);
+        for (int i = 0; i < inputProjects.length; i++) {
+            // the input is usually the full project list or a subset in the same order, so try the row at the
+            // same position before falling back to the identity map
+            int row;
+            if (i < projects.length && projects[i] == inputProjects[i]) {
+                row = i;
+            } else {
+                Integer mapped = rowOf.get(inputProjects[i]);
+                if (mapped == null) return null;
+                row = mapped;
+            }
+            if (get(matches, row)) return null;
+            set(matches, row);
+            position[row] = i;
+            inCatalogOrder &= row > previousRow;
+            previousRow = row;
+        }
+
+        if (filter.getNeighbourhood() != null) {
+            Integer code = neighbourhoodCodes.get(normalize(filter.getNeighbourhood()));
+            if (code == null) {
+                return List.of();
+            }
+            long[] rows = neighbourhoodRows.get(code);
+            for (int w = 0; w < matches.length; w++) {
+                matches[w] &= rows[w];
+            }
+        }
+
+        if (filter.getApplicationOpeningAfter() != null) {
+            long day = filter.getApplicationOpeningAfter().toEpochDay();
+            for (int row = next(matches, 0); row >= 0; row = next(matches, row + 1)) {
+                if (openingDay[row] > day) clear(matches, row);
+            }
+        }
+
+        if (filter.getApplicationClosingBefore() != null) {
+            long day = filter.getApplicationClosingBefore().toEpochDay();
+            for (int row = next(matches, 0); row >= 0; row = next(matches, row + 1)) {
+                if (closingDay[row] < day) clear(matches, row);
+            }
+        }
+
+        // a project matches if one of its flats is of a selected type the user is eligible for and is in the
+        // price range; that flat also satisfies the project-level "any flat above min / below max" checks
+        boolean[] allowedType = new boolean[FLAT_TYPES.length];
+        List<FlatType> selectedTypes = filter.getflatTypes();
+        for (FlatType type : FLAT_TYPES) {
+            allowedType[type.ordinal()] = (selectedTypes == null || selectedTypes.isEmpty() || selectedTypes.contains(type))
+                    && type.isEligible(user);
+        }
+        float minPrice = filter.getMinSellingPrice() == null ? Float.NEGATIVE_INFINITY : filter.getMinSellingPrice();
+        float maxPrice = filter.getMaxSellingPrice() == null ? Float.POSITIVE_INFINITY : filter.getMaxSellingPrice();
+        for (int row = next(matches, 0); row >= 0; row = next(matches, row + 1)) {
+            boolean anyFlat = false;
+            for (int flat = flatStart[row]; flat < flatStart[row + 1] && !anyFlat; flat++) {
+                anyFlat = allowedType[flatType[flat]] && flatPrice[flat] >= minPrice && flatPrice[flat] <= maxPrice;
+            }
+            if (!anyFlat) clear(matches, row);
+        }
+
+        return sorted(matches, position, inCatalogOrder, sortOption);
+    }
+
+    /**
+     * Collects the matching rows in sort order.
+     * Rows with equal sort keys are put back in their input order, as a stable sort would leave them.
+     *
+     * @param matches        the matching rows
+     * @param position       the position of each row in the input list
+     * @param inCatalogOrder whether the input listed its projects in catalog order
+     * @param sortOption     the sorting criteria
+     * @return the sorted projects
+     */
+    private List<Project> sorted(long[] matches, int[] position, boolean inCatalogOrder, ProjectSortOption sortOption) {
+        int[] order = sortOrder[sortOption.getKey().ordinal()];
+        int[] runStart = sortRunStart[sortOption.getKey().ordinal()];
+        boolean descending = sortOption.getDirection() == SortDirection.DESCENDING;
+
+        int count = 0;
+        for (long word : matches) {
+            count += Long.bitCount(word);
+        }
+        int[] rows = new int[count];
+        int size = 0;
+
+        // visit the runs of equal keys in the requested direction, but always read each run forwards,
+        // where its rows are in catalog order
+        int start = descending ? order.length - 1 : 0;
+        while (start >= 0 && start < order.length) {
+            int first = runStart[start];
+            int end = first + 1;
+            while (end < order.length && runStart[end] == first) end++;
+
+            int runSize = size;
+            for (int k = first; k < end; k++) {
+                if (get(matches, order[k])) rows[size++] = order[k];
+            }
+            if (!inCatalogOrder && size - runSize > 1) {
+                sortByPosition(rows, runSize, size, position);
+            }
+            start = descending ? first - 1 : end;
+        }
+
+        Project[] result = new Project[count];
+        for (int k = 0; k < count; k++) {
+            result[k] = projects[rows[k]];
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    private static void sortByPosition(int[] rows, int from, int to, int[] position) {
+        long[] keys = new long[to - from];
+        for (int k = from; k < to; k++) {
+            keys[k - from] = (long) position[rows[k]] << 32 | rows[k];
+        }
+        Arrays.sort(keys);
+        for (int k = from; k < to; k++) {
+            rows[k] = (int) keys[k - from];
+        }
+    }
+
+    /**
+     * Sorts all rows by a sort key and records where each run of equal keys starts.
+     *
+     * @param key the sort key
+     */
+    private void buildSortOrder(ProjectSortKey key) {
+        Comparator<Integer> comparator = switch (key) {
+            case NAME -> Comparator.comparing(row -> projects[row].getName());
+            case APPLICATION_OPENING_DATE -> Comparator.comparingLong(row -> openingDay[row]);
+            case APPLICATION_CLOSING_DATE -> Comparator.comparingLong(row -> closingDay[row]);
+            case PRICE -> (a, b) -> Float.compare(lowestPrice(a), lowestPrice(b));
+        };
+
+        // the sort is stable, so rows with equal keys stay in catalog order
+        Integer[] rows = new Integer[projects.length];
+        Arrays.setAll(rows, row -> row);
+        Arrays.sort(rows, comparator);
+
+        int[] order = new int[rows.length];
+        int[] runStart = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            order[i] = rows[i];
+            boolean tied = i > 0 && comparator.compare(rows[i - 1], rows[i]) == 0;
+            runStart[i] = tied ? runStart[i - 1] : i;
+        }
+        sortOrder[key.ordinal()] = order;
+        sortRunStart[key.ordinal()] = runStart;
+    }
+
+    private float lowestPrice(int row) {
+        float lowest = Float.MAX_VALUE;
+        for (int flat = flatStart[row]; flat < flatStart[row + 1]; flat++) {
+            lowest = Math.min(lowest, flatPrice[flat]);
+        }
+        return lowest;
+    }
+
+    private static String normalize(String neighbourhood) {
+        return neighbourhood == null ? "" : neighbourhood.toLowerCase(Locale.ROOT);
+    }
+
+    // Bitmap helpers over plain long words, which skip BitSet's bookkeeping in the filter loops
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static boolean get(long[] bitmap, int bit) {
+        return (bitmap[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static void set(long[] bitmap, int bit) {
+        bitmap[bit >>> 6] |= 1L << bit;
+    }
+
+    private static void clear(long[] bitmap, int bit) {
+        bitmap[bit >>> 6] &= ~(1L << bit);
+    }
+
+    private static int next(long[] bitmap, int from) {
+        int w = from >>> 6;
+        if (w >= bitmap.length) return -1;
+        long word = bitmap[w] & (-1L << from);
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == bitmap.length) return -1;
+            word = bitmap[w];
+        }
+    }
+}
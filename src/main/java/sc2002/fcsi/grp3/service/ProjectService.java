@@ -1,9 +1,12 @@
 package sc2002.fcsi.grp3.service;
 
 import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.datastore.Journal;
+import sc2002.fcsi.grp3.metrics.ApplicationStatusEvent;
 import sc2002.fcsi.grp3.model.*;
 import sc2002.fcsi.grp3.model.enums.*;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Stream;
 
@@ -14,6 +17,8 @@ import java.util.stream.Stream;
 public class ProjectService {
 
     private final DataStore db;
+    private final VisibleProjectCache visibleProjectCache = new VisibleProjectCache();
+    private volatile ProjectCatalog projectCatalog;
 
     /**
      * Constructs a ProjectService with the specified data store.
@@ -27,33 +32,46 @@ public class ProjectService {
     /**
      * Retrieves all visible projects for the specified user.
      * Includes projects the user is eligible for and projects they have applied to.
+     * <p>
+     * The open, visible projects are cached per eligibility class and the applied projects come from
+     * the applicant index, so the cost grows with the size of the result rather than the data set.
      *
      * @param user the user for whom visible projects are retrieved
      * @return a list of visible projects
      */
     public List<Project> getVisibleProjects(User user) {
-        List<Project> visibleProjects = db.getProjects()
-                .stream()
-                .filter(Project::isVisible)
-                .filter(Project::isApplicationOpen)
-                .toList();
+        List<Project> visibleProjects = visibleProjectCache.get(
+                VisibleProjectCache.EligibilityClass.of(user), this::findVisibleProjects);
 
-        if (user.isEligibleFor2R()) {
-            visibleProjects = visibleProjects
-                    .stream()
-                    .filter(p -> p.hasAvailableFlatType(FlatType.TWO_ROOM))
-                    .toList();
+        List<Application> applications = db.getApplicationsByApplicant(user.getNric());
+        if (applications.isEmpty()) {
+            return visibleProjects;
         }
 
-        List<Project> appliedProjects = db.getApplications().stream()
-                .filter(app -> app.getApplicant().equals(user))
-                .map(Application::getProject)
-                .distinct()
-                .toList();
+        Set<Project> projects = new LinkedHashSet<>(visibleProjects);
+        for (Application application : applications) {
+            projects.add(application.getProject());
+        }
+        return List.copyOf(projects);
+    }
 
-        return Stream.concat(visibleProjects.stream(), appliedProjects.stream())
-                .distinct()
-                .toList();
+    /**
+     * Finds the open, visible projects listed for an eligibility class.
+     * Users who may buy a 2-Room flat only see projects that still have 2-Room units.
+     *
+     * @param eligibility the eligibility class
+     * @return a list of visible projects
+     */
+    private List<Project> findVisibleProjects(VisibleProjectCache.EligibilityClass eligibility) {
+        Stream<Project> visibleProjects = db.getProjects()
+                .stream()
+                .filter(Project::isVisible)
+                .filter(Project::isApplicationOpen);
+
+        if (eligibility != VisibleProjectCache.EligibilityClass.NONE) {
+            visibleProjects = visibleProjects.filter(p -> p.hasAvailableFlatType(FlatType.TWO_ROOM));
+        }
+        return visibleProjects.toList();
     }
 
     /**
@@ -66,6 +84,41 @@ public class ProjectService {
      * @return a list of filtered and sorted projects
      */
     public List<Project> filterProjects(User user, List<Project> projects, ProjectFilter filter, ProjectSortOption sortOption) {
+        List<Project> result = projectCatalog().filter(user, projects, filter, sortOption);
+        if (result != null) {
+            return result;
+        }
+        return scanProjects(user, projects, filter, sortOption);
+    }
+
+    /**
+     * Retrieves the project catalog, building a new one if any project changed since the last was built.
+     * Unit counts are not in the catalog, and changing them does not raise the project version unless a
+     * flat runs out, so approvals, bookings and withdrawals rarely force a rebuild.
+     *
+     * @return the current project catalog
+     */
+    private ProjectCatalog projectCatalog() {
+        long version = ChangeTracker.getVersion(EntityType.PROJECTS);
+        ProjectCatalog catalog = projectCatalog;
+        if (catalog == null || catalog.getVersion() != version) {
+            catalog = new ProjectCatalog(db.getProjects(), version);
+            projectCatalog = catalog;
+        }
+        return catalog;
+    }
+
+    /**
+     * Filters and sorts projects one by one.
+     * Used for lists the project catalog cannot answer, e.g. ones holding a project that was just removed.
+     *
+     * @param user       the user applying the filter
+     * @param projects   the list of projects to filter
+     * @param filter     the filter criteria
+     * @param sortOption the sorting criteria
+     * @return a list of filtered and sorted projects
+     */
+    private List<Project> scanProjects(User user, List<Project> projects, ProjectFilter filter, ProjectSortOption sortOption) {
         Stream<Project> stream = projects.stream()
                 .filter(p -> filter.getNeighbourhood() == null ||
                         p.getNeighbourhood().equalsIgnoreCase(filter.getNeighbourhood()))
@@ -114,10 +167,7 @@ public class ProjectService {
      * @return a list of projects managed by the officer
      */
     public List<Project> getProjectsManagedByOfficer(String officerNric) {
-        return db.getProjects()
-                .stream()
-                .filter(project -> project.getOfficerNrics().contains(officerNric))
-                .toList();
+        return db.getProjectsByOfficer(officerNric);
     }
 
     /**
@@ -127,10 +177,36 @@ public class ProjectService {
      * @return a list of projects managed by the manager
      */
     public List<Project> getProjectsManagedBy(String managerNric) {
-        return db.getProjects()
-                .stream()
-                .filter(project -> project.getManagerNric().equals(managerNric))
-                .toList();
+        return db.getProjectsByManager(managerNric);
+    }
+
+    /**
+     * Checks whether a project's application period overlaps that of another project managed by the specified manager.
+     * The project may be a new one, or an edited copy of a stored one, which is then compared against
+     * the manager's other projects only. Stored projects change their dates through {@link #updateProject},
+     * which keeps the index current, so the check only reads it.
+     *
+     * @param project     the project to check
+     * @param managerNric the NRIC of the manager
+     * @return true if another of the manager's projects has an overlapping application period
+     */
+    public boolean hasOverlappingApplicationPeriod(Project project, String managerNric) {
+        Project stored = db.findProjectById(project.getId());
+        return db.hasOverlappingProjectManagedBy(
+                managerNric,
+                project.getApplicationOpeningDate(),
+                project.getApplicationClosingDate(),
+                stored != null ? stored : project);
+    }
+
+    /**
+     * Retrieves all projects whose application period includes the specified date.
+     *
+     * @param date the date
+     * @return a list of projects open for application on that date
+     */
+    public List<Project> getProjectsOpenOn(LocalDate date) {
+        return db.getProjectsOpenOn(date);
     }
 
     /**
@@ -149,10 +225,7 @@ public class ProjectService {
      * @return an Optional containing the project, or empty if not found
      */
     public Optional<Project> getProjectById(int id) {
-        return db.getProjects()
-                .stream()
-                .filter(p -> p.getId() == id)
-                .findFirst();
+        return Optional.ofNullable(db.findProjectById(id));
     }
 
     /**
@@ -194,8 +267,11 @@ public class ProjectService {
      * @return true if the visibility was updated successfully
      */
     public boolean setProjectVisibility(Project project, boolean newVisibility) {
-        project.setVisible(newVisibility);
-        return true;
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            project.setVisible(newVisibility);
+            db.getJournal().visibilityChanged(project);
+            return true;
+        }
     }
 
     /**
@@ -205,8 +281,11 @@ public class ProjectService {
      * @param Nric    the NRIC of the manager
      */
     public void createProject(Project project, String Nric) {
-        project.setManagerNric(Nric);
-        db.addProject(project);
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            project.setManagerNric(Nric);
+            db.addProject(project);
+            db.getJournal().projectCreated(project);
+        }
     }
 
     /**
@@ -216,17 +295,15 @@ public class ProjectService {
      * @return true if the project was deleted successfully, false otherwise
      */
     public boolean deleteProject(int projectId) {
-        List<Project> updatedProjects = db.getProjects()
-                .stream()
-                .filter(project -> project.getId() != projectId)
-                .toList();
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            Project project = db.findProjectById(projectId);
+            if (project == null || !db.removeProject(project)) {
+                return false; // No project was deleted
+            }
 
-        if (updatedProjects.size() == db.getProjects().size()) {
-            return false; // No project was deleted
+            db.getJournal().projectDeleted(project);
+            return true;
         }
-
-        db.setProjects(updatedProjects);
-        return true;
     }
 
     /**
@@ -245,8 +322,7 @@ public class ProjectService {
      * @return a list of pending officer registrations
      */
     public List<Registration> getPendingOfficerRegistrations(int projectId) {
-        return db.getRegistrations().stream()
-                .filter(reg -> reg.getProject().getId() == projectId)
+        return db.getRegistrationsByProject(projectId).stream()
                 .filter(reg -> reg.getStatus() == RegistrationStatus.PENDING)
                 .toList();
     }
@@ -259,13 +335,19 @@ public class ProjectService {
      * @return true if the update was successful, false otherwise
      */
     public boolean updateOfficerRegistrationStatus(Registration registration, RegistrationStatus status) {
-        registration.setStatus(status);
-        if (status == RegistrationStatus.APPROVED) {
-            // Attempt to assign the officer to the project
-            boolean success = registration.getProject().assignOfficer(registration.getApplicant().getNric());
-            return success; // Return true if the officer was successfully assigned
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            registration.setStatus(status);
+            db.getJournal().registrationStatusChanged(registration, status);
+            if (status == RegistrationStatus.APPROVED) {
+                // Attempt to assign the officer to the project
+                boolean success = registration.getProject().assignOfficer(registration.getApplicant().getNric());
+                if (success) {
+                    db.reindexProject(registration.getProject());
+                }
+                return success; // Return true if the officer was successfully assigned
+            }
+            return true; // Return true for non-approval statuses
         }
-        return true; // Return true for non-approval statuses
     }
 
     /**
@@ -275,35 +357,43 @@ public class ProjectService {
      * @return a list of pending BTO applications
      */
     public List<Application> getPendingBTOApplications(int projectId) {
-        return db.getApplications().stream()
-                .filter(app -> app.getProject().getId() == projectId)
+        return db.getApplicationsByProject(projectId).stream()
                 .filter(app -> app.getStatus() == ApplicationStatus.PENDING)
                 .toList();
     }
 
     /**
-     * Updates the status of a BTO application.
+     * Updates the status of a pending BTO application.
+     * Approving it reserves a unit of its flat type first; if another session has already decided the
+     * application, the status is left alone and the reserved unit is released again.
      *
      * @param application the application to update
      * @param status      the new status
-     * @return true if the update was successful, false otherwise
+     * @return true if the update was successful, false if no unit was available or the application is no longer pending
      */
     public boolean updateBTOApplicationStatus(Application application, ApplicationStatus status) {
-        if (status == ApplicationStatus.SUCCESSFUL) {
-            FlatType flatType = application.getFlatType();
-            Flat flat = application.getProject().getFlats().stream()
-                    .filter(f -> f.getType() == flatType && f.getUnitsAvailable() > 0)
-                    .findFirst()
-                    .orElse(null);
-
-            if (flat == null) {
-                return false; // No available units for the flat type
+        ApplicationStatusEvent event = ApplicationStatusEvent.start(application.getId(),
+                application.getProject() == null ? 0 : application.getProject().getId(),
+                String.valueOf(application.getFlatType()), String.valueOf(application.getStatus()), status.name());
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            Flat flat = null;
+            if (status == ApplicationStatus.SUCCESSFUL) {
+                flat = application.getProject().getFlat(application.getFlatType());
+
+                if (flat == null || !flat.reserveUnit()) {
+                    event.finish(false);
+                    return false; // No available units for the flat type
+                }
             }
-
-            flat.reduceUnitsAvailable();
+            if (!application.compareAndSetStatus(ApplicationStatus.PENDING, status)) {
+                if (flat != null) flat.releaseReservation(); // Decided by another session, give the unit back
+                event.finish(false);
+                return false;
+            }
+            db.getJournal().applicationStatusChanged(application, status);
+            event.finish(true);
+            return true;
         }
-        application.setStatus(status);
-        return true;
     }
 
     /**
@@ -313,61 +403,80 @@ public class ProjectService {
      * @return a list of pending withdrawal requests
      */
     public List<Application> getPendingWithdrawalRequests(int projectId) {
-        return db.getApplications().stream()
-                .filter(app -> app.getProject().getId() == projectId)
+        return db.getApplicationsByProject(projectId).stream()
                 .filter(app -> app.getStatus() == ApplicationStatus.WITHDRAWAL_REQUESTED)
                 .toList();
     }
 
     /**
      * Updates the status of a withdrawal request.
+     * Approving the request releases the flat unit the application was holding, if any.
+     * A request that another session has already decided is left alone.
      *
      * @param application the application to update
      * @param approve     true to approve the request, false to reject it
      */
     public void updateWithdrawalRequest(Application application, boolean approve) {
-        if (approve) {
-            application.setStatus(ApplicationStatus.WITHDRAWN);
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            if (approve) {
+                if (!application.compareAndSetStatus(ApplicationStatus.WITHDRAWAL_REQUESTED, ApplicationStatus.WITHDRAWN)) {
+                    return;
+                }
+                Flat flat = application.getProject().getFlat(application.getFlatType());
+                ApplicationStatus previous = application.getStatusBeforeWithdrawal();
+                if (flat != null && previous == ApplicationStatus.SUCCESSFUL) {
+                    flat.releaseReservation();
+                } else if (flat != null && previous == ApplicationStatus.BOOKED) {
+                    flat.returnUnit();
+                }
+                db.getJournal().withdrawalDecided(application, previous, true);
+            }
         }
     }
 
     /**
      * Updates the details of an existing project.
+     * Flats are updated in place, so units reserved for successful applications can still be booked.
+     * The stored project is only changed here, never by the caller, so the edit is made and journaled
+     * under the change lock.
      *
      * @param projectId      the ID of the project to update
      * @param updatedProject the updated project details
-     * @return true if the update was successful, false otherwise
+     * @return true if the update was successful, false if the project was not found, its period overlaps
+     *         another project, or a flat type with reserved units would be dropped
      */
     public boolean updateProject(int projectId, Project updatedProject) {
-        Project existingProject = db.getProjects().stream()
-                .filter(project -> project.getId() == projectId)
-                .findFirst()
-                .orElse(null);
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            Project existingProject = db.findProjectById(projectId);
 
-        if (existingProject == null) {
-            return false; // Project not found
-        }
+            if (existingProject == null) {
+                return false; // Project not found
+            }
 
-        // Check for overlapping application periods
-        boolean hasOverlap = db.getProjects().stream()
-                .filter(project -> project.getId() != projectId) // Exclude the current project
-                .anyMatch(project ->
-                        !updatedProject.getApplicationClosingDate().isBefore(project.getApplicationOpeningDate()) &&
-                                !updatedProject.getApplicationOpeningDate().isAfter(project.getApplicationClosingDate())
-                );
+            // Check for overlapping application periods, excluding the current project
+            boolean hasOverlap = db.hasOverlappingProject(
+                    updatedProject.getApplicationOpeningDate(),
+                    updatedProject.getApplicationClosingDate(),
+                    existingProject);
 
-        if (hasOverlap) {
-            return false; // Overlapping application periods detected
-        }
+            if (hasOverlap) {
+                return false; // Overlapping application periods detected
+            }
 
-        // Update project details
-        existingProject.setName(updatedProject.getName());
-        existingProject.setNeighbourhood(updatedProject.getNeighbourhood());
-        existingProject.setApplicationOpeningDate(updatedProject.getApplicationOpeningDate());
-        existingProject.setApplicationClosingDate(updatedProject.getApplicationClosingDate());
-        existingProject.setFlats(updatedProject.getFlats());
-        existingProject.setTotalOfficerSlots(updatedProject.getTotalOfficerSlots());
-        return true;
+            if (!existingProject.updateFlats(updatedProject.getFlats())) {
+                return false; // A flat type that still has reserved units would be dropped
+            }
+
+            // Update project details
+            existingProject.setName(updatedProject.getName());
+            existingProject.setNeighbourhood(updatedProject.getNeighbourhood());
+            existingProject.setApplicationOpeningDate(updatedProject.getApplicationOpeningDate());
+            existingProject.setApplicationClosingDate(updatedProject.getApplicationClosingDate());
+            existingProject.setTotalOfficerSlots(updatedProject.getTotalOfficerSlots());
+            db.reindexProject(existingProject);
+            db.getJournal().projectUpdated(existingProject);
+            return true;
+        }
     }
 
     /**
@@ -381,8 +490,11 @@ public class ProjectService {
         if (newSlots < 0 || newSlots > 10) {
             return false; // Invalid number of officer slots
         }
-        project.setTotalOfficerSlots(newSlots);
-        return true;
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            project.setTotalOfficerSlots(newSlots);
+            db.getJournal().officerSlotsChanged(project);
+            return true;
+        }
     }
 
     /**
@@ -392,8 +504,7 @@ public class ProjectService {
      * @return a list of approved officer registrations
      */
     public List<Registration> getApprovedOfficerRegistrations(int projectId) {
-        return db.getRegistrations().stream()
-                .filter(reg -> reg.getProject().getId() == projectId) // Match the project ID
+        return db.getRegistrationsByProject(projectId).stream()
                 .filter(reg -> reg.getStatus() == RegistrationStatus.APPROVED) // Filter by APPROVED status
                 .toList();
     }
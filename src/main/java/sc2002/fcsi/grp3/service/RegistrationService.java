@@ -1,6 +1,7 @@
 package sc2002.fcsi.grp3.service;
 
 import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.datastore.Journal;
 import sc2002.fcsi.grp3.model.Project;
 import sc2002.fcsi.grp3.model.Registration;
 import sc2002.fcsi.grp3.model.User;
@@ -34,11 +35,11 @@ public class RegistrationService {
      * @param today   the date of registration
      */
     public void Join(Project project, User officer, LocalDate today) {
-
-        Registration reg = new Registration(project, officer, today);
-        db.addRegistration(reg);
-
-
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            Registration reg = new Registration(project, officer, today);
+            db.addRegistration(reg);
+            db.getJournal().registrationAdded(reg);
+        }
     }
 
     /**
@@ -49,13 +50,7 @@ public class RegistrationService {
      */
     public String getStatus(User user) {
 
-        Registration found = null;
-
-        for (Registration reg : db.getRegistrations()) {
-            if (reg.getApplicant() == user) {
-                found = reg;
-            }
-        }
+        Registration found = findLatestRegistration(user);
 
         if (found != null)
             //System.out.println(found.getStatus());
@@ -72,13 +67,7 @@ public class RegistrationService {
      */
     public void setStatus(User user) {
 
-        Registration found = null;
-
-        for (Registration reg : db.getRegistrations()) {
-            if (reg.getApplicant() == user) {
-                found = reg;
-            }
-        }
+        Registration found = findLatestRegistration(user);
 
         if (found != null)
             found.setStatus(RegistrationStatus.APPROVED);
@@ -92,13 +81,7 @@ public class RegistrationService {
      */
     public String getProjectName(User user) {
 
-        Registration found = null;
-
-        for (Registration reg : db.getRegistrations()) {
-            if (reg.getApplicant() == user) {
-                found = reg;
-            }
-        }
+        Registration found = findLatestRegistration(user);
 
         if (found != null)
             //System.out.println(found.getProject().getName());
@@ -108,6 +91,23 @@ public class RegistrationService {
         }
     }
 
+    /**
+     * Retrieves the most recent registration submitted by the specified user.
+     *
+     * @param user the user whose registration is to be retrieved
+     * @return the latest registration, or null if no registration is found
+     */
+    private Registration findLatestRegistration(User user) {
+        Registration found = null;
+
+        for (Registration reg : db.getRegistrationsByApplicant(user.getNric())) {
+            if (reg.getApplicant() == user) {
+                found = reg;
+            }
+        }
+        return found;
+    }
+
     /**
      * Retrieves the project handled by the specified officer.
      *
@@ -116,17 +116,8 @@ public class RegistrationService {
      */
     public Project getHandledProject(String userNRIC) {
 
-        Project found = null;
-
-        for (Project proj : db.getProjects()) {
-            List<String> lNRIC = proj.getOfficerNrics();
-            for (String nric : lNRIC) {
-                if (nric.equals(userNRIC)) {
-                    found = proj;
-                }
-            }
-
-        }
+        List<Project> handled = db.getProjectsByOfficer(userNRIC);
+        Project found = handled.isEmpty() ? null : handled.get(handled.size() - 1);
 
 //        for (Registration reg : db.getRegistrations()) {
 //            if (reg.getApplicant() == user) {
@@ -1,30 +1,82 @@
 package sc2002.fcsi.grp3.service;
 
 import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.dto.FlatBookingAggregation;
 import sc2002.fcsi.grp3.dto.FlatBookingReportRow;
-import sc2002.fcsi.grp3.model.Project;
-import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.dto.FlatBookingTotals;
+import sc2002.fcsi.grp3.io.ExportFormat;
+import sc2002.fcsi.grp3.io.ReportExporter;
 import sc2002.fcsi.grp3.model.ReportFilter;
-import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
-import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.service.result.ActionResult;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The ReportService class provides functionality for generating reports.
- * It includes methods to retrieve flat booking reports based on specified filters.
+ * It includes methods to retrieve flat booking reports and their totals based on specified filters.
+ * The report is read from a view in the data store that is updated whenever an application is
+ * booked or leaves the booked status, so no request scans every application.
+ * Statistics over all bookings are computed by scanning the applications in parallel.
  */
 public class ReportService {
 
+    /**
+     * The directory reports are exported into when none is configured.
+     */
+    public static final Path DEFAULT_EXPORT_DIRECTORY = Path.of("data", "exports");
+
     private final DataStore db;
+    private final ParallelReportEngine engine;
+    private final Path exportDirectory;
 
     /**
      * Constructs a ReportService with the specified data store.
+     * Statistics are computed on the common fork-join pool, and reports are exported into the default
+     * export directory.
      *
      * @param db the data store containing application and project data
      */
     public ReportService(DataStore db) {
+        this(db, ForkJoinPool.commonPool(), DEFAULT_EXPORT_DIRECTORY);
+    }
+
+    /**
+     * Constructs a ReportService with the specified data store, exporting reports into the given directory.
+     * Statistics are computed on the common fork-join pool.
+     *
+     * @param db              the data store containing application and project data
+     * @param exportDirectory the directory reports are exported into
+     */
+    public ReportService(DataStore db, Path exportDirectory) {
+        this(db, ForkJoinPool.commonPool(), exportDirectory);
+    }
+
+    /**
+     * Constructs a ReportService with the specified data store, computing statistics on the given pool.
+     * Reports are exported into the default export directory.
+     *
+     * @param db   the data store containing application and project data
+     * @param pool the fork-join pool to compute statistics on
+     */
+    public ReportService(DataStore db, ForkJoinPool pool) {
+        this(db, pool, DEFAULT_EXPORT_DIRECTORY);
+    }
+
+    /**
+     * Constructs a ReportService with the specified data store, computing statistics on the given pool
+     * and exporting reports into the given directory.
+     *
+     * @param db              the data store containing application and project data
+     * @param pool            the fork-join pool to compute statistics on
+     * @param exportDirectory the directory reports are exported into
+     */
+    public ReportService(DataStore db, ForkJoinPool pool, Path exportDirectory) {
         this.db = db;
+        this.engine = new ParallelReportEngine(pool);
+        this.exportDirectory = exportDirectory;
     }
 
     /**
@@ -32,25 +84,57 @@ public class ReportService {
      * The report includes details of booked flats and applies the filter criteria if provided.
      *
      * @param filter the filter criteria for the report, or null to include all booked flats
-     * @return a list of FlatBookingReportRow objects representing the report
+     * @return a list of FlatBookingReportRow objects representing the report, in order of application ID
      */
     public List<FlatBookingReportRow> getFlatBookingReport(ReportFilter filter) {
-        return db.getApplications().stream()
-                .filter(app -> app.getStatus() == ApplicationStatus.BOOKED)
-                .map(app -> {
-                    User u = app.getApplicant();
-                    FlatType f = app.getFlatType();
-                    Project p = app.getProject();
-                    return new FlatBookingReportRow(
-                            u.getName(),
-                            u.getAge(),
-                            u.getMaritalStatus(),
-                            f,
-                            p.getName(),
-                            p.getNeighbourhood()
-                    );
-                })
-                .filter(row -> filter == null || filter.matches(row))
-                .toList();
+        return db.getFlatBookingReport(filter);
+    }
+
+    /**
+     * Counts the booked flats that match the specified filter, grouped by neighbourhood, flat type,
+     * marital status and age band.
+     *
+     * @param filter the filter criteria for the report, or null to include all booked flats
+     * @return the booking totals
+     */
+    public FlatBookingTotals getFlatBookingTotals(ReportFilter filter) {
+        return db.getFlatBookingTotals(filter);
+    }
+
+    /**
+     * Computes statistics over the booked flats that match the specified filter: the number of bookings,
+     * the total and average selling price, and an age histogram, overall and per neighbourhood, flat type
+     * and project. The applications are scanned in parallel.
+     *
+     * @param filter the filter criteria for the report, or null to include all booked flats
+     * @return the booking statistics
+     */
+    public FlatBookingAggregation getFlatBookingAggregation(ReportFilter filter) {
+        return engine.aggregate(db.getApplications(), filter);
+    }
+
+    /**
+     * Exports the flat booking report to a file, streaming the rows that match the specified filter straight
+     * to the file so that the report is never held in memory as a whole.
+     * The file is named relative to the export directory, and names leading outside it are refused.
+     *
+     * @param filter   the filter criteria for the report, or null to include all booked flats
+     * @param fileName the file to write, relative to the export directory
+     * @param format   the file format
+     * @return an ActionResult holding the number of rows written, or the reason the export failed
+     */
+    public ActionResult<Long> exportFlatBookingReport(ReportFilter filter, String fileName, ExportFormat format) {
+        Path target;
+        try {
+            target = ReportExporter.resolveExportFile(exportDirectory, fileName);
+        } catch (IllegalArgumentException e) {
+            return ActionResult.failure(e.getMessage());
+        }
+        try {
+            long rows = ReportExporter.exportBookingReport(db.streamFlatBookingReport(filter).iterator(), target, format);
+            return ActionResult.success("Exported " + rows + " rows to " + target + ".", rows);
+        } catch (IOException e) {
+            return ActionResult.failure("Failed to export report: " + e.getMessage());
+        }
     }
 }
@@ -0,0 +1,236 @@
+package sc2002.fcsi.grp3.service;
+
+import sc2002.fcsi.grp3.dto.BulkheadStats;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+import sc2002.fcsi.grp3.service.result.ActionResult;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * The ServiceExecutor class runs long service calls, such as reports, saves and approvals, on virtual threads.
+ * Every {@link OperationClass} has a bulkhead of its own: a limit on how many of its calls run at once and
+ * a bounded queue for those waiting their turn. A call that finds the queue full is turned away at once
+ * with a failed {@link ActionResult}, so a burst of one kind of work neither piles up without bound nor
+ * starves the other kinds, or the interactive sessions, of threads.
+ * <p>
+ * Each bulkhead counts its running, queued, completed and rejected calls, and how long they wait and take,
+ * which {@link #getStats()} reports.
+ */
+public class ServiceExecutor implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<OperationClass, Bulkhead> bulkheads = new EnumMap<>(OperationClass.class);
+
+    /**
+     * Constructs a ServiceExecutor with the default limits of every operation class.
+     */
+    public ServiceExecutor() {
+        this(OperationClass::getDefaultConcurrency, OperationClass::getDefaultQueueCapacity);
+    }
+
+    /**
+     * Constructs a ServiceExecutor with the given limits.
+     *
+     * @param concurrency   the number of calls of each class that may run at once
+     * @param queueCapacity the number of calls of each class that may wait for a free slot
+     * @throws IllegalArgumentException if a concurrency limit is not positive or a queue capacity is negative
+     */
+    public ServiceExecutor(ToIntFunction<OperationClass> concurrency, ToIntFunction<OperationClass> queueCapacity) {
+        for (OperationClass operation : OperationClass.values()) {
+            int slots = concurrency.applyAsInt(operation);
+            int queue = queueCapacity.applyAsInt(operation);
+            if (slots <= 0 || queue < 0) {
+                throw new IllegalArgumentException("Invalid limits for " + operation.getLabel()
+                        + " calls: concurrency " + slots + ", queue " + queue);
+            }
+            bulkheads.put(operation, new Bulkhead(slots, queue));
+        }
+    }
+
+    /**
+     * Runs a call in the bulkhead of its operation class and waits for its value.
+     *
+     * @param operation the operation class of the call
+     * @param task      the call
+     * @param <T>       the type of the value
+     * @return a successful ActionResult holding the value, or a failed one if the bulkhead is full
+     * @throws RuntimeException if the call throws, the exception is rethrown on the calling thread
+     */
+    public <T> ActionResult<T> call(OperationClass operation, Supplier<T> task) {
+        return callAction(operation, () -> ActionResult.success(null, task.get()));
+    }
+
+    /**
+     * Runs a call that reports its own outcome in the bulkhead of its operation class, and waits for it.
+     *
+     * @param operation the operation class of the call
+     * @param task      the call
+     * @param <T>       the type of data in the result
+     * @return the result of the call, or a failed ActionResult if the bulkhead is full
+     * @throws RuntimeException if the call throws, the exception is rethrown on the calling thread
+     */
+    public <T> ActionResult<T> callAction(OperationClass operation, Supplier<ActionResult<T>> task) {
+        try {
+            return submit(operation, task).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ActionResult.failure("The " + operation.getLabel() + " request was interrupted.");
+        }
+    }
+
+    /**
+     * Submits a call that reports its own outcome to the bulkhead of its operation class without waiting.
+     *
+     * @param operation the operation class of the call
+     * @param task      the call
+     * @param <T>       the type of data in the result
+     * @return a future for the result of the call, already holding a failed ActionResult if the bulkhead is full
+     */
+    public <T> CompletableFuture<ActionResult<T>> submit(OperationClass operation, Supplier<ActionResult<T>> task) {
+        Bulkhead bulkhead = bulkheads.get(operation);
+        if (!bulkhead.admission.tryAcquire()) {
+            bulkhead.rejected.increment();
+            return CompletableFuture.completedFuture(ActionResult.failure("The server is busy with other "
+                    + operation.getLabel() + " requests, please try again later."));
+        }
+
+        long submitted = System.nanoTime();
+        bulkhead.enqueue();
+        CompletableFuture<ActionResult<T>> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> bulkhead.run(task, submitted, future));
+        } catch (RuntimeException e) {
+            bulkhead.queued.decrementAndGet();
+            bulkhead.admission.release();
+            throw e;
+        }
+        return future;
+    }
+
+    /**
+     * Gets a snapshot of every bulkhead.
+     *
+     * @return the statistics of each operation class
+     */
+    public Map<OperationClass, BulkheadStats> getStats() {
+        Map<OperationClass, BulkheadStats> stats = new EnumMap<>(OperationClass.class);
+        bulkheads.forEach((operation, bulkhead) -> stats.put(operation, bulkhead.stats()));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Registers gauges for the running, queued, rejected and completed calls of every bulkhead.
+     *
+     * @param metrics the registry to register the gauges with
+     */
+    public void registerGauges(MetricsRegistry metrics) {
+        bulkheads.forEach((operation, bulkhead) -> {
+            String labels = "operation=\"" + operation.getLabel() + "\"";
+            metrics.gauge("service_executor_running_calls", "Service calls running in each bulkhead.", labels,
+                    bulkhead.running::get);
+            metrics.gauge("service_executor_queued_calls", "Service calls waiting in each bulkhead.", labels,
+                    bulkhead.queued::get);
+            metrics.gauge("service_executor_rejected_calls", "Service calls turned away by each full bulkhead.",
+                    labels, bulkhead.rejected::sum);
+            metrics.gauge("service_executor_completed_calls", "Service calls finished in each bulkhead.", labels,
+                    bulkhead.completed::sum);
+        });
+    }
+
+    /**
+     * Stops the calls that are running or waiting.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The Bulkhead class limits and measures the calls of one operation class. A call holds an admission
+     * permit from the moment it is submitted, and a slot while it runs, so at most the concurrency limit
+     * plus the queue capacity are ever admitted.
+     */
+    private static final class Bulkhead {
+
+        final int concurrency;
+        final int queueCapacity;
+        final Semaphore admission;
+        final Semaphore slots;
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicInteger peakQueued = new AtomicInteger();
+        final LongAdder completed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder queueNanos = new LongAdder();
+        final LongAdder latencyNanos = new LongAdder();
+        final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        Bulkhead(int concurrency, int queueCapacity) {
+            this.concurrency = concurrency;
+            this.queueCapacity = queueCapacity;
+            this.admission = new Semaphore(concurrency + queueCapacity);
+            this.slots = new Semaphore(concurrency, true);
+        }
+
+        void enqueue() {
+            int depth = queued.incrementAndGet();
+            peakQueued.accumulateAndGet(depth, Math::max);
+        }
+
+        /**
+         * Waits for a slot, runs the call and completes its future, on the call's own virtual thread.
+         */
+        <T> void run(Supplier<ActionResult<T>> task, long submitted, CompletableFuture<ActionResult<T>> future) {
+            try {
+                slots.acquire();
+            } catch (InterruptedException e) {
+                queued.decrementAndGet();
+                admission.release();
+                future.complete(ActionResult.failure("The request was cancelled."));
+                return;
+            }
+            queued.decrementAndGet();
+            running.incrementAndGet();
+            queueNanos.add(System.nanoTime() - submitted);
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                long latency = System.nanoTime() - submitted;
+                running.decrementAndGet();
+                slots.release();
+                admission.release();
+                completed.increment();
+                latencyNanos.add(latency);
+                maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            }
+        }
+
+        BulkheadStats stats() {
+            long done = completed.sum();
+            return new BulkheadStats(concurrency, queueCapacity, running.get(), queued.get(), peakQueued.get(),
+                    done, rejected.sum(),
+                    done == 0 ? 0 : queueNanos.sum() / 1e6 / done,
+                    done == 0 ? 0 : latencyNanos.sum() / 1e6 / done,
+                    maxLatencyNanos.get() / 1e6);
+        }
+    }
+}
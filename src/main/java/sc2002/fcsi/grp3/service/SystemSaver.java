@@ -1,17 +1,50 @@
 package sc2002.fcsi.grp3.service;
 
 import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.datastore.Journal;
+import sc2002.fcsi.grp3.io.BinarySnapshot;
 import sc2002.fcsi.grp3.io.CSVDataLoader;
 import sc2002.fcsi.grp3.io.ConfigLoader;
+import sc2002.fcsi.grp3.io.WriteAheadLog;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+import sc2002.fcsi.grp3.metrics.Timer;
+import sc2002.fcsi.grp3.model.ChangeTracker;
+import sc2002.fcsi.grp3.model.enums.EntityType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 /**
  * The SystemSaver class is responsible for saving the system's state to CSV files.
  * It uses the DataStore for accessing data and the ConfigLoader for file paths.
+ * Only the files of entity types marked dirty in the {@link ChangeTracker} are rewritten.
+ * The binary snapshot covers every entity, so it is written only by {@link #saveSnapshot()} at shutdown
+ * rather than on every save.
  */
 public class SystemSaver {
 
+    // the CSV writers are static, so their calls are timed here rather than by TimedCSVDataLoader
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final Map<EntityType, Timer> CSV_SAVE_TIMERS = new EnumMap<>(Map.of(
+            EntityType.USERS, METRICS.timer("CSVDataLoader", "saveUsers"),
+            EntityType.PROJECTS, METRICS.timer("CSVDataLoader", "saveProjects"),
+            EntityType.APPLICATIONS, METRICS.timer("CSVDataLoader", "saveApplications"),
+            EntityType.ENQUIRIES, METRICS.timer("CSVDataLoader", "saveEnquiries"),
+            EntityType.BOOKINGS, METRICS.timer("CSVDataLoader", "saveBookings"),
+            EntityType.REGISTRATIONS, METRICS.timer("CSVDataLoader", "saveRegistrations")));
+
     private final DataStore dataStore;
     private final ConfigLoader config;
+    private final Map<EntityType, Long> lastSaveMillis = Collections.synchronizedMap(new EnumMap<>(EntityType.class));
+    private volatile long lastSnapshotMillis = -1;
 
     /**
      * Constructs a SystemSaver with the specified data store and configuration loader.
@@ -25,15 +58,209 @@ public class SystemSaver {
     }
 
     /**
-     * Saves all system data to their respective CSV files.
+     * Saves all changed system data to their respective CSV files.
+     * Files whose entities have not changed since the last save are left untouched.
+     *
+     * @return true if every changed file was saved, false if any save failed
+     */
+    public boolean saveAll() {
+        return writeChanges(copyChanges());
+    }
+
+    /**
+     * Takes a copy of the entity list of every changed entity type and clears its dirty flag.
+     * Only the lists are copied, which is quick, so a checkpoint can take the copies while service changes
+     * wait and write the files after letting them continue.
+     *
+     * @return the files to write, with the entities to write to each
+     */
+    private List<PendingSave> copyChanges() {
+        List<PendingSave> pending = new ArrayList<>();
+        copyIfDirty(pending, EntityType.USERS, "usersFile", dataStore::getUsers, CSVDataLoader::saveUsers);
+        copyIfDirty(pending, EntityType.PROJECTS, "projectsFile", dataStore::getProjects,
+                CSVDataLoader::saveProjects);
+        copyIfDirty(pending, EntityType.APPLICATIONS, "applicationsFile", dataStore::getApplications,
+                CSVDataLoader::saveApplications);
+        copyIfDirty(pending, EntityType.ENQUIRIES, "enquiriesFile", dataStore::getEnquiries,
+                CSVDataLoader::saveEnquiries);
+        copyIfDirty(pending, EntityType.BOOKINGS, "bookingsFile", dataStore::getBookings,
+                CSVDataLoader::saveBookings);
+        copyIfDirty(pending, EntityType.REGISTRATIONS, "registrationsFile", dataStore::getRegistrations,
+                CSVDataLoader::saveRegistrations);
+        return pending;
+    }
+
+    /**
+     * Writes the copied entity lists to their CSV files.
+     *
+     * @param pending the files to write
+     * @return true if every file was saved, false if any save failed
+     */
+    private boolean writeChanges(List<PendingSave> pending) {
+        boolean saved = true;
+        for (PendingSave save : pending) {
+            saved &= saveFile(save.type(), save.write());
+        }
+        return saved;
+    }
+
+    /**
+     * Writes the binary snapshot of all entities, if a snapshot file is configured and the snapshot is
+     * older than any CSV file. This is meant to run once at shutdown, after the final checkpoint, so
+     * that the next start loads the snapshot. A save after the snapshot makes it stale, so after a crash
+     * the next start loads the CSV files instead.
+     *
+     * @return true if the snapshot is up to date or was written, false if writing it failed
+     */
+    public boolean saveSnapshot() {
+        String snapshotPath = config.get("snapshotFile");
+        if (snapshotPath == null || snapshotPath.isBlank()) return true;
+        if (BinarySnapshot.isFresh(snapshotPath.trim(),
+                config.get("usersFile"),
+                config.get("projectsFile"),
+                config.get("applicationsFile"),
+                config.get("enquiriesFile"),
+                config.get("bookingsFile"),
+                config.get("registrationsFile"))) {
+            return true;
+        }
+        return saveSnapshot(snapshotPath.trim());
+    }
+
+    /**
+     * Writes the binary snapshot of all entities and records how long it took.
+     *
+     * @param snapshotPath the snapshot file path
+     * @return true if the snapshot was written, false otherwise
      */
-    public void saveAll() {
-        CSVDataLoader.saveUsers(config.get("usersFile"), dataStore.getUsers());
-        CSVDataLoader.saveProjects(config.get("projectsFile"), dataStore.getProjects());
-        CSVDataLoader.saveApplications(config.get("applicationsFile"), dataStore.getApplications());
-        CSVDataLoader.saveEnquiries(config.get("enquiriesFile"), dataStore.getEnquiries());
-        CSVDataLoader.saveBookings(config.get("bookingsFile"), dataStore.getBookings());
-        CSVDataLoader.saveRegistrations(config.get("registrationsFile"), dataStore.getRegistrations());
+    private boolean saveSnapshot(String snapshotPath) {
+        long start = System.nanoTime();
+        boolean saved;
+        try {
+            saved = BinarySnapshot.write(snapshotPath, new BinarySnapshot.Contents(
+                    dataStore.getUsers(),
+                    dataStore.getProjects(),
+                    dataStore.getApplications(),
+                    dataStore.getEnquiries(),
+                    dataStore.getBookings(),
+                    dataStore.getRegistrations()));
+        } catch (RuntimeException e) {
+            System.out.println("[SystemSaver] Failed to save snapshot: " + e);
+            saved = false;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (saved) {
+            lastSnapshotMillis = millis;
+            System.out.println("[SystemSaver] Saved snapshot in " + millis + " ms.");
+        }
+        return saved;
+    }
 
+    /**
+     * Retrieves how long the last snapshot write took.
+     *
+     * @return the save time in milliseconds, or -1 if no snapshot has been written
+     */
+    public long getLastSnapshotTiming() {
+        return lastSnapshotMillis;
+    }
+
+    /**
+     * Saves all changed data and then drops the journal entries the save has made redundant.
+     * Service changes wait only while the log is marked and the changed entity lists are copied, so every
+     * file holds at least the changes logged before the mark. The files are written after the changes
+     * continue, so they may also hold some later changes. Entries appended after the mark are kept and
+     * replay sets the values they record, so a crash at any point loses nothing.
+     *
+     * @return true if the checkpoint completed, false otherwise
+     */
+    public synchronized boolean checkpoint() {
+        Journal journal = dataStore.getJournal();
+        WriteAheadLog log = journal.getLog();
+        if (log == null) return saveAll();
+
+        try {
+            long mark;
+            List<PendingSave> pending;
+            try (Journal.Change _ = journal.pauseChanges()) {
+                // every entry before the mark belongs to a change the copies contain
+                mark = log.mark();
+                pending = copyChanges();
+            }
+            if (!writeChanges(pending)) return false;
+            log.compact(mark);
+            return true;
+        } catch (IOException e) {
+            System.out.println("[SystemSaver] Checkpoint failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves how long the last save of each entity file took.
+     * Entity types that have not been saved yet are absent.
+     *
+     * @return a read-only map of entity type to save time in milliseconds
+     */
+    public Map<EntityType, Long> getLastSaveTimings() {
+        synchronized (lastSaveMillis) {
+            return Collections.unmodifiableMap(new EnumMap<>(lastSaveMillis));
+        }
+    }
+
+    /**
+     * Copies the entities of one entity type for saving if they changed, and clears its dirty flag.
+     *
+     * @param pending the files to write, to add the copy to
+     * @param type    the entity type
+     * @param fileKey the configuration key of the file path
+     * @param rows    supplies the current entities
+     * @param save    writes a list of entities to a file and returns whether it succeeded
+     * @param <T>     the entity class
+     */
+    private <T> void copyIfDirty(List<PendingSave> pending, EntityType type, String fileKey,
+                                 Supplier<List<T>> rows, BiPredicate<String, List<T>> save) {
+        if (!ChangeTracker.clearDirty(type)) return;
+
+        List<T> copy = List.copyOf(rows.get());
+        String filePath = config.get(fileKey);
+        pending.add(new PendingSave(type, () -> save.test(filePath, copy)));
+    }
+
+    /**
+     * Saves one entity file and records how long the save took.
+     * If the save fails the entity type is marked dirty again so the next save retries it.
+     *
+     * @param type the entity type to save
+     * @param save writes the file and returns whether it succeeded
+     * @return true if the file was saved, false if the save failed
+     */
+    private boolean saveFile(EntityType type, BooleanSupplier save) {
+        long start = System.nanoTime();
+        boolean saved;
+        try {
+            saved = CSV_SAVE_TIMERS.get(type).time(save::getAsBoolean);
+        } catch (RuntimeException e) {
+            System.out.println("[SystemSaver] Failed to save " + type.getLabel() + ": " + e);
+            saved = false;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        if (!saved) {
+            ChangeTracker.markDirty(type);
+            return false;
+        }
+        lastSaveMillis.put(type, millis);
+        System.out.println("[SystemSaver] Saved " + type.getLabel() + " in " + millis + " ms.");
+        return true;
+    }
+
+    /**
+     * A changed entity file waiting to be written, with a copy of the entities to write to it.
+     *
+     * @param type  the entity type of the file
+     * @param write writes the file and returns whether it succeeded
+     */
+    private record PendingSave(EntityType type, BooleanSupplier write) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package sc2002.fcsi.grp3.service;
+
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+import sc2002.fcsi.grp3.metrics.Timer;
+import sc2002.fcsi.grp3.model.Application;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.permission.IApplicationPermission;
+import sc2002.fcsi.grp3.service.result.ActionResult;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The TimedApplicationService class is a {@link ApplicationService} that records how long each of its public methods
+ * takes in the {@link MetricsRegistry}. Each override times the call to the method it overrides,
+ * so that ApplicationService itself carries no instrumentation.
+ */
+public class TimedApplicationService extends ApplicationService {
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final Timer GET_APPLICATIONS_FOR = METRICS.timer("ApplicationService", "getApplicationsFor");
+    private static final Timer GET_ACTIVE_APPLICATION_FOR =
+            METRICS.timer("ApplicationService", "getActiveApplicationFor");
+    private static final Timer APPLY = METRICS.timer("ApplicationService", "apply");
+    private static final Timer FIND_APPLICATION = METRICS.timer("ApplicationService", "findApplication");
+    private static final Timer WITHDRAW = METRICS.timer("ApplicationService", "withdraw");
+
+    /**
+     * Constructs a TimedApplicationService.
+     *
+     * @param permission the permission checker for applications
+     * @param db         the data store containing application data
+     */
+    public TimedApplicationService(IApplicationPermission permission, DataStore db) {
+        super(permission, db);
+    }
+
+    @Override
+    public List<Application> getApplicationsFor(User user) {
+        return GET_APPLICATIONS_FOR.time(() -> super.getApplicationsFor(user));
+    }
+
+    @Override
+    public Optional<Application> getActiveApplicationFor(User user) {
+        return GET_ACTIVE_APPLICATION_FOR.time(() -> super.getActiveApplicationFor(user));
+    }
+
+    @Override
+    public ActionResult<Application> apply(User user, Project project, FlatType flatType) {
+        return APPLY.time(() -> super.apply(user, project, flatType));
+    }
+
+    @Override
+    public Application findApplication(String nric) {
+        return FIND_APPLICATION.time(() -> super.findApplication(nric));
+    }
+
+    @Override
+    public ActionResult<Application> withdraw(User user, Application application) {
+        return WITHDRAW.time(() -> super.withdraw(user, application));
+    }
+}
@@ -0,0 +1,53 @@
+package sc2002.fcsi.grp3.service;
+
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+import sc2002.fcsi.grp3.metrics.Timer;
+import sc2002.fcsi.grp3.model.*;
+import sc2002.fcsi.grp3.service.result.ActionResult;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The TimedBookingService class is a {@link BookingService} that records how long each of its public methods
+ * takes in the {@link MetricsRegistry}. Each override times the call to the method it overrides,
+ * so that BookingService itself carries no instrumentation.
+ */
+public class TimedBookingService extends BookingService {
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final Timer GET_BOOKINGS = METRICS.timer("BookingService", "getBookings");
+    private static final Timer GET_BOOKING_BY_USER = METRICS.timer("BookingService", "getBookingByUser");
+    private static final Timer ADD_BOOKING = METRICS.timer("BookingService", "addBooking");
+    private static final Timer BOOK_FLAT = METRICS.timer("BookingService", "bookFlat");
+
+    /**
+     * Constructs a TimedBookingService.
+     *
+     * @param db the data store containing booking data
+     */
+    public TimedBookingService(DataStore db) {
+        super(db);
+    }
+
+    @Override
+    public List<Booking> getBookings() {
+        return GET_BOOKINGS.time(super::getBookings);
+    }
+
+    @Override
+    public Optional<Booking> getBookingByUser(User user) {
+        return GET_BOOKING_BY_USER.time(() -> super.getBookingByUser(user));
+    }
+
+    @Override
+    public void addBooking(Flat flatType, Project id, User Anric, User Onric) {
+        ADD_BOOKING.run(() -> super.addBooking(flatType, id, Anric, Onric));
+    }
+
+    @Override
+    public ActionResult<Booking> bookFlat(Application application, User officer) {
+        return BOOK_FLAT.time(() -> super.bookFlat(application, officer));
+    }
+}
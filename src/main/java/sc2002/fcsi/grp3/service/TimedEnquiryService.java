@@ -0,0 +1,147 @@
+package sc2002.fcsi.grp3.service;
+
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+import sc2002.fcsi.grp3.metrics.Timer;
+import sc2002.fcsi.grp3.model.Enquiry;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.service.result.ActionResult;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The TimedEnquiryService class is a {@link EnquiryService} that records how long each of its public methods
+ * takes in the {@link MetricsRegistry}. Each override times the call to the method it overrides,
+ * so that EnquiryService itself carries no instrumentation.
+ */
+public class TimedEnquiryService extends EnquiryService {
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final Timer GET_ENQUIRIES = METRICS.timer("EnquiryService", "getEnquiries");
+    private static final Timer GET_OWN_ENQUIRIES = METRICS.timer("EnquiryService", "getOwnEnquiries");
+    private static final Timer GET_ENQUIRIES_HANDLED_BY_OFFICER =
+            METRICS.timer("EnquiryService", "getEnquiriesHandledByOfficer");
+    private static final Timer GET_UNREPLIED_ENQUIRIES_HANDLED_BY_OFFICER =
+            METRICS.timer("EnquiryService", "getUnrepliedEnquiriesHandledByOfficer");
+    private static final Timer GET_UNREPLIED_ENQUIRIES_HANDLED_BY_OFFICER_BY_ID =
+            METRICS.timer("EnquiryService", "getUnrepliedEnquiriesHandledByOfficerById");
+    private static final Timer GET_ALL_ENQUIRIES_MANAGER = METRICS.timer("EnquiryService", "getAllEnquiriesManager");
+    private static final Timer GET_UNREPLIED_ENQUIRIES_HANDLED_BY_MANAGER =
+            METRICS.timer("EnquiryService", "getUnrepliedEnquiriesHandledByManager");
+    private static final Timer GET_UNREPLIED_ENQUIRIES_HANDLED_BY_MANAGER_BY_ID =
+            METRICS.timer("EnquiryService", "getUnrepliedEnquiriesHandledByManagerById");
+    private static final Timer GET_OWN_ENQUIRY_BY_ID = METRICS.timer("EnquiryService", "getOwnEnquiryById");
+    private static final Timer CREATE_ENQUIRY = METRICS.timer("EnquiryService", "createEnquiry");
+    private static final Timer EDIT_ENQUIRY = METRICS.timer("EnquiryService", "editEnquiry");
+    private static final Timer DELETE_ENQUIRY = METRICS.timer("EnquiryService", "deleteEnquiry");
+    private static final Timer REPLY_TO_ENQUIRY = METRICS.timer("EnquiryService", "replyToEnquiry");
+    private static final Timer SEARCH_ENQUIRIES = METRICS.timer("EnquiryService", "searchEnquiries");
+    private static final Timer SEARCH_ENQUIRIES_FOR_PROJECT =
+            METRICS.timer("EnquiryService", "searchEnquiriesForProject");
+    private static final Timer SEARCH_ENQUIRIES_HANDLED_BY_OFFICER =
+            METRICS.timer("EnquiryService", "searchEnquiriesHandledByOfficer");
+    private static final Timer SEARCH_ENQUIRIES_HANDLED_BY_MANAGER =
+            METRICS.timer("EnquiryService", "searchEnquiriesHandledByManager");
+    private static final Timer GET_PROJECT_BY_ID = METRICS.timer("EnquiryService", "getProjectById");
+
+    /**
+     * Constructs a TimedEnquiryService.
+     *
+     * @param db the data store containing enquiry data
+     */
+    public TimedEnquiryService(DataStore db) {
+        super(db);
+    }
+
+    @Override
+    public List<Enquiry> getEnquiries() {
+        return GET_ENQUIRIES.time(super::getEnquiries);
+    }
+
+    @Override
+    public List<Enquiry> getOwnEnquiries(User user) {
+        return GET_OWN_ENQUIRIES.time(() -> super.getOwnEnquiries(user));
+    }
+
+    @Override
+    public List<Enquiry> getEnquiriesHandledByOfficer(User officer) {
+        return GET_ENQUIRIES_HANDLED_BY_OFFICER.time(() -> super.getEnquiriesHandledByOfficer(officer));
+    }
+
+    @Override
+    public List<Enquiry> getUnrepliedEnquiriesHandledByOfficer(User officer) {
+        return GET_UNREPLIED_ENQUIRIES_HANDLED_BY_OFFICER.time(() -> super.getUnrepliedEnquiriesHandledByOfficer(officer));
+    }
+
+    @Override
+    public Optional<Enquiry> getUnrepliedEnquiriesHandledByOfficerById(User officer, int id ) {
+        return GET_UNREPLIED_ENQUIRIES_HANDLED_BY_OFFICER_BY_ID.time(() -> super.getUnrepliedEnquiriesHandledByOfficerById(officer, id));
+    }
+
+    @Override
+    public List<Enquiry> getAllEnquiriesManager(User manager) {
+        return GET_ALL_ENQUIRIES_MANAGER.time(() -> super.getAllEnquiriesManager(manager));
+    }
+
+    @Override
+    public List<Enquiry> getUnrepliedEnquiriesHandledByManager(User manager) {
+        return GET_UNREPLIED_ENQUIRIES_HANDLED_BY_MANAGER.time(() -> super.getUnrepliedEnquiriesHandledByManager(manager));
+    }
+
+    @Override
+    public Optional<Enquiry> getUnrepliedEnquiriesHandledByManagerById(User manager, int id ) {
+        return GET_UNREPLIED_ENQUIRIES_HANDLED_BY_MANAGER_BY_ID.time(() -> super.getUnrepliedEnquiriesHandledByManagerById(manager, id));
+    }
+
+    @Override
+    public Optional<Enquiry> getOwnEnquiryById(User user, int id) {
+        return GET_OWN_ENQUIRY_BY_ID.time(() -> super.getOwnEnquiryById(user, id));
+    }
+
+    @Override
+    public boolean createEnquiry(User user, Project project, String title, String content) {
+        return CREATE_ENQUIRY.time(() -> super.createEnquiry(user, project, title, content));
+    }
+
+    @Override
+    public boolean editEnquiry(Enquiry enquiry, String newTitle, String newContent) {
+        return EDIT_ENQUIRY.time(() -> super.editEnquiry(enquiry, newTitle, newContent));
+    }
+
+    @Override
+    public boolean deleteEnquiry(User user, int enquiryId) {
+        return DELETE_ENQUIRY.time(() -> super.deleteEnquiry(user, enquiryId));
+    }
+
+    @Override
+    public ActionResult<Enquiry> replyToEnquiry(Enquiry enquiry, User repliedBy, String replyText) {
+        return REPLY_TO_ENQUIRY.time(() -> super.replyToEnquiry(enquiry, repliedBy, replyText));
+    }
+
+    @Override
+    public List<Enquiry> searchEnquiries(String query, int limit) {
+        return SEARCH_ENQUIRIES.time(() -> super.searchEnquiries(query, limit));
+    }
+
+    @Override
+    public List<Enquiry> searchEnquiriesForProject(Project project, String query, int limit) {
+        return SEARCH_ENQUIRIES_FOR_PROJECT.time(() -> super.searchEnquiriesForProject(project, query, limit));
+    }
+
+    @Override
+    public List<Enquiry> searchEnquiriesHandledByOfficer(User officer, String query, int limit) {
+        return SEARCH_ENQUIRIES_HANDLED_BY_OFFICER.time(() -> super.searchEnquiriesHandledByOfficer(officer, query, limit));
+    }
+
+    @Override
+    public List<Enquiry> searchEnquiriesHandledByManager(User manager, String query, int limit) {
+        return SEARCH_ENQUIRIES_HANDLED_BY_MANAGER.time(() -> super.searchEnquiriesHandledByManager(manager, query, limit));
+    }
+
+    @Override
+    public Optional<Project> getProjectById(int id) {
+        return GET_PROJECT_BY_ID.time(() -> super.getProjectById(id));
+    }
+}
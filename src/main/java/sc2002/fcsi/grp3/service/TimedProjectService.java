@@ -0,0 +1,176 @@
+package sc2002.fcsi.grp3.service;
+
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+import sc2002.fcsi.grp3.metrics.Timer;
+import sc2002.fcsi.grp3.model.*;
+import sc2002.fcsi.grp3.model.enums.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The TimedProjectService class is a {@link ProjectService} that records how long each of its public methods
+ * takes in the {@link MetricsRegistry}. Each override times the call to the method it overrides,
+ * so that ProjectService itself carries no instrumentation.
+ */
+public class TimedProjectService extends ProjectService {
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final Timer GET_VISIBLE_PROJECTS = METRICS.timer("ProjectService", "getVisibleProjects");
+    private static final Timer FILTER_PROJECTS = METRICS.timer("ProjectService", "filterProjects");
+    private static final Timer GET_PROJECTS_MANAGED_BY_OFFICER =
+            METRICS.timer("ProjectService", "getProjectsManagedByOfficer");
+    private static final Timer GET_PROJECTS_MANAGED_BY = METRICS.timer("ProjectService", "getProjectsManagedBy");
+    private static final Timer HAS_OVERLAPPING_APPLICATION_PERIOD =
+            METRICS.timer("ProjectService", "hasOverlappingApplicationPeriod");
+    private static final Timer GET_PROJECTS_OPEN_ON = METRICS.timer("ProjectService", "getProjectsOpenOn");
+    private static final Timer GET_ALL_PROJECTS = METRICS.timer("ProjectService", "getAllProjects");
+    private static final Timer GET_PROJECT_BY_ID = METRICS.timer("ProjectService", "getProjectById");
+    private static final Timer GET_AVAILABLE_FLATS = METRICS.timer("ProjectService", "getAvailableFlats");
+    private static final Timer SET_PROJECT_VISIBILITY = METRICS.timer("ProjectService", "setProjectVisibility");
+    private static final Timer CREATE_PROJECT = METRICS.timer("ProjectService", "createProject");
+    private static final Timer DELETE_PROJECT = METRICS.timer("ProjectService", "deleteProject");
+    private static final Timer GET_PROJECT_SIZE = METRICS.timer("ProjectService", "getProjectSize");
+    private static final Timer GET_PENDING_OFFICER_REGISTRATIONS =
+            METRICS.timer("ProjectService", "getPendingOfficerRegistrations");
+    private static final Timer UPDATE_OFFICER_REGISTRATION_STATUS =
+            METRICS.timer("ProjectService", "updateOfficerRegistrationStatus");
+    private static final Timer GET_PENDING_BTO_APPLICATIONS =
+            METRICS.timer("ProjectService", "getPendingBTOApplications");
+    private static final Timer UPDATE_BTO_APPLICATION_STATUS =
+            METRICS.timer("ProjectService", "updateBTOApplicationStatus");
+    private static final Timer GET_PENDING_WITHDRAWAL_REQUESTS =
+            METRICS.timer("ProjectService", "getPendingWithdrawalRequests");
+    private static final Timer UPDATE_WITHDRAWAL_REQUEST = METRICS.timer("ProjectService", "updateWithdrawalRequest");
+    private static final Timer UPDATE_PROJECT = METRICS.timer("ProjectService", "updateProject");
+    private static final Timer UPDATE_TOTAL_OFFICER_SLOTS = METRICS.timer("ProjectService", "updateTotalOfficerSlots");
+    private static final Timer GET_APPROVED_OFFICER_REGISTRATIONS =
+            METRICS.timer("ProjectService", "getApprovedOfficerRegistrations");
+    private static final Timer GENERATE_NEW_PROJECT_ID = METRICS.timer("ProjectService", "generateNewProjectId");
+
+    /**
+     * Constructs a TimedProjectService.
+     *
+     * @param db the data store containing project data
+     */
+    public TimedProjectService(DataStore db) {
+        super(db);
+    }
+
+    @Override
+    public List<Project> getVisibleProjects(User user) {
+        return GET_VISIBLE_PROJECTS.time(() -> super.getVisibleProjects(user));
+    }
+
+    @Override
+    public List<Project> filterProjects(User user, List<Project> projects, ProjectFilter filter, ProjectSortOption sortOption) {
+        return FILTER_PROJECTS.time(() -> super.filterProjects(user, projects, filter, sortOption));
+    }
+
+    @Override
+    public List<Project> getProjectsManagedByOfficer(String officerNric) {
+        return GET_PROJECTS_MANAGED_BY_OFFICER.time(() -> super.getProjectsManagedByOfficer(officerNric));
+    }
+
+    @Override
+    public List<Project> getProjectsManagedBy(String managerNric) {
+        return GET_PROJECTS_MANAGED_BY.time(() -> super.getProjectsManagedBy(managerNric));
+    }
+
+    @Override
+    public boolean hasOverlappingApplicationPeriod(Project project, String managerNric) {
+        return HAS_OVERLAPPING_APPLICATION_PERIOD.time(() -> super.hasOverlappingApplicationPeriod(project, managerNric));
+    }
+
+    @Override
+    public List<Project> getProjectsOpenOn(LocalDate date) {
+        return GET_PROJECTS_OPEN_ON.time(() -> super.getProjectsOpenOn(date));
+    }
+
+    @Override
+    public List<Project> getAllProjects() {
+        return GET_ALL_PROJECTS.time(super::getAllProjects);
+    }
+
+    @Override
+    public Optional<Project> getProjectById(int id) {
+        return GET_PROJECT_BY_ID.time(() -> super.getProjectById(id));
+    }
+
+    @Override
+    public List<Flat> getAvailableFlats(User user, Project project) {
+        return GET_AVAILABLE_FLATS.time(() -> super.getAvailableFlats(user, project));
+    }
+
+    @Override
+    public boolean setProjectVisibility(Project project, boolean newVisibility) {
+        return SET_PROJECT_VISIBILITY.time(() -> super.setProjectVisibility(project, newVisibility));
+    }
+
+    @Override
+    public void createProject(Project project, String Nric) {
+        CREATE_PROJECT.run(() -> super.createProject(project, Nric));
+    }
+
+    @Override
+    public boolean deleteProject(int projectId) {
+        return DELETE_PROJECT.time(() -> super.deleteProject(projectId));
+    }
+
+    @Override
+    public int getProjectSize() {
+        return GET_PROJECT_SIZE.time(super::getProjectSize);
+    }
+
+    @Override
+    public List<Registration> getPendingOfficerRegistrations(int projectId) {
+        return GET_PENDING_OFFICER_REGISTRATIONS.time(() -> super.getPendingOfficerRegistrations(projectId));
+    }
+
+    @Override
+    public boolean updateOfficerRegistrationStatus(Registration registration, RegistrationStatus status) {
+        return UPDATE_OFFICER_REGISTRATION_STATUS.time(() -> super.updateOfficerRegistrationStatus(registration, status));
+    }
+
+    @Override
+    public List<Application> getPendingBTOApplications(int projectId) {
+        return GET_PENDING_BTO_APPLICATIONS.time(() -> super.getPendingBTOApplications(projectId));
+    }
+
+    @Override
+    public boolean updateBTOApplicationStatus(Application application, ApplicationStatus status) {
+        return UPDATE_BTO_APPLICATION_STATUS.time(() -> super.updateBTOApplicationStatus(application, status));
+    }
+
+    @Override
+    public List<Application> getPendingWithdrawalRequests(int projectId) {
+        return GET_PENDING_WITHDRAWAL_REQUESTS.time(() -> super.getPendingWithdrawalRequests(projectId));
+    }
+
+    @Override
+    public void updateWithdrawalRequest(Application application, boolean approve) {
+        UPDATE_WITHDRAWAL_REQUEST.run(() -> super.updateWithdrawalRequest(application, approve));
+    }
+
+    @Override
+    public boolean updateProject(int projectId, Project updatedProject) {
+        return UPDATE_PROJECT.time(() -> super.updateProject(projectId, updatedProject));
+    }
+
+    @Override
+    public boolean updateTotalOfficerSlots(Project project, int newSlots) {
+        return UPDATE_TOTAL_OFFICER_SLOTS.time(() -> super.updateTotalOfficerSlots(project, newSlots));
+    }
+
+    @Override
+    public List<Registration> getApprovedOfficerRegistrations(int projectId) {
+        return GET_APPROVED_OFFICER_REGISTRATIONS.time(() -> super.getApprovedOfficerRegistrations(projectId));
+    }
+
+    @Override
+    public int generateNewProjectId() {
+        return GENERATE_NEW_PROJECT_ID.time(super::generateNewProjectId);
+    }
+}
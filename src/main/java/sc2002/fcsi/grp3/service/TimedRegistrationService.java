@@ -0,0 +1,58 @@
+package sc2002.fcsi.grp3.service;
+
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+import sc2002.fcsi.grp3.metrics.Timer;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.User;
+
+import java.time.LocalDate;
+
+/**
+ * The TimedRegistrationService class is a {@link RegistrationService} that records how long each of its public methods
+ * takes in the {@link MetricsRegistry}. Each override times the call to the method it overrides,
+ * so that RegistrationService itself carries no instrumentation.
+ */
+public class TimedRegistrationService extends RegistrationService {
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final Timer JOIN = METRICS.timer("RegistrationService", "Join");
+    private static final Timer GET_STATUS = METRICS.timer("RegistrationService", "getStatus");
+    private static final Timer SET_STATUS = METRICS.timer("RegistrationService", "setStatus");
+    private static final Timer GET_PROJECT_NAME = METRICS.timer("RegistrationService", "getProjectName");
+    private static final Timer GET_HANDLED_PROJECT = METRICS.timer("RegistrationService", "getHandledProject");
+
+    /**
+     * Constructs a TimedRegistrationService.
+     *
+     * @param db the data store containing registration data
+     */
+    public TimedRegistrationService(DataStore db) {
+        super(db);
+    }
+
+    @Override
+    public void Join(Project project, User officer, LocalDate today) {
+        JOIN.run(() -> super.Join(project, officer, today));
+    }
+
+    @Override
+    public String getStatus(User user) {
+        return GET_STATUS.time(() -> super.getStatus(user));
+    }
+
+    @Override
+    public void setStatus(User user) {
+        SET_STATUS.run(() -> super.setStatus(user));
+    }
+
+    @Override
+    public String getProjectName(User user) {
+        return GET_PROJECT_NAME.time(() -> super.getProjectName(user));
+    }
+
+    @Override
+    public Project getHandledProject(String userNRIC) {
+        return GET_HANDLED_PROJECT.time(() -> super.getHandledProject(userNRIC));
+    }
+}
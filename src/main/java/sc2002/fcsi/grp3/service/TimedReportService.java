@@ -0,0 +1,59 @@
+package sc2002.fcsi.grp3.service;
+
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.dto.FlatBookingAggregation;
+import sc2002.fcsi.grp3.dto.FlatBookingReportRow;
+import sc2002.fcsi.grp3.dto.FlatBookingTotals;
+import sc2002.fcsi.grp3.io.ExportFormat;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+import sc2002.fcsi.grp3.metrics.Timer;
+import sc2002.fcsi.grp3.model.ReportFilter;
+import sc2002.fcsi.grp3.service.result.ActionResult;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The TimedReportService class is a {@link ReportService} that records how long each of its public methods
+ * takes in the {@link MetricsRegistry}. Each override times the call to the method it overrides,
+ * so that ReportService itself carries no instrumentation.
+ */
+public class TimedReportService extends ReportService {
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final Timer GET_FLAT_BOOKING_REPORT = METRICS.timer("ReportService", "getFlatBookingReport");
+    private static final Timer GET_FLAT_BOOKING_TOTALS = METRICS.timer("ReportService", "getFlatBookingTotals");
+    private static final Timer GET_FLAT_BOOKING_AGGREGATION =
+            METRICS.timer("ReportService", "getFlatBookingAggregation");
+    private static final Timer EXPORT_FLAT_BOOKING_REPORT = METRICS.timer("ReportService", "exportFlatBookingReport");
+
+    /**
+     * Constructs a TimedReportService.
+     *
+     * @param db              the data store containing application and project data
+     * @param exportDirectory the directory reports are exported into
+     */
+    public TimedReportService(DataStore db, Path exportDirectory) {
+        super(db, exportDirectory);
+    }
+
+    @Override
+    public List<FlatBookingReportRow> getFlatBookingReport(ReportFilter filter) {
+        return GET_FLAT_BOOKING_REPORT.time(() -> super.getFlatBookingReport(filter));
+    }
+
+    @Override
+    public FlatBookingTotals getFlatBookingTotals(ReportFilter filter) {
+        return GET_FLAT_BOOKING_TOTALS.time(() -> super.getFlatBookingTotals(filter));
+    }
+
+    @Override
+    public FlatBookingAggregation getFlatBookingAggregation(ReportFilter filter) {
+        return GET_FLAT_BOOKING_AGGREGATION.time(() -> super.getFlatBookingAggregation(filter));
+    }
+
+    @Override
+    public ActionResult<Long> exportFlatBookingReport(ReportFilter filter, String fileName, ExportFormat format) {
+        return EXPORT_FLAT_BOOKING_REPORT.time(() -> super.exportFlatBookingReport(filter, fileName, format));
+    }
+}
@@ -0,0 +1,44 @@
+package sc2002.fcsi.grp3.service;
+
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.io.ConfigLoader;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+import sc2002.fcsi.grp3.metrics.Timer;
+
+/**
+ * The TimedSystemSaver class is a {@link SystemSaver} that records how long each of its public methods
+ * takes in the {@link MetricsRegistry}. Each override times the call to the method it overrides,
+ * so that SystemSaver itself carries no instrumentation.
+ */
+public class TimedSystemSaver extends SystemSaver {
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.getInstance();
+    private static final Timer SAVE_ALL = METRICS.timer("SystemSaver", "saveAll");
+    private static final Timer CHECKPOINT = METRICS.timer("SystemSaver", "checkpoint");
+    private static final Timer SAVE_SNAPSHOT = METRICS.timer("SystemSaver", "saveSnapshot");
+
+    /**
+     * Constructs a TimedSystemSaver.
+     *
+     * @param dataStore the data store containing the system's data
+     * @param config    the configuration loader for retrieving file paths
+     */
+    public TimedSystemSaver(DataStore dataStore, ConfigLoader config) {
+        super(dataStore, config);
+    }
+
+    @Override
+    public boolean saveAll() {
+        return SAVE_ALL.time(super::saveAll);
+    }
+
+    @Override
+    public boolean checkpoint() {
+        return CHECKPOINT.time(super::checkpoint);
+    }
+
+    @Override
+    public boolean saveSnapshot() {
+        return SAVE_SNAPSHOT.time(super::saveSnapshot);
+    }
+}
@@ -1,5 +1,7 @@
 package sc2002.fcsi.grp3.service;
 
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.datastore.Journal;
 import sc2002.fcsi.grp3.model.User;
 
 import java.util.List;
@@ -7,19 +9,20 @@ import java.util.Optional;
 
 /**
  * The UserService class provides functionality for managing users.
- * It includes methods to search for users by their NRIC.
+ * It includes methods to search for users by their NRIC or by the start of their name,
+ * and to update a user's stored password.
  */
 public class UserService {
 
-    private final List<User> users;
+    private final DataStore db;
 
     /**
-     * Constructs a UserService with the specified list of users.
+     * Constructs a UserService with the specified data store.
      *
-     * @param users the list of users to manage
+     * @param db the data store containing user data
      */
-    public UserService(List<User> users) {
-        this.users = users;
+    public UserService(DataStore db) {
+        this.db = db;
     }
 
     /**
@@ -31,8 +34,32 @@ public class UserService {
     public Optional<User> findByNRIC(String nric) {
         if (nric == null) return Optional.empty();
 
-        return users.stream()
-                .filter(u -> u.getNric().equalsIgnoreCase(nric))
-                .findFirst();
+        return Optional.ofNullable(db.findUserByNric(nric));
+    }
+
+    /**
+     * Finds users whose name, or any word in it, starts with the given prefix, ignoring case.
+     *
+     * @param prefix the start of the name or of a word in it
+     * @param limit  the maximum number of users to return
+     * @return the matching users, in alphabetical order of the matching words
+     */
+    public List<User> findByNamePrefix(String prefix, int limit) {
+        if (prefix == null) return List.of();
+
+        return db.findUsersByNamePrefix(prefix, limit);
+    }
+
+    /**
+     * Replaces the stored password of a user and records the change in the journal.
+     *
+     * @param user     the user whose password changes
+     * @param password the new stored password, already hashed
+     */
+    public void updatePassword(User user, String password) {
+        try (Journal.Change _ = db.getJournal().beginChange()) {
+            user.setPassword(password);
+            db.getJournal().passwordChanged(user);
+        }
     }
 }
@@ -0,0 +1,83 @@
+package sc2002.fcsi.grp3.service;
+
+import sc2002.fcsi.grp3.model.ChangeTracker;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.EntityType;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The VisibleProjectCache class keeps the list of open, visible projects for each eligibility class.
+ * Which projects are listed depends only on a user's marital status and age band, so every user
+ * in the same class shares one list.
+ * <p>
+ * A cached list is rebuilt when the project version in {@link ChangeTracker} goes up, or when the date
+ * changes, since projects close at the end of their closing date. The version goes up when a project's
+ * visibility or details change, when a project is added or removed, and when a flat runs out of units or
+ * gets its first unit back. Other changes to unit counts leave the cached lists in place.
+ */
+final class VisibleProjectCache {
+
+    /**
+     * The eligibility classes that users are grouped into.
+     */
+    enum EligibilityClass {
+
+        /**
+         * Singles under 35 and anyone under 21.
+         */
+        NONE,
+
+        /**
+         * Singles aged 35 and above, who may only apply for 2-Room flats.
+         */
+        TWO_ROOM,
+
+        /**
+         * Married users aged 21 and above, who may apply for any flat type.
+         */
+        ANY;
+
+        /**
+         * Gets the eligibility class of a user.
+         *
+         * @param user the user
+         * @return the user's eligibility class
+         */
+        static EligibilityClass of(User user) {
+            if (user.isEligibleForAny()) return ANY;
+            if (user.isEligibleFor2R()) return TWO_ROOM;
+            return NONE;
+        }
+    }
+
+    private record Entry(long version, LocalDate date, List<Project> projects) {
+    }
+
+    private final Map<EligibilityClass, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the visible projects of an eligibility class, building the list if it is missing or out of date.
+     *
+     * @param eligibility the eligibility class
+     * @param build       builds the list of visible projects for the class
+     * @return an immutable list of visible projects
+     */
+    List<Project> get(EligibilityClass eligibility, Function<EligibilityClass, List<Project>> build) {
+        // read the version before building, so that a change made during the build forces a rebuild next time
+        long version = ChangeTracker.getVersion(EntityType.PROJECTS);
+        LocalDate today = LocalDate.now();
+        Entry entry = entries.get(eligibility);
+        if (entry != null && entry.version() == version && entry.date().equals(today)) {
+            return entry.projects();
+        }
+        List<Project> projects = List.copyOf(build.apply(eligibility));
+        entries.put(eligibility, new Entry(version, today, projects));
+        return projects;
+    }
+}
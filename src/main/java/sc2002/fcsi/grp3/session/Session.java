@@ -2,18 +2,51 @@ package sc2002.fcsi.grp3.session;
 
 import sc2002.fcsi.grp3.model.User;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * The Session class manages the current user session.
+ * The Session class holds the logged in user and attributes of one user session.
  * It provides methods to store, retrieve, and remove session data.
+ * <p>
+ * A session is created for every console run or network connection and handed to the controllers of that
+ * connection, so sessions never see each other's user or data. Sessions served over the network are
+ * opened and evicted by a {@link SessionManager}, which uses {@link #touch()} to tell idle ones apart.
  */
 public class Session {
 
-    private static User currentUser;
-    private static final Map<String, Object> sessionData = new HashMap<>();
+    private final long id;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private volatile User currentUser;
+    private volatile long lastAccessNanos = System.nanoTime();
+    private volatile boolean closed;
+    private volatile Runnable onClose;
+
+    /**
+     * Constructs a Session that is not tracked by a {@link SessionManager}, as used by the console.
+     */
+    public Session() {
+        this(0);
+    }
+
+    /**
+     * Constructs a Session with the given id.
+     *
+     * @param id the session id
+     */
+    Session(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the id of the session.
+     *
+     * @return the session id, or 0 for a session not tracked by a {@link SessionManager}
+     */
+    public long getId() {
+        return id;
+    }
 
     // User session management
 
@@ -22,8 +55,9 @@ public class Session {
      *
      * @param currentUser the user to set as the current user
      */
-    public static void setCurrentUser(User currentUser) {
-        Session.currentUser = currentUser;
+    public void setCurrentUser(User currentUser) {
+        touch();
+        this.currentUser = currentUser;
     }
 
     /**
@@ -31,7 +65,7 @@ public class Session {
      *
      * @return the current user, or null if no user is logged in
      */
-    public static User getCurrentUser() {
+    public User getCurrentUser() {
         return currentUser;
     }
 
@@ -40,16 +74,66 @@ public class Session {
      *
      * @return true if a user is logged in, false otherwise
      */
-    public static boolean isLoggedIn() {
+    public boolean isLoggedIn() {
         return currentUser != null;
     }
 
     /**
      * Logs out the current user and clears all session data.
      */
-    public static void logout() {
+    public void logout() {
         currentUser = null;
-        sessionData.clear();
+        attributes.clear();
+    }
+
+    // Session lifecycle
+
+    /**
+     * Records activity on the session, so that it is not evicted as idle.
+     */
+    public void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    /**
+     * Gets how long the session has been idle.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the nanoseconds since the session was last touched
+     */
+    long idleNanos(long now) {
+        return now - lastAccessNanos;
+    }
+
+    /**
+     * Sets the action to run when the session is closed, such as disconnecting its client.
+     *
+     * @param onClose the action to run, or null for none
+     */
+    public void setOnClose(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    /**
+     * Checks if the session has been closed.
+     *
+     * @return true if the session has been closed, false otherwise
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the session, logging out its user and running its close action once.
+     */
+    synchronized void close() {
+        if (closed) return;
+        closed = true;
+        logout();
+        Runnable action = onClose;
+        if (action != null) {
+            action.run();
+        }
     }
 
     // Session data management
@@ -60,8 +144,13 @@ public class Session {
      * @param key   the key to associate with the value
      * @param value the value to store
      */
-    public static void put(String key, Object value) {
-        sessionData.put(key, value);
+    public void put(String key, Object value) {
+        touch();
+        if (value == null) {
+            attributes.remove(key);
+        } else {
+            attributes.put(key, value);
+        }
     }
 
     /**
@@ -72,8 +161,8 @@ public class Session {
      * @param <T>  the type of the value
      * @return the value if it exists and matches the type, or null otherwise
      */
-    public static <T> T get(String key, Class<T> type) {
-        Object value = sessionData.get(key);
+    public <T> T get(String key, Class<T> type) {
+        Object value = attributes.get(key);
         if (type.isInstance(value)) {
             return type.cast(value);
         }
@@ -86,8 +175,8 @@ public class Session {
      * @param key   the key to associate with the value
      * @param value the value to set
      */
-    public static void set(String key, Object value) {
-        sessionData.put(key, value);
+    public void set(String key, Object value) {
+        put(key, value);
     }
 
     /**
@@ -99,8 +188,8 @@ public class Session {
      * @return the list if it exists and matches the element type, or null otherwise
      */
     @SuppressWarnings("unchecked")
-    public static <T> List<T> getList(String key, Class<T> type) {
-        Object value = sessionData.get(key);
+    public <T> List<T> getList(String key, Class<T> type) {
+        Object value = attributes.get(key);
         if (value instanceof List<?> rawList) {
             if (rawList.stream().allMatch(type::isInstance)) {
                 return (List<T>) rawList;
@@ -120,8 +209,8 @@ public class Session {
      * @return the map if it exists and matches the key-value types, or null otherwise
      */
     @SuppressWarnings("unchecked")
-    public static <K, V> Map<K, V> getMap(String key, Class<K> keyType, Class<V> valueType) {
-        Object value = sessionData.get(key);
+    public <K, V> Map<K, V> getMap(String key, Class<K> keyType, Class<V> valueType) {
+        Object value = attributes.get(key);
         if (value instanceof Map<?, ?> map) {
             boolean valid = map.entrySet().stream().allMatch(entry ->
                     keyType.isInstance(entry.getKey()) && valueType.isInstance(value)
@@ -138,8 +227,8 @@ public class Session {
      *
      * @param key the key of the value to remove
      */
-    public static void remove(String key) {
-        sessionData.remove(key);
+    public void remove(String key) {
+        attributes.remove(key);
     }
 
     /**
@@ -148,7 +237,7 @@ public class Session {
      * @param key the key to check
      * @return true if the session contains the key, false otherwise
      */
-    public static boolean contains(String key) {
-        return sessionData.containsKey(key);
+    public boolean contains(String key) {
+        return attributes.containsKey(key);
     }
 }
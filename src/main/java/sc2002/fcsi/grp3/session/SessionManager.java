@@ -0,0 +1,163 @@
+package sc2002.fcsi.grp3.session;
+
+import sc2002.fcsi.grp3.metrics.Counter;
+import sc2002.fcsi.grp3.metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The SessionManager class keeps the table of open {@link Session}s for a server.
+ * The table is bounded, so a flood of connections cannot exhaust memory, and sessions that have not
+ * been touched for longer than the idle timeout are evicted by a background sweep, started by
+ * {@link #start()}, which closes them and runs their close action. The sessions opened, rejected and evicted are counted in the
+ * {@link MetricsRegistry}.
+ */
+public class SessionManager implements AutoCloseable {
+
+    /**
+     * The default maximum number of open sessions.
+     */
+    public static final int DEFAULT_MAX_SESSIONS = 2000;
+
+    /**
+     * The default time a session may stay idle before it is evicted.
+     */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(15);
+
+    private final int maxSessions;
+    private final long idleTimeoutNanos;
+    private final long sweepMillis;
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+    private final ScheduledExecutorService sweeper;
+    private final Counter opened;
+    private final Counter rejected;
+    private final Counter evicted;
+
+    /**
+     * Constructs a SessionManager. Idle sessions are only evicted when the table is full until
+     * {@link #start()} is called.
+     *
+     * @param maxSessions the maximum number of open sessions
+     * @param idleTimeout how long a session may stay idle before it is evicted
+     * @throws IllegalArgumentException if the maximum is not positive or the timeout is not positive
+     */
+    public SessionManager(int maxSessions, Duration idleTimeout) {
+        if (maxSessions <= 0) {
+            throw new IllegalArgumentException("maxSessions must be positive");
+        }
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+        this.maxSessions = maxSessions;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.opened = metrics.counter("sessions_opened_total", "Sessions opened.");
+        this.rejected = metrics.counter("sessions_rejected_total", "Connections turned away by a full session table.");
+        this.evicted = metrics.counter("sessions_evicted_total", "Sessions evicted for being idle.");
+        metrics.gauge("sessions_open", "Sessions open now.", "", sessions::size);
+
+        // sweep a few times per timeout, so a session is evicted soon after it expires
+        this.sweepMillis = Math.max(1000, idleTimeout.toMillis() / 4);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts sweeping for idle sessions in the background.
+     *
+     * @return this session manager
+     */
+    public SessionManager start() {
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * Opens a new session. If the table is full, idle sessions are evicted first to make room.
+     *
+     * @return the new session, or empty if the table is still full
+     */
+    public synchronized Optional<Session> open() {
+        if (sessions.size() >= maxSessions && evictIdle() == 0) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        opened.increment();
+        Session session = new Session(nextId.incrementAndGet());
+        sessions.put(session.getId(), session);
+        return Optional.of(session);
+    }
+
+    /**
+     * Closes a session and removes it from the table. Closing a session twice has no effect.
+     *
+     * @param session the session to close
+     */
+    public void close(Session session) {
+        sessions.remove(session.getId(), session);
+        session.close();
+    }
+
+    /**
+     * Evicts every session that has been idle for longer than the idle timeout.
+     *
+     * @return the number of sessions evicted
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        List<Session> expired = new ArrayList<>();
+        for (Session session : sessions.values()) {
+            if (session.idleNanos(now) > idleTimeoutNanos) {
+                expired.add(session);
+            }
+        }
+        for (Session session : expired) {
+            close(session);
+            evicted.increment();
+        }
+        return expired.size();
+    }
+
+    /**
+     * Gets the number of open sessions.
+     *
+     * @return the number of sessions in the table
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Gets the maximum number of open sessions.
+     *
+     * @return the size of the table
+     */
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Stops sweeping and closes every open session.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        for (Session session : new ArrayList<>(sessions.values())) {
+            close(session);
+        }
+    }
+}
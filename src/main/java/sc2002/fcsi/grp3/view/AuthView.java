@@ -54,8 +54,10 @@ public class AuthView extends BaseView {
 
     /**
      * Displays an error message upon failed login.
+     *
+     * @param message the reason the login failed
      */
-    public void showLoginFailure() {
-        prompt.showError("Invalid NRIC or password.");
+    public void showLoginFailure(String message) {
+        prompt.showError(message);
     }
 }
\ No newline at end of file
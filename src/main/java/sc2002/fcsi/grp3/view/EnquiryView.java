@@ -192,4 +192,22 @@ public class EnquiryView extends BaseView {
     public String promptReply() {
         return prompt.promptString("Enter enquiry reply: ");
     }
+
+    /**
+     * Prompts the user to enter words to search enquiries for.
+     *
+     * @return the search query entered by the user
+     */
+    public String promptSearchQuery() {
+        return prompt.promptString("Enter search words (use \"quotes\" for a phrase): ");
+    }
+
+    /**
+     * Prompts the user to enter a Project ID to limit a search to.
+     *
+     * @return the Project ID entered by the user, or null if left blank
+     */
+    public Integer promptProjectIdOptional() {
+        return prompt.promptIntOptional("Enter Project ID (blank for all projects): ");
+    }
 }
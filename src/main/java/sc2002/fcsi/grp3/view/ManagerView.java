@@ -1,6 +1,7 @@
 package sc2002.fcsi.grp3.view;
 
 import sc2002.fcsi.grp3.dto.FlatBookingReportRow;
+import sc2002.fcsi.grp3.dto.MethodLatency;
 import sc2002.fcsi.grp3.model.Application;
 import sc2002.fcsi.grp3.model.Flat;
 import sc2002.fcsi.grp3.model.Project;
@@ -10,6 +11,8 @@ import sc2002.fcsi.grp3.model.enums.FlatType;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import sc2002.fcsi.grp3.view.helper.Prompter;
 
@@ -34,7 +37,7 @@ public class ManagerView extends BaseView {
      * @param msg the message to display
      */
     public void showMessage(String msg) {
-        System.out.println(msg);
+        prompt.showMessage(msg);
     }
 
     /**
@@ -394,6 +397,52 @@ public class ManagerView extends BaseView {
         return applications.get(choice - 1);
     }
 
+    /**
+     * Displays the call count and latency of each service method.
+     *
+     * @param latencies the method latencies, in the order to show them
+     */
+    public void showMethodLatencies(List<MethodLatency> latencies) {
+        prompt.showTitle("Service Method Latency (ms)");
+        if (latencies.isEmpty()) {
+            prompt.showMessage("No service methods have been called yet.");
+            return;
+        }
+
+        List<String> headers = List.of("Method", "Calls", "Total", "Mean", "p50", "p99", "Max");
+        List<List<String>> rows = latencies.stream()
+                .map(latency -> List.of(
+                        latency.component() + "." + latency.method(),
+                        String.valueOf(latency.count()),
+                        formatNumber(latency.totalMillis()),
+                        formatNumber(latency.meanMillis()),
+                        formatNumber(latency.p50Millis()),
+                        formatNumber(latency.p99Millis()),
+                        formatNumber(latency.maxMillis())
+                ))
+                .toList();
+        prompt.showTable(headers, rows);
+    }
+
+    /**
+     * Displays the current value of each counter and gauge.
+     *
+     * @param values the values by metric name
+     */
+    public void showMetricValues(Map<String, Double> values) {
+        if (values.isEmpty()) return;
+
+        prompt.showTitle("Counters and Gauges");
+        List<List<String>> rows = values.entrySet().stream()
+                .map(entry -> List.of(entry.getKey(), formatNumber(entry.getValue())))
+                .toList();
+        prompt.showTable(List.of("Metric", "Value"), rows);
+    }
+
+    private static String formatNumber(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.3f", value);
+    }
+
     /**
      * Displays a list of approved HDB officer registrations.
      *
@@ -1,12 +1,19 @@
 package sc2002.fcsi.grp3.view;
 
+import sc2002.fcsi.grp3.dto.BookingStatistics;
+import sc2002.fcsi.grp3.dto.FlatBookingAggregation;
 import sc2002.fcsi.grp3.dto.FlatBookingReportRow;
+import sc2002.fcsi.grp3.dto.FlatBookingTotals;
 import sc2002.fcsi.grp3.model.ReportFilter;
+import sc2002.fcsi.grp3.model.enums.AgeBand;
 import sc2002.fcsi.grp3.model.enums.FlatType;
 import sc2002.fcsi.grp3.model.enums.MaritalStatus;
 import sc2002.fcsi.grp3.view.helper.Prompter;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -119,6 +126,24 @@ public class ReportView extends BaseView {
         return prompt.promptString("Enter neighbourhood (blank for any): ");
     }
 
+    /**
+     * Prompts the user to enter the file to export the report to.
+     *
+     * @return the entered file path
+     */
+    public String promptExportFile() {
+        return prompt.promptString("Enter file to export to, within the export directory (e.g. report.csv): ");
+    }
+
+    /**
+     * Prompts the user to enter the export format.
+     *
+     * @return the entered format, or blank for CSV
+     */
+    public String promptExportFormat() {
+        return prompt.promptString("Enter format (CSV/JSONL, blank for CSV): ");
+    }
+
     /**
      * Displays the total number of records found in the report.
      *
@@ -127,4 +152,85 @@ public class ReportView extends BaseView {
     public void showRecordCount(int count) {
         prompt.showMessage("Records found: " + count);
     }
+
+    /**
+     * Displays the number of bookings in the report, grouped by neighbourhood, flat type,
+     * marital status and age band.
+     *
+     * @param totals the booking totals to display
+     */
+    public void showBookingTotals(FlatBookingTotals totals) {
+        if (totals.total() == 0) return;
+
+        prompt.showTitle("Booking Totals");
+        showGroupTotals("Neighbourhood", totals.byNeighbourhood());
+        showGroupTotals("Flat Type", byDisplayName(totals.byFlatType(), FlatType::getDisplayName));
+        showGroupTotals("Marital Status", byDisplayName(totals.byMaritalStatus(), MaritalStatus::getDisplayName));
+        showGroupTotals("Age Band", byDisplayName(totals.byAgeBand(), AgeBand::getDisplayName));
+    }
+
+    /**
+     * Displays the number of bookings and the total and average selling price of the booked flats,
+     * overall and by neighbourhood, flat type and project, followed by the ages of the applicants.
+     *
+     * @param aggregation the booking statistics to display
+     */
+    public void showBookingStatistics(FlatBookingAggregation aggregation) {
+        if (aggregation.overall().getCount() == 0) {
+            prompt.showMessage("No bookings match the current filter.");
+            return;
+        }
+
+        showGroupStatistics("Overall", Map.of("All bookings", aggregation.overall()));
+        showGroupStatistics("Neighbourhood", aggregation.byNeighbourhood());
+        Map<String, BookingStatistics> byFlatType = new LinkedHashMap<>();
+        aggregation.byFlatType().forEach((type, statistics) -> byFlatType.put(type.getDisplayName(), statistics));
+        showGroupStatistics("Flat Type", byFlatType);
+        showGroupStatistics("Project", aggregation.byProject());
+        showGroupTotals("Age Band", byDisplayName(aggregation.overall().getAgeHistogram(), AgeBand::getDisplayName));
+    }
+
+    /**
+     * Displays the booking statistics of one grouping as a table.
+     *
+     * @param group      the name of the grouping
+     * @param statistics the statistics of each group
+     */
+    private void showGroupStatistics(String group, Map<String, BookingStatistics> statistics) {
+        List<List<String>> tableRows = statistics.entrySet().stream()
+                .map(e -> List.of(
+                        e.getKey(),
+                        String.valueOf(e.getValue().getCount()),
+                        String.format("%.2f", e.getValue().getTotalSellingPrice()),
+                        String.format("%.2f", e.getValue().getAverageSellingPrice())))
+                .toList();
+        prompt.showTable(List.of(group, "Bookings", "Total Price", "Average Price"), tableRows);
+    }
+
+    /**
+     * Displays the booking counts of one grouping as a table.
+     *
+     * @param group  the name of the grouping
+     * @param counts the number of bookings in each group
+     */
+    private void showGroupTotals(String group, Map<String, Integer> counts) {
+        List<List<String>> tableRows = counts.entrySet().stream()
+                .map(e -> List.of(e.getKey(), String.valueOf(e.getValue())))
+                .toList();
+        prompt.showTable(List.of(group, "Bookings"), tableRows);
+    }
+
+    /**
+     * Relabels booking counts by the display names of their groups, keeping their order.
+     *
+     * @param counts      the number of bookings in each group
+     * @param displayName gets the display name of a group
+     * @param <K>         the type of the groups
+     * @return the counts keyed by display name
+     */
+    private static <K> Map<String, Integer> byDisplayName(Map<K, Integer> counts, Function<K, String> displayName) {
+        Map<String, Integer> named = new LinkedHashMap<>();
+        counts.forEach((key, count) -> named.merge(displayName.apply(key), count, Integer::sum));
+        return named;
+    }
 }
@@ -67,4 +67,24 @@ public class SharedView extends BaseView {
     public void clear() {
         prompt.clear();
     }
+
+    /**
+     * Prompts the user for a line of text.
+     *
+     * @param msg the prompt message
+     * @return the trimmed input
+     */
+    public String promptString(String msg) {
+        return prompt.promptString(msg);
+    }
+
+    /**
+     * Prompts the user for a whole number, asking again until one is entered.
+     *
+     * @param msg the prompt message
+     * @return the number entered
+     */
+    public int promptInt(String msg) {
+        return prompt.promptInt(msg);
+    }
 }
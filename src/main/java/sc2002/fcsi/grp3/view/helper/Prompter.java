@@ -7,10 +7,14 @@ import sc2002.fcsi.grp3.model.enums.FlatType;
 import sc2002.fcsi.grp3.model.enums.MaritalStatus;
 
 import java.io.Console;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.function.Supplier;
@@ -21,21 +25,49 @@ import java.util.function.Supplier;
  */
 public class Prompter {
     private final Scanner sc;
+    private final PrintStream out;
+    private final boolean systemConsole;
     final static DateTimeFormatter dtFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
 
     /**
-     * Constructs a {@code Prompter} using standard input.
+     * Constructs a {@code Prompter} using standard input and output.
      */
     public Prompter() {
         this.sc = new Scanner(System.in);
+        this.out = System.out;
+        this.systemConsole = true;
+    }
+
+    /**
+     * Constructs a {@code Prompter} over the given streams, such as those of a network session.
+     * Output is flushed whenever input is awaited.
+     *
+     * @param in  the stream to read input from
+     * @param out the stream to write output to
+     */
+    public Prompter(InputStream in, PrintStream out) {
+        this.sc = new Scanner(in, StandardCharsets.UTF_8);
+        this.out = out;
+        this.systemConsole = false;
+    }
+
+    /**
+     * Reads the next line of input, flushing any pending output first so that the prompt is shown.
+     *
+     * @return the line, without its line terminator
+     * @throws java.util.NoSuchElementException if the input has been closed
+     */
+    private String readLine() {
+        out.flush();
+        return sc.nextLine();
     }
 
     /**
      * Attempts to clear the console screen.
      */
     public void clear() {
-        System.out.print("\033[H\033[2J");
-        System.out.flush();
+        out.print("\033[H\033[2J");
+        out.flush();
     }
 
     /**
@@ -45,7 +77,7 @@ public class Prompter {
      * @param rows    the table rows
      */
     public void showTable(List<String> headers, List<List<String>> rows) {
-        TablePrinter.printTable(headers, rows);
+        TablePrinter.printTable(out, headers, rows);
     }
 
     /**
@@ -54,11 +86,11 @@ public class Prompter {
      * @param title the title to display
      */
     public void showTitle(String title) {
-        System.out.print("\n");
+        out.print("\n");
         String border = "=".repeat(title.length() + 4);
-        System.out.println(border);
-        System.out.println("| " + title + " |");
-        System.out.println(border);
+        out.println(border);
+        out.println("| " + title + " |");
+        out.println(border);
     }
 
     /**
@@ -72,7 +104,7 @@ public class Prompter {
     public int menuPromptInt(String title, String[] options, String prompt) {
         showTitle(title);
         for (int i = 0; i < options.length; i++) {
-            System.out.printf("(%d). %s\n", i + 1, options[i]);
+            out.printf("(%d). %s\n", i + 1, options[i]);
         }
         return promptInt(prompt);
     }
@@ -84,8 +116,8 @@ public class Prompter {
      * @return the trimmed input string
      */
     public String promptString(String msg) {
-        System.out.print(msg);
-        return sc.nextLine().trim();
+        out.print(msg);
+        return readLine().trim();
     }
 
     /**
@@ -114,8 +146,11 @@ public class Prompter {
         while (true) {
             try {
                 return promptFn.get();
+            } catch (NoSuchElementException e) {
+                // the input has been closed, so asking again would never end
+                throw e;
             } catch (Exception e) {
-                System.out.println(errorMsg);
+                out.println(errorMsg);
             }
         }
     }
@@ -141,15 +176,15 @@ public class Prompter {
      */
     public Integer promptIntOptional(String msg) {
         while (true) {
-            System.out.print(msg);
-            String input = sc.nextLine().trim();
+            out.print(msg);
+            String input = readLine().trim();
 
             if (input.isBlank()) return null;
 
             try {
                 return Integer.parseInt(input);
             } catch (NumberFormatException e) {
-                System.out.println("Invalid number. Please try again.");
+                out.println("Invalid number. Please try again.");
             }
         }
     }
@@ -175,15 +210,15 @@ public class Prompter {
      */
     public Float promptFloatOptional(String msg) {
         while (true) {
-            System.out.print(msg);
-            String input = sc.nextLine().trim();
+            out.print(msg);
+            String input = readLine().trim();
 
             if (input.isBlank()) return null;
 
             try {
                 return Float.parseFloat(input);
             } catch (NumberFormatException e) {
-                System.out.println("Invalid decimal point number. Please try again.");
+                out.println("Invalid decimal point number. Please try again.");
             }
         }
     }
@@ -209,28 +244,28 @@ public class Prompter {
      */
     public LocalDate promptDateOptional(String msg) {
         while (true) {
-            System.out.print(msg);
-            String input = sc.nextLine().trim();
+            out.print(msg);
+            String input = readLine().trim();
 
             if (input.isBlank()) return null;
 
             try {
                 return LocalDate.parse(input, dtFormatter);
             } catch (NumberFormatException e) {
-                System.out.println("Invalid date. Please try again.");
+                out.println("Invalid date. Please try again.");
             }
         }
     }
 
     /**
      * Prompts for a password-like hidden input.
-     * Warns if console is unavailable and falls back to visible input.
+     * Warns if the system console is unavailable, or not the input of this prompter, and falls back to visible input.
      *
      * @param msg the prompt message
      * @return the entered string
      */
     public String promptHiddenInput(String msg) {
-        Console console = System.console();
+        Console console = systemConsole ? System.console() : null;
         if (console == null) {
             showWarning("WARNING: Your password will be visible as you type.");
             return promptString(msg);
@@ -247,8 +282,8 @@ public class Prompter {
      * @return a List of {@link FlatType} or null if input is blank
      */
     public List<FlatType> promptFlatTypesOptional(String msg) {
-        System.out.print(msg);
-        String input = sc.nextLine().trim();
+        out.print(msg);
+        String input = readLine().trim();
 
         if (input.isBlank()) return null;
 
@@ -259,7 +294,7 @@ public class Prompter {
             try {
                 types.add(FlatType.fromCode(part.trim().toUpperCase()));
             } catch (IllegalArgumentException e) {
-                System.out.println("Invalid flat type: " + part.trim());
+                out.println("Invalid flat type: " + part.trim());
                 return promptFlatTypesOptional(msg); // retry entire input
             }
         }
@@ -286,16 +321,16 @@ public class Prompter {
      * @return the valid {@link MaritalStatus} or null if input is blank
      */
     public MaritalStatus promptMaritalStatusOptional(String msg) {
-        System.out.print(msg);
+        out.print(msg);
         MaritalStatus maritalStatus;
-        String input = sc.nextLine().trim();
+        String input = readLine().trim();
 
         if (input.isBlank()) return null;
 
         try {
             maritalStatus = MaritalStatus.fromString(input.trim().toUpperCase());
         } catch (IllegalArgumentException e) {
-            System.out.println("Invalid marital status: " + input.trim());
+            out.println("Invalid marital status: " + input.trim());
             return promptMaritalStatusOptional(msg); // retry entire input
         }
         return maritalStatus;
@@ -319,7 +354,7 @@ public class Prompter {
      * @param msg the message to display
      */
     public void showMessage(String msg) {
-        System.out.println(msg);
+        out.println(msg);
     }
 
     /**
@@ -329,7 +364,7 @@ public class Prompter {
      * @param args   the arguments to the format string
      */
     public void showMessagef(String format, Object ... args) {
-        System.out.printf(format + "\n", args);
+        out.printf(format + "\n", args);
     }
 
     /**
@@ -338,7 +373,7 @@ public class Prompter {
      * @param msg the warning message to display
      */
     public void showWarning(String msg) {
-        System.out.println("[Warning] " + msg);
+        out.println("[Warning] " + msg);
     }
 
     /**
@@ -347,15 +382,15 @@ public class Prompter {
      * @param msg the error message to display
      */
     public void showError(String msg) {
-        System.out.println("[Error] " + msg);
+        out.println("[Error] " + msg);
     }
 
     /**
      * Prompts the user to press Enter to continue.
      */
     public void pressEnterToContinue() {
-        System.out.println("\nPress Enter to continue...");
-        sc.nextLine();
+        out.println("\nPress Enter to continue...");
+        readLine();
     }
 
     /**
@@ -366,15 +401,15 @@ public class Prompter {
      */
     public boolean confirm(String msg) {
         while (true) {
-            System.out.print(msg + " (y/n): ");
-            String input = new Scanner(System.in).nextLine().trim().toLowerCase();
+            out.print(msg + " (y/n): ");
+            String input = readLine().trim().toLowerCase();
 
             if (input.equals("y")) {
                 return true;
             } else if (input.equals("n")) {
                 return false;
             } else {
-                System.out.println("Invalid input. Please enter 'y' or 'n'.");
+                out.println("Invalid input. Please enter 'y' or 'n'.");
             }
         }
     }
@@ -1,5 +1,6 @@
 package sc2002.fcsi.grp3.view.helper;
 
+import java.io.PrintStream;
 import java.util.List;
 
 /**
@@ -14,44 +15,56 @@ public class TablePrinter {
      * @param rows List of rows, each row is a list of strings.
      */
     public static void printTable(List<String> headers, List<List<String>> rows) {
+        printTable(System.out, headers, rows);
+    }
+
+    /**
+     * Prints a formatted table with headers and rows to the given stream.
+     * @param out the stream to print to.
+     * @param headers List of column headers.
+     * @param rows List of rows, each row is a list of strings.
+     */
+    public static void printTable(PrintStream out, List<String> headers, List<List<String>> rows) {
         int[] columnWidths = getColumnWidths(headers, rows);
 
         // Print header
-        printRow(headers, columnWidths);
-        printSeparator(columnWidths);
+        printRow(out, headers, columnWidths);
+        printSeparator(out, columnWidths);
 
         // Print rows
         for (List<String> row : rows) {
-            printRow(row, columnWidths);
+            printRow(out, row, columnWidths);
         }
     }
 
     /**
      * Prints a single row of cells, padded to match column widths.
      *
+     * @param out          the stream to print to
      * @param row          the list of strings representing the row
      * @param columnWidths the computed width of each column
      */
-    private static void printRow(List<String> row, int[] columnWidths) {
+    private static void printRow(PrintStream out, List<String> row, int[] columnWidths) {
         StringBuilder builder = new StringBuilder("|");
         for (int i = 0; i < row.size(); i++) {
             String cell = row.get(i);
             builder.append(" ").append(padRight(cell, columnWidths[i])).append(" |");
         }
-        System.out.println(builder);
+        out.println(builder);
     }
 
     /**
      * Prints a horizontal separator based on the column widths.
      *
+     * @param out          the stream to print to
      * @param columnWidths the computed width of each column
      */
-    private static void printSeparator(int[] columnWidths) {
+    private static void printSeparator(PrintStream out, int[] columnWidths) {
         StringBuilder builder = new StringBuilder("+");
         for (int width : columnWidths) {
             builder.append("-".repeat(width + 2)).append("+");
         }
-        System.out.println(builder);
+        out.println(builder);
     }
 
     /**
@@ -0,0 +1,307 @@
+package sc2002.fcsi.grp3.datastore;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sc2002.fcsi.grp3.dto.FlatBookingReportRow;
+import sc2002.fcsi.grp3.dto.FlatBookingTotals;
+import sc2002.fcsi.grp3.model.Application;
+import sc2002.fcsi.grp3.model.Flat;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.ReportFilter;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.AgeBand;
+import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.role.ApplicantRole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the booking report as applications move into and out of BOOKED and as the details it copies
+ * change, against a plain scan of the stored applications.
+ */
+public class BookingReportViewTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    private final DataStore db = DataStore.getInstance();
+    private final User alice = new User("Alice", "S1000001A", 25, "password", MaritalStatus.SINGLE, new ApplicantRole());
+    private final User bob = new User("Bob", "S1000002B", 40, "password", MaritalStatus.MARRIED, new ApplicantRole());
+    private final User carol = new User("Carol", "S1000003C", 67, "password", MaritalStatus.MARRIED, new ApplicantRole());
+    private final User dave = new User("Dave", "S1000004D", 36, "password", MaritalStatus.SINGLE, new ApplicantRole());
+    private final Project acacia = project(1, "Acacia Breeze", "Yishun");
+    private final Project bishan = project(2, "Bishan Loft", "Bishan");
+    private final Project canberra = project(3, "Canberra Vista", "yishun");
+
+    @BeforeEach
+    public void loadData() {
+        db.setJournal(null);
+        db.setUsers(new ArrayList<>(List.of(alice, bob, carol, dave)));
+        db.setProjects(new ArrayList<>(List.of(acacia, bishan, canberra)));
+        db.setApplications(new ArrayList<>(List.of(
+                application(1, acacia, alice, FlatType.TWO_ROOM, ApplicationStatus.BOOKED),
+                application(2, bishan, bob, FlatType.THREE_ROOM, ApplicationStatus.BOOKED),
+                application(3, canberra, carol, FlatType.THREE_ROOM, ApplicationStatus.SUCCESSFUL),
+                application(4, acacia, dave, FlatType.TWO_ROOM, ApplicationStatus.PENDING),
+                application(5, canberra, bob, FlatType.TWO_ROOM, ApplicationStatus.BOOKED))));
+    }
+
+    @Test
+    public void bookingsMoveIntoAndOutOfTheReport() {
+        assertMatchesScan();
+        assertEquals(List.of("Alice", "Bob", "Bob"), names(db.getFlatBookingReport(null)));
+
+        db.findApplicationById(3).setStatus(ApplicationStatus.BOOKED);
+        assertMatchesScan();
+        db.findApplicationById(4).compareAndSetStatus(ApplicationStatus.PENDING, ApplicationStatus.BOOKED);
+        assertMatchesScan();
+        assertEquals(List.of("Alice", "Bob", "Carol", "Dave", "Bob"), names(db.getFlatBookingReport(null)));
+
+        // a booked application changing flat type moves to another count
+        db.findApplicationById(4).setFlatType(FlatType.THREE_ROOM);
+        assertMatchesScan();
+
+        db.findApplicationById(1).requestWithdrawal();
+        db.findApplicationById(2).setStatus(ApplicationStatus.WITHDRAWN);
+        assertMatchesScan();
+
+        db.addApplication(application(6, bishan, alice, FlatType.TWO_ROOM, ApplicationStatus.BOOKED));
+        assertMatchesScan();
+        assertEquals(List.of("Carol", "Dave", "Bob", "Alice"), names(db.getFlatBookingReport(null)));
+    }
+
+    @Test
+    public void countsFollowEveryCell() {
+        FlatBookingTotals totals = db.getFlatBookingTotals(null);
+        assertEquals(3, totals.total());
+        assertEquals(Map.of("Yishun", 2, "Bishan", 1), totals.byNeighbourhood());
+        assertEquals(Map.of(FlatType.TWO_ROOM, 2, FlatType.THREE_ROOM, 1), totals.byFlatType());
+        assertEquals(Map.of(MaritalStatus.SINGLE, 1, MaritalStatus.MARRIED, 2), totals.byMaritalStatus());
+        assertEquals(Map.of(AgeBand.AGE_21_TO_34, 1, AgeBand.AGE_35_TO_44, 2), totals.byAgeBand());
+
+        // the same cell counted twice, then emptied again
+        db.addApplication(application(6, acacia, bob, FlatType.TWO_ROOM, ApplicationStatus.BOOKED));
+        ReportFilter married40 = filter(null, MaritalStatus.MARRIED, 40, 40, List.of(FlatType.TWO_ROOM));
+        assertEquals(2, db.getFlatBookingTotals(married40).total());
+        assertEquals(Map.of("Yishun", 2), db.getFlatBookingTotals(married40).byNeighbourhood());
+
+        db.findApplicationById(5).setStatus(ApplicationStatus.WITHDRAWN);
+        db.findApplicationById(6).setStatus(ApplicationStatus.WITHDRAWN);
+        assertEquals(0, db.getFlatBookingTotals(married40).total());
+        assertEquals(Map.of(), db.getFlatBookingTotals(married40).byNeighbourhood());
+        assertMatchesScan();
+    }
+
+    @Test
+    public void unbookingTheLastBookingEmptiesItsNeighbourhood() {
+        db.findApplicationById(2).setStatus(ApplicationStatus.WITHDRAWN);
+
+        assertEquals(List.of(), db.getFlatBookingReport(filter("Bishan", null, null, null, null)));
+        assertFalse(db.getFlatBookingTotals(null).byNeighbourhood().containsKey("Bishan"));
+        assertMatchesScan();
+
+        db.findApplicationById(2).setStatus(ApplicationStatus.BOOKED);
+        assertEquals(List.of("Bob"), names(db.getFlatBookingReport(filter("bishan", null, null, null, null))));
+        assertMatchesScan();
+    }
+
+    @Test
+    public void detailChangesRebuildTheRows() {
+        FlatBookingReportRow before = db.getFlatBookingReport(null).get(0);
+
+        // a change no row copies leaves the rows as they are
+        alice.setPassword("changed");
+        acacia.getFlat(FlatType.TWO_ROOM).setUnitsAvailable(7);
+        assertSame(before, db.getFlatBookingReport(null).get(0));
+
+        alice.setName("Alicia");
+        FlatBookingReportRow renamed = db.getFlatBookingReport(null).get(0);
+        assertNotSame(before, renamed);
+        assertEquals("Alicia", renamed.getApplicantName());
+        assertMatchesScan();
+
+        // a project moving neighbourhood moves its bookings between groups
+        bishan.setNeighbourhood("Yishun");
+        assertEquals(Map.of("Yishun", 3), db.getFlatBookingTotals(null).byNeighbourhood());
+        assertEquals(List.of(), db.getFlatBookingReport(filter("Bishan", null, null, null, null)));
+        assertMatchesScan();
+
+        bob.setMaritalStatus(MaritalStatus.SINGLE);
+        bob.setAge(33);
+        assertEquals(Map.of(MaritalStatus.SINGLE, 3), db.getFlatBookingTotals(null).byMaritalStatus());
+        assertMatchesScan();
+    }
+
+    @Test
+    public void pagesResumeAfterTheLastApplicationRead() {
+        BookingReportView view = new BookingReportView();
+        view.setAll(db.getApplications());
+        for (int pageSize : new int[]{1, 2, 3, 100}) {
+            for (ReportFilter filter : filters()) {
+                assertEquals(describe(scan(filter)), describe(collect(view.iterator(filter, pageSize))),
+                        "page size " + pageSize);
+            }
+        }
+
+        // changes between pages are seen only past the last application ID read
+        Iterator<FlatBookingReportRow> rows = view.iterator(null, 1);
+        assertEquals("Alice", rows.next().getApplicantName());
+        assertEquals("Bob", rows.next().getApplicantName());
+        change(view, 1, ApplicationStatus.WITHDRAWN);
+        change(view, 3, ApplicationStatus.BOOKED);
+        change(view, 4, ApplicationStatus.BOOKED);
+        change(view, 5, ApplicationStatus.WITHDRAWN);
+        bob.setName("Robert");
+        assertEquals(List.of("Carol", "Dave"), names(collect(rows)));
+        assertEquals(describe(scan(null)), describe(collect(view.iterator(null, 1))));
+    }
+
+    @Test
+    public void pagesDoNotSplitAnApplicationId() {
+        BookingReportView view = new BookingReportView();
+        List<Application> applications = new ArrayList<>(db.getApplications());
+        // a damaged file can hold two applications with the same ID
+        applications.add(application(2, acacia, dave, FlatType.TWO_ROOM, ApplicationStatus.BOOKED));
+        view.setAll(applications);
+
+        for (int pageSize : new int[]{1, 2, 3}) {
+            List<String> names = names(collect(view.iterator(null, pageSize)));
+            assertEquals(4, names.size(), "page size " + pageSize);
+            assertEquals("Alice", names.get(0));
+            assertTrue(names.subList(1, 3).containsAll(List.of("Bob", "Dave")), names.toString());
+            assertEquals("Bob", names.get(3));
+        }
+    }
+
+    /**
+     * Compares the rows, the streamed rows and the totals of several filters against a scan.
+     */
+    private void assertMatchesScan() {
+        for (ReportFilter filter : filters()) {
+            List<Application> expected = scan(filter);
+            assertEquals(describe(expected), describe(db.getFlatBookingReport(filter)));
+            assertEquals(describe(expected), describe(db.streamFlatBookingReport(filter).toList()));
+            assertTotals(expected, db.getFlatBookingTotals(filter));
+        }
+    }
+
+    private static void assertTotals(List<Application> expected, FlatBookingTotals totals) {
+        Map<String, Integer> byNeighbourhood = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<FlatType, Integer> byFlatType = new EnumMap<>(FlatType.class);
+        Map<MaritalStatus, Integer> byMaritalStatus = new EnumMap<>(MaritalStatus.class);
+        Map<AgeBand, Integer> byAgeBand = new EnumMap<>(AgeBand.class);
+        for (Application application : expected) {
+            User applicant = application.getApplicant();
+            byNeighbourhood.merge(application.getProject().getNeighbourhood(), 1, Integer::sum);
+            byFlatType.merge(application.getFlatType(), 1, Integer::sum);
+            byMaritalStatus.merge(applicant.getMaritalStatus(), 1, Integer::sum);
+            byAgeBand.merge(AgeBand.of(applicant.getAge()), 1, Integer::sum);
+        }
+        assertEquals(expected.size(), totals.total());
+        assertEquals(byNeighbourhood, totals.byNeighbourhood());
+        assertEquals(byFlatType, totals.byFlatType());
+        assertEquals(byMaritalStatus, totals.byMaritalStatus());
+        assertEquals(byAgeBand, totals.byAgeBand());
+    }
+
+    /**
+     * Finds the booked applications that match a filter by scanning every stored application.
+     */
+    private List<Application> scan(ReportFilter filter) {
+        return db.getApplications().stream()
+                .filter(a -> a.getStatus() == ApplicationStatus.BOOKED)
+                .filter(a -> filter == null || filter.matches(a.getApplicant().getAge(),
+                        a.getApplicant().getMaritalStatus(), a.getFlatType(), a.getProject().getNeighbourhood()))
+                .sorted((a, b) -> Integer.compare(a.getId(), b.getId()))
+                .toList();
+    }
+
+    private static List<ReportFilter> filters() {
+        List<ReportFilter> filters = new ArrayList<>();
+        filters.add(null);
+        filters.add(filter("YISHUN", null, null, null, null));
+        filters.add(filter("Nowhere", null, null, null, null));
+        filters.add(filter(null, MaritalStatus.MARRIED, null, null, null));
+        filters.add(filter(null, null, 35, 44, null));
+        filters.add(filter(null, null, null, null, List.of(FlatType.THREE_ROOM)));
+        filters.add(filter("Yishun", MaritalStatus.SINGLE, 21, 65, List.of(FlatType.TWO_ROOM, FlatType.THREE_ROOM)));
+        return filters;
+    }
+
+    private static ReportFilter filter(String neighbourhood, MaritalStatus status, Integer minAge, Integer maxAge,
+                                       List<FlatType> flatTypes) {
+        ReportFilter filter = new ReportFilter();
+        filter.setNeighbourhood(neighbourhood);
+        filter.setMaritalStatus(status);
+        filter.setMinAge(minAge);
+        filter.setMaxAge(maxAge);
+        filter.setFlatTypes(flatTypes);
+        return filter;
+    }
+
+    /**
+     * Changes the status of a stored application and tells a view that is not registered as a listener.
+     */
+    private void change(BookingReportView view, int id, ApplicationStatus status) {
+        Application application = db.findApplicationById(id);
+        application.setStatus(status);
+        view.applicationChanged(application);
+    }
+
+    private static List<FlatBookingReportRow> collect(Iterator<FlatBookingReportRow> rows) {
+        List<FlatBookingReportRow> list = new ArrayList<>();
+        rows.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static List<String> names(List<FlatBookingReportRow> rows) {
+        return rows.stream().map(FlatBookingReportRow::getApplicantName).toList();
+    }
+
+    private static List<String> describe(List<?> applicationsOrRows) {
+        List<String> described = new ArrayList<>();
+        for (Object item : applicationsOrRows) {
+            if (item instanceof Application a) {
+                described.add(describe(a.getApplicant().getName(), a.getApplicant().getAge(),
+                        a.getApplicant().getMaritalStatus(), a.getFlatType(), a.getProject().getName(),
+                        a.getProject().getNeighbourhood()));
+            } else {
+                FlatBookingReportRow r = (FlatBookingReportRow) item;
+                described.add(describe(r.getApplicantName(), r.getApplicantAge(), r.getMaritalStatus(),
+                        r.getFlatType(), r.getProjectName(), r.getNeighbourhood()));
+            }
+        }
+        return described;
+    }
+
+    private static String describe(String name, int age, MaritalStatus status, FlatType type, String project,
+                                   String neighbourhood) {
+        return name + "|" + age + "|" + status + "|" + type + "|" + project + "|" + neighbourhood;
+    }
+
+    private static Application application(int id, Project project, User applicant, FlatType type,
+                                           ApplicationStatus status) {
+        return new Application(id, project, applicant, type, status, DAY);
+    }
+
+    private static Project project(int id, String name, String neighbourhood) {
+        return new Project(id, name, neighbourhood, true, DAY, DAY.plusMonths(3), "T0000000A", 2,
+                new ArrayList<>(List.of(
+                        new Flat(FlatType.TWO_ROOM, 5, 250_000f),
+                        new Flat(FlatType.THREE_ROOM, 5, 350_000f))),
+                new ArrayList<>());
+    }
+}
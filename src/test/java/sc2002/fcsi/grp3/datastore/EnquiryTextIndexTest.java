@@ -0,0 +1,180 @@
+package sc2002.fcsi.grp3.datastore;
+
+import org.junit.jupiter.api.Test;
+import sc2002.fcsi.grp3.model.Enquiry;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.enums.EnquiryStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks how the inverted enquiry index tokenizes text and queries, how it ranks and breaks ties,
+ * and that reindexed, removed and compacted enquiries are found only under their current text.
+ */
+public class EnquiryTextIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 1);
+
+    private final Project project = project(1);
+
+    @Test
+    public void tokensAreLowerCasedRunsOfLettersAndDigits() {
+        assertEquals(List.of("3", "room", "mrt", "s", "view"), EnquiryTextIndex.tokens("3-Room, MRT's  view!"));
+        assertEquals(List.of("café", "2025"), EnquiryTextIndex.tokens("  Café...2025"));
+        assertEquals(List.of(), EnquiryTextIndex.tokens(" -,!? "));
+        assertEquals(List.of(), EnquiryTextIndex.tokens(""));
+        assertEquals(List.of(), EnquiryTextIndex.tokens(null));
+    }
+
+    @Test
+    public void queriesAreTokenizedLikeTheText() {
+        Enquiry enquiry = enquiry(1, "3 Room flats", "Is the MRT near?", null, project);
+        EnquiryTextIndex index = index(enquiry);
+
+        assertEquals(List.of(enquiry), index.search("3-ROOM", null, 10));
+        assertEquals(List.of(enquiry), index.search("\"3-room\"", null, 10));
+        assertEquals(List.of(enquiry), index.search("mrt, near?", null, 10));
+        // every word must match, and a query without words finds nothing
+        assertEquals(List.of(), index.search("mrt school", null, 10));
+        assertEquals(List.of(), index.search("--", null, 10));
+        assertEquals(List.of(), index.search("\"\"", null, 10));
+        assertEquals(List.of(), index.search(null, null, 10));
+        assertEquals(List.of(), index.search("mrt", null, 0));
+    }
+
+    @Test
+    public void phraseDoesNotSpanFields() {
+        Enquiry enquiry = enquiry(1, "Is there a balcony", "facing the park?", null, project);
+        EnquiryTextIndex index = index(enquiry);
+
+        assertEquals(List.of(enquiry), index.search("balcony facing", null, 10));
+        assertEquals(List.of(), index.search("\"balcony facing\"", null, 10));
+        assertEquals(List.of(enquiry), index.search("\"FACING the\"", null, 10));
+        assertEquals(List.of(), index.search("\"the facing\"", null, 10));
+    }
+
+    @Test
+    public void equalScoresRankTheLowerIdFirst() {
+        Enquiry later = enquiry(7, "Lift", "When is the lift upgraded?", null, project);
+        Enquiry earlier = enquiry(3, "Lift", "When is the lift upgraded?", null, project);
+        Enquiry middle = enquiry(5, "Lift", "When is the lift upgraded?", null, project);
+        EnquiryTextIndex index = index(later, earlier, middle);
+
+        assertEquals(List.of(earlier, middle, later), index.search("lift", null, 10));
+        assertEquals(List.of(earlier, middle), index.search("lift", null, 2));
+        assertEquals(List.of(earlier), index.search("lift upgraded", null, 1));
+    }
+
+    @Test
+    public void frequentWordsAndShortTextRankHigher() {
+        Enquiry once = enquiry(1, "lift noise floor", null, null, project);
+        Enquiry thrice = enquiry(2, "lift lift lift", null, null, project);
+        Enquiry longer = enquiry(3, "lift", "noise from the floor above at night", null, project);
+        Enquiry shorter = enquiry(4, "lift", null, null, project);
+        EnquiryTextIndex index = index(once, thrice, longer, shorter);
+
+        // with the same count, the shorter enquiry ranks first, whatever its ID
+        assertEquals(List.of(thrice, shorter, once, longer), index.search("lift", null, 10));
+    }
+
+    @Test
+    public void rareWordsOutweighCommonOnes() {
+        List<Enquiry> enquiries = new ArrayList<>();
+        for (int id = 1; id <= 6; id++) {
+            enquiries.add(enquiry(id, "parking", null, null, project));
+        }
+        Enquiry mostlyParking = enquiry(10, "parking parking lift", null, null, project);
+        Enquiry mostlyLift = enquiry(11, "parking lift lift", null, null, project);
+        enquiries.add(mostlyParking);
+        enquiries.add(mostlyLift);
+        EnquiryTextIndex index = index(enquiries.toArray(new Enquiry[0]));
+
+        assertEquals(List.of(mostlyLift, mostlyParking), index.search("parking lift", null, 10));
+    }
+
+    @Test
+    public void searchIsScopedToProjects() {
+        Project other = project(2);
+        Project third = project(3);
+        Enquiry first = enquiry(1, "Bus stop", null, null, project);
+        Enquiry second = enquiry(2, "Bus stop", null, null, other);
+        Enquiry unrelated = enquiry(3, "Bus stop", null, null, null);
+        EnquiryTextIndex index = index(first, second, unrelated);
+
+        assertEquals(List.of(first, second, unrelated), index.search("bus", null, 10));
+        assertEquals(List.of(second), index.search("bus", Set.of(2), 10));
+        assertEquals(List.of(first, second), index.search("bus", Set.of(1, 2, third.getId()), 10));
+        assertEquals(List.of(), index.search("bus", Set.of(third.getId()), 10));
+        assertEquals(List.of(), index.search("bus", Set.of(), 10));
+
+        // a scope larger than the matching posting list is checked per match rather than walked
+        for (int id = 10; id < 30; id++) {
+            index.add(enquiry(id, "Parking", null, null, other));
+        }
+        assertEquals(List.of(second), index.search("bus", Set.of(2), 10));
+    }
+
+    @Test
+    public void reindexedEnquiryIsFoundOnlyByItsCurrentText() {
+        Enquiry enquiry = enquiry(1, "Balcony", "Which way does it face?", null, project);
+        EnquiryTextIndex index = index(enquiry);
+
+        enquiry.setReply("The balcony faces north");
+        assertEquals(List.of(), index.search("north", null, 10));
+        index.reindex(enquiry);
+        assertEquals(List.of(enquiry), index.search("north", null, 10));
+        assertEquals(List.of(enquiry), index.search("\"faces north\"", null, 10));
+
+        enquiry.setContent("Is there a view?");
+        index.reindex(enquiry);
+        assertEquals(List.of(), index.search("face", null, 10));
+        assertEquals(List.of(enquiry), index.search("view north", null, 10));
+
+        index.remove(enquiry);
+        index.remove(enquiry);
+        assertEquals(List.of(), index.search("balcony", null, 10));
+    }
+
+    @Test
+    public void compactionKeepsEveryLiveEnquiry() {
+        Enquiry kept = enquiry(1, "Lift", "Is the lift being upgraded?", null, project);
+        Enquiry edited = enquiry(2, "Lift", null, null, project(2));
+        EnquiryTextIndex index = index(kept, edited);
+
+        // enough edits to leave more tombstones than the index tolerates, several times over
+        for (int i = 0; i < 3_000; i++) {
+            edited.setReply("reply " + i);
+            index.reindex(edited);
+        }
+        for (int id = 10; id < 1_500; id++) {
+            Enquiry removed = enquiry(id, "Lift", null, null, project);
+            index.add(removed);
+            index.remove(removed);
+        }
+
+        assertEquals(List.of(kept, edited), index.search("lift", null, 10));
+        assertEquals(List.of(edited), index.search("\"reply 2999\"", null, 10));
+        assertEquals(List.of(), index.search("\"reply 2998\"", null, 10));
+        assertEquals(List.of(kept), index.search("lift", Set.of(1), 10));
+    }
+
+    private static EnquiryTextIndex index(Enquiry... enquiries) {
+        EnquiryTextIndex index = new EnquiryTextIndex();
+        index.setAll(List.of(enquiries));
+        return index;
+    }
+
+    private static Enquiry enquiry(int id, String title, String content, String reply, Project project) {
+        return new Enquiry(id, title, content, reply, null, project, null, EnquiryStatus.SUBMITTED, DAY, DAY);
+    }
+
+    private static Project project(int id) {
+        return new Project(id, "Project " + id, "Yishun", true, DAY, DAY.plusDays(30), "T0000000A", 2,
+                new ArrayList<>(), new ArrayList<>());
+    }
+}
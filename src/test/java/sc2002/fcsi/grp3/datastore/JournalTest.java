@@ -0,0 +1,214 @@
+package sc2002.fcsi.grp3.datastore;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sc2002.fcsi.grp3.io.WriteAheadLog;
+import sc2002.fcsi.grp3.model.Application;
+import sc2002.fcsi.grp3.model.Enquiry;
+import sc2002.fcsi.grp3.model.Flat;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.model.enums.EnquiryStatus;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.role.ApplicantRole;
+import sc2002.fcsi.grp3.model.role.ManagerRole;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays journal entries onto a freshly loaded DataStore, including a log whose last entry was torn by a crash,
+ * and checks that changes are serialized across tables.
+ */
+public class JournalTest {
+
+    private static final LocalDate OPENING = LocalDate.of(2025, 1, 1);
+    private static final LocalDate CLOSING = LocalDate.of(2025, 12, 31);
+
+    @TempDir
+    Path dir;
+
+    private final DataStore db = DataStore.getInstance();
+
+    @BeforeEach
+    public void loadSnapshot() {
+        db.setJournal(null);
+        db.setUsers(new ArrayList<>(List.of(
+                new User("Alice", "S1234567A", 35, "password", MaritalStatus.SINGLE, new ApplicantRole()),
+                new User("Mary", "T7654321B", 45, "password", MaritalStatus.MARRIED, new ManagerRole()))));
+        db.setProjects(new ArrayList<>(List.of(project(1, "Acacia Breeze"))));
+        db.setApplications(new ArrayList<>());
+        db.setEnquiries(new ArrayList<>());
+        db.setBookings(new ArrayList<>());
+        db.setRegistrations(new ArrayList<>());
+    }
+
+    @Test
+    public void changesToDifferentTablesAreSerialized() throws InterruptedException {
+        Journal journal = Journal.disabled();
+        CountDownLatch entered = new CountDownLatch(1);
+        Thread other = new Thread(() -> {
+            try (Journal.Change _ = journal.beginChange()) {
+                db.addEnquiry(new Enquiry(1, "Lift", "When?", null, null, db.findProjectById(1), null,
+                        EnquiryStatus.SUBMITTED, OPENING, OPENING));
+                entered.countDown();
+            }
+        });
+
+        try (Journal.Change _ = journal.beginChange()) {
+            db.addProject(project(2, "Birch Grove"));
+            other.start();
+            // the enquiry change waits for the project change, although they write different tables
+            assertFalse(entered.await(100, TimeUnit.MILLISECONDS));
+            assertTrue(db.getEnquiries().isEmpty());
+        }
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        other.join();
+        assertEquals(1, db.getEnquiries().size());
+    }
+
+    @Test
+    public void replayRestoresRecordedChanges() throws IOException {
+        Path path = dir.resolve("journal.log");
+        recordChanges(path);
+
+        loadSnapshot();
+        assertEquals(3, replay(path));
+
+        assertReplayed();
+        assertEquals(3, db.findProjectById(2).getFlats().get(1).getUnitsAvailable());
+    }
+
+    @Test
+    public void replayingTwiceLeavesTheSameState() throws IOException {
+        Path path = dir.resolve("journal.log");
+        recordChanges(path);
+
+        loadSnapshot();
+        replay(path);
+        replay(path);
+
+        assertReplayed();
+        assertEquals(1, db.getApplications().size());
+        assertEquals(2, db.getProjects().size());
+    }
+
+    @Test
+    public void replayStopsAtTornEntry() throws IOException {
+        Path path = dir.resolve("journal.log");
+        recordChanges(path);
+
+        // cut the last entry in half, as a crash part way through the write would
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 20);
+        }
+
+        loadSnapshot();
+        assertEquals(2, replay(path));
+
+        assertNotNull(db.findApplicationById(7));
+        assertEquals("changed", db.findUserByNric("S1234567A").getPassword());
+        assertNull(db.findProjectById(2));
+    }
+
+    @Test
+    public void replayRestoresProjectEdits() throws IOException {
+        Path path = dir.resolve("journal.log");
+        try (WriteAheadLog log = new WriteAheadLog(path.toString(), 0)) {
+            Journal journal = new Journal(log);
+            Project edited = project(1, "Acacia Breeze II");
+            edited.setApplicationClosingDate(CLOSING.minusMonths(1));
+            edited.setFlats(new ArrayList<>(List.of(new Flat(FlatType.TWO_ROOM, 5, 260_000f))));
+            journal.projectUpdated(edited);
+            edited.setVisible(false);
+            journal.visibilityChanged(edited);
+            edited.setTotalOfficerSlots(6);
+            journal.officerSlotsChanged(edited);
+            journal.projectCreated(project(2, "Bishan Grove"));
+            journal.projectDeleted(project(2, "Bishan Grove"));
+        }
+
+        for (int i = 0; i < 2; i++) {
+            replay(path);
+
+            Project project = db.findProjectById(1);
+            assertEquals("Acacia Breeze II", project.getName());
+            assertEquals(CLOSING.minusMonths(1), project.getApplicationClosingDate());
+            assertEquals(1, project.getFlats().size());
+            assertEquals(5, project.getFlat(FlatType.TWO_ROOM).getUnitsAvailable());
+            assertEquals(260_000f, project.getFlat(FlatType.TWO_ROOM).getSellingPrice());
+            assertFalse(project.isVisible());
+            assertEquals(6, project.getTotalOfficerSlots());
+            assertEquals(List.of(project), db.getProjectsOpenOn(CLOSING.minusMonths(1)));
+            assertEquals(List.of(), db.getProjectsOpenOn(CLOSING));
+            assertNull(db.findProjectById(2));
+        }
+    }
+
+    /**
+     * Records an application, a password change and a new project in a fresh log, then closes it.
+     *
+     * @param path the log file
+     */
+    private void recordChanges(Path path) throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(path.toString(), 0)) {
+            Journal journal = new Journal(log);
+            User applicant = db.findUserByNric("S1234567A");
+
+            journal.applicationSubmitted(new Application(7, db.findProjectById(1), applicant,
+                    FlatType.TWO_ROOM, ApplicationStatus.PENDING, OPENING.plusDays(3)));
+            applicant.setPassword("changed");
+            journal.passwordChanged(applicant);
+            journal.projectCreated(project(2, "Bishan Grove"));
+        }
+    }
+
+    private int replay(Path path) throws IOException {
+        try (WriteAheadLog log = new WriteAheadLog(path.toString(), 0)) {
+            return new Journal(log).replay(db);
+        }
+    }
+
+    private void assertReplayed() {
+        Application application = db.findApplicationById(7);
+        assertNotNull(application);
+        assertEquals(1, application.getProject().getId());
+        assertEquals("S1234567A", application.getApplicant().getNric());
+        assertEquals(ApplicationStatus.PENDING, application.getStatus());
+        assertEquals(OPENING.plusDays(3), application.getSubmittedAt());
+
+        assertEquals("changed", db.findUserByNric("S1234567A").getPassword());
+
+        Project project = db.findProjectById(2);
+        assertNotNull(project);
+        assertEquals("Bishan Grove", project.getName());
+        assertEquals(CLOSING, project.getApplicationClosingDate());
+        assertEquals("T7654321B", project.getManagerNric());
+        assertEquals(2, project.getFlats().size());
+        assertEquals(List.of("S0000001C"), project.getOfficerNrics());
+    }
+
+    private static Project project(int id, String name) {
+        return new Project(id, name, "Yishun", true, OPENING, CLOSING, "T7654321B", 3,
+                new ArrayList<>(List.of(
+                        new Flat(FlatType.TWO_ROOM, 2, 250_000f),
+                        new Flat(FlatType.THREE_ROOM, 3, 350_000f))),
+                new ArrayList<>(List.of("S0000001C")));
+    }
+}
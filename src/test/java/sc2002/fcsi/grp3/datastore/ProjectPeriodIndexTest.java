@@ -0,0 +1,155 @@
+package sc2002.fcsi.grp3.datastore;
+
+import org.junit.jupiter.api.Test;
+import sc2002.fcsi.grp3.model.Project;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the project period index on inclusive period boundaries, excluded and reassigned projects,
+ * and on deletes that rebalance its interval trees.
+ */
+public class ProjectPeriodIndexTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2025, 3, 1);
+    private static final LocalDate MARCH_31 = LocalDate.of(2025, 3, 31);
+
+    @Test
+    public void boundariesAreInclusive() {
+        ProjectPeriodIndex index = new ProjectPeriodIndex();
+        Project march = project(1, MARCH_1, MARCH_31, "T0000001A");
+        index.add(march);
+
+        assertTrue(index.overlaps(MARCH_1.minusDays(10), MARCH_1, null));
+        assertTrue(index.overlaps(MARCH_31, MARCH_31.plusDays(10), null));
+        assertTrue(index.overlaps(MARCH_1.plusDays(5), MARCH_1.plusDays(5), null));
+        assertTrue(index.overlaps(MARCH_1.minusDays(1), MARCH_31.plusDays(1), null));
+        assertFalse(index.overlaps(MARCH_1.minusDays(10), MARCH_1.minusDays(1), null));
+        assertFalse(index.overlaps(MARCH_31.plusDays(1), MARCH_31.plusDays(10), null));
+
+        assertEquals(List.of(march), index.openOn(MARCH_1));
+        assertEquals(List.of(march), index.openOn(MARCH_31));
+        assertEquals(List.of(), index.openOn(MARCH_1.minusDays(1)));
+        assertEquals(List.of(), index.openOn(MARCH_31.plusDays(1)));
+    }
+
+    @Test
+    public void adjacentPeriodsDoNotOverlap() {
+        ProjectPeriodIndex index = new ProjectPeriodIndex();
+        Project oneDay = project(1, MARCH_31, MARCH_31, "T0000001A");
+        Project april = project(2, MARCH_31.plusDays(1), MARCH_31.plusDays(30), "T0000001A");
+        index.add(oneDay);
+        index.add(april);
+
+        assertEquals(List.of(oneDay), index.openOn(MARCH_31));
+        assertTrue(index.overlaps(MARCH_1, MARCH_31, april));
+        assertFalse(index.overlaps(MARCH_1, MARCH_31.minusDays(1), april));
+        // a period ending the day before another starts does not overlap it
+        assertFalse(index.overlaps(MARCH_31, MARCH_31, oneDay));
+    }
+
+    @Test
+    public void excludedProjectIsIgnored() {
+        ProjectPeriodIndex index = new ProjectPeriodIndex();
+        Project march = project(1, MARCH_1, MARCH_31, "T0000001A");
+        index.add(march);
+
+        assertFalse(index.overlaps(MARCH_1, MARCH_31, march));
+        assertFalse(index.overlapsManagedBy("T0000001A", MARCH_1, MARCH_31, march));
+
+        Project sameDates = project(2, MARCH_1, MARCH_31, "T0000001A");
+        index.add(sameDates);
+        assertTrue(index.overlaps(MARCH_1, MARCH_31, march));
+        assertTrue(index.overlaps(MARCH_1, MARCH_31, sameDates));
+        assertEquals(List.of(march, sameDates), index.openOn(MARCH_1));
+    }
+
+    @Test
+    public void managersAreMatchedIgnoringCaseAndKeptApart() {
+        ProjectPeriodIndex index = new ProjectPeriodIndex();
+        Project march = project(1, MARCH_1, MARCH_31, "T0000001A");
+        index.add(march);
+
+        assertTrue(index.overlapsManagedBy("t0000001a", MARCH_1, MARCH_1, null));
+        assertFalse(index.overlapsManagedBy("T0000002B", MARCH_1, MARCH_1, null));
+
+        // reindexing moves the project to its new dates and its new manager
+        march.setManagerNric("T0000002B");
+        march.setApplicationOpeningDate(MARCH_31.plusDays(1));
+        march.setApplicationClosingDate(MARCH_31.plusDays(30));
+        index.reindex(march);
+
+        assertFalse(index.overlapsManagedBy("T0000001A", MARCH_1, MARCH_31.plusDays(30), null));
+        assertFalse(index.overlapsManagedBy("T0000002B", MARCH_1, MARCH_31, null));
+        assertTrue(index.overlapsManagedBy("T0000002B", MARCH_31.plusDays(1), MARCH_31.plusDays(1), null));
+        assertEquals(List.of(), index.openOn(MARCH_1));
+    }
+
+    @Test
+    public void projectsWithoutBothDatesAreNotIndexed() {
+        ProjectPeriodIndex index = new ProjectPeriodIndex();
+        Project undated = project(1, MARCH_1, null, "T0000001A");
+        index.add(undated);
+        index.remove(undated);
+
+        assertFalse(index.overlaps(MARCH_1, MARCH_31, null));
+        assertEquals(List.of(), index.openOn(MARCH_1));
+    }
+
+    @Test
+    public void deletesRebalanceAndKeepTheLatestClosingDay() {
+        ProjectPeriodIndex index = new ProjectPeriodIndex();
+        // three-day periods every ten days, with one long period in the middle of the opening order
+        List<Project> shortPeriods = new ArrayList<>();
+        Project longPeriod = null;
+        for (int i = 0; i < 32; i++) {
+            LocalDate opening = MARCH_1.plusDays(10L * i);
+            Project project = project(i + 1, opening, opening.plusDays(2), "T0000001A");
+            index.add(project);
+            shortPeriods.add(project);
+            if (i == 16) {
+                longPeriod = project(100, opening, opening.plusDays(400), "T0000001A");
+                index.add(longPeriod);
+            }
+        }
+
+        LocalDate gap = MARCH_1.plusDays(10L * 20 + 5);
+        assertTrue(index.overlaps(gap, gap, null));
+        index.remove(longPeriod);
+        assertFalse(index.overlaps(gap, gap, null));
+
+        // removing every other project in opening order takes whole subtrees out from under their roots
+        List<Project> kept = new ArrayList<>();
+        for (int i = 0; i < shortPeriods.size(); i++) {
+            Project project = shortPeriods.get(i);
+            if (i % 2 == 0) {
+                index.remove(project);
+            } else {
+                kept.add(project);
+            }
+        }
+        for (int i = 0; i < shortPeriods.size(); i++) {
+            Project project = shortPeriods.get(i);
+            LocalDate last = project.getApplicationClosingDate();
+            assertEquals(i % 2 == 0 ? List.of() : List.of(project), index.openOn(last), "open on " + last);
+            assertFalse(index.overlaps(last.plusDays(1), last.plusDays(7), null), "gap after " + last);
+        }
+
+        for (Project project : kept) {
+            index.remove(project);
+        }
+        assertFalse(index.overlaps(MARCH_1, MARCH_1.plusDays(400), null));
+        assertFalse(index.overlapsManagedBy("T0000001A", MARCH_1, MARCH_1.plusDays(400), null));
+    }
+
+    private static Project project(int id, LocalDate opening, LocalDate closing, String managerNric) {
+        return new Project(id, "Project " + id, "Yishun", true, opening, closing, managerNric, 2,
+                new ArrayList<>(), new ArrayList<>());
+    }
+}
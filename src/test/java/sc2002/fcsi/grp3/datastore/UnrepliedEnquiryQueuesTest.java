@@ -0,0 +1,187 @@
+package sc2002.fcsi.grp3.datastore;
+
+import org.junit.jupiter.api.Test;
+import sc2002.fcsi.grp3.model.Enquiry;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.EnquiryStatus;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.role.OfficerRole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that officer and manager inboxes list unreplied enquiries oldest first, across projects,
+ * and that enquiries leave and rejoin their queue as their reply and project change.
+ */
+public class UnrepliedEnquiryQueuesTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 1);
+
+    private final User officer = new User("Oscar", "S7654321B", 40, "password", MaritalStatus.MARRIED, new OfficerRole());
+    private final Project first = project(1);
+    private final Project second = project(2);
+
+    @Test
+    public void inboxMergesProjectsOldestFirst() {
+        UnrepliedEnquiryQueues queues = new UnrepliedEnquiryQueues();
+        Enquiry late = enquiry(1, first, DAY.plusDays(2));
+        Enquiry early = enquiry(2, second, DAY);
+        Enquiry sameDay = enquiry(3, first, DAY);
+        Enquiry replayed = enquiry(4, first, DAY.minusDays(1));
+        for (Enquiry enquiry : List.of(late, early, sameDay, replayed)) {
+            queues.update(enquiry);
+        }
+
+        assertEquals(List.of(replayed, early, sameDay, late), queues.inbox(List.of(1, 2)));
+        assertEquals(List.of(replayed, sameDay, late), queues.inbox(List.of(1)));
+        assertEquals(List.of(), queues.inbox(List.of(3)));
+        assertEquals(List.of(), queues.inbox(List.of()));
+    }
+
+    @Test
+    public void sameDayEnquiriesAreOrderedById() {
+        UnrepliedEnquiryQueues queues = new UnrepliedEnquiryQueues();
+        Enquiry higher = enquiry(9, first, DAY);
+        Enquiry lower = enquiry(4, first, DAY);
+        Enquiry otherProject = enquiry(6, second, DAY);
+        queues.update(higher);
+        queues.update(lower);
+        queues.update(otherProject);
+
+        assertEquals(List.of(lower, otherProject, higher), queues.inbox(List.of(2, 1)));
+    }
+
+    @Test
+    public void clearedReplyRequeuesInDateOrder() {
+        UnrepliedEnquiryQueues queues = new UnrepliedEnquiryQueues();
+        Enquiry oldest = enquiry(1, first, DAY);
+        Enquiry middle = enquiry(2, first, DAY.plusDays(1));
+        Enquiry newest = enquiry(3, first, DAY.plusDays(2));
+        queues.setAll(List.of(oldest, middle, newest));
+
+        reply(middle);
+        queues.update(middle);
+        assertFalse(queues.isQueued(middle));
+        assertEquals(List.of(oldest, newest), queues.inbox(List.of(1)));
+
+        // the reply is withdrawn, and the enquiry goes back between its neighbours
+        middle.setReply(null);
+        middle.setRepliedBy(null);
+        middle.setStatus(EnquiryStatus.SUBMITTED);
+        queues.update(middle);
+        assertTrue(queues.isQueued(middle));
+        assertEquals(List.of(oldest, middle, newest), queues.inbox(List.of(1)));
+
+        // the newest enquiry leaves and rejoins the back of the queue
+        reply(newest);
+        queues.update(newest);
+        newest.setRepliedBy(null);
+        queues.update(newest);
+        assertEquals(List.of(oldest, middle, newest), queues.inbox(List.of(1)));
+    }
+
+    @Test
+    public void emptiedQueueTakesOlderEnquiriesAgain() {
+        UnrepliedEnquiryQueues queues = new UnrepliedEnquiryQueues();
+        Enquiry newest = enquiry(1, first, DAY.plusDays(5));
+        queues.update(newest);
+        queues.remove(newest);
+        assertEquals(List.of(), queues.inbox(List.of(1)));
+
+        Enquiry older = enquiry(2, first, DAY);
+        Enquiry oldest = enquiry(3, first, DAY.minusDays(1));
+        queues.update(older);
+        queues.update(oldest);
+        queues.update(newest);
+        assertEquals(List.of(oldest, older, newest), queues.inbox(List.of(1)));
+    }
+
+    @Test
+    public void replyWithoutAReplierKeepsTheEnquiryQueued() {
+        UnrepliedEnquiryQueues queues = new UnrepliedEnquiryQueues();
+        Enquiry enquiry = enquiry(1, first, DAY);
+        queues.update(enquiry);
+
+        enquiry.setReply("Draft reply");
+        queues.update(enquiry);
+        assertEquals(List.of(enquiry), queues.inbox(List.of(1)));
+
+        enquiry.setRepliedBy(officer);
+        queues.update(enquiry);
+        assertEquals(List.of(), queues.inbox(List.of(1)));
+    }
+
+    @Test
+    public void enquiryFollowsItsProject() {
+        UnrepliedEnquiryQueues queues = new UnrepliedEnquiryQueues();
+        Enquiry unrelated = enquiry(1, null, DAY);
+        Enquiry moved = enquiry(2, first, DAY.plusDays(1));
+        Enquiry staying = enquiry(3, second, DAY.plusDays(2));
+        queues.setAll(List.of(unrelated, moved, staying));
+        assertFalse(queues.isQueued(unrelated));
+
+        unrelated.setRelatedProject(second);
+        queues.update(unrelated);
+        moved.setRelatedProject(second);
+        queues.update(moved);
+        assertEquals(List.of(), queues.inbox(List.of(1)));
+        assertEquals(List.of(unrelated, moved, staying), queues.inbox(List.of(2)));
+
+        moved.setRelatedProject(null);
+        queues.update(moved);
+        assertFalse(queues.isQueued(moved));
+        assertEquals(List.of(unrelated, staying), queues.inbox(List.of(1, 2)));
+    }
+
+    @Test
+    public void repeatedUpdatesAndRemovesAreHarmless() {
+        UnrepliedEnquiryQueues queues = new UnrepliedEnquiryQueues();
+        Enquiry enquiry = enquiry(1, first, DAY);
+        queues.update(enquiry);
+        queues.update(enquiry);
+        assertEquals(List.of(enquiry), queues.inbox(List.of(1, 1)));
+
+        queues.remove(enquiry);
+        queues.remove(enquiry);
+        assertFalse(queues.isQueued(enquiry));
+        assertEquals(List.of(), queues.inbox(List.of(1)));
+    }
+
+    @Test
+    public void setAllSortsItsInputAndSkipsReplies() {
+        UnrepliedEnquiryQueues queues = new UnrepliedEnquiryQueues();
+        Enquiry late = enquiry(1, first, DAY.plusDays(3));
+        Enquiry replied = enquiry(2, first, DAY.plusDays(1));
+        Enquiry early = enquiry(3, first, DAY);
+        reply(replied);
+        queues.update(enquiry(99, first, DAY));
+
+        queues.setAll(List.of(late, replied, early));
+        assertEquals(List.of(early, late), queues.inbox(List.of(1)));
+        queues.setAll(null);
+        assertEquals(List.of(), queues.inbox(List.of(1)));
+    }
+
+    private void reply(Enquiry enquiry) {
+        enquiry.setReply("Reply");
+        enquiry.setRepliedBy(officer);
+        enquiry.setStatus(EnquiryStatus.REPLIED);
+    }
+
+    private static Project project(int id) {
+        return new Project(id, "Project " + id, "Yishun", true, DAY, DAY.plusDays(30), "T0000000A", 2,
+                new ArrayList<>(), new ArrayList<>());
+    }
+
+    private static Enquiry enquiry(int id, Project project, LocalDate createdAt) {
+        return new Enquiry(id, "Title " + id, "Content", null, null, project, null, EnquiryStatus.SUBMITTED,
+                createdAt, createdAt);
+    }
+}
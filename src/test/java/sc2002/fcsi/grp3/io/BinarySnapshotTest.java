@@ -0,0 +1,170 @@
+package sc2002.fcsi.grp3.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sc2002.fcsi.grp3.model.Application;
+import sc2002.fcsi.grp3.model.Booking;
+import sc2002.fcsi.grp3.model.Enquiry;
+import sc2002.fcsi.grp3.model.Flat;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.Registration;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.model.enums.EnquiryStatus;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.enums.RegistrationStatus;
+import sc2002.fcsi.grp3.model.role.ApplicantRole;
+import sc2002.fcsi.grp3.model.role.ManagerRole;
+import sc2002.fcsi.grp3.model.role.OfficerRole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes every entity type to a binary snapshot and checks that reading it back gives the same data.
+ */
+public class BinarySnapshotTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void readReturnsWhatWasWritten() throws IOException {
+        User applicant = new User("Alice", "S1234567A", 35, "secret", MaritalStatus.SINGLE, new ApplicantRole());
+        User officer = new User("Oscar", "S7654321B", 40, "password", MaritalStatus.MARRIED, new OfficerRole());
+        User manager = new User("Mary", "T1111111C", 50, "password", MaritalStatus.MARRIED, new ManagerRole());
+        Project project = new Project(3, "Acacia Breeze", "Yishun", true, DAY, DAY.plusMonths(2), "T1111111C", 2,
+                new ArrayList<>(List.of(
+                        new Flat(FlatType.TWO_ROOM, 4, 250_000.5f),
+                        new Flat(FlatType.THREE_ROOM, 0, 350_000f))),
+                new ArrayList<>(List.of("S7654321B")));
+        Application application = new Application(11, project, applicant, FlatType.TWO_ROOM,
+                ApplicationStatus.WITHDRAWAL_REQUESTED, DAY.plusDays(1), ApplicationStatus.SUCCESSFUL);
+        Enquiry replied = new Enquiry(5, "Parking", "Is there, parking?", "Yes", applicant, project, officer,
+                EnquiryStatus.REPLIED, DAY, DAY.plusDays(2));
+        Enquiry open = new Enquiry(6, "Schools", "Nearby schools", null, applicant, project, null,
+                EnquiryStatus.SUBMITTED, DAY, DAY);
+        Booking booking = new Booking(8, project.getFlat(FlatType.TWO_ROOM), project, applicant, officer, DAY.plusDays(5));
+        Registration registration = new Registration("4", project, officer, RegistrationStatus.APPROVED, DAY);
+
+        String path = dir.resolve("snapshot.bin").toString();
+        assertTrue(BinarySnapshot.write(path, new BinarySnapshot.Contents(
+                List.of(applicant, officer, manager), List.of(project), List.of(application),
+                List.of(replied, open), List.of(booking), List.of(registration))));
+        BinarySnapshot.Contents read = BinarySnapshot.read(path);
+
+        assertEquals(3, read.users().size());
+        for (int i = 0; i < 3; i++) {
+            User expected = List.of(applicant, officer, manager).get(i);
+            User actual = read.users().get(i);
+            assertEquals(expected.getNric(), actual.getNric());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getAge(), actual.getAge());
+            assertEquals(expected.getPassword(), actual.getPassword());
+            assertEquals(expected.getMaritalStatus(), actual.getMaritalStatus());
+            assertEquals(expected.getRoleName(), actual.getRoleName());
+        }
+
+        Project readProject = read.projects().get(0);
+        assertEquals(3, readProject.getId());
+        assertEquals("Acacia Breeze", readProject.getName());
+        assertEquals("Yishun", readProject.getNeighbourhood());
+        assertTrue(readProject.isVisible());
+        assertEquals(DAY, readProject.getApplicationOpeningDate());
+        assertEquals(DAY.plusMonths(2), readProject.getApplicationClosingDate());
+        assertEquals("T1111111C", readProject.getManagerNric());
+        assertEquals(2, readProject.getTotalOfficerSlots());
+        assertEquals(List.of("S7654321B"), readProject.getOfficerNrics());
+        assertEquals(2, readProject.getFlats().size());
+        for (int i = 0; i < 2; i++) {
+            Flat expected = project.getFlats().get(i);
+            Flat actual = readProject.getFlats().get(i);
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getUnitsAvailable(), actual.getUnitsAvailable());
+            assertEquals(expected.getSellingPrice(), actual.getSellingPrice());
+        }
+
+        User readApplicant = read.users().get(0);
+        User readOfficer = read.users().get(1);
+
+        Application readApplication = read.applications().get(0);
+        assertEquals(11, readApplication.getId());
+        assertSame(readProject, readApplication.getProject());
+        assertSame(readApplicant, readApplication.getApplicant());
+        assertEquals(FlatType.TWO_ROOM, readApplication.getFlatType());
+        assertEquals(ApplicationStatus.WITHDRAWAL_REQUESTED, readApplication.getStatus());
+        assertEquals(ApplicationStatus.SUCCESSFUL, readApplication.getStatusBeforeWithdrawal());
+        assertEquals(DAY.plusDays(1), readApplication.getSubmittedAt());
+
+        assertEquals(2, read.enquiries().size());
+        Enquiry readReplied = read.enquiries().get(0);
+        assertEquals(5, readReplied.getId());
+        assertEquals("Is there, parking?", readReplied.getContent());
+        assertEquals("Yes", readReplied.getReply());
+        assertSame(readOfficer, readReplied.getRepliedBy());
+        assertSame(readProject, readReplied.getRelatedProject());
+        assertEquals(EnquiryStatus.REPLIED, readReplied.getStatus());
+        assertEquals(DAY.plusDays(2), readReplied.getLastUpdatedAt());
+        Enquiry readOpen = read.enquiries().get(1);
+        assertNull(readOpen.getReply());
+        assertNull(readOpen.getRepliedBy());
+        assertEquals(EnquiryStatus.SUBMITTED, readOpen.getStatus());
+
+        Booking readBooking = read.bookings().get(0);
+        assertEquals(8, readBooking.getId());
+        assertSame(readProject.getFlat(FlatType.TWO_ROOM), readBooking.getFlatType());
+        assertSame(readApplicant, readBooking.getApplicant());
+        assertSame(readOfficer, readBooking.getOfficer());
+        assertEquals(DAY.plusDays(5), readBooking.getBookingDate());
+
+        Registration readRegistration = read.registrations().get(0);
+        assertEquals("4", readRegistration.getId());
+        assertSame(readOfficer, readRegistration.getApplicant());
+        assertEquals(RegistrationStatus.APPROVED, readRegistration.getStatus());
+        assertEquals(DAY, readRegistration.getSubmittedAt());
+    }
+
+    @Test
+    public void truncatedSnapshotIsRejected() throws IOException {
+        String path = dir.resolve("snapshot.bin").toString();
+        User user = new User("Alice", "S1234567A", 35, "secret", MaritalStatus.SINGLE, new ApplicantRole());
+        assertTrue(BinarySnapshot.write(path, new BinarySnapshot.Contents(
+                List.of(user), List.of(), List.of(), List.of(), List.of(), List.of())));
+
+        byte[] bytes = Files.readAllBytes(Path.of(path));
+        Files.write(Path.of(path), Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IOException.class, () -> BinarySnapshot.read(path));
+    }
+
+    @Test
+    public void snapshotOlderThanCsvIsStale() throws IOException {
+        Path snapshot = dir.resolve("snapshot.bin");
+        Path csv = dir.resolve("users.csv");
+        Files.writeString(snapshot, "");
+        Files.writeString(csv, "");
+        Files.setLastModifiedTime(snapshot, FileTime.fromMillis(1_000_000));
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(2_000_000));
+
+        assertFalse(BinarySnapshot.isFresh(snapshot.toString(), csv.toString()));
+
+        Files.setLastModifiedTime(snapshot, FileTime.fromMillis(3_000_000));
+        assertTrue(BinarySnapshot.isFresh(snapshot.toString(), csv.toString()));
+    }
+}
@@ -0,0 +1,165 @@
+package sc2002.fcsi.grp3.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sc2002.fcsi.grp3.model.Enquiry;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.EnquiryStatus;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.role.ApplicantRole;
+import sc2002.fcsi.grp3.model.role.ManagerRole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the CSV tokenizer on quoting and line-ending edge cases, and that values written with
+ * {@link CSVDataLoader#escapeCSV(String)} read back unchanged.
+ */
+public class CSVReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void quotedFieldsKeepCommas() throws IOException {
+        assertEquals(List.of(List.of("a", "b,c", "d")), read("a,\"b,c\",d\n"));
+        assertEquals(List.of(List.of("Yishun, Block 5", "2R")), read("  \"Yishun, Block 5\" ,2R"));
+    }
+
+    @Test
+    public void doubledQuotesReadAsOneQuote() throws IOException {
+        assertEquals(List.of(List.of("say \"hi\"", "x")), read("\"say \"\"hi\"\"\",x"));
+        assertEquals(List.of(List.of("\"", "")), read("\"\"\"\",\"\""));
+        // a quote in the middle of an unquoted field is kept as it is
+        assertEquals(List.of(List.of("5\" pipe", "y")), read("5\" pipe,y"));
+    }
+
+    @Test
+    public void quotedLineBreaksStayInTheField() throws IOException {
+        assertEquals(List.of(
+                        List.of("line one\nline two", "x"),
+                        List.of("next", "row")),
+                read("\"line one\nline two\",x\nnext,row\n"));
+        assertEquals(List.of(List.of("a\r\nb")), read("\"a\r\nb\"\r\n"));
+    }
+
+    @Test
+    public void crlfEndsRecordsAndBlankLinesAreSkipped() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")),
+                read("a,b\r\nc,d\r\n\r\n\ne\r"));
+    }
+
+    @Test
+    public void trailingEmptyFieldIsKept() throws IOException {
+        List<List<String>> rows = read("a,b,\nc,,\n");
+        assertEquals(List.of(List.of("a", "b", ""), List.of("c", "", "")), rows);
+
+        try (CSVReader reader = new CSVReader(new StringReader("a,b,"))) {
+            assertTrue(reader.next());
+            assertEquals(3, reader.row().size());
+            assertTrue(reader.row().isBlank(2));
+        }
+    }
+
+    @Test
+    public void unterminatedQuoteKeepsTheRestOfTheInput() throws IOException {
+        assertEquals(List.of(List.of("a", "open,\nstill open")), read("a,\"open,\nstill open"));
+    }
+
+    @Test
+    public void fieldsSpanningBufferRefillsReadWhole() throws IOException {
+        String longValue = "x\"y,".repeat(40_000);
+        String csv = "1," + CSVDataLoader.escapeCSV(longValue) + ",2\n3,4\n";
+        assertEquals(List.of(List.of("1", longValue, "2"), List.of("3", "4")), read(csv));
+    }
+
+    @Test
+    public void escapedValuesReadBackUnchanged() throws IOException {
+        List<String> values = List.of(
+                "plain",
+                "",
+                "comma, inside",
+                "\"quoted\"",
+                "ends with quote\"",
+                "multi\nline",
+                "windows\r\nline",
+                "mixed, \"all\"\nof it",
+                ",",
+                "\"");
+        String csv = values.stream().map(CSVDataLoader::escapeCSV).collect(Collectors.joining(",")) + "\r\n";
+
+        assertEquals(List.of(values), read(csv));
+        assertEquals("", CSVDataLoader.escapeCSV(null));
+        assertEquals("plain", CSVDataLoader.escapeCSV("plain"));
+    }
+
+    @Test
+    public void enquiryWithCommasAndQuotesSurvivesSaveAndLoad() throws IOException {
+        User applicant = new User("Alice", "S1234567A", 35, "password", MaritalStatus.SINGLE, new ApplicantRole());
+        User manager = new User("Mary, Tan", "T7654321B", 45, "pass,\"word\"", MaritalStatus.MARRIED, new ManagerRole());
+        Path users = dir.resolve("users.csv");
+        Path projects = dir.resolve("projects.csv");
+        Path enquiries = dir.resolve("enquiry.csv");
+        assertTrue(CSVDataLoader.saveUsers(users.toString(), List.of(applicant, manager)));
+        Files.writeString(projects, "id,Project Name,Neighborhood,Visible,Flat Types,Available Units,Selling Price,"
+                + "Application opening date,Application closing date,Manager,Officer Slot,Officer NRICs\n"
+                + "1,Acacia Breeze,Yishun,true,2R;3R,2;3,350000.00;450000.00,15/02/2025,20/05/2025,T7654321B,3,\n");
+
+        CSVDataLoader loader = new CSVDataLoader(users.toString(), projects.toString(),
+                dir.resolve("applications.csv").toString(), enquiries.toString(),
+                dir.resolve("bookings.csv").toString(), dir.resolve("registration.csv").toString());
+        loader.loadUsers();
+        List<Project> loadedProjects = loader.loadProjects();
+
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        Enquiry enquiry = new Enquiry(3, "Lift, \"upgrading\"?", "Is the lift being \"upgraded\", and when?\nThanks",
+                null, applicant, loadedProjects.get(0), null, EnquiryStatus.SUBMITTED, day, day);
+        assertTrue(CSVDataLoader.saveEnquiries(enquiries.toString(), List.of(enquiry)));
+
+        List<Enquiry> loaded = loader.loadEnquiries();
+        assertEquals(1, loaded.size());
+        Enquiry copy = loaded.get(0);
+        assertEquals(3, copy.getId());
+        assertEquals(enquiry.getTitle(), copy.getTitle());
+        assertEquals(enquiry.getContent(), copy.getContent());
+        assertNull(copy.getReply());
+        assertEquals("S1234567A", copy.getCreatedBy().getNric());
+        assertEquals(1, copy.getRelatedProject().getId());
+        assertEquals(EnquiryStatus.SUBMITTED, copy.getStatus());
+        assertEquals(day, copy.getCreatedAt());
+
+        List<User> loadedUsers = loader.loadUsers();
+        assertEquals("Mary, Tan", loadedUsers.get(1).getName());
+        assertEquals("pass,\"word\"", loadedUsers.get(1).getPassword());
+    }
+
+    /**
+     * Reads every record of the input as lists of trimmed field values.
+     */
+    private static List<List<String>> read(String csv) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (CSVReader reader = new CSVReader(new StringReader(csv))) {
+            while (reader.next()) {
+                CSVRow row = reader.row();
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < row.size(); i++) {
+                    fields.add(row.getString(i));
+                }
+                rows.add(fields);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,103 @@
+package sc2002.fcsi.grp3.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sc2002.fcsi.grp3.model.Application;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Validates the memory-mapped parallel application loader against the sequential loader.
+ */
+public class MappedCSVReaderTest {
+
+    private static final int USERS = 500;
+    private static final int APPLICATIONS = 50_000;
+    private static final String[] STATUSES = {"PENDING", "SUCCESSFUL", "UNSUCCESSFUL", "BOOKED", "WITHDRAWN"};
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void mappedLoadMatchesSequentialLoad() throws IOException {
+        CSVDataLoader loader = writeDataSet();
+        loader.loadUsers();
+        loader.loadProjects();
+
+        List<Application> sequential = loader.readApplications();
+        List<Application> mapped = loader.readApplicationsMapped();
+
+        assertEquals(APPLICATIONS, sequential.size());
+        assertEquals(sequential.size(), mapped.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            Application expected = sequential.get(i);
+            Application actual = mapped.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertSame(expected.getProject(), actual.getProject());
+            assertSame(expected.getApplicant(), actual.getApplicant());
+            assertEquals(expected.getFlatType(), actual.getFlatType());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getSubmittedAt(), actual.getSubmittedAt());
+        }
+    }
+
+    @Test
+    public void chunksMergeInFileOrder() throws IOException {
+        writeDataSet();
+        String applicationsPath = dir.resolve("applications.csv").toString();
+
+        List<String> sequential = new ArrayList<>();
+        CSVDataLoader.readCSVLines(applicationsPath, row -> sequential.add(row.toString()));
+
+        for (int chunks : new int[]{1, 7, 64, 1000}) {
+            List<String> mapped = MappedCSVReader.readAll(applicationsPath, CSVRow::toString, chunks);
+            assertEquals(sequential, mapped, "chunk count " + chunks);
+        }
+    }
+
+    private CSVDataLoader writeDataSet() throws IOException {
+        StringBuilder users = new StringBuilder("Name,NRIC,Age,Marital Status,Password,Role\n");
+        for (int i = 0; i < USERS; i++) {
+            users.append(nric(i)).append(",User ").append(i).append(",40,MARRIED,password,Applicant\n");
+        }
+        users.append("S9999999M,Manager,50,MARRIED,password,Manager\n");
+
+        String projects = "id,Project Name,Neighborhood,Visible,Flat Types,Available Units,Selling Price,"
+                + "Application opening date,Application closing date,Manager,Officer Slot,Officer NRICs\n"
+                + "1,Acacia Breeze,Yishun,true,2R;3R,100;100,350000.00;450000.00,15/02/2025,20/05/2025,S9999999M,3,\n"
+                + "2,Admiralty Flora,Woodlands,true,2R;3R,100;100,308000.00;400000.00,15/02/2025,20/05/2025,S9999999M,3,\n";
+
+        StringBuilder applications = new StringBuilder("id,projectId,userNric,flatType,applicationStatus,submittedAt\n");
+        for (int i = 1; i <= APPLICATIONS; i++) {
+            applications.append(i).append(',')
+                    .append(i % 2 + 1).append(',')
+                    .append(nric(i % USERS)).append(',')
+                    .append(i % 3 == 0 ? "2R" : "3R").append(',')
+                    .append(STATUSES[i % STATUSES.length]).append(',')
+                    .append(String.format("%02d/%02d/2025", i % 28 + 1, i % 12 + 1))
+                    .append('\n');
+        }
+
+        Files.writeString(dir.resolve("users.csv"), users);
+        Files.writeString(dir.resolve("projects.csv"), projects);
+        Files.writeString(dir.resolve("applications.csv"), applications);
+        return new CSVDataLoader(
+                dir.resolve("users.csv").toString(),
+                dir.resolve("projects.csv").toString(),
+                dir.resolve("applications.csv").toString(),
+                dir.resolve("enquiry.csv").toString(),
+                dir.resolve("bookings.csv").toString(),
+                dir.resolve("registration.csv").toString());
+    }
+
+    private static String nric(int i) {
+        return String.format("T%07dA", i);
+    }
+}
@@ -0,0 +1,58 @@
+package sc2002.fcsi.grp3.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that report file names given by users cannot lead outside the export directory.
+ */
+public class ReportExporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void namesInsideTheExportDirectoryResolve() {
+        assertEquals(dir.resolve("report.csv"), ReportExporter.resolveExportFile(dir, "report.csv"));
+        assertEquals(dir.resolve("report.csv"), ReportExporter.resolveExportFile(dir, "  report.csv "));
+        assertEquals(dir.resolve("2025").resolve("report.csv"), ReportExporter.resolveExportFile(dir, "2025/report.csv"));
+        assertEquals(dir.resolve("report.csv"), ReportExporter.resolveExportFile(dir, "./report.csv"));
+    }
+
+    @Test
+    public void relativeExportDirectoryStaysRelative() {
+        Path relative = Path.of("exports");
+        Path file = ReportExporter.resolveExportFile(relative, "report.csv");
+        assertEquals(relative.resolve("report.csv"), file);
+        assertTrue(file.toAbsolutePath().startsWith(relative.toAbsolutePath()));
+    }
+
+    @Test
+    public void namesLeadingOutsideAreRejected() {
+        for (String name : new String[]{
+                "../report.csv",
+                "../../etc/passwd",
+                "2025/../../report.csv",
+                "2025/../report.csv",
+                "..",
+                ".",
+                "2025/..",
+                dir.getParent().resolve("report.csv").toAbsolutePath().toString(),
+                "/tmp/report.csv"}) {
+            assertThrows(IllegalArgumentException.class, () -> ReportExporter.resolveExportFile(dir, name), name);
+        }
+    }
+
+    @Test
+    public void blankNamesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ReportExporter.resolveExportFile(dir, null));
+        assertThrows(IllegalArgumentException.class, () -> ReportExporter.resolveExportFile(dir, ""));
+        assertThrows(IllegalArgumentException.class, () -> ReportExporter.resolveExportFile(dir, "   "));
+    }
+}
@@ -0,0 +1,65 @@
+package sc2002.fcsi.grp3.model;
+
+import org.junit.jupiter.api.Test;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contention test for the flat inventory: many threads reserve, release and book units
+ * of a single flat and the final counts must show that no unit was oversold.
+ * Its throughput is measured by {@code FlatInventoryBenchmark}.
+ */
+public class FlatInventoryContentionTest {
+
+    private static final int THREADS = 32;
+    private static final int UNITS = 10_000;
+    private static final int ATTEMPTS_PER_THREAD = 5_000;
+
+    @Test
+    public void concurrentReservationsNeverOversell() throws Exception {
+        Flat flat = new Flat(FlatType.THREE_ROOM, UNITS, 350_000f);
+        AtomicInteger booked = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    if (!flat.reserveUnit()) continue;
+                    // every fourth approval is withdrawn before booking
+                    if ((i + thread) % 4 == 0) {
+                        assertTrue(flat.releaseReservation());
+                    } else if (flat.commitReservation()) {
+                        booked.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+        for (Future<?> future : futures) {
+            future.get(); // rethrows an assertion that failed on a worker thread
+        }
+
+        assertEquals(UNITS, booked.get());
+        assertEquals(0, flat.getUnitsAvailable());
+        assertEquals(0, flat.getUnitsReserved());
+    }
+}
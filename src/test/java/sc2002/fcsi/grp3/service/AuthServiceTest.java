@@ -0,0 +1,175 @@
+package sc2002.fcsi.grp3.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.io.CSVDataLoader;
+import sc2002.fcsi.grp3.model.ChangeTracker;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.EntityType;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.role.ApplicantRole;
+import sc2002.fcsi.grp3.service.result.ActionResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks logins against hashed and legacy plaintext passwords, and the results of logins that could not
+ * be verified because the verification threads are busy.
+ */
+public class AuthServiceTest {
+
+    private static final int ITERATIONS = 1_000;
+
+    // enough iterations to keep a verification thread busy for hundreds of milliseconds
+    private static final int SLOW_ITERATIONS = 1_000_000;
+
+    @TempDir
+    Path dir;
+
+    private final DataStore db = DataStore.getInstance();
+    private final UserService userService = new UserService(db);
+    private final PasswordHasher hasher = new PasswordHasher(ITERATIONS, 1, 1);
+    private final User legacy = new User("Alice", "S1234567A", 35, "password", MaritalStatus.SINGLE, new ApplicantRole());
+    private final User hashed = new User("Bob", "S2345678B", 40, hasher.hash("Secret#123"), MaritalStatus.MARRIED,
+            new ApplicantRole());
+
+    @BeforeEach
+    public void loadUsers() {
+        db.setJournal(null);
+        db.setUsers(new ArrayList<>(List.of(legacy, hashed)));
+    }
+
+    @AfterEach
+    public void closeHasher() {
+        hasher.close();
+    }
+
+    @Test
+    public void correctPasswordLogsIn() {
+        AuthService authService = new AuthService(userService, hasher);
+        String stored = hashed.getPassword();
+
+        ActionResult<User> result = authService.authenticate("S2345678B", "Secret#123");
+        assertTrue(result.isSuccess(), result.getMessage());
+        assertSame(hashed, result.getData());
+        assertEquals(stored, hashed.getPassword());
+
+        ActionResult<User> wrong = authService.authenticate("S2345678B", "Secret#124");
+        assertFalse(wrong.isSuccess());
+        assertEquals(AuthService.INVALID_CREDENTIALS, wrong.getMessage());
+        assertEquals(stored, hashed.getPassword());
+    }
+
+    @Test
+    public void legacyPlaintextIsRehashedOnFirstLogin() throws IOException {
+        AuthService authService = new AuthService(userService, hasher);
+
+        assertFalse(authService.authenticate("S1234567A", "wrong").isSuccess());
+        assertEquals("password", legacy.getPassword());
+
+        assertTrue(authService.authenticate("S1234567A", "password").isSuccess());
+        String upgraded = legacy.getPassword();
+        assertTrue(upgraded.startsWith("pbkdf2-sha256$" + ITERATIONS + "$"));
+        assertTrue(hasher.verify("password", upgraded));
+
+        // the hash is kept on later logins and is what gets saved
+        assertTrue(authService.authenticate("S1234567A", "password").isSuccess());
+        assertEquals(upgraded, legacy.getPassword());
+        Path users = dir.resolve("users.csv");
+        assertTrue(CSVDataLoader.saveUsers(users.toString(), db.getUsers()));
+        String saved = Files.readString(users);
+        assertTrue(saved.contains("S1234567A,35,SINGLE," + upgraded + ","), saved);
+        assertFalse(saved.contains(",password,"), saved);
+    }
+
+    @Test
+    public void rehashOnLoginKeepsTheUserVersion() {
+        AuthService authService = new AuthService(userService, hasher);
+        assertEquals(List.of(legacy), userService.findByNamePrefix("ali", 10));
+        ChangeTracker.clearDirty(EntityType.USERS);
+        long version = ChangeTracker.getVersion(EntityType.USERS);
+
+        assertTrue(authService.authenticate("S1234567A", "password").isSuccess());
+        assertTrue(PasswordHasher.isHashed(legacy.getPassword()));
+
+        // the password is saved, but the user name index built above is still current
+        assertTrue(ChangeTracker.isDirty(EntityType.USERS));
+        assertEquals(version, ChangeTracker.getVersion(EntityType.USERS));
+        assertEquals(List.of(legacy), userService.findByNamePrefix("ali", 10));
+    }
+
+    @Test
+    public void changedIterationCountRehashesOnLogin() {
+        try (PasswordHasher stronger = new PasswordHasher(ITERATIONS * 2, 1, 1)) {
+            AuthService authService = new AuthService(userService, stronger);
+
+            assertTrue(authService.authenticate("S2345678B", "Secret#123").isSuccess());
+            assertTrue(hashed.getPassword().startsWith("pbkdf2-sha256$" + ITERATIONS * 2 + "$"));
+            assertTrue(stronger.verify("Secret#123", hashed.getPassword()));
+        }
+    }
+
+    @Test
+    public void unknownUserFailsLikeAWrongPassword() {
+        AuthService authService = new AuthService(userService, hasher);
+
+        ActionResult<User> result = authService.authenticate("S0000000Z", "password");
+        assertFalse(result.isSuccess());
+        assertEquals(AuthService.INVALID_CREDENTIALS, result.getMessage());
+        assertEquals(2, db.getUsers().size());
+    }
+
+    @Test
+    public void saturatedVerifierRefusesLogins() {
+        AuthService authService = new AuthService(userService, hasher);
+        String slow = slowHash();
+
+        // one verification runs and one waits, which fills the single thread and the queue of one
+        CompletableFuture<String> running = hasher.verifyAndUpgrade("password", slow);
+        CompletableFuture<String> waiting = hasher.verifyAndUpgrade("password", slow);
+
+        ActionResult<User> result = authService.authenticate("S1234567A", "password");
+        assertFalse(result.isSuccess());
+        assertEquals(AuthService.TOO_MANY_LOGINS, result.getMessage());
+        assertEquals("password", legacy.getPassword());
+
+        CompletableFuture.allOf(running, waiting).join();
+        assertTrue(authService.authenticate("S1234567A", "password").isSuccess());
+    }
+
+    @Test
+    public void slowVerificationTimesOut() {
+        AuthService authService = new AuthService(userService, hasher, Duration.ofMillis(20));
+        String slow = slowHash();
+        hashed.setPassword(slow);
+
+        ActionResult<User> result = authService.authenticate("S2345678B", "Secret#123");
+        assertFalse(result.isSuccess());
+        assertEquals(AuthService.VERIFICATION_TIMED_OUT, result.getMessage());
+        assertEquals(slow, hashed.getPassword());
+    }
+
+    /**
+     * Builds a well-formed hash with a high iteration count, without spending the time to compute it.
+     */
+    private static String slowHash() {
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return "pbkdf2-sha256$" + SLOW_ITERATIONS + "$" + base64.encodeToString(new byte[16])
+                + "$" + base64.encodeToString(new byte[32]);
+    }
+}
@@ -0,0 +1,94 @@
+package sc2002.fcsi.grp3.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks hashing, verification and rehashing of passwords, with a low iteration count so the tests run quickly.
+ */
+public class PasswordHasherTest {
+
+    private static final int ITERATIONS = 1_000;
+
+    private final PasswordHasher hasher = new PasswordHasher(ITERATIONS, 1, 4);
+
+    @AfterEach
+    public void closeHasher() {
+        hasher.close();
+    }
+
+    @Test
+    public void hashVerifiesOnlyTheSamePassword() {
+        String stored = hasher.hash("Secret#123");
+
+        assertTrue(stored.startsWith("pbkdf2-sha256$" + ITERATIONS + "$"));
+        assertTrue(PasswordHasher.isHashed(stored));
+        assertFalse(hasher.needsRehash(stored));
+        assertTrue(hasher.verify("Secret#123", stored));
+        assertFalse(hasher.verify("secret#123", stored));
+        assertFalse(hasher.verify("", stored));
+        assertFalse(hasher.verify(null, stored));
+        assertFalse(hasher.verify("Secret#123", null));
+
+        // every hash gets its own salt
+        assertNotEquals(stored, hasher.hash("Secret#123"));
+    }
+
+    @Test
+    public void malformedHashesAreTakenAsPlaintext() {
+        String[] malformed = {
+                "pbkdf2-sha256$",
+                "pbkdf2-sha256$1000$c2FsdA",
+                "pbkdf2-sha256$many$c2FsdA$aGFzaA",
+                "pbkdf2-sha256$0$c2FsdA$aGFzaA",
+                "pbkdf2-sha256$-5$c2FsdA$aGFzaA",
+                "pbkdf2-sha256$1000$$aGFzaA",
+                "pbkdf2-sha256$1000$c2FsdA$",
+                "pbkdf2-sha256$1000$not base64!$aGFzaA",
+                "pbkdf2-sha256$1000$c2FsdA$aGFzaA$extra"};
+        for (String stored : malformed) {
+            assertFalse(PasswordHasher.isHashed(stored), stored);
+            assertTrue(hasher.needsRehash(stored), stored);
+            assertFalse(hasher.verify("password", stored), stored);
+            assertTrue(hasher.verify(stored, stored), stored);
+        }
+    }
+
+    @Test
+    public void plaintextIsUpgradedToAHash() {
+        assertTrue(hasher.needsRehash("password"));
+        assertTrue(hasher.verify("password", "password"));
+
+        String upgraded = hasher.verifyAndUpgrade("password", "password").join();
+        assertTrue(PasswordHasher.isHashed(upgraded));
+        assertTrue(hasher.verify("password", upgraded));
+        assertNull(hasher.verifyAndUpgrade("wrong", "password").join());
+    }
+
+    @Test
+    public void changedIterationCountTriggersRehash() {
+        String stored = hasher.hash("Secret#123");
+        try (PasswordHasher stronger = new PasswordHasher(ITERATIONS * 2, 1, 4)) {
+            // the stored iteration count still verifies, but is due for a rehash
+            assertTrue(stronger.verify("Secret#123", stored));
+            assertTrue(stronger.needsRehash(stored));
+
+            String upgraded = stronger.verifyAndUpgrade("Secret#123", stored).join();
+            assertTrue(upgraded.startsWith("pbkdf2-sha256$" + ITERATIONS * 2 + "$"));
+            assertFalse(stronger.needsRehash(upgraded));
+            assertEquals(upgraded, stronger.verifyAndUpgrade("Secret#123", upgraded).join());
+        }
+    }
+
+    @Test
+    public void unknownUserIsRejectedAfterAVerification() {
+        assertNull(hasher.verifyAndUpgrade("password", null).join());
+        assertNull(hasher.verifyAndUpgrade("password", null).join());
+    }
+}
@@ -0,0 +1,184 @@
+package sc2002.fcsi.grp3.service;
+
+import org.junit.jupiter.api.Test;
+import sc2002.fcsi.grp3.model.Flat;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.ProjectFilter;
+import sc2002.fcsi.grp3.model.ProjectSortOption;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.enums.ProjectSortKey;
+import sc2002.fcsi.grp3.model.enums.SortDirection;
+import sc2002.fcsi.grp3.model.role.ApplicantRole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks the column-oriented project catalog on the edges of each filter criterion, on ties in every sort
+ * direction and on rows past the first word of its bitmaps.
+ */
+public class ProjectCatalogTest {
+
+    private static final LocalDate OPENING = LocalDate.of(2025, 3, 1);
+    private static final LocalDate CLOSING = LocalDate.of(2025, 3, 31);
+
+    private final User single = user(40, MaritalStatus.SINGLE);
+    private final User married = user(30, MaritalStatus.MARRIED);
+
+    @Test
+    public void neighbourhoodIsMatchedIgnoringCase() {
+        Project yishun = project(1, "Acacia", "Yishun");
+        Project upper = project(2, "Birch", "YISHUN");
+        Project boonLay = project(3, "Cedar", "Boon Lay");
+        List<Project> projects = List.of(yishun, upper, boonLay);
+        ProjectCatalog catalog = new ProjectCatalog(projects, 0);
+
+        assertEquals(List.of(yishun, upper), catalog.filter(married, projects, neighbourhood("yishun"), ProjectSortOption.DEFAULT));
+        assertEquals(List.of(boonLay), catalog.filter(married, projects, neighbourhood("BOON LAY"), ProjectSortOption.DEFAULT));
+        assertEquals(List.of(), catalog.filter(married, projects, neighbourhood("Boon"), ProjectSortOption.DEFAULT));
+    }
+
+    @Test
+    public void dateBoundsAreInclusive() {
+        Project project = project(1, "Acacia", "Yishun");
+        List<Project> projects = List.of(project);
+        ProjectCatalog catalog = new ProjectCatalog(projects, 0);
+
+        // "opening after" keeps projects already open on that day, "closing before" keeps ones still open on it
+        assertEquals(projects, catalog.filter(married, projects, dates(OPENING, null), ProjectSortOption.DEFAULT));
+        assertEquals(List.of(), catalog.filter(married, projects, dates(OPENING.minusDays(1), null), ProjectSortOption.DEFAULT));
+        assertEquals(projects, catalog.filter(married, projects, dates(null, CLOSING), ProjectSortOption.DEFAULT));
+        assertEquals(List.of(), catalog.filter(married, projects, dates(null, CLOSING.plusDays(1)), ProjectSortOption.DEFAULT));
+        assertEquals(projects, catalog.filter(married, projects, dates(OPENING, CLOSING), ProjectSortOption.DEFAULT));
+    }
+
+    @Test
+    public void typeEligibilityAndPriceMustHoldForTheSameFlat() {
+        Project project = project(1, "Acacia", "Yishun",
+                new Flat(FlatType.TWO_ROOM, 2, 200_000f),
+                new Flat(FlatType.THREE_ROOM, 2, 500_000f));
+        List<Project> projects = List.of(project);
+        ProjectCatalog catalog = new ProjectCatalog(projects, 0);
+
+        assertEquals(projects, catalog.filter(single, projects, prices(null, 300_000f), ProjectSortOption.DEFAULT));
+        // the only flat above the minimum is a 3-room flat, which a single applicant cannot apply for
+        assertEquals(List.of(), catalog.filter(single, projects, prices(400_000f, null), ProjectSortOption.DEFAULT));
+        assertEquals(projects, catalog.filter(married, projects, prices(400_000f, null), ProjectSortOption.DEFAULT));
+        // price bounds are inclusive, but no single flat lies between these two
+        assertEquals(projects, catalog.filter(married, projects, prices(200_000f, 200_000f), ProjectSortOption.DEFAULT));
+        assertEquals(List.of(), catalog.filter(married, projects, prices(250_000f, 450_000f), ProjectSortOption.DEFAULT));
+
+        ProjectFilter threeRoomOnly = new ProjectFilter(null, null, null, List.of(FlatType.THREE_ROOM), null, 300_000f);
+        assertEquals(List.of(), catalog.filter(married, projects, threeRoomOnly, ProjectSortOption.DEFAULT));
+        ProjectFilter noTypes = new ProjectFilter(null, null, null, List.of(), null, 300_000f);
+        assertEquals(projects, catalog.filter(married, projects, noTypes, ProjectSortOption.DEFAULT));
+    }
+
+    @Test
+    public void tiesKeepTheirInputOrderInBothDirections() {
+        Project firstCedar = project(1, "Cedar", "Yishun");
+        Project acacia = project(2, "Acacia", "Yishun");
+        Project secondCedar = project(3, "Cedar", "Yishun");
+        Project birch = project(4, "Birch", "Yishun");
+        List<Project> projects = List.of(firstCedar, acacia, secondCedar, birch);
+        ProjectCatalog catalog = new ProjectCatalog(projects, 0);
+        ProjectSortOption ascending = new ProjectSortOption(ProjectSortKey.NAME, SortDirection.ASCENDING);
+        ProjectSortOption descending = new ProjectSortOption(ProjectSortKey.NAME, SortDirection.DESCENDING);
+
+        assertEquals(List.of(acacia, birch, firstCedar, secondCedar),
+                catalog.filter(married, projects, new ProjectFilter(), ascending));
+        assertEquals(List.of(firstCedar, secondCedar, birch, acacia),
+                catalog.filter(married, projects, new ProjectFilter(), descending));
+
+        // an input in another order puts the tied projects in that order
+        List<Project> reordered = List.of(birch, secondCedar, acacia, firstCedar);
+        assertEquals(List.of(acacia, birch, secondCedar, firstCedar),
+                catalog.filter(married, reordered, new ProjectFilter(), ascending));
+        assertEquals(List.of(secondCedar, firstCedar, birch, acacia),
+                catalog.filter(married, reordered, new ProjectFilter(), descending));
+    }
+
+    @Test
+    public void priceSortUsesTheLowestFlatPrice() {
+        Project cheapTwoRoom = project(1, "Acacia", "Yishun",
+                new Flat(FlatType.TWO_ROOM, 1, 200_000f),
+                new Flat(FlatType.THREE_ROOM, 1, 900_000f));
+        Project midRange = project(2, "Birch", "Yishun", new Flat(FlatType.THREE_ROOM, 1, 400_000f));
+        Project sameLowest = project(3, "Cedar", "Yishun", new Flat(FlatType.TWO_ROOM, 1, 200_000f));
+        List<Project> projects = List.of(cheapTwoRoom, midRange, sameLowest);
+        ProjectCatalog catalog = new ProjectCatalog(projects, 0);
+
+        assertEquals(List.of(cheapTwoRoom, sameLowest, midRange), catalog.filter(married, projects, new ProjectFilter(),
+                new ProjectSortOption(ProjectSortKey.PRICE, SortDirection.ASCENDING)));
+        assertEquals(List.of(midRange, cheapTwoRoom, sameLowest), catalog.filter(married, projects, new ProjectFilter(),
+                new ProjectSortOption(ProjectSortKey.PRICE, SortDirection.DESCENDING)));
+    }
+
+    @Test
+    public void rowsPastTheFirstBitmapWordAreFiltered() {
+        List<Project> projects = new ArrayList<>();
+        for (int id = 0; id < 130; id++) {
+            projects.add(project(id, "Project " + id, id == 63 || id == 64 || id == 129 ? "Tampines" : "Yishun"));
+        }
+        ProjectCatalog catalog = new ProjectCatalog(projects, 0);
+        // every project opens on the same day, so the results keep the input order
+        ProjectSortOption byOpening = new ProjectSortOption(ProjectSortKey.APPLICATION_OPENING_DATE, SortDirection.ASCENDING);
+
+        assertEquals(List.of(projects.get(63), projects.get(64), projects.get(129)),
+                catalog.filter(married, projects, neighbourhood("Tampines"), byOpening));
+        assertEquals(List.of(projects.get(129), projects.get(64)),
+                catalog.filter(married, List.of(projects.get(129), projects.get(64), projects.get(1)),
+                        neighbourhood("Tampines"), byOpening));
+    }
+
+    @Test
+    public void emptyCatalogAnswersEmptyInput() {
+        ProjectCatalog catalog = new ProjectCatalog(List.of(), 0);
+
+        assertEquals(List.of(), catalog.filter(married, List.of(), new ProjectFilter(), ProjectSortOption.DEFAULT));
+        assertNull(catalog.filter(married, List.of(project(1, "Acacia", "Yishun")), new ProjectFilter(),
+                ProjectSortOption.DEFAULT));
+    }
+
+    @Test
+    public void unknownOrRepeatedProjectsAreNotAnswered() {
+        Project acacia = project(1, "Acacia", "Yishun");
+        Project birch = project(2, "Birch", "Yishun");
+        ProjectCatalog catalog = new ProjectCatalog(List.of(acacia, birch), 0);
+
+        // an equal copy is not the catalogued project
+        Project copy = project(1, "Acacia", "Yishun");
+        assertNull(catalog.filter(married, List.of(acacia, copy), new ProjectFilter(), ProjectSortOption.DEFAULT));
+        assertNull(catalog.filter(married, List.of(acacia, birch, acacia), new ProjectFilter(), ProjectSortOption.DEFAULT));
+    }
+
+    private static ProjectFilter neighbourhood(String neighbourhood) {
+        return new ProjectFilter(neighbourhood, null, null, null, null, null);
+    }
+
+    private static ProjectFilter dates(LocalDate openingAfter, LocalDate closingBefore) {
+        return new ProjectFilter(null, openingAfter, closingBefore, null, null, null);
+    }
+
+    private static ProjectFilter prices(Float min, Float max) {
+        return new ProjectFilter(null, null, null, null, min, max);
+    }
+
+    private static Project project(int id, String name, String neighbourhood, Flat... flats) {
+        List<Flat> projectFlats = flats.length == 0
+                ? List.of(new Flat(FlatType.TWO_ROOM, 1, 250_000f), new Flat(FlatType.THREE_ROOM, 1, 350_000f))
+                : List.of(flats);
+        return new Project(id, name, neighbourhood, true, OPENING, CLOSING, "T0000000A", 2,
+                new ArrayList<>(projectFlats), new ArrayList<>());
+    }
+
+    private static User user(int age, MaritalStatus maritalStatus) {
+        return new User("User", "S0000000" + age, age, "password", maritalStatus, new ApplicantRole());
+    }
+}
@@ -0,0 +1,134 @@
+package sc2002.fcsi.grp3.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sc2002.fcsi.grp3.datastore.DataStore;
+import sc2002.fcsi.grp3.model.Application;
+import sc2002.fcsi.grp3.model.Booking;
+import sc2002.fcsi.grp3.model.Flat;
+import sc2002.fcsi.grp3.model.Project;
+import sc2002.fcsi.grp3.model.User;
+import sc2002.fcsi.grp3.model.enums.ApplicationStatus;
+import sc2002.fcsi.grp3.model.enums.FlatType;
+import sc2002.fcsi.grp3.model.enums.MaritalStatus;
+import sc2002.fcsi.grp3.model.role.ApplicantRole;
+import sc2002.fcsi.grp3.model.role.ManagerRole;
+import sc2002.fcsi.grp3.model.role.OfficerRole;
+import sc2002.fcsi.grp3.service.result.ActionResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that editing the flats of a project keeps the units reserved for approved applications, and that
+ * overlap checks on an edited copy leave the application period index alone.
+ */
+public class ProjectServiceTest {
+
+    private static final LocalDate OPENING = LocalDate.of(2025, 1, 1);
+
+    private final DataStore db = DataStore.getInstance();
+    private final ProjectService projectService = new ProjectService(db);
+    private final BookingService bookingService = new BookingService(db);
+    private final User applicant = new User("Alice", "S1234567A", 35, "password", MaritalStatus.SINGLE, new ApplicantRole());
+    private final User officer = new User("Oscar", "S7654321B", 40, "password", MaritalStatus.MARRIED, new OfficerRole());
+    private final User manager = new User("Mary", "T1111111C", 50, "password", MaritalStatus.MARRIED, new ManagerRole());
+    private Project project;
+    private Application application;
+
+    @BeforeEach
+    public void loadData() {
+        project = new Project(1, "Acacia Breeze", "Yishun", true, OPENING, OPENING.plusMonths(3), manager.getNric(), 2,
+                new ArrayList<>(List.of(
+                        new Flat(FlatType.TWO_ROOM, 2, 250_000f),
+                        new Flat(FlatType.THREE_ROOM, 3, 350_000f))),
+                new ArrayList<>());
+        application = new Application(1, project, applicant, FlatType.TWO_ROOM, ApplicationStatus.PENDING, OPENING);
+        db.setJournal(null);
+        db.setUsers(new ArrayList<>(List.of(applicant, officer, manager)));
+        db.setProjects(new ArrayList<>(List.of(project)));
+        db.setApplications(new ArrayList<>(List.of(application)));
+        db.setEnquiries(new ArrayList<>());
+        db.setBookings(new ArrayList<>());
+        db.setRegistrations(new ArrayList<>());
+    }
+
+    @Test
+    public void approvedApplicationCanBeBookedAfterFlatsAreEdited() {
+        Flat twoRoom = project.getFlat(FlatType.TWO_ROOM);
+        assertTrue(projectService.updateBTOApplicationStatus(application, ApplicationStatus.SUCCESSFUL));
+        assertEquals(1, twoRoom.getUnitsAvailable());
+        assertEquals(1, twoRoom.getUnitsReserved());
+
+        assertTrue(projectService.updateProject(project.getId(), edited(List.of(
+                new Flat(FlatType.TWO_ROOM, 5, 260_000f),
+                new Flat(FlatType.THREE_ROOM, 3, 350_000f)))));
+
+        assertSame(twoRoom, project.getFlat(FlatType.TWO_ROOM));
+        assertEquals(5, twoRoom.getUnitsAvailable());
+        assertEquals(1, twoRoom.getUnitsReserved());
+        assertEquals(260_000f, twoRoom.getSellingPrice());
+
+        ActionResult<Booking> booked = bookingService.bookFlat(application, officer);
+        assertTrue(booked.isSuccess(), booked.getMessage());
+        assertEquals(ApplicationStatus.BOOKED, application.getStatus());
+        assertEquals(5, twoRoom.getUnitsAvailable());
+        assertEquals(0, twoRoom.getUnitsReserved());
+    }
+
+    @Test
+    public void flatTypeWithReservedUnitsCannotBeDropped() {
+        assertTrue(projectService.updateBTOApplicationStatus(application, ApplicationStatus.SUCCESSFUL));
+
+        assertFalse(projectService.updateProject(project.getId(), edited(List.of(
+                new Flat(FlatType.THREE_ROOM, 3, 350_000f)))));
+        assertEquals(2, project.getFlats().size());
+        assertEquals("Acacia Breeze", project.getName());
+
+        // a type without reservations can be dropped, and new types are added
+        assertTrue(projectService.updateProject(project.getId(), edited(List.of(
+                new Flat(FlatType.TWO_ROOM, 1, 250_000f)))));
+        assertEquals(1, project.getFlats().size());
+        assertEquals(1, project.getFlat(FlatType.TWO_ROOM).getUnitsReserved());
+        assertTrue(bookingService.bookFlat(application, officer).isSuccess());
+    }
+
+    @Test
+    public void overlapCheckOnAnEditedCopyOnlyReadsTheIndex() {
+        Project other = new Project(2, "Birch Grove", "Yishun", true, OPENING.plusMonths(6), OPENING.plusMonths(7),
+                manager.getNric(), 2, new ArrayList<>(), new ArrayList<>());
+        projectService.createProject(other, manager.getNric());
+
+        // the copy is compared against the manager's other projects, never against the project it edits
+        Project draft = edited(List.of());
+        assertFalse(projectService.hasOverlappingApplicationPeriod(draft, manager.getNric()));
+        draft.setApplicationClosingDate(OPENING.plusMonths(6));
+        assertTrue(projectService.hasOverlappingApplicationPeriod(draft, manager.getNric()));
+        assertFalse(projectService.hasOverlappingApplicationPeriod(draft, officer.getNric()));
+
+        // checking the copy does not move the stored project in the index; only the update does
+        draft.setApplicationOpeningDate(OPENING.plusMonths(4));
+        draft.setApplicationClosingDate(OPENING.plusMonths(5));
+        assertFalse(projectService.hasOverlappingApplicationPeriod(draft, manager.getNric()));
+        assertEquals(List.of(project), projectService.getProjectsOpenOn(OPENING));
+        assertEquals(List.of(), projectService.getProjectsOpenOn(OPENING.plusMonths(4)));
+        assertTrue(projectService.updateProject(project.getId(), draft));
+        assertEquals(List.of(), projectService.getProjectsOpenOn(OPENING));
+        assertEquals(List.of(project), projectService.getProjectsOpenOn(OPENING.plusMonths(4)));
+    }
+
+    /**
+     * Copies the project with a new name and the given flats, as a manager's edit would.
+     */
+    private Project edited(List<Flat> flats) {
+        return new Project(project.getId(), "Acacia Breeze II", project.getNeighbourhood(), project.isVisible(),
+                project.getApplicationOpeningDate(), project.getApplicationClosingDate(), project.getManagerNric(),
+                project.getTotalOfficerSlots(), new ArrayList<>(flats), new ArrayList<>(project.getOfficerNrics()));
+    }
+}
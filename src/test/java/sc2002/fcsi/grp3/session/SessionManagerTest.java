@@ -0,0 +1,84 @@
+package sc2002.fcsi.grp3.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the session table stays bounded and that idle sessions are evicted and closed.
+ * The background sweep is not started, so every eviction here is triggered by the test.
+ */
+public class SessionManagerTest {
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofMillis(50);
+
+    @Test
+    public void fullTableRejectsWhileSessionsAreActive() {
+        try (SessionManager manager = new SessionManager(2, Duration.ofMinutes(5))) {
+            assertTrue(manager.open().isPresent());
+            assertTrue(manager.open().isPresent());
+            assertFalse(manager.open().isPresent());
+            assertEquals(2, manager.size());
+        }
+    }
+
+    @Test
+    public void idleSessionsAreEvictedAndClosed() throws InterruptedException {
+        try (SessionManager manager = new SessionManager(10, IDLE_TIMEOUT)) {
+            Session idle = manager.open().orElseThrow();
+            Session active = manager.open().orElseThrow();
+            AtomicInteger closeActions = new AtomicInteger();
+            idle.setOnClose(closeActions::incrementAndGet);
+
+            Thread.sleep(IDLE_TIMEOUT.toMillis() * 2);
+            active.touch();
+
+            assertEquals(1, manager.evictIdle());
+            assertTrue(idle.isClosed());
+            assertEquals(1, closeActions.get());
+            assertFalse(active.isClosed());
+            assertEquals(1, manager.size());
+
+            // the evicted session is already gone, so closing it again does nothing
+            manager.close(idle);
+            assertEquals(1, closeActions.get());
+            assertEquals(1, manager.size());
+        }
+    }
+
+    @Test
+    public void fullTableEvictsIdleSessionsToMakeRoom() throws InterruptedException {
+        try (SessionManager manager = new SessionManager(2, IDLE_TIMEOUT)) {
+            Session first = manager.open().orElseThrow();
+            Session second = manager.open().orElseThrow();
+
+            Thread.sleep(IDLE_TIMEOUT.toMillis() * 2);
+            second.touch();
+
+            Optional<Session> third = manager.open();
+            assertTrue(third.isPresent());
+            assertTrue(first.isClosed());
+            assertFalse(second.isClosed());
+            assertEquals(2, manager.size());
+        }
+    }
+
+    @Test
+    public void closeClosesEverySession() {
+        SessionManager manager = new SessionManager(10, Duration.ofMinutes(5));
+        Session first = manager.open().orElseThrow();
+        Session second = manager.open().orElseThrow();
+
+        manager.close();
+
+        assertTrue(first.isClosed());
+        assertTrue(second.isClosed());
+        assertEquals(0, manager.size());
+    }
+}